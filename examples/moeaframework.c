@@ -22,16 +22,20 @@
 #include <string.h>
 #include <math.h>
 #include <errno.h>
+#include <stdint.h>
 #include "moeaframework.h"
 
 #ifdef __WIN32__
 #  include <winsock2.h>
 #  include <ws2tcpip.h>
 #  include <io.h>
+#  include <fcntl.h>
+#  define read _read
 #else
 #  include <unistd.h>
 #  include <sys/types.h>
 #  include <sys/socket.h>
+#  include <sys/select.h>
 #  include <netdb.h>
 #  define SOCKET int
 #  define INVALID_SOCKET -1
@@ -39,6 +43,8 @@
 #endif
 
 #define MOEA_WHITESPACE " \t"
+#define MOEA_FORMAT_VARIABLE "MOEA_FORMAT"
+#define MOEA_HEADER_SIZE 4
 
 #ifndef MOEA_BUFFER_SIZE
 #define MOEA_BUFFER_SIZE 4096
@@ -55,8 +61,29 @@ int MOEA_Number_constraints;
 
 char* MOEA_Buffer = NULL;
 size_t MOEA_Buffer_position = 0;
+size_t MOEA_Buffer_length = 0;
 size_t MOEA_Buffer_limit = 0;
 
+/* bytes received from the MOEA Framework but not yet consumed, which may span multiple lines when pipelining */
+char* MOEA_Input = NULL;
+size_t MOEA_Input_start = 0;
+size_t MOEA_Input_end = 0;
+size_t MOEA_Input_limit = 0;
+
+char* MOEA_Output = NULL;
+size_t MOEA_Output_position = 0;
+size_t MOEA_Output_limit = 0;
+
+int MOEA_Evaluation_ids = 0;
+long MOEA_Current_evaluation_id = 0;
+
+int MOEA_Binary_format = 0;
+
+MOEA_Status MOEA_Read_token(char** token);
+MOEA_Status MOEA_Read_bytes(const size_t size, const unsigned char** bytes);
+MOEA_Status MOEA_Write_binary(const long id, const double* objectives, const double* constraints);
+MOEA_Status MOEA_Send_output();
+
 void MOEA_Error_callback_default(const MOEA_Status status) {
   MOEA_Debug("%s\n", MOEA_Status_message(status));
   MOEA_Terminate();
@@ -99,6 +126,8 @@ const char* MOEA_Status_message(const MOEA_Status status) {
     return "Unable to format value";
   case MOEA_INVALID_SIZE:
     return "Size of permutation or subset is invalid";
+  case MOEA_PARSE_ID_ERROR:
+    return "Unable to parse evaluation ID";
   default:
     return "Unknown error";
   }
@@ -115,15 +144,15 @@ MOEA_Status MOEA_Error(const MOEA_Status status) {
   }
 }
 
-MOEA_Status MOEA_Buffer_capacity(size_t required) {
-  if (required < MOEA_Buffer_limit) {
+MOEA_Status MOEA_Buffer_capacity(char** buffer, size_t* limit, size_t required) {
+  if (required < *limit) {
     return MOEA_SUCCESS;
   }
 
-  MOEA_Buffer_limit = required + MOEA_BUFFER_SIZE;
-  MOEA_Buffer = (char*)realloc(MOEA_Buffer, MOEA_Buffer_limit*sizeof(char));
+  *limit = required + MOEA_BUFFER_SIZE;
+  *buffer = (char*)realloc(*buffer, (*limit)*sizeof(char));
     
-  if (MOEA_Buffer == NULL) {
+  if (*buffer == NULL) {
     MOEA_Debug("realloc: %s\n", strerror(errno));
     return MOEA_Error(MOEA_MALLOC_ERROR);
   }
@@ -142,16 +171,16 @@ MOEA_Status MOEA_Buffer_append(const char* format, ...) {
   len = vsnprintf(NULL, 0, format, args1);
 
   /* expand the buffer if required, adding 1 to account for \0 terminating the string */
-  if (MOEA_Buffer_capacity(MOEA_Buffer_position + len + 1) != MOEA_SUCCESS) {
+  if (MOEA_Buffer_capacity(&MOEA_Output, &MOEA_Output_limit, MOEA_Output_position + len + 1) != MOEA_SUCCESS) {
     return MOEA_Error(MOEA_MALLOC_ERROR);
   }
 
   /* format and append to the buffer */
-  if ((len = vsprintf(&MOEA_Buffer[MOEA_Buffer_position], format, args2)) < 0) {
+  if ((len = vsprintf(&MOEA_Output[MOEA_Output_position], format, args2)) < 0) {
     return MOEA_Error(MOEA_FORMAT_ERROR);
   }
 
-  MOEA_Buffer_position += len;
+  MOEA_Output_position += len;
 
   va_end(args1);
   va_end(args2);
@@ -159,12 +188,19 @@ MOEA_Status MOEA_Buffer_append(const char* format, ...) {
 }
 
 MOEA_Status MOEA_Init(const int objectives, const int constraints) {
+  const char* format = getenv(MOEA_FORMAT_VARIABLE);
+
   MOEA_Stream_input = stdin;
   MOEA_Stream_output = stdout;
   MOEA_Stream_error = stderr;
   MOEA_Number_objectives = objectives;
   MOEA_Number_constraints = constraints;
   
+  /* the MOEA Framework sets this variable when starting the process with the binary format enabled */
+  if ((format != NULL) && (strcmp(format, "binary") == 0)) {
+    return MOEA_Enable_binary_format();
+  }
+  
   return MOEA_SUCCESS;
 }
 
@@ -254,50 +290,221 @@ MOEA_Status MOEA_Debug(const char* format, ...) {
   return MOEA_SUCCESS;
 }
 
-MOEA_Status MOEA_Next_solution() {
-  size_t len = 0;
+MOEA_Status MOEA_Enable_evaluation_ids() {
+  MOEA_Evaluation_ids = 1;
+  return MOEA_SUCCESS;
+}
 
-  MOEA_Buffer_position = 0;
+long MOEA_Evaluation_id() {
+  return MOEA_Current_evaluation_id;
+}
+
+MOEA_Status MOEA_Enable_binary_format() {
+  MOEA_Binary_format = 1;
+
+#ifdef __WIN32__
+  /* prevent newline translation from corrupting the binary data */
+  _setmode(_fileno(MOEA_Stream_input), _O_BINARY);
+  _setmode(_fileno(MOEA_Stream_output), _O_BINARY);
+#endif
+
+  return MOEA_SUCCESS;
+}
+
+uint32_t MOEA_Decode_uint32(const unsigned char* bytes) {
+  return (uint32_t)bytes[0] | ((uint32_t)bytes[1] << 8) | ((uint32_t)bytes[2] << 16) | ((uint32_t)bytes[3] << 24);
+}
+
+uint64_t MOEA_Decode_uint64(const unsigned char* bytes) {
+  return (uint64_t)MOEA_Decode_uint32(bytes) | ((uint64_t)MOEA_Decode_uint32(bytes+4) << 32);
+}
+
+void MOEA_Encode_uint32(unsigned char* bytes, const uint32_t value) {
+  int i;
+
+  for (i=0; i<4; i++) {
+    bytes[i] = (unsigned char)(value >> (8*i));
+  }
+}
+
+void MOEA_Encode_uint64(unsigned char* bytes, const uint64_t value) {
+  MOEA_Encode_uint32(bytes, (uint32_t)value);
+  MOEA_Encode_uint32(bytes+4, (uint32_t)(value >> 32));
+}
+
+long MOEA_Receive(char* buffer, size_t size) {
+  if (MOEA_Socket == INVALID_SOCKET) {
+    return read(fileno(MOEA_Stream_input), buffer, size);
+  } else {
+    return recv(MOEA_Socket, buffer, size, 0);
+  }
+}
+
+MOEA_Status MOEA_Receive_input(long* len) {
+  /* discard any consumed input and expand buffer if required */
+  if (MOEA_Input_start > 0) {
+    memmove(MOEA_Input, MOEA_Input+MOEA_Input_start, MOEA_Input_end-MOEA_Input_start);
+    MOEA_Input_end -= MOEA_Input_start;
+    MOEA_Input_start = 0;
+  }
   
-  if (MOEA_Buffer_limit > 0) {
-  	MOEA_Buffer[0] = '\0';
+  if (MOEA_Buffer_capacity(&MOEA_Input, &MOEA_Input_limit, MOEA_Input_end + MOEA_BUFFER_SIZE) != MOEA_SUCCESS) {
+    return MOEA_Error(MOEA_MALLOC_ERROR);
   }
   
-  /* loop until the full line is read or end of file */
-  while (1) {
-    /* expand buffer if required */
-    if (MOEA_Buffer_capacity(MOEA_Buffer_position + MOEA_BUFFER_SIZE) != MOEA_SUCCESS) {
-      return MOEA_Error(MOEA_MALLOC_ERROR);
-    }
+  /* read the next chunk, which may contain more than one solution if the MOEA Framework is pipelining requests */
+  *len = MOEA_Receive(MOEA_Input+MOEA_Input_end, MOEA_Input_limit-MOEA_Input_end);
   
-    /* read the next chunk into the buffer */
+  if (*len < 0) {
     if (MOEA_Socket == INVALID_SOCKET) {
-      if (fgets(&MOEA_Buffer[MOEA_Buffer_position], MOEA_Buffer_limit - MOEA_Buffer_position, MOEA_Stream_input) == NULL) {
-        if (!feof(MOEA_Stream_input)) {
-          MOEA_Debug("fgets: %s\n", strerror(errno));
-          return MOEA_Error(MOEA_IO_ERROR);
-        }
-      }
-
-      MOEA_Buffer_position = strlen(MOEA_Buffer);
+      MOEA_Debug("read: %s\n", strerror(errno));
+      return MOEA_Error(MOEA_IO_ERROR);
     } else {
-      len = recv(MOEA_Socket, &MOEA_Buffer[MOEA_Buffer_position], MOEA_Buffer_limit - MOEA_Buffer_position, 0);
+      MOEA_Debug("recv: %s\n", strerror(errno));
+      return MOEA_Error(MOEA_SOCKET_ERROR);
+    }
+  }
+  
+  MOEA_Input_end += *len;
+  return MOEA_SUCCESS;
+}
+
+int MOEA_Has_buffered_solution() {
+  size_t available = MOEA_Input_end - MOEA_Input_start;
+
+  if (MOEA_Binary_format) {
+    /* check if a complete frame, including the length prefix, is buffered */
+    return (available >= MOEA_HEADER_SIZE) &&
+        (available - MOEA_HEADER_SIZE >= MOEA_Decode_uint32((unsigned char*)MOEA_Input+MOEA_Input_start));
+  } else {
+    /* check if a complete line is buffered */
+    return (available > 0) && (memchr(MOEA_Input+MOEA_Input_start, '\n', available) != NULL);
+  }
+}
+
+int MOEA_Has_pending_solution() {
+  if (MOEA_Has_buffered_solution()) {
+    return 1;
+  }
+
+#ifdef __WIN32__
+  /* select only supports sockets on Windows */
+  if (MOEA_Socket == INVALID_SOCKET) {
+    return 0;
+  }
+#endif
+
+  /* otherwise, poll if more data is ready to be read without blocking */
+  fd_set fds;
+  struct timeval timeout = { 0, 0 };
+  SOCKET fd = (MOEA_Socket == INVALID_SOCKET) ? fileno(MOEA_Stream_input) : MOEA_Socket;
 
-      if (len < 0) {
-        MOEA_Debug("recv: %s\n", strerror(errno));
-        return MOEA_Error(MOEA_SOCKET_ERROR);
+  FD_ZERO(&fds);
+  FD_SET(fd, &fds);
+
+  return select(fd+1, &fds, NULL, NULL, &timeout) > 0;
+}
+
+MOEA_Status MOEA_Next_binary_solution() {
+  long len = 0;
+  size_t length = 0;
+  const unsigned char* bytes = NULL;
+  MOEA_Status status;
+
+  /* loop until the full frame is buffered or end of file */
+  while (!MOEA_Has_buffered_solution()) {
+    if ((status = MOEA_Receive_input(&len)) != MOEA_SUCCESS) {
+      return status;
+    }
+    
+    if (len == 0) {
+      if (MOEA_Input_end > MOEA_Input_start) {
+        MOEA_Debug("read: truncated frame\n");
+        return MOEA_Error(MOEA_IO_ERROR);
       }
+      
+      return MOEA_EOF;
+    }
+  }
+  
+  /* copy the frame content, excluding the length prefix, into the parse buffer */
+  length = MOEA_Decode_uint32((unsigned char*)MOEA_Input+MOEA_Input_start);
+  
+  if (MOEA_Buffer_capacity(&MOEA_Buffer, &MOEA_Buffer_limit, length + 1) != MOEA_SUCCESS) {
+    return MOEA_Error(MOEA_MALLOC_ERROR);
+  }
+  
+  if (length > 0) {
+    memcpy(MOEA_Buffer, MOEA_Input+MOEA_Input_start+MOEA_HEADER_SIZE, length);
+  }
+  
+  MOEA_Buffer_position = 0;
+  MOEA_Buffer_length = length;
+  MOEA_Input_start += MOEA_HEADER_SIZE + length;
+  
+  if (length == 0) {
+    return MOEA_EOF;
+  }
+  
+  /* read the evaluation ID preceding the decision variables */
+  if (MOEA_Evaluation_ids) {
+    if ((status = MOEA_Read_bytes(8, &bytes)) != MOEA_SUCCESS) {
+      return MOEA_Error(MOEA_PARSE_ID_ERROR);
+    }
+    
+    MOEA_Current_evaluation_id = (long)(int64_t)MOEA_Decode_uint64(bytes);
+  }
+  
+  return MOEA_SUCCESS;
+}
+
+MOEA_Status MOEA_Next_solution() {
+  long len = 0;
+  size_t length = 0;
+  char* newline = NULL;
+  char* token = NULL;
+  char* end = NULL;
+  MOEA_Status status;
+  
+  if (MOEA_Binary_format) {
+    return MOEA_Next_binary_solution();
+  }
 
-      MOEA_Buffer_position += len;
-      MOEA_Buffer[MOEA_Buffer_position] = '\0';
+  /* loop until the full line is buffered or end of file */
+  while (1) {
+    if (MOEA_Input_end > MOEA_Input_start) {
+      newline = (char*)memchr(MOEA_Input+MOEA_Input_start, '\n', MOEA_Input_end-MOEA_Input_start);
+      
+      if (newline != NULL) {
+        break;
+      }
+    }
+  
+    if ((status = MOEA_Receive_input(&len)) != MOEA_SUCCESS) {
+      return status;
     }
     
-    /* exit loop when no data read or newline found */
-    if (MOEA_Buffer_position == 0 || MOEA_Buffer[MOEA_Buffer_position-1] == '\n') {
-    	break;	
+    /* exit loop at end of file */
+    if (len == 0) {
+      break;
     }
   }
   
+  /* copy the line into the parse buffer */
+  length = (newline == NULL) ? MOEA_Input_end-MOEA_Input_start : (size_t)(newline-(MOEA_Input+MOEA_Input_start));
+  
+  if (MOEA_Buffer_capacity(&MOEA_Buffer, &MOEA_Buffer_limit, length + 1) != MOEA_SUCCESS) {
+    return MOEA_Error(MOEA_MALLOC_ERROR);
+  }
+  
+  if (length > 0) {
+    memcpy(MOEA_Buffer, MOEA_Input+MOEA_Input_start, length);
+  }
+  
+  MOEA_Buffer[length] = '\0';
+  MOEA_Buffer_position = length;
+  MOEA_Input_start += (newline == NULL) ? length : length + 1;
+  
   /* remove any newline characters */
   while (MOEA_Buffer_position > 0 &&
       (MOEA_Buffer[MOEA_Buffer_position-1] == '\n' || MOEA_Buffer[MOEA_Buffer_position-1] == '\r')) {
@@ -307,10 +514,25 @@ MOEA_Status MOEA_Next_solution() {
   
   if (MOEA_Buffer_position == 0) {
     return MOEA_EOF;
-  } else {
-    MOEA_Buffer_position = 0;
-    return MOEA_SUCCESS;
   }
+  
+  MOEA_Buffer_position = 0;
+  
+  /* read the evaluation ID preceding the decision variables */
+  if (MOEA_Evaluation_ids) {
+    if ((status = MOEA_Read_token(&token)) != MOEA_SUCCESS) {
+      return MOEA_Error(status);
+    }
+    
+    errno = 0;
+    MOEA_Current_evaluation_id = strtol(token, &end, 10);
+    
+    if ((errno != 0) || (*end != '\0')) {
+      return MOEA_Error(MOEA_PARSE_ID_ERROR);
+    }
+  }
+  
+  return MOEA_SUCCESS;
 }
 
 MOEA_Status MOEA_Read_token(char** token) {
@@ -329,10 +551,79 @@ MOEA_Status MOEA_Read_token(char** token) {
   /* find end of token */
   size_t end = strcspn(MOEA_Buffer+MOEA_Buffer_position, MOEA_WHITESPACE);
   
-  /* create token */
-  MOEA_Buffer[MOEA_Buffer_position+end] = '\0';
+  /* create token, not advancing past the end of the line */
   *token = MOEA_Buffer+MOEA_Buffer_position;
-  MOEA_Buffer_position += end + 1;
+  MOEA_Buffer_position += end;
+  
+  if (MOEA_Buffer[MOEA_Buffer_position] != '\0') {
+    MOEA_Buffer[MOEA_Buffer_position] = '\0';
+    MOEA_Buffer_position += 1;
+  }
+  
+  return MOEA_SUCCESS;
+}
+
+MOEA_Status MOEA_Read_bytes(const size_t size, const unsigned char** bytes) {
+  if (MOEA_Buffer == NULL) {
+    return MOEA_Error(MOEA_PARSE_NO_SOLUTION);
+  }
+  
+  /* if this would read past the end of the frame, signal an error */
+  if (size > MOEA_Buffer_length - MOEA_Buffer_position) {
+    return MOEA_Error(MOEA_PARSE_EOL);
+  }
+  
+  *bytes = (unsigned char*)MOEA_Buffer+MOEA_Buffer_position;
+  MOEA_Buffer_position += size;
+  return MOEA_SUCCESS;
+}
+
+MOEA_Status MOEA_Read_header(const char tag, const MOEA_Status error, uint32_t* size) {
+  const unsigned char* bytes = NULL;
+  MOEA_Status status = MOEA_Read_bytes(1, &bytes);
+  
+  if (status != MOEA_SUCCESS) {
+    return MOEA_Error(status);
+  }
+  
+  if (bytes[0] != (unsigned char)tag) {
+    return MOEA_Error(error);
+  }
+  
+  if ((status = MOEA_Read_bytes(4, &bytes)) != MOEA_SUCCESS) {
+    return MOEA_Error(error);
+  }
+  
+  *size = MOEA_Decode_uint32(bytes);
+  return MOEA_SUCCESS;
+}
+
+MOEA_Status MOEA_Read_packed(const int count, const MOEA_Status error, int* values) {
+  int i;
+  int j;
+  size_t bit = 0;
+  const unsigned char* bytes = NULL;
+  MOEA_Status status = MOEA_Read_bytes(1, &bytes);
+  int width = (status == MOEA_SUCCESS) ? bytes[0] : 0;
+  
+  if ((width < 1) || (width > 32)) {
+    return MOEA_Error(error);
+  }
+  
+  if ((status = MOEA_Read_bytes(((size_t)count*width + 7) / 8, &bytes)) != MOEA_SUCCESS) {
+    return MOEA_Error(error);
+  }
+  
+  /* values are packed using width bits each, stored from least to most significant bit */
+  for (i=0; i<count; i++) {
+    uint32_t value = 0;
+    
+    for (j=0; j<width; j++, bit++) {
+      value |= (uint32_t)((bytes[bit >> 3] >> (bit & 7)) & 1) << j;
+    }
+    
+    values[i] = (int)value;
+  }
   
   return MOEA_SUCCESS;
 }
@@ -341,6 +632,26 @@ MOEA_Status MOEA_Read_binary(const int size, int* values) {
   int i = 0;
   char* token = NULL;
   
+  if (MOEA_Binary_format) {
+    uint32_t bits = 0;
+    const unsigned char* bytes = NULL;
+    MOEA_Status status = MOEA_Read_header('b', MOEA_PARSE_BINARY_ERROR, &bits);
+    
+    if (status != MOEA_SUCCESS) {
+      return status;
+    }
+    
+    if ((size < 0) || (bits != (uint32_t)size) || (MOEA_Read_bytes((bits + 7) / 8, &bytes) != MOEA_SUCCESS)) {
+      return MOEA_Error(MOEA_PARSE_BINARY_ERROR);
+    }
+    
+    for (i=0; i<size; i++) {
+      values[i] = (bytes[i >> 3] >> (i & 7)) & 1;
+    }
+    
+    return MOEA_SUCCESS;
+  }
+  
   MOEA_Status status = MOEA_Read_token(&token);
   
   if (status != MOEA_SUCCESS) {
@@ -373,6 +684,25 @@ MOEA_Status MOEA_Read_permutation(const int size, int* values) {
   char* token = NULL;
   char* endptr = NULL;
   
+  if (MOEA_Binary_format) {
+    uint32_t count = 0;
+    MOEA_Status status = MOEA_Read_header('p', MOEA_PARSE_PERMUTATION_ERROR, &count);
+    
+    if (status != MOEA_SUCCESS) {
+      return status;
+    }
+    
+    if (size <= 0) {
+      return MOEA_Error(MOEA_INVALID_SIZE);
+    }
+    
+    if (count != (uint32_t)size) {
+      return MOEA_Error(MOEA_PARSE_PERMUTATION_ERROR);
+    }
+    
+    return MOEA_Read_packed(size, MOEA_PARSE_PERMUTATION_ERROR, values);
+  }
+  
   MOEA_Status status = MOEA_Read_token(&token);
   
   if (status != MOEA_SUCCESS) {
@@ -414,6 +744,26 @@ MOEA_Status MOEA_Read_subset(const int minSize, const int maxSize, int* values,
   char* token = NULL;
   char* endptr = NULL;
   
+  if (MOEA_Binary_format) {
+    uint32_t count = 0;
+    MOEA_Status status = MOEA_Read_header('s', MOEA_PARSE_SUBSET_ERROR, &count);
+    
+    if (status != MOEA_SUCCESS) {
+      return status;
+    }
+    
+    if (minSize < 0 || maxSize < 0) {
+      return MOEA_Error(MOEA_INVALID_SIZE);
+    }
+    
+    if ((count < (uint32_t)minSize) || (count > (uint32_t)maxSize)) {
+      return MOEA_Error(MOEA_PARSE_SUBSET_ERROR);
+    }
+    
+    *size = (int)count;
+    return MOEA_Read_packed(*size, MOEA_PARSE_SUBSET_ERROR, values);
+  }
+  
   MOEA_Status status = MOEA_Read_token(&token);
   
   if (status != MOEA_SUCCESS) {
@@ -468,6 +818,22 @@ MOEA_Status MOEA_Read_int(int* value) {
   char* token = NULL;
   char* endptr = NULL;
   
+  if (MOEA_Binary_format) {
+    const unsigned char* bytes = NULL;
+    MOEA_Status status = MOEA_Read_bytes(5, &bytes);
+    
+    if (status != MOEA_SUCCESS) {
+      return MOEA_Error(status);
+    }
+    
+    if (bytes[0] != 'i') {
+      return MOEA_Error(MOEA_PARSE_INTEGER_ERROR);
+    }
+    
+    *value = (int)(int32_t)MOEA_Decode_uint32(bytes+1);
+    return MOEA_SUCCESS;
+  }
+  
   MOEA_Status status = MOEA_Read_token(&token);
   
   if (status != MOEA_SUCCESS) {
@@ -501,6 +867,28 @@ MOEA_Status MOEA_Read_double(double* value) {
   char* token = NULL;
   char* endptr = NULL;
   
+  if (MOEA_Binary_format) {
+    uint64_t bits = 0;
+    const unsigned char* bytes = NULL;
+    MOEA_Status status = MOEA_Read_bytes(1, &bytes);
+    
+    if (status != MOEA_SUCCESS) {
+      return MOEA_Error(status);
+    }
+    
+    /* integer-valued variables are also accepted, matching the text format */
+    if ((bytes[0] == 'i') && (MOEA_Read_bytes(4, &bytes) == MOEA_SUCCESS)) {
+      *value = (int32_t)MOEA_Decode_uint32(bytes);
+    } else if ((bytes[0] == 'd') && (MOEA_Read_bytes(8, &bytes) == MOEA_SUCCESS)) {
+      bits = MOEA_Decode_uint64(bytes);
+      memcpy(value, &bits, sizeof(double));
+    } else {
+      return MOEA_Error(MOEA_PARSE_DOUBLE_ERROR);
+    }
+    
+    return MOEA_SUCCESS;
+  }
+  
   MOEA_Status status = MOEA_Read_token(&token);
   
   if (status != MOEA_SUCCESS) {
@@ -534,6 +922,10 @@ MOEA_Status MOEA_Read_complete() {
   if (MOEA_Buffer == NULL) {
     return MOEA_Error(MOEA_PARSE_NO_SOLUTION);
   }
+  
+  if (MOEA_Binary_format) {
+    return (MOEA_Buffer_position == MOEA_Buffer_length) ? MOEA_SUCCESS : MOEA_Error(MOEA_PARSE_EXTRA);
+  }
 
   /* validate end of line after skipping any whitespace */
   MOEA_Buffer_position += strspn(MOEA_Buffer+MOEA_Buffer_position, MOEA_WHITESPACE);
@@ -546,7 +938,6 @@ MOEA_Status MOEA_Read_complete() {
 }
 
 MOEA_Status MOEA_Write(const double* objectives, const double* constraints) {
-  int i;
   MOEA_Status res;
 
   /* validate that input has been fully read */
@@ -554,16 +945,33 @@ MOEA_Status MOEA_Write(const double* objectives, const double* constraints) {
     return res;
   }
   
+  return MOEA_Write_id(MOEA_Current_evaluation_id, objectives, constraints);
+}
+
+MOEA_Status MOEA_Write_id(const long id, const double* objectives, const double* constraints) {
+  int i;
+  MOEA_Status res;
+  
   /* validate inputs before writing results */
   if (((objectives == NULL) && (MOEA_Number_objectives > 0)) || ((constraints == NULL) && (MOEA_Number_constraints > 0))) {
     return MOEA_Error(MOEA_NULL_POINTER_ERROR);   
   }
 
-  MOEA_Buffer_position = 0;
-
+  MOEA_Output_position = 0;
+  
+  if (MOEA_Binary_format) {
+    return MOEA_Write_binary(id, objectives, constraints);
+  }
+  
   /* write content to the buffer */
+  if (MOEA_Evaluation_ids) {
+    if ((res = MOEA_Buffer_append("%ld", id)) != MOEA_SUCCESS) {
+      return res;
+    }
+  }
+
   for (i=0; i<MOEA_Number_objectives; i++) {
-    if (i > 0) {
+    if (MOEA_Evaluation_ids || (i > 0)) {
       if ((res = MOEA_Buffer_append(" ")) != MOEA_SUCCESS) {
         return res;
       }
@@ -575,7 +983,7 @@ MOEA_Status MOEA_Write(const double* objectives, const double* constraints) {
   }
   
   for (i=0; i<MOEA_Number_constraints; i++) {
-    if ((MOEA_Number_objectives > 0) || (i > 0)) {
+    if (MOEA_Evaluation_ids || (MOEA_Number_objectives > 0) || (i > 0)) {
       if ((res = MOEA_Buffer_append(" ")) != MOEA_SUCCESS) {
         return res;
       }
@@ -591,9 +999,48 @@ MOEA_Status MOEA_Write(const double* objectives, const double* constraints) {
     return res;
   }
 
-  /* send content */
+  return MOEA_Send_output();
+}
+
+MOEA_Status MOEA_Write_binary(const long id, const double* objectives, const double* constraints) {
+  int i;
+  uint64_t bits;
+  unsigned char* bytes;
+  size_t length = (MOEA_Evaluation_ids ? 8 : 0) + 8*(MOEA_Number_objectives + MOEA_Number_constraints);
+  
+  if (MOEA_Buffer_capacity(&MOEA_Output, &MOEA_Output_limit, MOEA_HEADER_SIZE + length) != MOEA_SUCCESS) {
+    return MOEA_Error(MOEA_MALLOC_ERROR);
+  }
+  
+  /* write the length prefix followed by the ID, objectives, and constraints in little-endian byte order */
+  bytes = (unsigned char*)MOEA_Output;
+  MOEA_Encode_uint32(bytes, (uint32_t)length);
+  bytes += MOEA_HEADER_SIZE;
+  
+  if (MOEA_Evaluation_ids) {
+    MOEA_Encode_uint64(bytes, (uint64_t)(int64_t)id);
+    bytes += 8;
+  }
+  
+  for (i=0; i<MOEA_Number_objectives; i++) {
+    memcpy(&bits, &objectives[i], sizeof(double));
+    MOEA_Encode_uint64(bytes, bits);
+    bytes += 8;
+  }
+  
+  for (i=0; i<MOEA_Number_constraints; i++) {
+    memcpy(&bits, &constraints[i], sizeof(double));
+    MOEA_Encode_uint64(bytes, bits);
+    bytes += 8;
+  }
+  
+  MOEA_Output_position = MOEA_HEADER_SIZE + length;
+  return MOEA_Send_output();
+}
+
+MOEA_Status MOEA_Send_output() {
   if (MOEA_Socket == INVALID_SOCKET) {
-    if (fputs(MOEA_Buffer, MOEA_Stream_output) == EOF) {
+    if (fwrite(MOEA_Output, sizeof(char), MOEA_Output_position, MOEA_Stream_output) != MOEA_Output_position) {
       return MOEA_Error(MOEA_IO_ERROR);
     }
 
@@ -601,7 +1048,7 @@ MOEA_Status MOEA_Write(const double* objectives, const double* constraints) {
       return MOEA_Error(MOEA_IO_ERROR);
     }
   } else {
-    if (send(MOEA_Socket, MOEA_Buffer, MOEA_Buffer_position, 0) < 0) {
+    if (send(MOEA_Socket, MOEA_Output, MOEA_Output_position, 0) < 0) {
       MOEA_Debug("send: %s\n", strerror(errno));
       return MOEA_Error(MOEA_SOCKET_ERROR);
     }
@@ -635,6 +1082,14 @@ MOEA_Status MOEA_Terminate() {
     free(MOEA_Buffer);
   }
 
+  if (MOEA_Input != NULL) {
+    free(MOEA_Input);
+  }
+
+  if (MOEA_Output != NULL) {
+    free(MOEA_Output);
+  }
+
   return MOEA_SUCCESS;
 }
 
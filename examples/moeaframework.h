@@ -45,7 +45,8 @@ typedef enum MOEA_Status {
   MOEA_SOCKET_ERROR,
   MOEA_IO_ERROR,
   MOEA_FORMAT_ERROR,
-  MOEA_INVALID_SIZE
+  MOEA_INVALID_SIZE,
+  MOEA_PARSE_ID_ERROR
 } MOEA_Status;
 
 /**
@@ -90,6 +91,45 @@ MOEA_Status MOEA_Init(const int objectives, const int constraints);
  */
 MOEA_Status MOEA_Init_socket(const int objectives, const int constraints, const char* service);
 
+/**
+ * Enables evaluation IDs, which must match the configuration of the ExternalProblem (see
+ * ExternalProblem.Builder#withEvaluationIDs()).  Each solution is then prefixed by a unique ID, which is echoed back
+ * by MOEA_Write and MOEA_Write_id.  This allows a program to process multiple solutions before replying, and to reply
+ * in any order.  This function should be invoked after initialization but before reading any solutions.
+ *
+ * @return MOEA_SUCCESS if this function call completed successfully; or the specific error code causing failure
+ */
+MOEA_Status MOEA_Enable_evaluation_ids();
+
+/**
+ * Enables the binary format, which must match the configuration of the ExternalProblem (see
+ * ExternalProblem.Builder#withBinaryFormat()).  Each solution is then sent as a length-prefixed frame containing
+ * little-endian values, with binary variables, permutations, and subsets bit-packed, avoiding the cost of formatting
+ * and parsing text.  The read and write functions below work the same in either format.  MOEA_Init automatically
+ * enables the binary format when the MOEA_FORMAT environment variable is set to "binary", which the MOEA Framework
+ * does when starting the process, so this function is typically only needed when the program is started separately.
+ * This function should be invoked after initialization but before reading any solutions.
+ *
+ * @return MOEA_SUCCESS if this function call completed successfully; or the specific error code causing failure
+ */
+MOEA_Status MOEA_Enable_binary_format();
+
+/**
+ * Returns the evaluation ID of the current solution.  This value is only defined if evaluation IDs are enabled.
+ *
+ * @return the evaluation ID of the current solution
+ */
+long MOEA_Evaluation_id();
+
+/**
+ * Returns a non-zero value if another solution has been sent by the MOEA Framework and can be read without waiting.
+ * This is useful to collect a batch of solutions, which can then be evaluated together.  On Windows, this only checks
+ * for buffered solutions unless communicating over sockets.
+ *
+ * @return a non-zero value if another solution is ready to be read; 0 otherwise
+ */
+int MOEA_Has_pending_solution();
+
 /**
  * Begins reading the next solution from the MOEA Framework.
  *
@@ -177,6 +217,18 @@ MOEA_Status MOEA_Read_subset(const int minSize, const int maxSize, int* values,
  */
 MOEA_Status MOEA_Write(const double* objectives, const double* constraints);
 
+/**
+ * Writes the objectives and constraints for the solution with the given evaluation ID back to the MOEA Framework.
+ * Unlike MOEA_Write, this can be called after reading subsequent solutions, allowing replies to be deferred and sent in
+ * any order.  Requires evaluation IDs to be enabled.
+ *
+ * @param id the evaluation ID of the solution, as returned by MOEA_Evaluation_id
+ * @param objectives the objective values
+ * @param constraints the constraint values
+ * @return MOEA_SUCCESS if this function call completed successfully; or the specific error code causing failure
+ */
+MOEA_Status MOEA_Write_id(const long id, const double* objectives, const double* constraints);
+
 /**
  * Writes a debug or other status message back to the MOEA Framework.  This message will typically be displayed by the
  * MOEA Framework, but the message should not affect the execution of the program.
@@ -22,13 +22,17 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.moeaframework.algorithm.extension.CheckpointExtension;
 import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.TerminationCondition;
 import org.moeaframework.core.spi.AlgorithmFactory;
@@ -82,6 +86,10 @@ import org.moeaframework.util.validate.Validate;
  *       .withCheckpointFile(new File("example.state"))
  *       .run();
  * </pre>
+ * <p>
+ * When running multiple seeds with {@link #runSeeds(int)}, entire seeds can instead run concurrently using
+ * {@link #distributeSeedsOnAllCores()} or {@link #distributeSeedsOn(int)}.  This is preferred for problems that are
+ * cheap to evaluate, where the overhead of distributing individual evaluations outweighs any gains.
  */
 public class Executor extends ProblemBuilder {
 	
@@ -100,6 +108,11 @@ public class Executor extends ProblemBuilder {
 	 */
 	private int numberOfThreads;
 	
+	/**
+	 * The number of threads for running seeds concurrently.
+	 */
+	private int numberOfSeedThreads;
+	
 	/**
 	 * The executor service for distributing jobs; or {@code null} if distribution is local.
 	 */
@@ -152,6 +165,7 @@ public class Executor extends ProblemBuilder {
 		progress = new ProgressHelper(this);
 		properties = new TypedProperties();
 		numberOfThreads = 1;
+		numberOfSeedThreads = 1;
 		terminationConditions = new ArrayList<TerminationCondition>();
 	}
 	
@@ -295,6 +309,36 @@ public class Executor extends ProblemBuilder {
 		return distributeOn(Runtime.getRuntime().availableProcessors());
 	}
 	
+	/**
+	 * Enables this executor to run seeds concurrently across the specified number of threads when calling
+	 * {@link #runSeeds(int)}.  Each seed uses its own problem instance and is seeded with a value derived from the
+	 * calling thread's {@link PRNG}, so results are reproducible regardless of the number of threads.  If the problem
+	 * was provided as an instance, that instance is shared by all seeds and must be thread-safe.
+	 * <p>
+	 * This can be combined with {@link #distributeOn(int)}, in which case each running seed also distributes its
+	 * evaluations across that many threads.
+	 * 
+	 * @param numberOfThreads the number of threads
+	 * @return a reference to this executor
+	 * @throws IllegalArgumentException if {@code numberOfThreads <= 0}
+	 */
+	public Executor distributeSeedsOn(int numberOfThreads) {
+		Validate.that("numberOfThreads", numberOfThreads).isGreaterThan(0);
+		this.numberOfSeedThreads = numberOfThreads;
+		return this;
+	}
+	
+	/**
+	 * Enables this executor to run seeds concurrently across all processors on the local host when calling
+	 * {@link #runSeeds(int)}.
+	 * 
+	 * @return a reference to this executor
+	 * @see #distributeSeedsOn(int)
+	 */
+	public Executor distributeSeedsOnAllCores() {
+		return distributeSeedsOn(Runtime.getRuntime().availableProcessors());
+	}
+	
 	/**
 	 * Sets the checkpoint file where the algorithm state is stored.  This method must be invoked in order to enable
 	 * checkpoints.
@@ -643,7 +687,8 @@ public class Executor extends ProblemBuilder {
 	/**
 	 * Runs this executor with its configured settings multiple times, returning the individual end-of-run
 	 * approximation sets.  If the run is canceled, the list contains any complete seeds that finished prior
-	 * to cancellation.
+	 * to cancellation.  The seeds run concurrently if enabled by {@link #distributeSeedsOn(int)}, in which case the
+	 * approximation sets are still returned in the order of the seeds.
 	 * 
 	 * @param numberOfSeeds the number of seeds to run
 	 * @return the individual end-of-run approximation sets
@@ -662,10 +707,14 @@ public class Executor extends ProblemBuilder {
 		
 		progress.start(numberOfSeeds, maxEvaluations, maxTime);
 		
-		for (int i = 0; i < numberOfSeeds && !isCanceled.get(); i++) {
-			NondominatedPopulation result = runSingleSeed(i+1, numberOfSeeds);
-			results.add(result);
-			progress.nextSeed();
+		if (numberOfSeedThreads > 1 && numberOfSeeds > 1) {
+			runSeedsConcurrently(numberOfSeeds, results);
+		} else {
+			for (int i = 0; i < numberOfSeeds && !isCanceled.get(); i++) {
+				NondominatedPopulation result = runSingleSeed(i+1, numberOfSeeds);
+				results.add(result);
+				progress.finishSeed(i+1);
+			}
 		}
 		
 		progress.stop();
@@ -673,6 +722,60 @@ public class Executor extends ProblemBuilder {
 		return results;
 	}
 	
+	/**
+	 * Runs the seeds concurrently on a thread pool.  Each seed is bound to its own stream of random numbers, seeded
+	 * with a value derived from a base seed and the seed number, so the results do not depend on which thread runs
+	 * the seed.
+	 * 
+	 * @param numberOfSeeds the number of seeds to run
+	 * @param results the list where the end-of-run approximation sets of completed seeds are stored in order
+	 */
+	private void runSeedsConcurrently(int numberOfSeeds, List<NondominatedPopulation> results) {
+		long baseSeed = PRNG.nextLong();
+		ExecutorService seedExecutor = Executors.newFixedThreadPool(Math.min(numberOfSeedThreads, numberOfSeeds));
+		List<Future<NondominatedPopulation>> futures = new ArrayList<Future<NondominatedPopulation>>();
+		
+		try {
+			for (int i = 0; i < numberOfSeeds; i++) {
+				final int seed = i+1;
+				
+				futures.add(seedExecutor.submit(PRNG.withSeed(PRNG.deriveSeed(baseSeed, seed), () -> {
+					if (isCanceled.get()) {
+						return null;
+					}
+					
+					NondominatedPopulation result = runSingleSeed(seed, numberOfSeeds);
+					
+					if (result != null) {
+						progress.finishSeed(seed);
+					}
+					
+					return result;
+				})));
+			}
+			
+			for (Future<NondominatedPopulation> future : futures) {
+				try {
+					NondominatedPopulation result = future.get();
+					
+					if (result != null) {
+						results.add(result);
+					}
+				} catch (InterruptedException e) {
+					throw new FrameworkException("execution was interrupted", e);
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof RuntimeException runtimeException) {
+						throw runtimeException;
+					}
+					
+					throw new FrameworkException("execution failed", e.getCause());
+				}
+			}
+		} finally {
+			seedExecutor.shutdownNow();
+		}
+	}
+	
 	/**
 	 * Runs this executor with its configured settings.
 	 * 
@@ -688,7 +791,7 @@ public class Executor extends ProblemBuilder {
 		
 		NondominatedPopulation result = runSingleSeed(1, 1);
 		
-		progress.nextSeed();
+		progress.finishSeed(1);
 		progress.stop();
 		
 		return result;
@@ -723,23 +826,30 @@ public class Executor extends ProblemBuilder {
 				this.algorithmFactory : AlgorithmFactory.getInstance();
 		
 		try (Problem problem = getDistributedProblemInstance()) {
-			properties.clearAccessedProperties();
-				
 			NondominatedPopulation result = newArchive();
-			Algorithm algorithm = algorithmFactory.getAlgorithm(algorithmName, properties, problem);
-
-			if (checkpointFile != null) {
-				algorithm.addExtension(new CheckpointExtension(checkpointFile, checkpointFrequency));
-			}
-					
-			if (instrumenter != null) {
-				instrumenter.instrument(algorithm);
+			Algorithm algorithm;
+			TerminationCondition terminationCondition;
+			
+			// the properties track which keys are accessed, so only one seed can be set up at a time
+			synchronized (properties) {
+				properties.clearAccessedProperties();
+				
+				algorithm = algorithmFactory.getAlgorithm(algorithmName, properties, problem);
+				
+				if (checkpointFile != null) {
+					algorithm.addExtension(new CheckpointExtension(checkpointFile, checkpointFrequency));
+				}
+				
+				if (instrumenter != null) {
+					instrumenter.instrument(algorithm);
+				}
+				
+				terminationCondition = createTerminationCondition();
+				terminationCondition.initialize(algorithm);
+				
+				properties.warnIfUnaccessedProperties();
 			}
-					
-			TerminationCondition terminationCondition = createTerminationCondition();
-			terminationCondition.initialize(algorithm);
-					
-			properties.warnIfUnaccessedProperties();
+			
 			progress.setCurrentAlgorithm(algorithm);
 
 			while (!algorithm.isTerminated() && !terminationCondition.shouldTerminate(algorithm)) {
@@ -749,7 +859,7 @@ public class Executor extends ProblemBuilder {
 				}
 						
 				algorithm.step();
-				progress.setCurrentNFE(algorithm.getNumberOfEvaluations());
+				progress.setCurrentNFE(seed, algorithm.getNumberOfEvaluations());
 			}
 			
 			if (!algorithm.isTerminated()) {
@@ -25,8 +25,10 @@ import org.apache.commons.lang3.reflect.ConstructorUtils;
 import org.moeaframework.core.EpsilonBoxDominanceArchive;
 import org.moeaframework.core.Epsilons;
 import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.IndexedNondominatedPopulation;
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.Problem;
+import org.moeaframework.core.Settings;
 import org.moeaframework.core.comparator.ParetoDominanceComparator;
 import org.moeaframework.core.spi.ProblemFactory;
 import org.moeaframework.problem.ProblemWrapper;
@@ -237,6 +239,10 @@ class ProblemBuilder {
 	 */
 	NondominatedPopulation newArchive() {
 		if (epsilons == null) {
+			if (Settings.useIndexedArchive()) {
+				return new IndexedNondominatedPopulation(new ParetoDominanceComparator());
+			}
+			
 			return new NondominatedPopulation(new ParetoDominanceComparator());
 		} else {
 			return new EpsilonBoxDominanceArchive(epsilons);
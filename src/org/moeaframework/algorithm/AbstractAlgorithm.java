@@ -20,6 +20,8 @@ package org.moeaframework.algorithm;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
 
 import org.moeaframework.algorithm.extension.Extensions;
 import org.moeaframework.core.Algorithm;
@@ -86,6 +88,30 @@ public abstract class AbstractAlgorithm implements Algorithm {
 		numberOfEvaluations++;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The solutions are passed to {@link Problem#evaluateAll(Iterable)} as a single batch.
+	 */
+	@Override
+	public void evaluateAll(Iterable<Solution> solutions) {
+		Collection<Solution> batch;
+		
+		// copy other iterables so the solutions are only iterated once and can be counted after evaluation
+		if (solutions instanceof Collection<Solution> collection) {
+			batch = collection;
+		} else {
+			batch = new ArrayList<Solution>();
+			
+			for (Solution solution : solutions) {
+				batch.add(solution);
+			}
+		}
+		
+		problem.evaluateAll(batch);
+		numberOfEvaluations += batch.size();
+	}
+
 	@Override
 	public int getNumberOfEvaluations() {
 		return numberOfEvaluations;
@@ -25,6 +25,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 
@@ -83,14 +84,24 @@ public class Checkpoints extends PeriodicAction {
 	 * @throws IOException if an I/O error occurred
 	 */
 	private void saveToStateFile() throws IOException {
-		File tempFile = File.createTempFile("checkpoint", "state");
+		//create the temporary file in the same directory so the rename is atomic
+		File tempFile = File.createTempFile(stateFile.getName(), ".tmp", stateFile.getAbsoluteFile().getParentFile());
 		
-		try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(
-				new FileOutputStream(tempFile)))) {
-			algorithm.saveState(oos);
+		try {
+			try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(
+					new FileOutputStream(tempFile)))) {
+				algorithm.saveState(oos);
+			}
+			
+			try {
+				Files.move(tempFile.toPath(), stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile.toPath(), stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(tempFile.toPath());
 		}
-		
-		Files.move(tempFile.toPath(), stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
 	}
 
 	/**
@@ -31,6 +31,7 @@ import org.moeaframework.core.Problem;
 import org.moeaframework.core.Selection;
 import org.moeaframework.core.Settings;
 import org.moeaframework.core.Solution;
+import org.moeaframework.core.SteadyStateEvolutionaryAlgorithm;
 import org.moeaframework.core.Variation;
 import org.moeaframework.core.comparator.DominanceComparator;
 import org.moeaframework.core.comparator.ParetoDominanceComparator;
@@ -52,7 +53,8 @@ import org.moeaframework.util.validate.Validate;
  *       KanGAL Report No 2003002. Feb 2003.
  * </ol>
  */
-public class EpsilonMOEA extends AbstractEvolutionaryAlgorithm implements EpsilonBoxEvolutionaryAlgorithm {
+public class EpsilonMOEA extends AbstractEvolutionaryAlgorithm implements EpsilonBoxEvolutionaryAlgorithm,
+		SteadyStateEvolutionaryAlgorithm {
 
 	/**
 	 * The dominance comparator used for updating the population.
@@ -123,6 +125,14 @@ public class EpsilonMOEA extends AbstractEvolutionaryAlgorithm implements Epsilo
 
 	@Override
 	public void iterate() {
+		for (Solution child : createOffspring()) {
+			evaluate(child);
+			addOffspring(child);
+		}
+	}
+	
+	@Override
+	public Solution[] createOffspring() {
 		Population population = getPopulation();
 		EpsilonBoxDominanceArchive archive = getArchive();
 		Variation variation = getVariation();
@@ -138,13 +148,13 @@ public class EpsilonMOEA extends AbstractEvolutionaryAlgorithm implements Epsilo
 		
 		PRNG.shuffle(parents);
 
-		Solution[] children = variation.evolve(parents);
-
-		for (Solution child : children) {
-			evaluate(child);
-			addToPopulation(child);
-			archive.add(child);
-		}
+		return variation.evolve(parents);
+	}
+	
+	@Override
+	public void addOffspring(Solution offspring) {
+		addToPopulation(offspring);
+		getArchive().add(offspring);
 	}
 
 	/**
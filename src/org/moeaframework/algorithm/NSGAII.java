@@ -31,6 +31,7 @@ import org.moeaframework.core.Problem;
 import org.moeaframework.core.Selection;
 import org.moeaframework.core.Settings;
 import org.moeaframework.core.Solution;
+import org.moeaframework.core.SteadyStateEvolutionaryAlgorithm;
 import org.moeaframework.core.Variation;
 import org.moeaframework.core.comparator.ChainedComparator;
 import org.moeaframework.core.comparator.CrowdingComparator;
@@ -53,7 +54,8 @@ import org.moeaframework.util.TypedProperties;
  *       Monitoring Design."  Advances in Water Resources, 29(6):792-807, 2006.
  * </ol>
  */
-public class NSGAII extends AbstractEvolutionaryAlgorithm implements EpsilonBoxEvolutionaryAlgorithm {
+public class NSGAII extends AbstractEvolutionaryAlgorithm implements EpsilonBoxEvolutionaryAlgorithm,
+		SteadyStateEvolutionaryAlgorithm {
 
 	/**
 	 * The selection operator.  If {@code null}, this algorithm uses binary tournament selection without replacement,
@@ -61,6 +63,12 @@ public class NSGAII extends AbstractEvolutionaryAlgorithm implements EpsilonBoxE
 	 */
 	private Selection selection;
 	
+	/**
+	 * The binary tournament selection with replacement used to create offspring one at a time when
+	 * {@link #selection} is {@code null}.
+	 */
+	private final Selection steadyStateSelection;
+	
 	/**
 	 * Constructs the NSGA-II algorithm with default settings.
 	 * 
@@ -92,6 +100,10 @@ public class NSGAII extends AbstractEvolutionaryAlgorithm implements EpsilonBoxE
 			Initialization initialization) {
 		super(problem, initialPopulationSize, population, archive, initialization, variation);
 		this.selection = selection;
+		
+		steadyStateSelection = new TournamentSelection(2, new ChainedComparator(
+				new ParetoDominanceComparator(),
+				new CrowdingComparator()));
 	}
 
 	@Override
@@ -157,6 +169,34 @@ public class NSGAII extends AbstractEvolutionaryAlgorithm implements EpsilonBoxE
 		population.truncate(populationSize);
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * When configured to use selection without replacement, the parents are instead chosen by binary tournaments
+	 * with replacement, since there is no generation from which to draw the pool of candidate parents.
+	 */
+	@Override
+	public Solution[] createOffspring() {
+		Variation variation = getVariation();
+		Selection parentSelection = selection == null ? steadyStateSelection : selection;
+		
+		return variation.evolve(parentSelection.select(variation.getArity(), getPopulation()));
+	}
+	
+	@Override
+	public void addOffspring(Solution offspring) {
+		NondominatedSortingPopulation population = getPopulation();
+		EpsilonBoxDominanceArchive archive = getArchive();
+		int populationSize = population.size();
+		
+		if (archive != null) {
+			archive.add(offspring);
+		}
+		
+		population.add(offspring);
+		population.truncate(populationSize);
+	}
+	
 	@Override
 	@Property("operator")
 	public void setVariation(Variation variation) {
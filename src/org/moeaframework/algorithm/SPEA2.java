@@ -17,15 +17,11 @@
  */
 package org.moeaframework.algorithm;
 
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.ListIterator;
+import java.util.Map;
 
-import org.apache.commons.math3.util.KthSelector;
-import org.apache.commons.math3.util.Pair;
 import org.moeaframework.core.FitnessEvaluator;
 import org.moeaframework.core.Initialization;
 import org.moeaframework.core.Population;
@@ -33,6 +29,7 @@ import org.moeaframework.core.Problem;
 import org.moeaframework.core.Selection;
 import org.moeaframework.core.Settings;
 import org.moeaframework.core.Solution;
+import org.moeaframework.core.SteadyStateEvolutionaryAlgorithm;
 import org.moeaframework.core.Variation;
 import org.moeaframework.core.attribute.Fitness;
 import org.moeaframework.core.comparator.DominanceComparator;
@@ -63,7 +60,7 @@ import org.moeaframework.util.validate.Validate;
  *       TIK-Report 103.
  * </ol>
  */
-public class SPEA2 extends AbstractEvolutionaryAlgorithm {
+public class SPEA2 extends AbstractEvolutionaryAlgorithm implements SteadyStateEvolutionaryAlgorithm {
 	
 	/**
 	 * The selection operator.
@@ -85,6 +82,17 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 	 */
 	private final FitnessComparator fitnessComparator;
 	
+	/**
+	 * The mapping of pair-wise distances created by the last fitness evaluation, which is reused when truncating the
+	 * same population.  This is {@code null} if not available.
+	 */
+	private MutableDistanceMap distanceMap;
+	
+	/**
+	 * The solutions in {@link #distanceMap}, or {@code null} if not available.
+	 */
+	private Solution[] distanceMapSolutions;
+	
 	/**
 	 * Constructs a new instance of SPEA2 with default settings.
 	 * 
@@ -196,6 +204,25 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 		population.addAll(truncate(offspring, populationSize));
 	}
 	
+	@Override
+	public Solution[] createOffspring() {
+		Variation variation = getVariation();
+		return variation.evolve(selection.select(variation.getArity(), getPopulation()));
+	}
+	
+	@Override
+	public void addOffspring(Solution offspring) {
+		Population population = getPopulation();
+		int populationSize = population.size();
+		
+		population.add(offspring);
+		fitnessEvaluator.evaluate(population);
+		
+		Population survivors = truncate(population, populationSize);
+		population.clear();
+		population.addAll(survivors);
+	}
+	
 	/**
 	 * Returns the population of solutions that survive to the next generation.
 	 * 
@@ -229,7 +256,7 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 			}
 		} else if (survivors.size() > size) {
 			// some of the survivors must be truncated
-			MutableDistanceMap map = new MutableDistanceMap(computeDistanceMatrix(survivors));
+			MutableDistanceMap map = createDistanceMap(survivors);
 			
 			while (survivors.size() > size) {
 				int index = map.findMostCrowdedPoint();
@@ -239,9 +266,47 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 			}
 		}
 		
+		distanceMap = null;
+		distanceMapSolutions = null;
 		return survivors;
 	}
 	
+	/**
+	 * Returns the mapping of pair-wise distances between the survivors.  If the survivors were part of the population
+	 * last evaluated by the fitness evaluator, the mapping created during the fitness evaluation is reused.
+	 * 
+	 * @param survivors the survivors
+	 * @return the mapping of pair-wise distances between the survivors
+	 */
+	private MutableDistanceMap createDistanceMap(Population survivors) {
+		if (distanceMap != null) {
+			Map<Solution, Integer> indices = new IdentityHashMap<Solution, Integer>();
+			
+			for (int i = 0; i < distanceMapSolutions.length; i++) {
+				indices.put(distanceMapSolutions[i], i);
+			}
+			
+			int[] points = new int[survivors.size()];
+			boolean isSubset = true;
+			
+			for (int i = 0; i < points.length && isSubset; i++) {
+				Integer index = indices.get(survivors.get(i));
+				
+				if (index == null || (i > 0 && index <= points[i - 1])) {
+					isSubset = false;
+				} else {
+					points[i] = index;
+				}
+			}
+			
+			if (isSubset) {
+				return distanceMap.subset(points);
+			}
+		}
+		
+		return new MutableDistanceMap(survivors);
+	}
+	
 	/**
 	 * Computes the distance matrix containing the pair-wise distances between solutions in objective space.  The
 	 * diagonal will contain all 0's.
@@ -265,13 +330,48 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 	
 	/**
 	 * Mapping of pair-wise distances between points.  This mapping is mutable, allowing points to be removed.
+	 * <p>
+	 * The distances are stored in a flat matrix, and each point stores the indices of the other points sorted by their
+	 * distance, with ties ordered by index.  Removed points are marked and skipped when reading the sorted neighbors
+	 * rather than being removed from every row.  The indices used by {@link #findMostCrowdedPoint()} and
+	 * {@link #removePoint(int)} refer to the remaining points in their original order.
 	 */
 	public static class MutableDistanceMap {
 		
 		/**
-		 * The internal mapping of distances.
+		 * The number of points, including removed points.
 		 */
-		private List<List<Pair<Integer, Double>>> distanceMatrix;
+		private int size;
+		
+		/**
+		 * The pair-wise distances between points, stored in row-major order.
+		 */
+		private double[] distances;
+		
+		/**
+		 * For each point, the indices of the other points sorted by distance.
+		 */
+		private int[][] neighbors;
+		
+		/**
+		 * For each point, the position of the first neighbor in {@link #neighbors} that might not be removed.
+		 */
+		private int[] nearest;
+		
+		/**
+		 * {@code true} if the point was removed.
+		 */
+		private boolean[] removed;
+		
+		/**
+		 * The indices of the remaining points, in their original order.
+		 */
+		private int[] remaining;
+		
+		/**
+		 * The number of remaining points.
+		 */
+		private int numberRemaining;
 		
 		/**
 		 * Constructs a new mapping of pair-wise distances between points.
@@ -283,36 +383,140 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 			initialize(rawDistanceMatrix);
 		}
 		
+		/**
+		 * Constructs a new mapping of pair-wise distances between solutions in objective space.
+		 * 
+		 * @param population the population of solutions
+		 */
+		public MutableDistanceMap(Population population) {
+			super();
+			
+			int size = population.size();
+			double[] distances = new double[size * size];
+			
+			for (int i = 0; i < size; i++) {
+				Solution solution = population.get(i);
+				
+				for (int j = i+1; j < size; j++) {
+					distances[i * size + j] = distances[j * size + i] = solution.euclideanDistance(population.get(j));
+				}
+			}
+			
+			initialize(distances, size);
+		}
+		
+		/**
+		 * Constructs a new mapping containing a subset of the points in an existing mapping.  The distances and
+		 * sorted neighbors are shared with the existing mapping, since they are never modified.
+		 * 
+		 * @param map the existing mapping, which must not have any points removed
+		 * @param points the indices of the retained points, in increasing order
+		 */
+		private MutableDistanceMap(MutableDistanceMap map, int[] points) {
+			super();
+			size = map.size;
+			distances = map.distances;
+			neighbors = map.neighbors;
+			nearest = new int[size];
+			removed = new boolean[size];
+			remaining = points.clone();
+			numberRemaining = points.length;
+			
+			Arrays.fill(removed, true);
+			
+			for (int point : points) {
+				removed[point] = false;
+			}
+		}
+		
 		/**
 		 * Initializes the internal data structures.
 		 * 
 		 * @param rawDistanceMatrix the distance matrix
 		 */
 		protected void initialize(double[][] rawDistanceMatrix) {
-			distanceMatrix = new LinkedList<List<Pair<Integer, Double>>>();
+			int size = rawDistanceMatrix.length;
+			double[] distances = new double[size * size];
 			
-			for (int i = 0; i < rawDistanceMatrix.length; i++) {
-				List<Pair<Integer, Double>> distances = new LinkedList<Pair<Integer, Double>>();
+			for (int i = 0; i < size; i++) {
+				System.arraycopy(rawDistanceMatrix[i], 0, distances, i * size, size);
+			}
+			
+			initialize(distances, size);
+		}
+		
+		/**
+		 * Initializes the internal data structures from the distance matrix stored in row-major order.
+		 * 
+		 * @param distances the distance matrix stored in row-major order
+		 * @param size the number of points
+		 */
+		private void initialize(double[] distances, int size) {
+			this.size = size;
+			this.distances = distances;
+			
+			neighbors = new int[size][];
+			nearest = new int[size];
+			removed = new boolean[size];
+			remaining = new int[size];
+			numberRemaining = size;
+			
+			int[] buffer = new int[Math.max(0, size - 1)];
+			
+			for (int i = 0; i < size; i++) {
+				int[] row = new int[Math.max(0, size - 1)];
+				int count = 0;
 				
-				for (int j = 0; j < rawDistanceMatrix[i].length; j++) {
+				for (int j = 0; j < size; j++) {
 					if (i != j) {
-						distances.add(new Pair<Integer, Double>(j, rawDistanceMatrix[i][j]));
+						row[count++] = j;
 					}
 				}
 				
-				Collections.sort(distances, new Comparator<Pair<Integer, Double>>() {
-
-					@Override
-					public int compare(Pair<Integer, Double> o1, Pair<Integer, Double> o2) {
-						return Double.compare(o1.getSecond(), o2.getSecond());
-					}
-					
-				});
-				
-				distanceMatrix.add(distances);
+				sort(row, buffer, 0, row.length, distances, i * size);
+				neighbors[i] = row;
+				remaining[i] = i;
 			}
 		}
 		
+		/**
+		 * Returns a new mapping containing the subset of points.  The new mapping shares the distances and sorted
+		 * neighbors with this mapping, avoiding the need to compute and sort the distances again.
+		 * 
+		 * @param points the indices of the retained points, in increasing order
+		 * @return the new mapping containing the subset of points
+		 * @throws IllegalStateException if any point was removed from this mapping
+		 */
+		public MutableDistanceMap subset(int[] points) {
+			if (numberRemaining != size) {
+				throw new IllegalStateException("can not create subset after removing points");
+			}
+			
+			return new MutableDistanceMap(this, points);
+		}
+		
+		/**
+		 * Returns the distance from the remaining point to its {@code k}-th nearest remaining neighbor.
+		 * 
+		 * @param index the index of the remaining point
+		 * @param k the neighbor, where {@code k=1} is the nearest neighbor
+		 * @return the distance to the {@code k}-th nearest neighbor
+		 * @throws ArrayIndexOutOfBoundsException if fewer than {@code k} neighbors remain
+		 */
+		public double getDistanceToNeighbor(int index, int k) {
+			int point = remaining[index];
+			int[] row = neighbors[point];
+			int position = nearest[point] - 1;
+			
+			for (int count = 0; count < k; count++) {
+				do {
+					position++;
+				} while (removed[row[position]]);
+			}
+			
+			return distances[point * size + row[position]];
+		}
+		
 		/**
 		 * Returns the most crowded point according to SPEA2's truncation strategy.  The most crowded point is the
 		 * point with the smallest distance to its nearest neighbor.  Ties are broken by looking at the next nearest
@@ -321,28 +525,11 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 		 * @return the index of the most crowded point
 		 */
 		public int findMostCrowdedPoint() {
-			double minimumDistance = Double.POSITIVE_INFINITY;
 			int minimumIndex = -1;
 			
-			for (int i = 0; i < distanceMatrix.size(); i++) {
-				List<Pair<Integer, Double>> distances = distanceMatrix.get(i);
-				Pair<Integer, Double> point = distances.get(0);
-				
-				if (point.getSecond() < minimumDistance) {
-					minimumDistance = point.getSecond();
+			for (int i = 0; i < numberRemaining; i++) {
+				if (minimumIndex < 0 || compareNeighbors(remaining[i], remaining[minimumIndex]) < 0) {
 					minimumIndex = i;
-				} else if (point.getSecond() == minimumDistance) {
-					for (int k = 0; k < distances.size(); k++) {
-						double kdist1 = distances.get(k).getSecond();
-						double kdist2 = distanceMatrix.get(minimumIndex).get(k).getSecond();
-
-						if (kdist1 < kdist2) {
-							minimumIndex = i;
-							break;
-						} else if (kdist2 < kdist1) {
-							break;
-						}
-					}
 				}
 			}
 			
@@ -355,20 +542,98 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 		 * @param index the index to remove
 		 */
 		public void removePoint(int index) {
-			distanceMatrix.remove(index);
+			removed[remaining[index]] = true;
+			System.arraycopy(remaining, index + 1, remaining, index, numberRemaining - index - 1);
+			numberRemaining--;
+		}
+		
+		/**
+		 * Compares the sorted distances to the remaining neighbors of two points, returning a negative value if the
+		 * first point is more crowded.
+		 * 
+		 * @param point1 the first point
+		 * @param point2 the second point
+		 * @return a negative value if the first point is more crowded, a positive value if the second point is more
+		 *         crowded, or {@code 0} if the distances are equal
+		 */
+		private int compareNeighbors(int point1, int point2) {
+			int[] row1 = neighbors[point1];
+			int[] row2 = neighbors[point2];
+			int position1 = skipRemoved(point1);
+			int position2 = skipRemoved(point2);
 			
-			for (List<Pair<Integer, Double>> distances : distanceMatrix) {
-				ListIterator<Pair<Integer, Double>> iterator = distances.listIterator();
+			while (position1 < row1.length && position2 < row2.length) {
+				double distance1 = distances[point1 * size + row1[position1]];
+				double distance2 = distances[point2 * size + row2[position2]];
 				
-				while (iterator.hasNext()) {
-					Pair<Integer, Double> point = iterator.next();
-					
-					if (point.getFirst() == index) {
-						iterator.remove();
-					} else if (point.getFirst() > index) {
-						// decrement the index so it stays aligned with the index in distanceMatrix
-						iterator.set(new Pair<Integer, Double>(point.getFirst()-1, point.getSecond()));
-					}
+				if (distance1 < distance2) {
+					return -1;
+				} else if (distance2 < distance1) {
+					return 1;
+				}
+				
+				do {
+					position1++;
+				} while (position1 < row1.length && removed[row1[position1]]);
+				
+				do {
+					position2++;
+				} while (position2 < row2.length && removed[row2[position2]]);
+			}
+			
+			return 0;
+		}
+		
+		/**
+		 * Advances the position of the nearest neighbor of the point past any removed neighbors.  Since points are
+		 * never restored, each position is skipped only once.
+		 * 
+		 * @param point the point
+		 * @return the position of the nearest remaining neighbor
+		 */
+		private int skipRemoved(int point) {
+			int[] row = neighbors[point];
+			int position = nearest[point];
+			
+			while (position < row.length && removed[row[position]]) {
+				position++;
+			}
+			
+			nearest[point] = position;
+			return position;
+		}
+		
+		/**
+		 * Sorts the indices by their distance using a stable merge sort, so ties remain ordered by index.
+		 * 
+		 * @param indices the indices to sort
+		 * @param buffer temporary storage at least as large as the range being sorted
+		 * @param from the first position to sort, inclusive
+		 * @param to the last position to sort, exclusive
+		 * @param distances the distance matrix stored in row-major order
+		 * @param offset the offset of the row in the distance matrix
+		 */
+		private static void sort(int[] indices, int[] buffer, int from, int to, double[] distances, int offset) {
+			if (to - from < 2) {
+				return;
+			}
+			
+			int middle = (from + to) >>> 1;
+			sort(indices, buffer, from, middle, distances, offset);
+			sort(indices, buffer, middle, to, distances, offset);
+			
+			if (Double.compare(distances[offset + indices[middle - 1]], distances[offset + indices[middle]]) <= 0) {
+				return;
+			}
+			
+			System.arraycopy(indices, from, buffer, from, to - from);
+			
+			for (int i = from, left = from, right = middle; i < to; i++) {
+				if (right >= to || (left < middle &&
+						Double.compare(distances[offset + buffer[left]], distances[offset + buffer[right]]) <= 0)) {
+					indices[i] = buffer[left++];
+				} else {
+					indices[i] = buffer[right++];
 				}
 			}
 		}
@@ -454,15 +719,17 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 				}
 			}
 			
-			// add density to the fitness
-			double[][] distances = computeDistanceMatrix(population);
-			KthSelector selector = new KthSelector();
+			// add density to the fitness, keeping the distances for truncating the same population
+			MutableDistanceMap map = new MutableDistanceMap(population);
 			
 			for (int i = 0; i < population.size(); i++) {
-				double kdist = selector.select(distances[i], null, k);
+				double kdist = map.getDistanceToNeighbor(i, k);
 				fitness[i] += 1.0 / (kdist + 2.0);
 			}
 			
+			distanceMap = map;
+			distanceMapSolutions = population.asList().toArray(Solution[]::new);
+			
 			// assign fitness attribute to solutions
 			for (int i = 0; i < population.size(); i++) {
 				Fitness.setAttribute(population.get(i), fitness[i]);
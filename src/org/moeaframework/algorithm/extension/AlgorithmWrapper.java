@@ -62,6 +62,11 @@ public class AlgorithmWrapper<T extends Algorithm> implements Algorithm, Configu
 	public void evaluate(Solution solution) {
 		algorithm.evaluate(solution);
 	}
+	
+	@Override
+	public void evaluateAll(Iterable<Solution> solutions) {
+		algorithm.evaluateAll(solutions);
+	}
 
 	@Override
 	public int getNumberOfEvaluations() {
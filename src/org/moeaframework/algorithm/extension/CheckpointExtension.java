@@ -17,22 +17,36 @@
  */
 package org.moeaframework.algorithm.extension;
 
-import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.moeaframework.core.Algorithm;
+import org.moeaframework.util.validate.Validate;
 
 /**
  * Adds checkpoint functionality to an algorithm where the state is periodically recorded in a state file.  If the
  * state file exists at the start of the run, the algorithm is restored and resumes from that point.
+ * <p>
+ * By default, each checkpoint writes the full state to the state file on the algorithm's thread.  For algorithms
+ * with large populations or archives, the cost of checkpoints can be reduced by:
+ * <ul>
+ *   <li>{@link #withCompression()} to compress the state file;
+ *   <li>{@link #withIncrementalSnapshots(int)} to only write the parts of the state that changed since the last full
+ *       snapshot; and
+ *   <li>{@link #inBackground()} to write the state file on a background thread.  The state is still captured on the
+ *       algorithm's thread, but compression and I/O happen concurrently with the algorithm.
+ * </ul>
+ * In all cases, the state file is written to a temporary file in the same directory and atomically renamed, so an
+ * interrupted run never leaves a partially-written state file.
  */
 public class CheckpointExtension extends PeriodicExtension {
 
@@ -41,6 +55,32 @@ public class CheckpointExtension extends PeriodicExtension {
 	 */
 	private final File stateFile;
 	
+	/**
+	 * {@code true} if the state file is compressed.
+	 */
+	private boolean compress;
+	
+	/**
+	 * The number of checkpoints between full snapshots, where {@code 1} disables incremental snapshots.
+	 */
+	private int fullSnapshotInterval;
+	
+	/**
+	 * The executor writing checkpoints in the background, or {@code null} if checkpoints are written on the
+	 * algorithm's thread.
+	 */
+	private ExecutorService executor;
+	
+	/**
+	 * The checkpoint currently being written in the background, or {@code null} if none are pending.
+	 */
+	private Future<?> pendingWrite;
+	
+	/**
+	 * The checkpoint file, created when first used.
+	 */
+	private CheckpointFile checkpointFile;
+	
 	/**
 	 * Creates a new checkpoint extension.
 	 * 
@@ -61,6 +101,67 @@ public class CheckpointExtension extends PeriodicExtension {
 	public CheckpointExtension(File stateFile, int frequency, FrequencyType frequencyType) {
 		super(frequency, frequencyType);
 		this.stateFile = stateFile;
+		this.fullSnapshotInterval = 1;
+	}
+	
+	/**
+	 * Compresses the state file.  Compressed and uncompressed state files can both be read regardless of this
+	 * setting.
+	 * 
+	 * @return a reference to this extension
+	 */
+	public CheckpointExtension withCompression() {
+		compress = true;
+		checkpointFile = null;
+		return this;
+	}
+	
+	/**
+	 * Writes incremental snapshots containing only the parts of the state that changed since the last full snapshot.
+	 * Full snapshots are stored in a separate file next to the state file, with the suffix {@code .base0} or
+	 * {@code .base1}, which must be kept alongside the state file.
+	 * 
+	 * @param fullSnapshotInterval the number of checkpoints between full snapshots
+	 * @return a reference to this extension
+	 */
+	public CheckpointExtension withIncrementalSnapshots(int fullSnapshotInterval) {
+		Validate.that("fullSnapshotInterval", fullSnapshotInterval).isGreaterThan(0);
+		this.fullSnapshotInterval = fullSnapshotInterval;
+		checkpointFile = null;
+		return this;
+	}
+	
+	/**
+	 * Writes the state file on a background thread.  At most one checkpoint is written at a time; if the previous
+	 * checkpoint is still being written, the algorithm waits for it to finish before capturing the next.  The final
+	 * checkpoint, written when the algorithm terminates, completes before {@link Algorithm#terminate()} returns, after
+	 * which the background thread is stopped.
+	 * 
+	 * @return a reference to this extension
+	 */
+	public CheckpointExtension inBackground() {
+		if (executor == null) {
+			executor = Executors.newSingleThreadExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "CheckpointExtension");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Returns the checkpoint file, creating it if necessary.
+	 * 
+	 * @return the checkpoint file
+	 */
+	private CheckpointFile getCheckpointFile() {
+		if (checkpointFile == null) {
+			checkpointFile = new CheckpointFile(stateFile, compress, fullSnapshotInterval);
+		}
+		
+		return checkpointFile;
 	}
 
 	/**
@@ -70,14 +171,28 @@ public class CheckpointExtension extends PeriodicExtension {
 	 * @throws IOException if an I/O error occurred
 	 */
 	private void saveToStateFile(Algorithm algorithm) throws IOException {
-		File tempFile = File.createTempFile("checkpoint", "state");
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
 		
-		try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(
-				new FileOutputStream(tempFile)))) {
+		try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(buffer))) {
 			algorithm.saveState(oos);
 		}
 		
-		Files.move(tempFile.toPath(), stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		byte[] state = buffer.toByteArray();
+		CheckpointFile file = getCheckpointFile();
+		
+		if (executor == null) {
+			file.write(state);
+		} else {
+			awaitPendingWrite();
+			
+			pendingWrite = executor.submit(() -> {
+				try {
+					file.write(state);
+				} catch (IOException e) {
+					System.err.println("an error occurred while writing the state file");
+				}
+			});
+		}
 	}
 
 	/**
@@ -88,11 +203,30 @@ public class CheckpointExtension extends PeriodicExtension {
 	 * @throws ClassNotFoundException if the class of a serialized object could not be found.
 	 */
 	private void loadFromStateFile(Algorithm algorithm) throws IOException, ClassNotFoundException {
-		try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(stateFile)))) {
+		byte[] state = getCheckpointFile().read();
+		
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(state))) {
 			algorithm.loadState(ois);
 		}
 	}
 	
+	/**
+	 * Waits for the checkpoint being written in the background, if any, to finish.
+	 */
+	private void awaitPendingWrite() {
+		if (pendingWrite != null) {
+			try {
+				pendingWrite.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				System.err.println("an error occurred while writing the state file");
+			}
+			
+			pendingWrite = null;
+		}
+	}
+	
 	@Override
 	public void doAction(Algorithm algorithm) {
 		try {
@@ -106,7 +240,7 @@ public class CheckpointExtension extends PeriodicExtension {
 	public void onRegister(Algorithm algorithm) {
 		super.onRegister(algorithm);
 		
-		if (stateFile.exists() && (stateFile.length() != 0L)) {
+		if (getCheckpointFile().exists()) {
 			try {
 				loadFromStateFile(algorithm);
 			} catch (IOException | ClassNotFoundException e) {
@@ -119,6 +253,13 @@ public class CheckpointExtension extends PeriodicExtension {
 	@Override
 	public void onTerminate(Algorithm algorithm) {
 		doAction(algorithm);
+		awaitPendingWrite();
+		
+		if (executor != null) {
+			executor.shutdown();
+			executor = null;
+		}
+		
 		super.onTerminate(algorithm);
 	}
 
@@ -0,0 +1,648 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.algorithm.extension;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads and writes the checkpoint files used by {@link CheckpointExtension}.  The state is stored in one of three
+ * forms:
+ * <ol>
+ *   <li>A legacy file containing only the serialized state;
+ *   <li>A full snapshot, starting with a header identifying the format followed by the serialized state; or
+ *   <li>An incremental snapshot, which references a full snapshot stored in a separate base file and contains only
+ *       the bytes that changed since that snapshot.
+ * </ol>
+ * The serialized state can optionally be compressed.  Incremental snapshots split the state into variable-length
+ * chunks whose boundaries are determined by the content (content-defined chunking), so unchanged regions are
+ * recognized even when data is inserted or removed before them.  Each chunk either references an identical chunk in
+ * the base snapshot or is written verbatim.
+ * <p>
+ * All files are written to a temporary file in the same directory and atomically renamed, so a crash never leaves a
+ * partially-written checkpoint.  Base files alternate between two names, so the base referenced by the current state
+ * file is never overwritten.
+ */
+class CheckpointFile {
+	
+	/**
+	 * The bytes identifying a checkpoint file in this format.
+	 */
+	private static final byte[] MAGIC = "MOEACKPT".getBytes(StandardCharsets.US_ASCII);
+	
+	/**
+	 * The version of this format.
+	 */
+	private static final byte VERSION = 1;
+	
+	/**
+	 * Flag indicating the state is compressed.
+	 */
+	private static final byte COMPRESSED = 1;
+	
+	/**
+	 * Flag indicating the file is an incremental snapshot.
+	 */
+	private static final byte INCREMENTAL = 2;
+	
+	/**
+	 * Delta instruction copying a range of bytes from the base snapshot.
+	 */
+	private static final byte COPY = 1;
+	
+	/**
+	 * Delta instruction containing new bytes.
+	 */
+	private static final byte LITERAL = 2;
+	
+	/**
+	 * Delta instruction marking the end of the snapshot.
+	 */
+	private static final byte END = 0;
+	
+	/**
+	 * The minimum length of a chunk, in bytes.
+	 */
+	private static final int MIN_CHUNK = 256;
+	
+	/**
+	 * The maximum length of a chunk, in bytes.
+	 */
+	private static final int MAX_CHUNK = 16384;
+	
+	/**
+	 * The mask applied to the rolling hash to detect chunk boundaries, producing chunks averaging roughly 2 KB.
+	 */
+	private static final long BOUNDARY_MASK = (1L << 11) - 1;
+	
+	/**
+	 * Random values for the rolling (gear) hash, fixed so chunk boundaries are identical across runs.
+	 */
+	private static final long[] GEAR = new SplittableRandom(0x4d4f4541L).longs(256).toArray();
+	
+	/**
+	 * The checkpoint file.
+	 */
+	private final File file;
+	
+	/**
+	 * {@code true} if the state is compressed.
+	 */
+	private final boolean compress;
+	
+	/**
+	 * The number of checkpoints between full snapshots, where {@code 1} disables incremental snapshots.
+	 */
+	private final int fullSnapshotInterval;
+	
+	/**
+	 * The number of incremental snapshots written since the last full snapshot.
+	 */
+	private int numberOfIncrementalSnapshots;
+	
+	/**
+	 * The base file containing the last full snapshot, or {@code null} if no full snapshot was written.
+	 */
+	private File baseFile;
+	
+	/**
+	 * The state stored in the base file.
+	 */
+	private byte[] base;
+	
+	/**
+	 * The checksum of the state stored in the base file.
+	 */
+	private long baseChecksum;
+	
+	/**
+	 * The chunks of the base snapshot, mapping the hash of each chunk to its offset.
+	 */
+	private Map<Long, Integer> baseChunks;
+	
+	/**
+	 * Constructs a new checkpoint file.
+	 * 
+	 * @param file the checkpoint file
+	 * @param compress {@code true} if the state is compressed
+	 * @param fullSnapshotInterval the number of checkpoints between full snapshots, where {@code 1} disables
+	 *        incremental snapshots
+	 */
+	public CheckpointFile(File file, boolean compress, int fullSnapshotInterval) {
+		super();
+		this.file = file;
+		this.compress = compress;
+		this.fullSnapshotInterval = fullSnapshotInterval;
+	}
+	
+	/**
+	 * Returns {@code true} if the checkpoint file exists and is not empty.
+	 * 
+	 * @return {@code true} if the checkpoint file exists and is not empty; {@code false} otherwise
+	 */
+	public boolean exists() {
+		return file.exists() && (file.length() != 0L);
+	}
+	
+	/**
+	 * Reads the serialized state stored in the checkpoint file.
+	 * 
+	 * @return the serialized state
+	 * @throws IOException if an I/O error occurred or the file is corrupted
+	 */
+	public byte[] read() throws IOException {
+		return read(file, true);
+	}
+	
+	/**
+	 * Writes the serialized state to the checkpoint file, either as a full or incremental snapshot.
+	 * 
+	 * @param state the serialized state
+	 * @throws IOException if an I/O error occurred
+	 */
+	public void write(byte[] state) throws IOException {
+		if (fullSnapshotInterval <= 1) {
+			writeAtomically(file, out -> writeFull(out, state));
+			return;
+		}
+		
+		if (base == null || numberOfIncrementalSnapshots >= fullSnapshotInterval - 1) {
+			File newBaseFile = getBaseFile(baseFile == null || baseFile.getName().endsWith("1") ? 0 : 1);
+			writeAtomically(newBaseFile, out -> writeFull(out, state));
+			
+			File oldBaseFile = baseFile;
+			setBase(newBaseFile, state);
+			writeAtomically(file, out -> writeIncremental(out, state));
+			
+			//only remove the old base after the state file no longer references it
+			if (oldBaseFile != null && !oldBaseFile.equals(newBaseFile)) {
+				Files.deleteIfExists(oldBaseFile.toPath());
+			}
+		} else {
+			writeAtomically(file, out -> writeIncremental(out, state));
+			numberOfIncrementalSnapshots++;
+		}
+	}
+	
+	/**
+	 * Returns the name of one of the two alternating base files.
+	 * 
+	 * @param index the index of the base file, either {@code 0} or {@code 1}
+	 * @return the base file
+	 */
+	private File getBaseFile(int index) {
+		return new File(file.getAbsoluteFile().getParentFile(), file.getName() + ".base" + index);
+	}
+	
+	/**
+	 * Records the full snapshot used as the base of incremental snapshots.
+	 * 
+	 * @param baseFile the file storing the full snapshot
+	 * @param state the serialized state
+	 */
+	private void setBase(File baseFile, byte[] state) {
+		this.baseFile = baseFile;
+		base = state;
+		baseChecksum = checksum(state);
+		baseChunks = new HashMap<Long, Integer>();
+		numberOfIncrementalSnapshots = 0;
+		
+		int start = 0;
+		
+		while (start < state.length) {
+			int end = nextBoundary(state, start);
+			baseChunks.putIfAbsent(hash(state, start, end), start);
+			start = end;
+		}
+	}
+	
+	/**
+	 * Writes a full snapshot.
+	 * 
+	 * @param out the output stream
+	 * @param state the serialized state
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void writeFull(OutputStream out, byte[] state) throws IOException {
+		writeHeader(out, (byte)0);
+		
+		try (OutputStream body = openBody(out)) {
+			body.write(state);
+		}
+	}
+	
+	/**
+	 * Writes an incremental snapshot relative to the current base.
+	 * 
+	 * @param out the output stream
+	 * @param state the serialized state
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void writeIncremental(OutputStream out, byte[] state) throws IOException {
+		writeHeader(out, INCREMENTAL);
+		
+		DataOutputStream header = new DataOutputStream(out);
+		header.writeUTF(baseFile.getName());
+		header.writeInt(base.length);
+		header.writeLong(baseChecksum);
+		header.flush();
+		
+		try (DataOutputStream body = new DataOutputStream(openBody(out))) {
+			int copyOffset = -1;
+			int copyLength = 0;
+			int literalStart = 0;
+			int start = 0;
+			
+			while (start < state.length) {
+				int end = nextBoundary(state, start);
+				Integer offset = baseChunks.get(hash(state, start, end));
+				
+				if (offset != null && offset + end - start <= base.length &&
+						Arrays.equals(state, start, end, base, offset, offset + end - start)) {
+					if (literalStart < start) {
+						writeLiteral(body, state, literalStart, start);
+					}
+					
+					if (copyOffset >= 0 && copyOffset + copyLength == offset) {
+						copyLength += end - start;
+					} else {
+						writeCopy(body, copyOffset, copyLength);
+						copyOffset = offset;
+						copyLength = end - start;
+					}
+					
+					literalStart = end;
+				} else {
+					writeCopy(body, copyOffset, copyLength);
+					copyOffset = -1;
+					copyLength = 0;
+				}
+				
+				start = end;
+			}
+			
+			writeCopy(body, copyOffset, copyLength);
+			writeLiteral(body, state, literalStart, state.length);
+			body.writeByte(END);
+		}
+	}
+	
+	/**
+	 * Writes a copy instruction, if the length is non-zero.
+	 * 
+	 * @param body the output stream
+	 * @param offset the offset in the base snapshot
+	 * @param length the number of bytes to copy
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static void writeCopy(DataOutputStream body, int offset, int length) throws IOException {
+		if (length > 0) {
+			body.writeByte(COPY);
+			body.writeInt(offset);
+			body.writeInt(length);
+		}
+	}
+	
+	/**
+	 * Writes a literal instruction, if the range is non-empty.
+	 * 
+	 * @param body the output stream
+	 * @param state the serialized state
+	 * @param start the start of the range, inclusive
+	 * @param end the end of the range, exclusive
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static void writeLiteral(DataOutputStream body, byte[] state, int start, int end) throws IOException {
+		if (end > start) {
+			body.writeByte(LITERAL);
+			body.writeInt(end - start);
+			body.write(state, start, end - start);
+		}
+	}
+	
+	/**
+	 * Writes the header identifying the format.
+	 * 
+	 * @param out the output stream
+	 * @param flags the flags describing the file
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void writeHeader(OutputStream out, byte flags) throws IOException {
+		out.write(MAGIC);
+		out.write(VERSION);
+		out.write(compress ? flags | COMPRESSED : flags);
+	}
+	
+	/**
+	 * Opens the stream for writing the body of the file, compressing if enabled.
+	 * 
+	 * @param out the underlying output stream
+	 * @return the stream for writing the body
+	 */
+	private OutputStream openBody(OutputStream out) {
+		if (!compress) {
+			return out;
+		}
+		
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		
+		return new DeflaterOutputStream(out, deflater, 65536) {
+			
+			@Override
+			public void close() throws IOException {
+				try {
+					super.close();
+				} finally {
+					deflater.end();
+				}
+			}
+			
+		};
+	}
+	
+	/**
+	 * Reads the serialized state stored in a checkpoint or base file.
+	 * 
+	 * @param file the file
+	 * @param allowIncremental {@code true} if the file can be an incremental snapshot
+	 * @return the serialized state
+	 * @throws IOException if an I/O error occurred or the file is corrupted
+	 */
+	private byte[] read(File file, boolean allowIncremental) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			byte[] magic = new byte[MAGIC.length];
+			in.mark(MAGIC.length);
+			
+			//legacy files contain only the serialized state
+			if (in.readNBytes(magic, 0, magic.length) != MAGIC.length || !Arrays.equals(magic, MAGIC)) {
+				in.reset();
+				return in.readAllBytes();
+			}
+			
+			if (in.readByte() != VERSION) {
+				throw new IOException("unsupported checkpoint file version");
+			}
+			
+			byte flags = in.readByte();
+			
+			if ((flags & INCREMENTAL) == 0) {
+				try (InputStream body = openBody(in, flags)) {
+					return body.readAllBytes();
+				}
+			}
+			
+			if (!allowIncremental) {
+				throw new IOException("base file " + file + " must contain a full snapshot");
+			}
+			
+			File baseFile = new File(file.getAbsoluteFile().getParentFile(), in.readUTF());
+			int baseLength = in.readInt();
+			long baseChecksum = in.readLong();
+			byte[] base = read(baseFile, false);
+			
+			//remember the referenced base so the next full snapshot does not overwrite it
+			this.baseFile = baseFile;
+			
+			if (base.length != baseLength || checksum(base) != baseChecksum) {
+				throw new IOException("base file " + baseFile + " does not match checkpoint file");
+			}
+			
+			try (DataInputStream body = new DataInputStream(openBody(in, flags))) {
+				return applyDelta(body, base);
+			}
+		}
+	}
+	
+	/**
+	 * Reconstructs the state from an incremental snapshot.
+	 * 
+	 * @param body the stream containing the delta instructions
+	 * @param base the state stored in the base file
+	 * @return the serialized state
+	 * @throws IOException if an I/O error occurred or the file is corrupted
+	 */
+	private static byte[] applyDelta(DataInputStream body, byte[] base) throws IOException {
+		ByteArrayBuilder result = new ByteArrayBuilder(base.length);
+		
+		while (true) {
+			byte instruction = body.readByte();
+			
+			if (instruction == END) {
+				return result.toByteArray();
+			} else if (instruction == COPY) {
+				int offset = body.readInt();
+				int length = body.readInt();
+				
+				if (offset < 0 || length < 0 || offset + length > base.length) {
+					throw new IOException("invalid range in checkpoint file");
+				}
+				
+				result.write(base, offset, length);
+			} else if (instruction == LITERAL) {
+				byte[] literal = new byte[body.readInt()];
+				body.readFully(literal);
+				result.write(literal, 0, literal.length);
+			} else {
+				throw new EOFException("invalid instruction in checkpoint file");
+			}
+		}
+	}
+	
+	/**
+	 * Opens the stream for reading the body of the file, decompressing if required.
+	 * 
+	 * @param in the underlying input stream
+	 * @param flags the flags describing the file
+	 * @return the stream for reading the body
+	 */
+	private static InputStream openBody(InputStream in, byte flags) {
+		return (flags & COMPRESSED) != 0 ? new InflaterInputStream(in) : in;
+	}
+	
+	/**
+	 * Writes a file by first writing to a temporary file in the same directory and then renaming, so readers never
+	 * observe a partially-written file.
+	 * 
+	 * @param target the file being written
+	 * @param writer the function writing the contents
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static void writeAtomically(File target, ContentWriter writer) throws IOException {
+		File directory = target.getAbsoluteFile().getParentFile();
+		File tempFile = File.createTempFile(target.getName(), ".tmp", directory);
+		
+		try {
+			try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tempFile), 65536)) {
+				writer.write(out);
+			}
+			
+			try {
+				Files.move(tempFile.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(tempFile.toPath());
+		}
+	}
+	
+	/**
+	 * Returns the end of the chunk starting at the given offset, using a rolling gear hash to locate the boundary.
+	 * 
+	 * @param data the data being chunked
+	 * @param start the start of the chunk
+	 * @return the end of the chunk, exclusive
+	 */
+	private static int nextBoundary(byte[] data, int start) {
+		int limit = Math.min(data.length, start + MAX_CHUNK);
+		int i = Math.min(limit, start + MIN_CHUNK);
+		long hash = 0;
+		
+		for (; i < limit; i++) {
+			hash = (hash << 1) + GEAR[data[i] & 0xFF];
+			
+			if ((hash & BOUNDARY_MASK) == 0) {
+				return i + 1;
+			}
+		}
+		
+		return limit;
+	}
+	
+	/**
+	 * Computes a 64-bit FNV-1a hash of a range of bytes.
+	 * 
+	 * @param data the data
+	 * @param start the start of the range, inclusive
+	 * @param end the end of the range, exclusive
+	 * @return the hash
+	 */
+	private static long hash(byte[] data, int start, int end) {
+		long hash = 0xcbf29ce484222325L;
+		
+		for (int i = start; i < end; i++) {
+			hash ^= data[i] & 0xFF;
+			hash *= 0x100000001b3L;
+		}
+		
+		return hash;
+	}
+	
+	/**
+	 * Computes the CRC-32 checksum of the data.
+	 * 
+	 * @param data the data
+	 * @return the checksum
+	 */
+	private static long checksum(byte[] data) {
+		CRC32 crc = new CRC32();
+		crc.update(data);
+		return crc.getValue();
+	}
+	
+	/**
+	 * Writes the contents of a file.
+	 */
+	@FunctionalInterface
+	private interface ContentWriter {
+		
+		/**
+		 * Writes the contents to the output stream.
+		 * 
+		 * @param out the output stream
+		 * @throws IOException if an I/O error occurred
+		 */
+		public void write(OutputStream out) throws IOException;
+		
+	}
+	
+	/**
+	 * Growable byte array that exposes its contents without copying when the final size matches the capacity.
+	 */
+	private static class ByteArrayBuilder {
+		
+		/**
+		 * The buffer.
+		 */
+		private byte[] buffer;
+		
+		/**
+		 * The number of bytes written.
+		 */
+		private int size;
+		
+		/**
+		 * Constructs a new builder.
+		 * 
+		 * @param capacity the initial capacity
+		 */
+		public ByteArrayBuilder(int capacity) {
+			super();
+			buffer = new byte[Math.max(16, capacity)];
+		}
+		
+		/**
+		 * Appends a range of bytes.
+		 * 
+		 * @param data the data
+		 * @param offset the start of the range
+		 * @param length the number of bytes
+		 */
+		public void write(byte[] data, int offset, int length) {
+			if (size + length > buffer.length) {
+				buffer = Arrays.copyOf(buffer, Math.max(size + length, 2 * buffer.length));
+			}
+			
+			System.arraycopy(data, offset, buffer, size, length);
+			size += length;
+		}
+		
+		/**
+		 * Returns the bytes written.
+		 * 
+		 * @return the bytes written
+		 */
+		public byte[] toByteArray() {
+			return size == buffer.length ? buffer : Arrays.copyOf(buffer, size);
+		}
+		
+	}
+
+}
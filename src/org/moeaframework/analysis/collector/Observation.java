@@ -23,7 +23,11 @@ import java.util.Set;
 import java.util.TreeMap;
 
 /**
- * An observation records information about an algorithm at a point in time.  
+ * An observation records information about an algorithm at a point in time.
+ * <p>
+ * Once added to {@link Observations}, the values are stored in the columns of the observations.  The observations
+ * returned by {@link Observations} are views of these columns, so any changes made through the view are stored in the
+ * columns.
  */
 public class Observation implements Serializable, Comparable<Observation> {
 
@@ -35,10 +39,17 @@ public class Observation implements Serializable, Comparable<Observation> {
 	private final int nfe;
 	
 	/**
-	 * The data stored in this observation.
+	 * The data stored in this observation, or {@code null} if this observation is a view of the data stored in
+	 * {@link #source}.
 	 */
 	private final Map<String, Serializable> data;
 	
+	/**
+	 * The observations storing the data of this observation, or {@code null} if the data is stored in this
+	 * observation.
+	 */
+	private final transient Observations source;
+	
 	/**
 	 * Creates a new observation recorded at the given number of function evaluations.
 	 * 
@@ -48,6 +59,20 @@ public class Observation implements Serializable, Comparable<Observation> {
 		super();
 		this.nfe = nfe;
 		this.data = new TreeMap<String, Serializable>(String.CASE_INSENSITIVE_ORDER);
+		this.source = null;
+	}
+	
+	/**
+	 * Creates a view of the observation recorded at the given number of function evaluations.
+	 * 
+	 * @param source the observations storing the data
+	 * @param nfe the number of function evaluations
+	 */
+	Observation(Observations source, int nfe) {
+		super();
+		this.nfe = nfe;
+		this.data = null;
+		this.source = source;
 	}
 	
 	/**
@@ -59,13 +84,23 @@ public class Observation implements Serializable, Comparable<Observation> {
 		return nfe;
 	}
 	
+	/**
+	 * Returns the observations storing the data of this observation.
+	 * 
+	 * @return the observations storing the data of this observation, or {@code null} if the data is stored in this
+	 *         observation
+	 */
+	Observations getSource() {
+		return source;
+	}
+	
 	/**
 	 * Returns the keys recorded in this observation.
 	 * 
 	 * @return the keys
 	 */
 	public Set<String> keys() {
-		return data.keySet();
+		return source == null ? data.keySet() : source.keys(nfe);
 	}
 	
 	/**
@@ -76,7 +111,7 @@ public class Observation implements Serializable, Comparable<Observation> {
 	 * @throws IllegalArgumentException if no observation exists for the key
 	 */
 	public Serializable get(String key) {
-		Serializable value = data.get(key);
+		Serializable value = source == null ? data.get(key) : source.get(nfe, key);
 		
 		if (value == null) {
 			throw new IllegalArgumentException("no observation with key: " + key);
@@ -93,7 +128,30 @@ public class Observation implements Serializable, Comparable<Observation> {
 	 * @param value the value
 	 */
 	public void set(String key, Serializable value) {
-		data.put(key, value);
+		if (source == null) {
+			data.put(key, value);
+		} else {
+			source.set(nfe, key, value);
+		}
+	}
+	
+	/**
+	 * Replaces a view with a copy of its data when serialized.
+	 * 
+	 * @return the object to serialize
+	 */
+	private Object writeReplace() {
+		if (source == null) {
+			return this;
+		}
+		
+		Observation copy = new Observation(nfe);
+		
+		for (String key : keys()) {
+			copy.set(key, get(key));
+		}
+		
+		return copy;
 	}
 	
 	@Override
@@ -0,0 +1,611 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.collector;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.Solution;
+
+/**
+ * Stores the values of one key across all observations, indexed by row.  Rows are shared by all columns in
+ * {@link Observations}, so inserting a row into the observations inserts an empty row into each column.  Each type of
+ * value is stored in its most compact form: {@code double} and integral values in primitive arrays, and collections of
+ * solutions, such as approximation sets, in their serialized form.  Any other values are stored as-is.
+ */
+abstract class ObservationColumn implements Serializable {
+
+	private static final long serialVersionUID = -2960131606014520046L;
+	
+	/**
+	 * The minimum capacity of a column.
+	 */
+	private static final int MINIMUM_CAPACITY = 16;
+
+	/**
+	 * Constructs a new, empty column.
+	 */
+	ObservationColumn() {
+		super();
+	}
+	
+	/**
+	 * Returns the value stored in the given row.
+	 * 
+	 * @param row the row
+	 * @return the value, or {@code null} if the row has no value
+	 */
+	abstract Serializable get(int row);
+	
+	/**
+	 * Stores a value in the given row, replacing any existing value.
+	 * 
+	 * @param row the row
+	 * @param value the non-null value
+	 * @return {@code true} if the value was stored; {@code false} if this column does not support the type of value
+	 */
+	abstract boolean set(int row, Serializable value);
+	
+	/**
+	 * Removes the value stored in the given row.
+	 * 
+	 * @param row the row
+	 */
+	abstract void clear(int row);
+	
+	/**
+	 * Inserts an empty row, shifting the rows at or after the given row down by one.
+	 * 
+	 * @param row the row to insert
+	 * @param size the number of rows before inserting
+	 */
+	abstract void insert(int row, int size);
+	
+	/**
+	 * Returns {@code true} if the given row has a value; {@code false} otherwise.
+	 * 
+	 * @param row the row
+	 * @return {@code true} if the given row has a value; {@code false} otherwise
+	 */
+	boolean contains(int row) {
+		return get(row) != null;
+	}
+	
+	/**
+	 * Converts this column into one that stores any type of value.
+	 * 
+	 * @param size the number of rows
+	 * @return the converted column
+	 */
+	ObservationColumn toObjectColumn(int size) {
+		ObjectColumn result = new ObjectColumn();
+		
+		for (int i = 0; i < size; i++) {
+			Serializable value = get(i);
+			
+			if (value != null) {
+				result.set(i, value);
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Creates the most compact column for storing the given value.
+	 * 
+	 * @param value the first value stored in the column
+	 * @param spillThreshold the number of bytes of serialized solutions kept in memory before the remaining solutions
+	 *        are written to disk, or {@code -1} to keep all solutions in memory
+	 * @return the column
+	 */
+	static ObservationColumn create(Serializable value, long spillThreshold) {
+		if (value instanceof Double) {
+			return new DoubleColumn();
+		} else if (value instanceof Integer || value instanceof Long) {
+			return new LongColumn(value instanceof Integer);
+		} else if (SnapshotColumn.isSnapshot(value)) {
+			return new SnapshotColumn(spillThreshold);
+		} else {
+			return new ObjectColumn();
+		}
+	}
+	
+	/**
+	 * Returns the new capacity required to store the given row, which must exceed the current capacity.
+	 * 
+	 * @param capacity the current capacity
+	 * @param row the row
+	 * @return the new capacity
+	 */
+	static int grow(int capacity, int row) {
+		return Math.max(row + 1, Math.max(MINIMUM_CAPACITY, 2 * capacity));
+	}
+	
+	/**
+	 * Shifts the bits at or after the given index up by one, leaving the bit at the given index cleared.
+	 * 
+	 * @param bits the bits
+	 * @param index the index
+	 * @param size the number of bits in use
+	 */
+	static void insert(BitSet bits, int index, int size) {
+		for (int i = size; i > index; i--) {
+			bits.set(i, bits.get(i - 1));
+		}
+		
+		bits.clear(index);
+	}
+	
+	/**
+	 * Column storing {@code double} values in a primitive array.
+	 */
+	static final class DoubleColumn extends ObservationColumn {
+
+		private static final long serialVersionUID = 7004632318598981137L;
+
+		/**
+		 * The values in each row.
+		 */
+		private double[] values;
+		
+		/**
+		 * The rows containing a value.
+		 */
+		private final BitSet present;
+		
+		/**
+		 * Constructs a new, empty column for {@code double} values.
+		 */
+		DoubleColumn() {
+			super();
+			values = new double[0];
+			present = new BitSet();
+		}
+		
+		@Override
+		Serializable get(int row) {
+			return present.get(row) ? values[row] : null;
+		}
+		
+		@Override
+		boolean contains(int row) {
+			return present.get(row);
+		}
+
+		@Override
+		boolean set(int row, Serializable value) {
+			if (!(value instanceof Double doubleValue)) {
+				return false;
+			}
+			
+			if (row >= values.length) {
+				values = Arrays.copyOf(values, grow(values.length, row));
+			}
+			
+			values[row] = doubleValue;
+			present.set(row);
+			return true;
+		}
+
+		@Override
+		void clear(int row) {
+			present.clear(row);
+		}
+
+		@Override
+		void insert(int row, int size) {
+			if (row < values.length) {
+				if (size >= values.length) {
+					values = Arrays.copyOf(values, grow(values.length, size));
+				}
+				
+				System.arraycopy(values, row, values, row + 1, size - row);
+			}
+			
+			insert(present, row, size);
+		}
+		
+	}
+	
+	/**
+	 * Column storing {@code int} or {@code long} values in a primitive array.
+	 */
+	static final class LongColumn extends ObservationColumn {
+
+		private static final long serialVersionUID = -4302006620553829553L;
+
+		/**
+		 * {@code true} if this column stores {@link Integer} values; {@code false} if it stores {@link Long} values.
+		 */
+		private final boolean isInteger;
+		
+		/**
+		 * The values in each row.
+		 */
+		private long[] values;
+		
+		/**
+		 * The rows containing a value.
+		 */
+		private final BitSet present;
+		
+		/**
+		 * Constructs a new, empty column for integral values.
+		 * 
+		 * @param isInteger {@code true} if this column stores {@link Integer} values; {@code false} if it stores
+		 *        {@link Long} values
+		 */
+		LongColumn(boolean isInteger) {
+			super();
+			this.isInteger = isInteger;
+			values = new long[0];
+			present = new BitSet();
+		}
+
+		@Override
+		Serializable get(int row) {
+			if (!present.get(row)) {
+				return null;
+			} else if (isInteger) {
+				return Integer.valueOf((int)values[row]);
+			} else {
+				return Long.valueOf(values[row]);
+			}
+		}
+		
+		@Override
+		boolean contains(int row) {
+			return present.get(row);
+		}
+
+		@Override
+		boolean set(int row, Serializable value) {
+			if (!(isInteger ? value instanceof Integer : value instanceof Long)) {
+				return false;
+			}
+			
+			if (row >= values.length) {
+				values = Arrays.copyOf(values, grow(values.length, row));
+			}
+			
+			values[row] = ((Number)value).longValue();
+			present.set(row);
+			return true;
+		}
+
+		@Override
+		void clear(int row) {
+			present.clear(row);
+		}
+
+		@Override
+		void insert(int row, int size) {
+			if (row < values.length) {
+				if (size >= values.length) {
+					values = Arrays.copyOf(values, grow(values.length, size));
+				}
+				
+				System.arraycopy(values, row, values, row + 1, size - row);
+			}
+			
+			insert(present, row, size);
+		}
+		
+	}
+	
+	/**
+	 * Column storing any serializable value as-is.
+	 */
+	static final class ObjectColumn extends ObservationColumn {
+
+		private static final long serialVersionUID = 2719312287718418577L;
+		
+		/**
+		 * The values in each row, or {@code null} if the row has no value.
+		 */
+		private Serializable[] values;
+		
+		/**
+		 * Constructs a new, empty column.
+		 */
+		ObjectColumn() {
+			super();
+			values = new Serializable[0];
+		}
+
+		@Override
+		Serializable get(int row) {
+			return row < values.length ? values[row] : null;
+		}
+
+		@Override
+		boolean set(int row, Serializable value) {
+			if (row >= values.length) {
+				values = Arrays.copyOf(values, grow(values.length, row));
+			}
+			
+			values[row] = value;
+			return true;
+		}
+
+		@Override
+		void clear(int row) {
+			if (row < values.length) {
+				values[row] = null;
+			}
+		}
+
+		@Override
+		void insert(int row, int size) {
+			if (row < values.length) {
+				if (size >= values.length) {
+					values = Arrays.copyOf(values, grow(values.length, size));
+				}
+				
+				System.arraycopy(values, row, values, row + 1, size - row);
+				values[row] = null;
+			}
+		}
+		
+		@Override
+		ObservationColumn toObjectColumn(int size) {
+			return this;
+		}
+		
+	}
+	
+	/**
+	 * Column storing collections of solutions, such as approximation sets, in their serialized form.  Since
+	 * {@link Solution} uses a compact serialized form, this is considerably smaller than keeping the solutions in
+	 * memory.  Once the serialized solutions exceed the spill threshold, any additional snapshots are written to a
+	 * temporary file that is deleted when the JVM exits.  Each call to {@link #get(int)} returns a new copy of the
+	 * collection.
+	 */
+	static final class SnapshotColumn extends ObservationColumn {
+		
+		private static final long serialVersionUID = 4123960520290962788L;
+
+		/**
+		 * The number of bytes of serialized solutions kept in memory before the remaining solutions are written to
+		 * disk, or {@code -1} to keep all solutions in memory.
+		 */
+		private final long spillThreshold;
+		
+		/**
+		 * The snapshot stored in each row, either the serialized bytes or the position of the serialized bytes in the
+		 * spill file, or {@code null} if the row has no value.
+		 */
+		private transient Object[] snapshots;
+		
+		/**
+		 * The number of bytes of serialized solutions kept in memory.
+		 */
+		private transient long memoryUsage;
+		
+		/**
+		 * The temporary file storing spilled snapshots, or {@code null} if no snapshots have been spilled.
+		 */
+		private transient File spillFile;
+		
+		/**
+		 * Constructs a new, empty column for collections of solutions.
+		 * 
+		 * @param spillThreshold the number of bytes of serialized solutions kept in memory before the remaining
+		 *        solutions are written to disk, or {@code -1} to keep all solutions in memory
+		 */
+		SnapshotColumn(long spillThreshold) {
+			super();
+			this.spillThreshold = spillThreshold;
+			snapshots = new Object[0];
+		}
+		
+		/**
+		 * Returns {@code true} if the value is a collection of solutions that can be stored by this column.
+		 * 
+		 * @param value the value
+		 * @return {@code true} if the value is a collection of solutions; {@code false} otherwise
+		 */
+		static boolean isSnapshot(Serializable value) {
+			if (value instanceof Collection<?> collection) {
+				for (Object element : collection) {
+					if (!(element instanceof Solution)) {
+						return false;
+					}
+				}
+				
+				return true;
+			}
+			
+			return false;
+		}
+
+		@Override
+		Serializable get(int row) {
+			Object snapshot = row < snapshots.length ? snapshots[row] : null;
+			
+			if (snapshot == null) {
+				return null;
+			}
+			
+			byte[] bytes = snapshot instanceof byte[] array ? array : read((Long)snapshot);
+			
+			try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+				return (Serializable)input.readObject();
+			} catch (IOException | ClassNotFoundException e) {
+				throw new FrameworkException("unable to read the stored solutions", e);
+			}
+		}
+		
+		@Override
+		boolean contains(int row) {
+			return row < snapshots.length && snapshots[row] != null;
+		}
+
+		@Override
+		boolean set(int row, Serializable value) {
+			if (!isSnapshot(value)) {
+				return false;
+			}
+			
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			
+			try (ObjectOutputStream output = new ObjectOutputStream(buffer)) {
+				output.writeObject(value);
+			} catch (IOException e) {
+				// the solutions are not serializable, so they must be kept as-is
+				return false;
+			}
+			
+			clear(row);
+			store(row, buffer.toByteArray());
+			return true;
+		}
+		
+		/**
+		 * Stores the serialized solutions, spilling them to disk if the spill threshold is exceeded.
+		 * 
+		 * @param row the row
+		 * @param bytes the serialized solutions
+		 */
+		private void store(int row, byte[] bytes) {
+			if (row >= snapshots.length) {
+				snapshots = Arrays.copyOf(snapshots, grow(snapshots.length, row));
+			}
+			
+			if ((spillThreshold >= 0) && (memoryUsage + bytes.length > spillThreshold)) {
+				snapshots[row] = write(bytes);
+			} else {
+				snapshots[row] = bytes;
+				memoryUsage += bytes.length;
+			}
+		}
+
+		@Override
+		void clear(int row) {
+			if (row < snapshots.length) {
+				if (snapshots[row] instanceof byte[] bytes) {
+					memoryUsage -= bytes.length;
+				}
+				
+				snapshots[row] = null;
+			}
+		}
+
+		@Override
+		void insert(int row, int size) {
+			if (row < snapshots.length) {
+				if (size >= snapshots.length) {
+					snapshots = Arrays.copyOf(snapshots, grow(snapshots.length, size));
+				}
+				
+				System.arraycopy(snapshots, row, snapshots, row + 1, size - row);
+				snapshots[row] = null;
+			}
+		}
+		
+		/**
+		 * Appends the serialized solutions to the spill file.
+		 * 
+		 * @param bytes the serialized solutions
+		 * @return the position of the serialized solutions in the spill file
+		 */
+		private Long write(byte[] bytes) {
+			try {
+				if (spillFile == null) {
+					spillFile = File.createTempFile("observations", null);
+					spillFile.deleteOnExit();
+				}
+				
+				try (RandomAccessFile file = new RandomAccessFile(spillFile, "rw")) {
+					long position = file.length();
+					file.seek(position);
+					file.writeInt(bytes.length);
+					file.write(bytes);
+					return position;
+				}
+			} catch (IOException e) {
+				throw new FrameworkException("unable to write the stored solutions to disk", e);
+			}
+		}
+		
+		/**
+		 * Reads serialized solutions from the spill file.
+		 * 
+		 * @param position the position of the serialized solutions in the spill file
+		 * @return the serialized solutions
+		 */
+		private byte[] read(long position) {
+			try (RandomAccessFile file = new RandomAccessFile(spillFile, "r")) {
+				file.seek(position);
+				byte[] bytes = new byte[file.readInt()];
+				file.readFully(bytes);
+				return bytes;
+			} catch (IOException e) {
+				throw new FrameworkException("unable to read the stored solutions from disk", e);
+			}
+		}
+		
+		/**
+		 * Writes the serialized solutions, including any spilled to disk.
+		 * 
+		 * @param stream the stream
+		 * @throws IOException if an I/O error occurred
+		 */
+		private void writeObject(ObjectOutputStream stream) throws IOException {
+			stream.defaultWriteObject();
+			stream.writeInt(snapshots.length);
+			
+			for (Object snapshot : snapshots) {
+				stream.writeObject(snapshot instanceof Long position ? read(position) : snapshot);
+			}
+		}
+		
+		/**
+		 * Reads the serialized solutions, spilling them to disk if the spill threshold is exceeded.
+		 * 
+		 * @param stream the stream
+		 * @throws IOException if an I/O error occurred
+		 * @throws ClassNotFoundException if the class of a serialized object could not be found
+		 */
+		private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+			stream.defaultReadObject();
+			snapshots = new Object[stream.readInt()];
+			
+			for (int i = 0; i < snapshots.length; i++) {
+				byte[] bytes = (byte[])stream.readObject();
+				
+				if (bytes != null) {
+					store(i, bytes);
+				}
+			}
+		}
+		
+	}
+
+}
@@ -17,44 +17,226 @@
  */
 package org.moeaframework.analysis.collector;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.TreeSet;
 
+import org.moeaframework.core.Settings;
 import org.moeaframework.util.format.Column;
 import org.moeaframework.util.format.Formattable;
 import org.moeaframework.util.format.TabularData;
 
 /**
  * The observations collected over the course of a single algorithm run.
+ * <p>
+ * The observations are stored by column, with one column per key and a shared column storing the NFE of each
+ * observation.  Numeric values are stored in primitive arrays and collections of solutions, such as approximation
+ * sets, are stored in their compact serialized form, which can optionally be spilled to disk by setting
+ * {@link Settings#KEY_OBSERVATIONS_SPILL_THRESHOLD}.  The {@link Observation}s returned by this class are views of the
+ * stored columns.
  */
 public class Observations implements Serializable, Iterable<Observation>, Formattable<Observation> {
 
 	private static final long serialVersionUID = -5488946450924958321L;
-
+	
+	/**
+	 * The number of bytes of serialized solutions kept in memory by each column before the remaining solutions are
+	 * written to disk, or {@code -1} to keep all solutions in memory.
+	 */
+	private long spillThreshold;
+	
+	/**
+	 * The number of observations.
+	 */
+	private int size;
+	
+	/**
+	 * The NFE of each observation, in ascending order.
+	 */
+	private int[] nfe;
+	
 	/**
-	 * The internal storage of observations.
+	 * The column storing the values for each key.
 	 */
-	private final SortedMap<Integer, Observation> observations;
+	private Map<String, ObservationColumn> columns;
 
 	/**
 	 * Constructs an empty observations object.
 	 */
 	public Observations() {
-		observations = new TreeMap<Integer, Observation>();
+		this(Settings.getObservationsSpillThreshold());
+	}
+	
+	/**
+	 * Constructs an empty observations object with the given spill threshold.
+	 * 
+	 * @param spillThreshold the number of bytes of serialized solutions kept in memory by each column before the
+	 *        remaining solutions are written to disk, or {@code -1} to keep all solutions in memory
+	 */
+	Observations(long spillThreshold) {
+		super();
+		this.spillThreshold = spillThreshold;
+		
+		nfe = new int[0];
+		columns = new TreeMap<String, ObservationColumn>(String.CASE_INSENSITIVE_ORDER);
 	}
 
 	/**
-	 * Adds a new observation to this collection.
+	 * Adds a new observation to this collection, replacing any existing observation with the same NFE.  The values
+	 * are copied into this collection, so any later changes to the given observation are not reflected in this
+	 * collection.
 	 * 
 	 * @param observation the observation
 	 */
 	public void add(Observation observation) {
-		observations.put(observation.getNFE(), observation);
+		if (observation.getSource() == this) {
+			return;
+		}
+		
+		int NFE = observation.getNFE();
+		int row = indexOf(NFE);
+		
+		if (row >= 0) {
+			for (ObservationColumn column : columns.values()) {
+				column.clear(row);
+			}
+		} else {
+			row = -row - 1;
+			insert(row, NFE);
+		}
+		
+		for (String key : observation.keys()) {
+			store(row, key, observation.get(key));
+		}
+	}
+	
+	/**
+	 * Inserts an empty row for the given NFE.
+	 * 
+	 * @param row the row
+	 * @param NFE the NFE
+	 */
+	private void insert(int row, int NFE) {
+		if (size == nfe.length) {
+			nfe = Arrays.copyOf(nfe, ObservationColumn.grow(nfe.length, size));
+		}
+		
+		if (row < size) {
+			System.arraycopy(nfe, row, nfe, row + 1, size - row);
+			
+			for (ObservationColumn column : columns.values()) {
+				column.insert(row, size);
+			}
+		}
+		
+		nfe[row] = NFE;
+		size++;
+	}
+	
+	/**
+	 * Stores the value in the given row, converting the column if it does not support the type of value.
+	 * 
+	 * @param row the row
+	 * @param key the key
+	 * @param value the value, or {@code null} to remove the value
+	 */
+	private void store(int row, String key, Serializable value) {
+		ObservationColumn column = columns.get(key);
+		
+		if (value == null) {
+			if (column != null) {
+				column.clear(row);
+			}
+			
+			return;
+		}
+		
+		if (column == null) {
+			column = ObservationColumn.create(value, spillThreshold);
+			columns.put(key, column);
+		}
+		
+		if (!column.set(row, value)) {
+			column = column.toObjectColumn(size);
+			column.set(row, value);
+			columns.put(key, column);
+		}
+	}
+	
+	/**
+	 * Returns the row storing the observation with the given NFE.
+	 * 
+	 * @param NFE the NFE
+	 * @return the row, or {@code (-(insertion point) - 1)} if no observation exists with the given NFE
+	 */
+	private int indexOf(int NFE) {
+		return Arrays.binarySearch(nfe, 0, size, NFE);
+	}
+	
+	/**
+	 * Returns the keys recorded in the observation with the given NFE.
+	 * 
+	 * @param NFE the NFE
+	 * @return the keys
+	 */
+	Set<String> keys(int NFE) {
+		int row = indexOf(NFE);
+		Set<String> result = new TreeSet<String>(String.CASE_INSENSITIVE_ORDER);
+		
+		if (row >= 0) {
+			for (Map.Entry<String, ObservationColumn> entry : columns.entrySet()) {
+				if (entry.getValue().contains(row)) {
+					result.add(entry.getKey());
+				}
+			}
+		}
+		
+		return Collections.unmodifiableSet(result);
+	}
+	
+	/**
+	 * Returns the value of the given key recorded in the observation with the given NFE.
+	 * 
+	 * @param NFE the NFE
+	 * @param key the key
+	 * @return the value, or {@code null} if no value is recorded
+	 */
+	Serializable get(int NFE, String key) {
+		int row = indexOf(NFE);
+		ObservationColumn column = columns.get(key);
+		
+		if ((row < 0) || (column == null)) {
+			return null;
+		}
+		
+		return column.get(row);
+	}
+	
+	/**
+	 * Sets the value of the given key in the observation with the given NFE.
+	 * 
+	 * @param NFE the NFE
+	 * @param key the key
+	 * @param value the value
+	 */
+	void set(int NFE, String key, Serializable value) {
+		int row = indexOf(NFE);
+		
+		if (row < 0) {
+			row = -row - 1;
+			insert(row, NFE);
+		}
+		
+		store(row, key, value);
 	}
 	
 	/**
@@ -63,7 +245,7 @@ public class Observations implements Serializable, Iterable<Observation>, Format
 	 * @return the number of observations
 	 */
 	public int size() {
-		return observations.size();
+		return size;
 	}
 	
 	/**
@@ -72,7 +254,7 @@ public class Observations implements Serializable, Iterable<Observation>, Format
 	 * @return {@code true} if this collection of observations is empty; {@code false} otherwise
 	 */
 	public boolean isEmpty() {
-		return observations.isEmpty();
+		return size == 0;
 	}
 	
 	/**
@@ -82,10 +264,10 @@ public class Observations implements Serializable, Iterable<Observation>, Format
 	 * @return the keys
 	 */
 	public Set<String> keys() {
-		if (observations.isEmpty()) {
+		if (isEmpty()) {
 			return Collections.emptySet();
 		} else {
-			return observations.get(observations.firstKey()).keys();
+			return first().keys();
 		}
 	}
 	
@@ -93,18 +275,28 @@ public class Observations implements Serializable, Iterable<Observation>, Format
 	 * Returns the first observation.
 	 * 
 	 * @return the first observation
+	 * @throws NoSuchElementException if there are no observations
 	 */
 	public Observation first() {
-		return observations.get(observations.firstKey());
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+		
+		return new Observation(this, nfe[0]);
 	}
 	
 	/**
 	 * Returns the last observation.
 	 * 
 	 * @return the last observation
+	 * @throws NoSuchElementException if there are no observations
 	 */
 	public Observation last() {
-		return observations.get(observations.lastKey());
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+		
+		return new Observation(this, nfe[size - 1]);
 	}
 	
 	/**
@@ -115,16 +307,36 @@ public class Observations implements Serializable, Iterable<Observation>, Format
 	 * @return the matching observation
 	 */
 	public Observation at(int NFE) {
-		try {
-			return observations.get(observations.tailMap(NFE).firstKey());
-		} catch (NoSuchElementException e) {
-			return null;
+		int row = indexOf(NFE);
+		
+		if (row < 0) {
+			row = -row - 1;
 		}
+		
+		return row < size ? new Observation(this, nfe[row]) : null;
 	}
 
 	@Override
 	public Iterator<Observation> iterator() {
-		return observations.values().iterator();
+		return new Iterator<Observation>() {
+			
+			private int row = 0;
+
+			@Override
+			public boolean hasNext() {
+				return row < size;
+			}
+
+			@Override
+			public Observation next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				
+				return new Observation(Observations.this, nfe[row++]);
+			}
+			
+		};
 	}
 
 	@Override
@@ -148,5 +360,39 @@ public class Observations implements Serializable, Iterable<Observation>, Format
 		
 		return data;
 	}
+	
+	/**
+	 * Reads the serialized form, which is either the columns written by this version or the sorted map of
+	 * observations written by earlier versions.  Earlier versions are converted by adding each observation to an
+	 * empty collection.  The fields of this class are not final so they can be assigned here.
+	 * 
+	 * @param stream the stream
+	 * @throws IOException if an I/O error occurred
+	 * @throws ClassNotFoundException if the class of a serialized object could not be found
+	 */
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField fields = stream.readFields();
+		
+		if (fields.defaulted("columns")) {
+			SortedMap<Integer, Observation> observations = (SortedMap<Integer, Observation>)fields.get("observations",
+					null);
+			
+			spillThreshold = Settings.getObservationsSpillThreshold();
+			nfe = new int[0];
+			columns = new TreeMap<String, ObservationColumn>(String.CASE_INSENSITIVE_ORDER);
+			
+			if (observations != null) {
+				for (Observation observation : observations.values()) {
+					add(observation);
+				}
+			}
+		} else {
+			spillThreshold = fields.get("spillThreshold", -1L);
+			size = fields.get("size", 0);
+			nfe = (int[])fields.get("nfe", null);
+			columns = (Map<String, ObservationColumn>)fields.get("columns", null);
+		}
+	}
 
 }
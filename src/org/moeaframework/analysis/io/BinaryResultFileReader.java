@@ -0,0 +1,700 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.io;
+
+import static org.moeaframework.analysis.io.BinaryResultFileWriter.BLOCK_HEADER_SIZE;
+import static org.moeaframework.analysis.io.BinaryResultFileWriter.ENCODED_COLUMN;
+import static org.moeaframework.analysis.io.BinaryResultFileWriter.ENTRY_BLOCK;
+import static org.moeaframework.analysis.io.BinaryResultFileWriter.FLAG_COMPRESSED;
+import static org.moeaframework.analysis.io.BinaryResultFileWriter.FLAG_VARIABLES;
+import static org.moeaframework.analysis.io.BinaryResultFileWriter.INDEX_BLOCK;
+import static org.moeaframework.analysis.io.BinaryResultFileWriter.MAGIC;
+import static org.moeaframework.analysis.io.BinaryResultFileWriter.REAL_COLUMN;
+import static org.moeaframework.analysis.io.BinaryResultFileWriter.TRAILER_MAGIC;
+import static org.moeaframework.analysis.io.BinaryResultFileWriter.TRAILER_SIZE;
+import static org.moeaframework.analysis.io.BinaryResultFileWriter.VERSION;
+import static org.moeaframework.analysis.io.ResultFileWriter.ENCODING_WARNING;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.Variable;
+import org.moeaframework.core.variable.RealVariable;
+import org.moeaframework.util.TypedProperties;
+
+/**
+ * Reads binary result files created by {@link BinaryResultFileWriter}.
+ * <p>
+ * The position of each entry is loaded from the index at the end of the file, so any entry can be read in constant
+ * time with {@link #get(int)}.  If the index is missing, the entries are located by scanning the file.  Like
+ * {@link ResultFileReader}, iterating over this reader stops at the first invalid entry.  Reading an entry does not
+ * modify the state of this reader, so {@link #get(int)} can be called from multiple threads.
+ * 
+ * @see BinaryResultFileWriter
+ */
+public class BinaryResultFileReader implements Closeable, Iterator<ResultEntry>, Iterable<ResultEntry> {
+	
+	/**
+	 * The largest decompressed block that can be read, which is the largest array supported by most JVMs.
+	 */
+	private static final int MAX_BLOCK_LENGTH = Integer.MAX_VALUE - 8;
+	
+	/**
+	 * The largest ratio between the decompressed and compressed length of a block supported by the deflate format.
+	 */
+	private static final int MAX_COMPRESSION_RATIO = 1032;
+	
+	/**
+	 * The file channel.
+	 */
+	private final FileChannel channel;
+	
+	/**
+	 * The problem.
+	 */
+	private final Problem problem;
+	
+	/**
+	 * The header of the file.
+	 */
+	private final Header header;
+	
+	/**
+	 * The position of each entry in the file.
+	 */
+	private final long[] offsets;
+	
+	/**
+	 * The index of the next entry returned by the iterator.
+	 */
+	private int nextIndex;
+	
+	/**
+	 * The next entry to be returned; or {@code null} if the next entry has not yet been read.
+	 */
+	private ResultEntry nextEntry;
+	
+	/**
+	 * {@code true} if an error occurred parsing the result file; {@code false} otherwise.
+	 */
+	private boolean error;
+	
+	/**
+	 * {@code true} if the warning for unsupported decision variables was displayed; {@code false} otherwise.
+	 */
+	private volatile boolean printedWarning;
+	
+	/**
+	 * Constructs a binary result file reader.
+	 * 
+	 * @param problem the problem
+	 * @param file the file containing the results
+	 * @throws IOException if an I/O error occurred, the file is not a binary result file, or the number of objectives
+	 *         does not match the problem
+	 */
+	public BinaryResultFileReader(Problem problem, File file) throws IOException {
+		super();
+		this.problem = problem;
+		
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		
+		try {
+			header = readHeader(channel);
+			
+			if (header == null) {
+				throw new IOException("not a binary result file: " + file);
+			}
+			
+			if (header.getNumberOfObjectives() != problem.getNumberOfObjectives()) {
+				throw new IOException("number of objectives in " + file + " does not match the problem");
+			}
+			
+			long[] index = readIndex(channel, header);
+			offsets = index != null ? index : scan(channel, header);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Returns the name of the problem stored in the file header.
+	 * 
+	 * @return the name of the problem
+	 */
+	public String getProblemName() {
+		return header.getProblemName();
+	}
+	
+	/**
+	 * Returns the number of complete entries in the file.
+	 * 
+	 * @return the number of complete entries in the file
+	 */
+	public int getNumberOfEntries() {
+		return offsets.length;
+	}
+	
+	/**
+	 * Reads the entry at the given index in constant time.  This method is thread-safe.
+	 * 
+	 * @param index the index of the entry
+	 * @return the entry
+	 * @throws IndexOutOfBoundsException if the index is not a complete entry in the file
+	 * @throws FrameworkException if the entry is corrupted or could not be parsed
+	 */
+	public ResultEntry get(int index) {
+		Objects.checkIndex(index, offsets.length);
+		
+		try {
+			ByteBuffer content = readBlock(channel, header, offsets[index], ENTRY_BLOCK);
+			
+			if (content == null) {
+				throw new FrameworkException("entry " + index + " is corrupted");
+			}
+			
+			return parseEntry(content);
+		} catch (IOException | RuntimeException e) {
+			if (e instanceof FrameworkException frameworkException) {
+				throw frameworkException;
+			}
+			
+			throw new FrameworkException("unable to parse entry " + index, e);
+		}
+	}
+	
+	/**
+	 * Parses the content of an entry block.
+	 * 
+	 * @param content the content of the entry block
+	 * @return the entry
+	 */
+	private ResultEntry parseEntry(ByteBuffer content) {
+		int numberOfSolutions = content.getInt();
+		int numberOfObjectives = header.getNumberOfObjectives();
+		
+		// read properties
+		TypedProperties properties = new TypedProperties();
+		int numberOfProperties = content.getInt();
+		
+		for (int i = 0; i < numberOfProperties; i++) {
+			String key = readString(content);
+			properties.setString(key, readString(content));
+		}
+		
+		// read objectives, stored by column
+		double[][] objectives = new double[numberOfSolutions][numberOfObjectives];
+		
+		for (int j = 0; j < numberOfObjectives; j++) {
+			for (int k = 0; k < numberOfSolutions; k++) {
+				objectives[k][j] = content.getDouble();
+			}
+		}
+		
+		// read decision variables, stored by column
+		Solution[] solutions = new Solution[numberOfSolutions];
+		int numberOfVariables = (header.getFlags() & FLAG_VARIABLES) != 0 ? content.getInt() : 0;
+		boolean includeVariables = numberOfVariables > 0 && numberOfVariables == problem.getNumberOfVariables();
+		
+		for (int k = 0; k < numberOfSolutions; k++) {
+			solutions[k] = includeVariables ? problem.newSolution() : new Solution(0, numberOfObjectives);
+			solutions[k].setObjectives(objectives[k]);
+		}
+		
+		for (int i = 0; i < numberOfVariables; i++) {
+			byte type = content.get();
+			
+			for (int k = 0; k < numberOfSolutions; k++) {
+				if (type == REAL_COLUMN) {
+					double value = content.getDouble();
+					
+					if (includeVariables) {
+						solutions[k].setVariable(i, decode(solutions[k].getVariable(i), value));
+					}
+				} else if (type == ENCODED_COLUMN) {
+					String value = readString(content);
+					
+					if (includeVariables) {
+						solutions[k].setVariable(i, decode(solutions[k].getVariable(i), value));
+					}
+				} else {
+					throw new FrameworkException("unknown column type " + type);
+				}
+			}
+		}
+		
+		NondominatedPopulation population = new NondominatedPopulation();
+		
+		for (Solution solution : solutions) {
+			population.add(solution);
+		}
+		
+		return new ResultEntry(population, properties);
+	}
+	
+	/**
+	 * Decodes a real-valued decision variable.
+	 * 
+	 * @param variable the decision variable
+	 * @param value the stored value
+	 * @return the variable with the decoded value
+	 */
+	private Variable decode(Variable variable, double value) {
+		if (variable instanceof RealVariable realVariable && (Double.isNaN(value) ||
+				((value >= realVariable.getLowerBound()) && (value <= realVariable.getUpperBound())))) {
+			realVariable.setValue(value);
+			return realVariable;
+		}
+		
+		return decode(variable, Double.toString(value));
+	}
+	
+	/**
+	 * Decodes the string representation of a decision variable.
+	 * 
+	 * @param variable the decision variable
+	 * @param string the string representation of the decision variable
+	 * @return the variable with the decoded value
+	 */
+	private Variable decode(Variable variable, String string) {
+		if (string.equals("-")) {
+			if (!printedWarning) {
+				System.err.println(ENCODING_WARNING);
+				printedWarning = true;
+			}
+		} else {
+			variable.decode(string);
+		}
+		
+		return variable;
+	}
+	
+	/**
+	 * Reads a string stored as its length followed by its UTF-8 encoding.
+	 * 
+	 * @param buffer the buffer
+	 * @return the string
+	 */
+	private static String readString(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public Iterator<ResultEntry> iterator() {
+		return this;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (error) {
+			return false;
+		}
+		
+		if (nextEntry == null) {
+			if (nextIndex >= offsets.length) {
+				return false;
+			}
+			
+			try {
+				nextEntry = get(nextIndex++);
+			} catch (FrameworkException e) {
+				System.err.println("unable to parse entry, ignoring remaining entries in the file");
+				error = true;
+				return false;
+			}
+		}
+		
+		return true;
+	}
+
+	@Override
+	public ResultEntry next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		
+		ResultEntry result = nextEntry;
+		nextEntry = null;
+		return result;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+	
+	/**
+	 * Returns {@code true} if the file is a binary result file, determined by the magic number at the start of the
+	 * file.
+	 * 
+	 * @param file the file
+	 * @return {@code true} if the file is a binary result file; {@code false} otherwise
+	 * @throws IOException if an I/O error occurred
+	 */
+	public static boolean isBinaryResultFile(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			ByteBuffer buffer = read(channel, 0, 4);
+			return buffer != null && buffer.getInt() == MAGIC;
+		}
+	}
+	
+	/**
+	 * Opens the binary result file for reading.
+	 * 
+	 * @param problem the problem
+	 * @param file the file containing the results
+	 * @return the reader
+	 * @throws IOException if an I/O error occurred
+	 */
+	public static BinaryResultFileReader open(Problem problem, File file) throws IOException {
+		return new BinaryResultFileReader(problem, file);
+	}
+	
+	/**
+	 * Reads the header of a binary result file.
+	 * 
+	 * @param channel the file channel
+	 * @return the header, or {@code null} if the file is not a valid binary result file
+	 * @throws IOException if an I/O error occurred
+	 */
+	static Header readHeader(FileChannel channel) throws IOException {
+		ByteBuffer prefix = read(channel, 0, 14);
+		
+		if ((prefix == null) || (prefix.getInt() != MAGIC) || (prefix.getInt() != VERSION)) {
+			return null;
+		}
+		
+		int flags = prefix.getInt();
+		int nameLength = Short.toUnsignedInt(prefix.getShort());
+		ByteBuffer rest = read(channel, 14, nameLength + 8);
+		
+		if (rest == null) {
+			return null;
+		}
+		
+		byte[] name = new byte[nameLength + 2];
+		name[0] = (byte)(nameLength >>> 8);
+		name[1] = (byte)nameLength;
+		rest.get(name, 2, nameLength);
+		
+		try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(name))) {
+			return new Header(flags, input.readUTF(), rest.getInt(), rest.getInt(), 14 + nameLength + 8);
+		}
+	}
+	
+	/**
+	 * Reads the index at the end of a binary result file.
+	 * 
+	 * @param channel the file channel
+	 * @param header the header of the file
+	 * @return the position of each entry, or {@code null} if the index is missing or invalid
+	 * @throws IOException if an I/O error occurred
+	 */
+	static long[] readIndex(FileChannel channel, Header header) throws IOException {
+		long size = channel.size();
+		
+		if (size < header.getSize() + BLOCK_HEADER_SIZE + TRAILER_SIZE) {
+			return null;
+		}
+		
+		ByteBuffer trailer = read(channel, size - TRAILER_SIZE, TRAILER_SIZE);
+		long indexPosition = trailer.getLong();
+		
+		if ((trailer.getInt() != TRAILER_MAGIC) || (indexPosition < header.getSize()) ||
+				(indexPosition > size - TRAILER_SIZE - BLOCK_HEADER_SIZE) ||
+				(getBlockEnd(channel, indexPosition) != size - TRAILER_SIZE)) {
+			return null;
+		}
+		
+		ByteBuffer content = readBlock(channel, header, indexPosition, INDEX_BLOCK);
+		
+		if ((content == null) || (content.remaining() < 4)) {
+			return null;
+		}
+		
+		int count = content.getInt();
+		
+		if ((count < 0) || (content.remaining() != 8L * count)) {
+			return null;
+		}
+		
+		long[] offsets = new long[count];
+		
+		for (int i = 0; i < count; i++) {
+			offsets[i] = content.getLong();
+			
+			if ((offsets[i] < header.getSize()) || (offsets[i] >= indexPosition)) {
+				return null;
+			}
+		}
+		
+		return offsets;
+	}
+	
+	/**
+	 * Locates the entries by scanning the blocks in the file, stopping at the first incomplete or corrupted block.
+	 * 
+	 * @param channel the file channel
+	 * @param header the header of the file
+	 * @return the position of each valid entry
+	 * @throws IOException if an I/O error occurred
+	 */
+	static long[] scan(FileChannel channel, Header header) throws IOException {
+		long[] offsets = new long[16];
+		int count = 0;
+		long position = header.getSize();
+		
+		while (readBlock(channel, header, position, ENTRY_BLOCK) != null) {
+			if (count == offsets.length) {
+				offsets = Arrays.copyOf(offsets, 2 * count);
+			}
+			
+			offsets[count++] = position;
+			position = getBlockEnd(channel, position);
+		}
+		
+		return Arrays.copyOf(offsets, count);
+	}
+	
+	/**
+	 * Returns the position immediately after the block.
+	 * 
+	 * @param channel the file channel
+	 * @param position the position of the block
+	 * @return the position immediately after the block, or {@code -1} if the block header is incomplete
+	 * @throws IOException if an I/O error occurred
+	 */
+	static long getBlockEnd(FileChannel channel, long position) throws IOException {
+		ByteBuffer blockHeader = read(channel, position, BLOCK_HEADER_SIZE);
+		
+		if (blockHeader == null) {
+			return -1;
+		}
+		
+		return position + BLOCK_HEADER_SIZE + Integer.toUnsignedLong(blockHeader.getInt(1));
+	}
+	
+	/**
+	 * Reads and validates the block at the given position, decompressing its content if required.
+	 * 
+	 * @param channel the file channel
+	 * @param header the header of the file
+	 * @param position the position of the block
+	 * @param tag the expected type of block
+	 * @return the content of the block, or {@code null} if the block is incomplete, corrupted, or of a different type
+	 * @throws IOException if an I/O error occurred
+	 */
+	static ByteBuffer readBlock(FileChannel channel, Header header, long position, byte tag) throws IOException {
+		ByteBuffer blockHeader = read(channel, position, BLOCK_HEADER_SIZE);
+		
+		if ((blockHeader == null) || (blockHeader.get() != tag)) {
+			return null;
+		}
+		
+		int storedLength = blockHeader.getInt();
+		int length = blockHeader.getInt();
+		int checksum = blockHeader.getInt();
+		
+		// validate the lengths before allocating any buffers, as a corrupted header can contain any value
+		if ((storedLength < 0) || (length < 0) || (length > MAX_BLOCK_LENGTH) ||
+				(storedLength > channel.size() - position - BLOCK_HEADER_SIZE)) {
+			return null;
+		}
+		
+		if ((header.getFlags() & FLAG_COMPRESSED) == 0 ? length != storedLength :
+				length > (long)storedLength * MAX_COMPRESSION_RATIO) {
+			return null;
+		}
+		
+		ByteBuffer stored = read(channel, position + BLOCK_HEADER_SIZE, storedLength);
+		
+		if (stored == null) {
+			return null;
+		}
+		
+		CRC32 crc = new CRC32();
+		crc.update(stored.duplicate());
+		
+		if ((int)crc.getValue() != checksum) {
+			return null;
+		}
+		
+		if ((header.getFlags() & FLAG_COMPRESSED) == 0) {
+			return stored;
+		}
+		
+		Inflater inflater = new Inflater();
+		
+		try {
+			byte[] content = new byte[length];
+			inflater.setInput(stored);
+			
+			if ((inflater.inflate(content) != length) || !inflater.finished()) {
+				return null;
+			}
+			
+			return ByteBuffer.wrap(content);
+		} catch (DataFormatException e) {
+			return null;
+		} finally {
+			inflater.end();
+		}
+	}
+	
+	/**
+	 * Reads bytes from the file at the given position.
+	 * 
+	 * @param channel the file channel
+	 * @param position the position
+	 * @param length the number of bytes to read
+	 * @return the bytes, or {@code null} if the end of the file is reached first
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				return null;
+			}
+		}
+		
+		return buffer.flip();
+	}
+	
+	/**
+	 * The header of a binary result file.
+	 */
+	static class Header {
+		
+		/**
+		 * The flags describing the content of the file.
+		 */
+		private final int flags;
+		
+		/**
+		 * The name of the problem.
+		 */
+		private final String problemName;
+		
+		/**
+		 * The number of decision variables.
+		 */
+		private final int numberOfVariables;
+		
+		/**
+		 * The number of objectives.
+		 */
+		private final int numberOfObjectives;
+		
+		/**
+		 * The size of the header, in bytes.
+		 */
+		private final long size;
+		
+		/**
+		 * Constructs a new header.
+		 * 
+		 * @param flags the flags describing the content of the file
+		 * @param problemName the name of the problem
+		 * @param numberOfVariables the number of decision variables
+		 * @param numberOfObjectives the number of objectives
+		 * @param size the size of the header, in bytes
+		 */
+		public Header(int flags, String problemName, int numberOfVariables, int numberOfObjectives, long size) {
+			super();
+			this.flags = flags;
+			this.problemName = problemName;
+			this.numberOfVariables = numberOfVariables;
+			this.numberOfObjectives = numberOfObjectives;
+			this.size = size;
+		}
+		
+		/**
+		 * Returns the flags describing the content of the file.
+		 * 
+		 * @return the flags describing the content of the file
+		 */
+		public int getFlags() {
+			return flags;
+		}
+		
+		/**
+		 * Returns the name of the problem.
+		 * 
+		 * @return the name of the problem
+		 */
+		public String getProblemName() {
+			return problemName;
+		}
+		
+		/**
+		 * Returns the number of decision variables.
+		 * 
+		 * @return the number of decision variables
+		 */
+		public int getNumberOfVariables() {
+			return numberOfVariables;
+		}
+		
+		/**
+		 * Returns the number of objectives.
+		 * 
+		 * @return the number of objectives
+		 */
+		public int getNumberOfObjectives() {
+			return numberOfObjectives;
+		}
+		
+		/**
+		 * Returns the size of the header, in bytes.
+		 * 
+		 * @return the size of the header, in bytes
+		 */
+		public long getSize() {
+			return size;
+		}
+		
+	}
+
+}
@@ -0,0 +1,562 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.Variable;
+import org.moeaframework.core.variable.RealVariable;
+import org.moeaframework.util.TypedProperties;
+
+/**
+ * Writes result files in a compact, binary format.  This is an alternative to the text format written by
+ * {@link ResultFileWriter} that is smaller and faster to read, and supports reading any entry in constant time.
+ * <p>
+ * The file starts with a header identifying the problem, followed by one block per entry, and ends with an index
+ * storing the position of each entry.  Within each entry, the data is stored by column: all values of the first
+ * objective, followed by all values of the second objective, and so on.  Objectives and real-valued decision
+ * variables are stored as raw {@code double} values, while all other decision variables are stored using their string
+ * encoding.  Properties are stored as key-value pairs.  Each block is checksummed and, optionally, compressed.
+ * <p>
+ * The index is written when this writer is closed.  When appending, the entries are recovered by scanning and
+ * validating the blocks, so the file remains usable even if the index is missing, such as when the program is
+ * terminated before closing the file.  As with {@link ResultFileWriter}, constraint violating solutions are not
+ * recorded and, when appending, the first incomplete or corrupted entry and all following entries are removed.
+ * 
+ * @see BinaryResultFileReader
+ */
+public class BinaryResultFileWriter implements OutputWriter, Flushable {
+	
+	/**
+	 * The magic number identifying binary result files.
+	 */
+	static final int MAGIC = 0x4D4F4552;
+	
+	/**
+	 * The version of the file format.
+	 */
+	static final int VERSION = 1;
+	
+	/**
+	 * Flag indicating the decision variables are stored.
+	 */
+	static final int FLAG_VARIABLES = 0x1;
+	
+	/**
+	 * Flag indicating each block is compressed using {@link Deflater}.
+	 */
+	static final int FLAG_COMPRESSED = 0x2;
+	
+	/**
+	 * The tag starting an entry block.
+	 */
+	static final byte ENTRY_BLOCK = 'E';
+	
+	/**
+	 * The tag starting the index block.
+	 */
+	static final byte INDEX_BLOCK = 'I';
+	
+	/**
+	 * The size of the block header, consisting of the tag, stored length, uncompressed length, and checksum.
+	 */
+	static final int BLOCK_HEADER_SIZE = 13;
+	
+	/**
+	 * The magic number identifying the trailer, which stores the position of the index block.
+	 */
+	static final int TRAILER_MAGIC = 0x4D4F4958;
+	
+	/**
+	 * The size of the trailer, consisting of the position of the index block and the trailer magic number.
+	 */
+	static final int TRAILER_SIZE = 12;
+	
+	/**
+	 * Column type for decision variables stored as raw {@code double} values.
+	 */
+	static final byte REAL_COLUMN = 0;
+	
+	/**
+	 * Column type for decision variables stored using their string encoding.
+	 */
+	static final byte ENCODED_COLUMN = 1;
+	
+	/**
+	 * The settings for this result file.
+	 */
+	private final BinaryResultFileWriterSettings settings;
+	
+	/**
+	 * The flags stored in the header of this file.
+	 */
+	private final int flags;
+	
+	/**
+	 * The number of objectives.
+	 */
+	private final int numberOfObjectives;
+	
+	/**
+	 * The stream for appending data to the file.
+	 */
+	private final DataOutputStream output;
+	
+	/**
+	 * The position in the file where the next block is written.
+	 */
+	private long position;
+	
+	/**
+	 * The position of each entry in the file.
+	 */
+	private long[] offsets;
+	
+	/**
+	 * The number of entries in the file.
+	 */
+	private int numberOfEntries;
+	
+	/**
+	 * Buffer storing the content of the current block.
+	 */
+	private final ByteArrayOutputStream content;
+	
+	/**
+	 * Buffer storing the compressed content of the current block.
+	 */
+	private byte[] compressed;
+	
+	/**
+	 * The compressor, or {@code null} if compression is disabled.
+	 */
+	private final Deflater deflater;
+	
+	/**
+	 * {@code true} if the warning for unsupported decision variables was displayed; {@code false} otherwise.
+	 */
+	private boolean printedWarning;
+	
+	/**
+	 * Constructs a binary result file writer.  If appending to an existing binary result file, the file's own
+	 * settings for storing decision variables and compression are used.
+	 * 
+	 * @param problem the problem
+	 * @param file the file to which the results are stored
+	 * @param settings the settings to use when writing the result file
+	 * @throws IOException if an I/O error occurred
+	 */
+	public BinaryResultFileWriter(Problem problem, File file, BinaryResultFileWriterSettings settings)
+			throws IOException {
+		super();
+		this.settings = settings;
+		this.numberOfObjectives = problem.getNumberOfObjectives();
+		
+		if (!settings.isIncludeVariables()) {
+			System.err.println(ResultFileWriter.NO_VARIABLES_WARNING);
+		}
+		
+		offsets = new long[16];
+		content = new ByteArrayOutputStream();
+		compressed = new byte[0];
+		
+		int existingFlags = -1;
+		
+		if (file.exists() && settings.isAppend()) {
+			existingFlags = recover(problem, file);
+		}
+		
+		if (existingFlags >= 0) {
+			flags = existingFlags;
+			output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+		} else {
+			flags = (settings.isIncludeVariables() ? FLAG_VARIABLES : 0) |
+					(settings.isCompressed() ? FLAG_COMPRESSED : 0);
+			output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+			
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeInt(flags);
+			output.writeUTF(problem.getName());
+			output.writeInt(problem.getNumberOfVariables());
+			output.writeInt(problem.getNumberOfObjectives());
+			position = output.size();
+			
+			if (settings.isAutoFlush()) {
+				output.flush();
+			}
+		}
+		
+		deflater = (flags & FLAG_COMPRESSED) != 0 ? new Deflater(Deflater.BEST_SPEED) : null;
+	}
+	
+	/**
+	 * Recovers the valid entries from an existing binary result file, removing the index along with the first
+	 * incomplete or corrupted entry and all following entries.
+	 * 
+	 * @param problem the problem
+	 * @param file the existing file
+	 * @return the flags stored in the header of the existing file, or {@code -1} if the file is not a valid binary
+	 *         result file for this problem and must be rewritten
+	 * @throws IOException if an I/O error occurred
+	 */
+	private int recover(Problem problem, File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			BinaryResultFileReader.Header header = BinaryResultFileReader.readHeader(channel);
+			
+			if ((header == null) || !header.getProblemName().equals(problem.getName()) ||
+					(header.getNumberOfVariables() != problem.getNumberOfVariables()) ||
+					(header.getNumberOfObjectives() != problem.getNumberOfObjectives())) {
+				return -1;
+			}
+			
+			// scan the blocks instead of trusting the index, since every entry must be validated anyway
+			long[] entries = BinaryResultFileReader.scan(channel, header);
+			
+			long end = entries.length == 0 ? header.getSize() :
+				BinaryResultFileReader.getBlockEnd(channel, entries[entries.length - 1]);
+			
+			if (end < channel.size()) {
+				channel.truncate(end);
+			}
+			
+			offsets = Arrays.copyOf(entries, Math.max(16, entries.length));
+			numberOfEntries = entries.length;
+			position = end;
+			return header.getFlags();
+		}
+	}
+
+	@Override
+	public int getNumberOfEntries() {
+		return numberOfEntries;
+	}
+
+	@Override
+	public void append(ResultEntry entry) throws IOException {
+		List<Solution> feasibleSolutions = new ArrayList<Solution>();
+		
+		for (Solution solution : entry.getPopulation()) {
+			if (solution.isFeasible()) {
+				feasibleSolutions.add(solution);
+			}
+		}
+		
+		content.reset();
+		DataOutputStream data = new DataOutputStream(content);
+		
+		data.writeInt(feasibleSolutions.size());
+		
+		// write properties
+		TypedProperties properties = entry.getProperties();
+		
+		if (properties == null) {
+			data.writeInt(0);
+		} else {
+			data.writeInt(properties.size());
+			
+			for (String key : properties.keySet()) {
+				writeString(data, key);
+				writeString(data, properties.getString(key, ""));
+			}
+		}
+		
+		// write objectives
+		for (int j = 0; j < numberOfObjectives; j++) {
+			for (Solution solution : feasibleSolutions) {
+				data.writeDouble(solution.getObjective(j));
+			}
+		}
+		
+		// write decision variables
+		if ((flags & FLAG_VARIABLES) != 0) {
+			int numberOfVariables = feasibleSolutions.isEmpty() ? 0 : feasibleSolutions.get(0).getNumberOfVariables();
+			data.writeInt(numberOfVariables);
+			
+			for (int i = 0; i < numberOfVariables; i++) {
+				writeVariables(data, feasibleSolutions, i);
+			}
+		}
+		
+		data.flush();
+		writeBlock(ENTRY_BLOCK);
+		
+		if (settings.isAutoFlush()) {
+			output.flush();
+		}
+	}
+	
+	/**
+	 * Writes the column containing the decision variable at the given index for each solution.
+	 * 
+	 * @param data the output stream
+	 * @param solutions the solutions
+	 * @param index the index of the decision variable
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void writeVariables(DataOutputStream data, List<Solution> solutions, int index) throws IOException {
+		boolean isReal = true;
+		
+		for (Solution solution : solutions) {
+			isReal &= solution.getVariable(index).getClass() == RealVariable.class;
+		}
+		
+		data.writeByte(isReal ? REAL_COLUMN : ENCODED_COLUMN);
+		
+		for (Solution solution : solutions) {
+			Variable variable = solution.getVariable(index);
+			
+			if (isReal) {
+				data.writeDouble(((RealVariable)variable).getValue());
+			} else {
+				writeString(data, encode(variable));
+			}
+		}
+	}
+	
+	/**
+	 * Writes the current content as a block, recording its position if it is an entry.
+	 * 
+	 * @param tag the tag identifying the type of block
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void writeBlock(byte tag) throws IOException {
+		byte[] bytes = content.toByteArray();
+		byte[] stored = bytes;
+		int storedLength = bytes.length;
+		
+		if (deflater != null) {
+			int bound = bytes.length + bytes.length / 1000 + 64;
+			
+			if (compressed.length < bound) {
+				compressed = new byte[bound];
+			}
+			
+			deflater.reset();
+			deflater.setInput(bytes);
+			deflater.finish();
+			storedLength = deflater.deflate(compressed, 0, compressed.length);
+			
+			while (!deflater.finished()) {
+				compressed = Arrays.copyOf(compressed, 2 * compressed.length);
+				storedLength += deflater.deflate(compressed, storedLength, compressed.length - storedLength);
+			}
+			
+			stored = compressed;
+		}
+		
+		CRC32 crc = new CRC32();
+		crc.update(stored, 0, storedLength);
+		
+		output.writeByte(tag);
+		output.writeInt(storedLength);
+		output.writeInt(bytes.length);
+		output.writeInt((int)crc.getValue());
+		output.write(stored, 0, storedLength);
+		
+		if (tag == ENTRY_BLOCK) {
+			if (numberOfEntries == offsets.length) {
+				offsets = Arrays.copyOf(offsets, 2 * numberOfEntries);
+			}
+			
+			offsets[numberOfEntries++] = position;
+		}
+		
+		position += BLOCK_HEADER_SIZE + storedLength;
+	}
+	
+	/**
+	 * Writes a string as its length followed by its UTF-8 encoding.
+	 * 
+	 * @param data the output stream
+	 * @param string the string
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static void writeString(DataOutputStream data, String string) throws IOException {
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		data.writeInt(bytes.length);
+		data.write(bytes);
+	}
+	
+	/**
+	 * Encodes the decision variable into a string representation.  For decision variables that do not support a
+	 * valid encoding, the string {@code "-"} will be returned and a warning message printed.
+	 * 
+	 * @param variable the decision variable to encode
+	 * @return the string representation of the decision variable
+	 */
+	private String encode(Variable variable) {
+		try {
+			return variable.encode();
+		} catch (Exception e) {
+			if (!printedWarning) {
+				System.err.println(ResultFileWriter.ENCODING_WARNING);
+				printedWarning = true;
+			}
+			
+			return "-";
+		}
+	}
+	
+	/**
+	 * Flushes all entries written so far to the file.  This is only required when auto flush is disabled.  The index
+	 * is not written until this writer is closed.
+	 * 
+	 * @throws IOException if an I/O error occurred
+	 */
+	@Override
+	public void flush() throws IOException {
+		output.flush();
+	}
+
+	/**
+	 * Writes the index and closes the file.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			content.reset();
+			DataOutputStream data = new DataOutputStream(content);
+			data.writeInt(numberOfEntries);
+			
+			for (int i = 0; i < numberOfEntries; i++) {
+				data.writeLong(offsets[i]);
+			}
+			
+			data.flush();
+			
+			long indexPosition = position;
+			writeBlock(INDEX_BLOCK);
+			
+			output.writeLong(indexPosition);
+			output.writeInt(TRAILER_MAGIC);
+		} finally {
+			output.close();
+			
+			if (deflater != null) {
+				deflater.end();
+			}
+		}
+	}
+	
+	/**
+	 * Opens the binary result file in append mode.  If the file already exists, this writer will validate the
+	 * contents, remove any invalid entries at the end of the file, and report the number of valid entries in the file.
+	 * 
+	 * @param problem the problem
+	 * @param file the file
+	 * @return the binary result file writer
+	 * @throws IOException if an I/O error occurred
+	 */
+	public static BinaryResultFileWriter append(Problem problem, File file) throws IOException {
+		return new BinaryResultFileWriter(problem, file, BinaryResultFileWriterSettings.getDefault());
+	}
+	
+	/**
+	 * Opens the binary result file in overwrite mode.  Any existing file will be deleted.
+	 * 
+	 * @param problem the problem
+	 * @param file the file
+	 * @return the binary result file writer
+	 * @throws IOException if an I/O error occurred
+	 */
+	public static BinaryResultFileWriter overwrite(Problem problem, File file) throws IOException {
+		return new BinaryResultFileWriter(problem, file, BinaryResultFileWriterSettings.overwrite());
+	}
+	
+	/**
+	 * The settings used when writing binary result files.
+	 */
+	public static class BinaryResultFileWriterSettings extends ResultFileWriter.ResultFileWriterSettings {
+		
+		/**
+		 * {@code true} to compress each block; {@code false} otherwise.
+		 */
+		protected final boolean compressed;
+		
+		/**
+		 * Constructs the default settings object.
+		 */
+		public BinaryResultFileWriterSettings() {
+			this(Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty());
+		}
+		
+		/**
+		 * Constructs a new binary result file settings object.
+		 * 
+		 * @param append {@code true} to enable append mode, {@code false} otherwise
+		 * @param includeVariables {@code true} to enable writing all decision variables; {@code false} otherwise
+		 * @param autoFlush {@code true} to flush the output after each entry (the default); {@code false} to only
+		 *        flush when requested or when closed
+		 * @param compressed {@code true} to compress each block; {@code false} otherwise (the default)
+		 */
+		public BinaryResultFileWriterSettings(Optional<Boolean> append, Optional<Boolean> includeVariables,
+				Optional<Boolean> autoFlush, Optional<Boolean> compressed) {
+			super(append, includeVariables, autoFlush);
+			this.compressed = compressed != null && compressed.isPresent() ? compressed.get() : false;
+		}
+		
+		/**
+		 * Returns {@code true} if each block is compressed; {@code false} otherwise.
+		 * 
+		 * @return {@code true} if each block is compressed; {@code false} otherwise
+		 */
+		public boolean isCompressed() {
+			return compressed;
+		}
+		
+		/**
+		 * Returns the default settings for writing binary result files.
+		 * 
+		 * @return the default settings for writing binary result files
+		 */
+		public static BinaryResultFileWriterSettings getDefault() {
+			return new BinaryResultFileWriterSettings();
+		}
+		
+		/**
+		 * Returns the settings with append mode disabled.
+		 * 
+		 * @return the settings with append mode disabled
+		 */
+		public static BinaryResultFileWriterSettings overwrite() {
+			return new BinaryResultFileWriterSettings(Optional.of(false), Optional.empty(), Optional.empty(),
+					Optional.empty());
+		}
+		
+	}
+
+}
@@ -20,7 +20,6 @@ package org.moeaframework.analysis.io;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.ArrayList;
@@ -40,14 +39,37 @@ import org.moeaframework.util.io.CommentedLineReader;
  * Parsing stops at the first error.  Check the {@code error} flag to determine if an error was encountered.  An
  * exception may or may not be thrown, depending on the type of error and the value of the {@code suppressExceptions}
  * flag.  If exceptions are suppressed, a warning message will be printed.
+ * <p>
+ * When reading from a file, the file is loaded into a {@link TextBuffer}, which memory maps large files, and numbers
+ * are parsed directly from its bytes, avoiding the creation of intermediate strings.
  */
 public class MatrixReader implements Iterable<double[]>, Iterator<double[]>, Closeable {
 
 	/**
-	 * The underlying reader.
+	 * The underlying reader; or {@code null} if reading from a file.
 	 */
 	private final CommentedLineReader reader;
 	
+	/**
+	 * The content of the file; or {@code null} if reading from the underlying reader.
+	 */
+	private TextBuffer buffer;
+	
+	/**
+	 * The position of the next line in the file.
+	 */
+	private long position;
+	
+	/**
+	 * The bounds of the tokens in the current line of the file.
+	 */
+	private long[] tokens;
+	
+	/**
+	 * The number of tokens in the current line of the file.
+	 */
+	private int numberOfTokens;
+	
 	/**
 	 * The expected number of columns; or {@code -1} if the matrix has no fixed column count.
 	 */
@@ -75,7 +97,7 @@ public class MatrixReader implements Iterable<double[]>, Iterator<double[]>, Clo
 	 * @throws FileNotFoundException if the file was not found
 	 */
 	public MatrixReader(File file) throws FileNotFoundException {
-		this(new FileReader(file), -1);
+		this(file, -1);
 	}
 	
 	/**
@@ -86,7 +108,12 @@ public class MatrixReader implements Iterable<double[]>, Iterator<double[]>, Clo
 	 * @throws FileNotFoundException if the file was not found
 	 */
 	public MatrixReader(File file, int numberOfColumns) throws FileNotFoundException {
-		this(new FileReader(file), numberOfColumns);
+		super();
+		this.reader = null;
+		this.numberOfColumns = numberOfColumns;
+		
+		buffer = open(file);
+		tokens = new long[2 * Math.max(numberOfColumns, 8)];
 	}
 	
 	/**
@@ -110,6 +137,25 @@ public class MatrixReader implements Iterable<double[]>, Iterator<double[]>, Clo
 		this.numberOfColumns = numberOfColumns;
 	}
 	
+	/**
+	 * Opens the file as a text buffer.
+	 * 
+	 * @param file the file
+	 * @return the text buffer containing the content of the file
+	 * @throws FileNotFoundException if the file was not found or could not be opened
+	 */
+	private static TextBuffer open(File file) throws FileNotFoundException {
+		try {
+			return TextBuffer.open(file);
+		} catch (FileNotFoundException e) {
+			throw e;
+		} catch (IOException e) {
+			FileNotFoundException exception = new FileNotFoundException(file + " (" + e.getMessage() + ")");
+			exception.initCause(e);
+			throw exception;
+		}
+	}
+	
 	/**
 	 * Loads the content of the file into a matrix.
 	 * 
@@ -164,15 +210,28 @@ public class MatrixReader implements Iterable<double[]>, Iterator<double[]>, Clo
 	 * @throws IOException if an I/O error occurred
 	 */
 	private double[] readNextRow() throws IOException {
-		String line = reader.readLine();
-
-		if (line == null) {
-			return null;
+		String[] tokens = null;
+		int length = 0;
+		
+		if (buffer != null) {
+			if (!readNextLine()) {
+				return null;
+			}
+			
+			// an empty line is treated as a single, invalid token
+			length = Math.max(numberOfTokens, 1);
+		} else {
+			String line = reader.readLine();
+	
+			if (line == null) {
+				return null;
+			}
+	
+			tokens = line.trim().split("\\s+");
+			length = tokens.length;
 		}
 
-		String[] tokens = line.trim().split("\\s+");
-
-		if ((numberOfColumns >= 0) && (tokens.length != numberOfColumns)) {
+		if ((numberOfColumns >= 0) && (length != numberOfColumns)) {
 			error = true;
 			
 			if (suppressExceptions) {
@@ -183,11 +242,11 @@ public class MatrixReader implements Iterable<double[]>, Iterator<double[]>, Clo
 			}
 		}
 
-		double[] entry = new double[tokens.length];
+		double[] entry = new double[length];
 
 		try {
-			for (int i = 0; i < tokens.length; i++) {
-				entry[i] = Double.parseDouble(tokens[i]);
+			for (int i = 0; i < length; i++) {
+				entry[i] = tokens == null ? parseToken(i) : Double.parseDouble(tokens[i]);
 			}
 		} catch (NumberFormatException e) {
 			error = true;
@@ -202,6 +261,48 @@ public class MatrixReader implements Iterable<double[]>, Iterator<double[]>, Clo
 		return entry;
 	}
 
+	/**
+	 * Finds the next line in the file, skipping any comments, and splits the line into tokens.
+	 * 
+	 * @return {@code true} if a line was read; {@code false} if the end of the file was reached
+	 */
+	private boolean readNextLine() {
+		// skip over comments
+		while (buffer.startsWith(position, '#')) {
+			position = buffer.skipLineSeparator(buffer.findLineEnd(position));
+		}
+		
+		if (position >= buffer.length()) {
+			return false;
+		}
+		
+		long lineEnd = buffer.findLineEnd(position);
+		numberOfTokens = buffer.tokenize(position, lineEnd, tokens);
+		
+		if (2 * numberOfTokens > tokens.length) {
+			tokens = new long[2 * numberOfTokens];
+			buffer.tokenize(position, lineEnd, tokens);
+		}
+		
+		position = buffer.skipLineSeparator(lineEnd);
+		return true;
+	}
+	
+	/**
+	 * Parses the token in the current line of the file.
+	 * 
+	 * @param index the index of the token
+	 * @return the parsed value
+	 * @throws NumberFormatException if the token is not a valid number
+	 */
+	private double parseToken(int index) {
+		if (index >= numberOfTokens) {
+			throw new NumberFormatException("empty line");
+		}
+		
+		return buffer.parseDouble(tokens[2 * index], tokens[2 * index + 1]);
+	}
+
 	@Override
 	public void remove() {
 		throw new UnsupportedOperationException();
@@ -209,7 +310,12 @@ public class MatrixReader implements Iterable<double[]>, Iterator<double[]>, Clo
 
 	@Override
 	public void close() throws IOException {
-		reader.close();
+		if (reader != null) {
+			reader.close();
+		}
+		
+		// any mapping is released once the buffer is garbage collected
+		buffer = null;
 	}
 	
 	/**
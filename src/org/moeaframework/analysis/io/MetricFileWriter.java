@@ -19,6 +19,7 @@ package org.moeaframework.analysis.io;
 
 import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -143,7 +144,8 @@ public class MetricFileWriter implements OutputWriter {
 			// when appending to an existing file, first copy out all valid entries
 			File tempFile = File.createTempFile("temp", null);
 			
-			try (MetricFileReader reader = new MetricFileReader(file);
+			// read through a reader rather than mapping the file, which could prevent replacing the file
+			try (MetricFileReader reader = new MetricFileReader(new FileReader(file));
 					PrintWriter writer = new PrintWriter(new FileWriter(tempFile))) {
 				appendHeader(writer);
 				
@@ -17,21 +17,23 @@
  */
 package org.moeaframework.analysis.io;
 
-import java.io.BufferedReader;
 import java.io.Closeable;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 
 import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.Variable;
+import org.moeaframework.core.variable.RealVariable;
 import org.moeaframework.util.TypedProperties;
 
 import static org.moeaframework.analysis.io.ResultFileWriter.ENCODING_WARNING;
@@ -42,25 +44,55 @@ import static org.moeaframework.analysis.io.ResultFileWriter.ENCODING_WARNING;
  * This reader is expected to gracefully recover from incomplete or improperly formatted files. Unless a serious I/O
  * error occurred, this reader will attempt to load the file to the last valid entry. This requirement enables a
  * {@code ResultWriter} to resume processing at a valid state.
+ * <p>
+ * Large files are memory mapped and numbers are parsed directly from the file's bytes.  The boundaries of each entry
+ * are indexed as the file is read, allowing entries to be accessed in any order with {@link #get(int)}.  Since parsing
+ * an entry does not modify the state of this reader, {@link #get(int)} can be called from multiple threads to process
+ * the entries in parallel.
  * 
  * @see ResultFileWriter
  */
 public class ResultFileReader implements Closeable, Iterator<ResultEntry>, Iterable<ResultEntry> {
 
 	/**
-	 * The internal stream for reading data from the file.
-	 */
-	private final BufferedReader reader;
-
-	/**
-	 * The last line read from the internal stream.
+	 * The content of the result file.
 	 */
-	private String line;
+	private TextBuffer buffer;
 
 	/**
 	 * The problem.
 	 */
 	private final Problem problem;
+	
+	/**
+	 * The start of the first line of each indexed entry, excluding separator lines.
+	 */
+	private long[] entryStarts;
+	
+	/**
+	 * The start of the line terminating each indexed entry.
+	 */
+	private long[] entryEnds;
+	
+	/**
+	 * The number of indexed entries.
+	 */
+	private int numberOfEntries;
+	
+	/**
+	 * The position in the file where indexing resumes.
+	 */
+	private long indexPosition;
+	
+	/**
+	 * {@code true} if the entire file has been indexed; {@code false} otherwise.
+	 */
+	private boolean indexed;
+	
+	/**
+	 * The index of the next entry returned by the iterator.
+	 */
+	private int nextIndex;
 
 	/**
 	 * The next entry to be returned; or {@code null} if the next entry has not yet been read.
@@ -75,7 +107,7 @@ public class ResultFileReader implements Closeable, Iterator<ResultEntry>, Itera
 	/**
 	 * {@code true} if the warning for unsupported decision variables was displayed; {@code false} otherwise.
 	 */
-	private boolean printedWarning;
+	private volatile boolean printedWarning;
 
 	/**
 	 * Constructs a result file reader for reading the approximation sets from the specified result file.
@@ -85,18 +117,54 @@ public class ResultFileReader implements Closeable, Iterator<ResultEntry>, Itera
 	 * @throws IOException if an I/O error occurred
 	 */
 	public ResultFileReader(Problem problem, File file) throws IOException {
+		this(problem, TextBuffer.open(file));
+	}
+	
+	/**
+	 * Constructs a result file reader for reading the approximation sets from the given reader.  The entire content
+	 * is read into memory.
+	 * 
+	 * @param problem the problem
+	 * @param reader the reader containing the results
+	 * @throws IOException if an I/O error occurred
+	 */
+	ResultFileReader(Problem problem, Reader reader) throws IOException {
+		this(problem, read(reader));
+	}
+	
+	/**
+	 * Constructs a result file reader for reading the approximation sets from the text buffer.
+	 * 
+	 * @param problem the problem
+	 * @param buffer the text buffer containing the results
+	 */
+	private ResultFileReader(Problem problem, TextBuffer buffer) {
 		super();
 		this.problem = problem;
+		this.buffer = buffer;
 		
-		reader = new BufferedReader(new FileReader(file));
-
-		// prime the reader by reading the first line
-		line = reader.readLine();
+		entryStarts = new long[16];
+		entryEnds = new long[16];
+	}
+	
+	/**
+	 * Reads the entire content of the reader into a text buffer, closing the reader.
+	 * 
+	 * @param reader the reader
+	 * @return the text buffer
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static TextBuffer read(Reader reader) throws IOException {
+		try (Reader input = reader; StringWriter writer = new StringWriter()) {
+			input.transferTo(writer);
+			return TextBuffer.wrap(writer.toString());
+		}
 	}
 
 	@Override
 	public void close() throws IOException {
-		reader.close();
+		// any mapping is released once the buffer is garbage collected
+		buffer = null;
 	}
 
 	@Override
@@ -114,31 +182,107 @@ public class ResultFileReader implements Closeable, Iterator<ResultEntry>, Itera
 	public Iterator<ResultEntry> iterator() {
 		return this;
 	}
-
+	
 	/**
-	 * Returns the next population in the file; or {@code null} if the end of the file is reached. If the last
-	 * entry in the file is incomplete, {@code null} is returned.
+	 * Returns the number of complete entries in the file, which are entries terminated by a line starting with
+	 * {@code #}.  This indexes the entire file, but does not validate the content of each entry.
 	 * 
-	 * @return the next population in the file; or {@code null} if the end of the file is reached
-	 * @throws NumberFormatException if an error occurred parsing the objectives
-	 * @throws IOException if an I/O error occurred
+	 * @return the number of complete entries in the file
 	 */
-	private ResultEntry readNextEntry() throws NumberFormatException, IOException {
-		NondominatedPopulation population = new NondominatedPopulation();
-		StringWriter stringBuffer = new StringWriter();
+	public int getNumberOfEntries() {
+		while (indexNextEntry()) {
+			// index the entire file
+		}
+		
+		return numberOfEntries;
+	}
+	
+	/**
+	 * Reads the entry at the given index.  Unlike iterating over this reader, which stops at the first invalid entry,
+	 * this method can read any complete entry in the file.  This method is thread-safe.
+	 * 
+	 * @param index the index of the entry
+	 * @return the entry
+	 * @throws IndexOutOfBoundsException if the index is not a complete entry in the file
+	 * @throws FrameworkException if the entry could not be parsed
+	 */
+	public ResultEntry get(int index) {
+		Objects.checkIndex(index, getNumberOfEntries());
+		
+		ResultEntry entry = readEntry(entryStarts[index], entryEnds[index]);
+		
+		if (entry == null) {
+			throw new FrameworkException("unable to parse entry " + index);
+		}
+		
+		return entry;
+	}
+	
+	/**
+	 * Indexes the next entry in the file.
+	 * 
+	 * @return {@code true} if a complete entry was indexed; {@code false} if the end of the file was reached
+	 */
+	private synchronized boolean indexNextEntry() {
+		if (indexed) {
+			return false;
+		}
+		
+		long length = buffer.length();
+		long position = indexPosition;
 
 		// ignore any comment lines separating entries
-		while ((line != null) && line.startsWith("#")) {
-			line = reader.readLine();
+		while (buffer.startsWith(position, '#')) {
+			position = buffer.skipLineSeparator(buffer.findLineEnd(position));
 		}
+		
+		long start = position;
 
-		// read next entry, terminated by #
-		while ((line != null) && !line.startsWith("#")) {
-			if (line.startsWith("//")) {
-				stringBuffer.write(line.substring(2));
-				stringBuffer.write('\n');
+		// find the end of the entry, terminated by #
+		while ((position < length) && !buffer.startsWith(position, '#')) {
+			position = buffer.skipLineSeparator(buffer.findLineEnd(position));
+		}
+		
+		indexPosition = position;
+		
+		if (position >= length) {
+			// the last entry is incomplete
+			indexed = true;
+			return false;
+		}
+		
+		if (numberOfEntries == entryStarts.length) {
+			entryStarts = Arrays.copyOf(entryStarts, 2 * numberOfEntries);
+			entryEnds = Arrays.copyOf(entryEnds, 2 * numberOfEntries);
+		}
+		
+		entryStarts[numberOfEntries] = start;
+		entryEnds[numberOfEntries] = position;
+		numberOfEntries++;
+		return true;
+	}
+
+	/**
+	 * Reads the entry between the given positions.
+	 * 
+	 * @param start the start of the entry
+	 * @param end the start of the line terminating the entry
+	 * @return the entry; or {@code null} if the entry could not be parsed
+	 */
+	private ResultEntry readEntry(long start, long end) {
+		NondominatedPopulation population = new NondominatedPopulation();
+		StringBuilder properties = new StringBuilder();
+		long[] tokens = new long[2 * (problem.getNumberOfVariables() + problem.getNumberOfObjectives())];
+		long position = start;
+
+		while (position < end) {
+			long lineEnd = buffer.findLineEnd(position);
+			
+			if (buffer.startsWith(position, '/') && buffer.startsWith(position + 1, '/')) {
+				properties.append(buffer.getString(position + 2, lineEnd));
+				properties.append('\n');
 			} else {
-				Solution solution = parseSolution(line);
+				Solution solution = parseSolution(position, lineEnd, tokens);
 				
 				if (solution == null) {
 					System.err.println("unable to parse solution, ignoring remaining entries in the file");
@@ -148,43 +292,48 @@ public class ResultFileReader implements Closeable, Iterator<ResultEntry>, Itera
 				}
 			}
 
-			line = reader.readLine();
+			position = buffer.skipLineSeparator(lineEnd);
 		}
 		
-		TypedProperties properties = new TypedProperties();
-		properties.load(new StringReader(stringBuffer.toString()));
-
-		// return population only if non-empty and terminated by a #
-		if ((line == null) || !line.startsWith("#")) {
-			return null;
-		} else {
-			return new ResultEntry(population, properties);
+		TypedProperties typedProperties = new TypedProperties();
+		
+		try {
+			typedProperties.load(new StringReader(properties.toString()));
+		} catch (IOException e) {
+			throw new FrameworkException(e);
 		}
+
+		return new ResultEntry(population, typedProperties);
 	}
 	
 	/**
 	 * Parses the solution encoded in the specified line from the result file.
 	 * 
-	 * @param line the line containing the encoded solution
-	 * @return the solution
+	 * @param start the start of the line
+	 * @param end the end of the line
+	 * @param tokens storage for the bounds of each token, sized for the decision variables and objectives
+	 * @return the solution; or {@code null} if the solution could not be parsed
 	 */
-	private Solution parseSolution(String line) {
-		String[] entries = line.trim().split("\\s+");
+	private Solution parseSolution(long start, long end, long[] tokens) {
+		int numberOfTokens = buffer.tokenize(start, end, tokens);
 		Solution solution = null;
 
-		if (entries.length < problem.getNumberOfObjectives()) {
-			error = true;
+		if (numberOfTokens < problem.getNumberOfObjectives()) {
 			return null;
 		}
+		
+		if (2 * numberOfTokens > tokens.length) {
+			tokens = new long[2 * numberOfTokens];
+			buffer.tokenize(start, end, tokens);
+		}
 
 		try {
-			
-			if (entries.length == (problem.getNumberOfVariables() + problem.getNumberOfObjectives())) {
+			if (numberOfTokens == (problem.getNumberOfVariables() + problem.getNumberOfObjectives())) {
 				solution = problem.newSolution();
 				
 				// read decision variables
 				for (int i = 0; i < problem.getNumberOfVariables(); i++) {
-					solution.setVariable(i, decode(solution.getVariable(i), entries[i]));
+					solution.setVariable(i, decode(solution.getVariable(i), tokens[2 * i], tokens[2 * i + 1]));
 				}
 			} else {
 				solution = new Solution(0, problem.getNumberOfObjectives());
@@ -192,33 +341,63 @@ public class ResultFileReader implements Closeable, Iterator<ResultEntry>, Itera
 
 			// read objectives
 			for (int i = 0; i < problem.getNumberOfObjectives(); i++) {
-				solution.setObjective(i, Double.parseDouble(
-						entries[entries.length - problem.getNumberOfObjectives() + i]));
+				int index = numberOfTokens - problem.getNumberOfObjectives() + i;
+				solution.setObjective(i, buffer.parseDouble(tokens[2 * index], tokens[2 * index + 1]));
 			}
 		} catch (Exception e) {
 			e.printStackTrace();
-			error = true;
 			return null;
 		}
 
 		return solution;
 	}
+	
+	/**
+	 * Decodes the decision variable stored between the given positions.  Real-valued decision variables are parsed
+	 * directly from the buffer.
+	 * 
+	 * @param variable the decision variable
+	 * @param start the start of the encoded value
+	 * @param end the end of the encoded value
+	 * @return the variable with the decoded value
+	 */
+	private Variable decode(Variable variable, long start, long end) {
+		if (variable.getClass() == RealVariable.class) {
+			RealVariable realVariable = (RealVariable)variable;
+			double value = buffer.parseDouble(start, end);
+			
+			if (Double.isNaN(value) ||
+					((value >= realVariable.getLowerBound()) && (value <= realVariable.getUpperBound()))) {
+				realVariable.setValue(value);
+				return realVariable;
+			}
+		}
+		
+		return decode(variable, buffer.getString(start, end));
+	}
 
 	@Override
 	public boolean hasNext() {
-		try {
-			if (error) {
+		if (error) {
+			return false;
+		}
+
+		if (nextEntry == null) {
+			if ((nextIndex >= numberOfEntries) && !indexNextEntry()) {
 				return false;
 			}
-
+			
+			nextEntry = readEntry(entryStarts[nextIndex], entryEnds[nextIndex]);
+			
 			if (nextEntry == null) {
-				nextEntry = readNextEntry();
+				error = true;
+				return false;
 			}
-
-			return nextEntry != null;
-		} catch (IOException e) {
-			throw new FrameworkException(e);
+			
+			nextIndex++;
 		}
+
+		return true;
 	}
 
 	@Override
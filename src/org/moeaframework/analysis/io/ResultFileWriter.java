@@ -17,23 +17,32 @@
  */
 package org.moeaframework.analysis.io;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
 import java.io.FileWriter;
+import java.io.Flushable;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import org.apache.commons.cli.CommandLine;
+import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.Variable;
+import org.moeaframework.core.variable.RealVariable;
 import org.moeaframework.util.TypedProperties;
+import org.moeaframework.util.format.DoubleToDecimal;
 
 /**
  * Writes result files. A result file contains one or more entries consisting of a non-dominated population and
@@ -51,11 +60,19 @@ import org.moeaframework.util.TypedProperties;
  * as those with the incorrect number of decision variables or objectives, are automatically removed.
  * <p>
  * When appending is enabled, this will attempt to recover any valid records from the previous file. Query the
- * {@link #getNumberOfEntries()} method to determine how many valid entries were recovered.
+ * {@link #getNumberOfEntries()} method to determine how many valid entries were recovered.  Since incomplete entries
+ * are the result of interrupted writes, only the entries at the end of the file are validated, reading backwards until
+ * a valid entry is found, and the file is truncated in place.  This avoids rewriting large files.  If the header of the
+ * existing file does not match the problem and settings, such as a file written for another problem or without
+ * decision variables, every entry is validated and the file is rewritten.
+ * <p>
+ * By default, the output is flushed after each entry.  When writing many entries, the output can instead be flushed
+ * in batches by disabling auto flush in the settings and calling {@link #flush()} as needed.  Entries are always
+ * flushed when the writer is closed.
  * 
  * @see ResultFileReader
  */
-public class ResultFileWriter implements OutputWriter {
+public class ResultFileWriter implements OutputWriter, Flushable {
 	
 	/**
 	 * The message displayed when an unsupported decision variable type is encountered.
@@ -69,21 +86,53 @@ public class ResultFileWriter implements OutputWriter {
 	static final String NO_VARIABLES_WARNING =
 			"saving result file without variables, could cause unexpected behavior or data loss";
 
+	/**
+	 * The number of characters buffered before writing to the underlying stream.
+	 */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * The size of the blocks read when scanning an existing file.
+	 */
+	private static final int BLOCK_SIZE = 8192;
+
 	/**
 	 * Settings for this result file.
 	 */
 	private final ResultFileWriterSettings settings;
 	
+	/**
+	 * The result file.
+	 */
+	private final File file;
+	
 	/**
 	 * The stream for appending data to the file.
 	 */
-	private PrintWriter writer;
+	private final Writer writer;
+	
+	/**
+	 * Buffers the output before writing to the stream, allowing numbers to be formatted without creating temporary
+	 * strings.
+	 */
+	private final StringBuilder buffer;
+	
+	/**
+	 * Temporary storage used when copying the buffer to the stream.
+	 */
+	private char[] chars;
 
 	/**
-	 * The number of lines in the file.
+	 * The number of entries in the file, excluding any recovered entries that are not yet counted.
 	 */
 	private int numberOfEntries;
 	
+	/**
+	 * The length of the existing file whose entries are not yet counted, or {@code 0} if counted.  Counting requires
+	 * scanning the entire file, so this is deferred until {@link #getNumberOfEntries()} is called.
+	 */
+	private long uncountedLength;
+	
 	/**
 	 * {@code true} if the warning for unsupported decision variables was displayed; {@code false} otherwise.
 	 */
@@ -98,52 +147,66 @@ public class ResultFileWriter implements OutputWriter {
 	 * @param settings the settings to use when writing the result file
 	 * @throws IOException if an I/O error occurred
 	 */
-	@SuppressWarnings("resource")
 	public ResultFileWriter(Problem problem, File file, ResultFileWriterSettings settings) throws IOException {
 		super();
 		this.settings = settings;
+		this.file = file;
 		
 		if (!settings.isIncludeVariables()) {
 			System.err.println(NO_VARIABLES_WARNING);
 		}
+		
+		buffer = new StringBuilder();
+		chars = new char[0];
 
-		if (file.exists() && settings.isAppend()) {
-			// when appending to an existing file, first copy out all valid entries
-			File tempFile = File.createTempFile("temp", null);
-
-			try (ResultFileReader reader = ResultFileReader.open(problem, file);
-					ResultFileWriter writer = ResultFileWriter.overwrite(problem, tempFile)) {
-				while (reader.hasNext()) {
-					writer.append(reader.next());
-				}
+		List<String> header = createHeader(problem, settings);
+		boolean rewritten = false;
 
-				numberOfEntries = writer.getNumberOfEntries();
+		if (file.exists() && settings.isAppend()) {
+			if (hasHeader(file, header)) {
+				// when appending to an existing file, remove any invalid entries at the end of the file
+				uncountedLength = recover(problem, file);
+			} else {
+				// the file was written for a different problem or settings, so copy out all valid entries
+				numberOfEntries = rewrite(problem, file, settings);
+				rewritten = true;
 			}
-
-			// next, replace the original only if any changes were made
-			OutputWriter.replace(tempFile, file);
-
-			// lastly, open the file in append mode
-			writer = new PrintWriter(new BufferedWriter(new FileWriter(file, true)), true);
 		}
 		
-		if (writer == null) {
-			// if the file doesn't exist or we are not appending, create a new file and print the header
-			numberOfEntries = 0;
-			writer = new PrintWriter(new BufferedWriter(new FileWriter(file)), true);
-			
-			// print header information
-			writer.print("# Problem = ");
-			writer.println(problem.getName());
+		if ((uncountedLength > 0) || rewritten) {
+			writer = new FileWriter(file, true);
+		} else {
+			// if the file doesn't exist, contains no valid data, or we are not appending, create a new file and print
+			// the header
+			writer = new FileWriter(file);
 			
-			if (settings.isIncludeVariables()) {
-				writer.print("# Variables = ");
-				writer.println(problem.getNumberOfVariables());
+			for (String line : header) {
+				buffer.append(line).append(System.lineSeparator());
 			}
 			
-			writer.print("# Objectives = ");
-			writer.println(problem.getNumberOfObjectives());
+			if (settings.isAutoFlush()) {
+				flush();
+			}
+		}
+	}
+	
+	/**
+	 * Creates the header lines written at the start of the result file.
+	 * 
+	 * @param problem the problem
+	 * @param settings the settings to use when writing the result file
+	 * @return the header lines, excluding line separators
+	 */
+	private static List<String> createHeader(Problem problem, ResultFileWriterSettings settings) {
+		List<String> header = new ArrayList<String>();
+		header.add("# Problem = " + problem.getName());
+		
+		if (settings.isIncludeVariables()) {
+			header.add("# Variables = " + problem.getNumberOfVariables());
 		}
+		
+		header.add("# Objectives = " + problem.getNumberOfObjectives());
+		return header;
 	}
 
 	/**
@@ -154,6 +217,15 @@ public class ResultFileWriter implements OutputWriter {
 	 * @return the number of entries written to the result file thus far
 	 */
 	public int getNumberOfEntries() {
+		if (uncountedLength > 0) {
+			try {
+				numberOfEntries += countEntries(file, uncountedLength);
+				uncountedLength = 0;
+			} catch (IOException e) {
+				throw new FrameworkException(e);
+			}
+		}
+		
 		return numberOfEntries;
 	}
 
@@ -180,7 +252,7 @@ public class ResultFileWriter implements OutputWriter {
 		TypedProperties properties = entry.getProperties();
 		
 		if (feasibleSolutions.isEmpty() && ((properties == null) || (properties.isEmpty()))) {
-			writer.println("//");
+			buffer.append("//").append(System.lineSeparator());
 		}
 
 		//write entry
@@ -194,36 +266,53 @@ public class ResultFileWriter implements OutputWriter {
 			}
 		}
 
-		writer.println('#');
+		buffer.append('#').append(System.lineSeparator());
+		
+		if (settings.isAutoFlush()) {
+			flush();
+		} else if (buffer.length() >= BUFFER_SIZE) {
+			writeBuffer();
+		}
 	}
 	
 	/**
 	 * Prints the solution to the result file.
 	 * 
 	 * @param solution the solution
+	 * @throws IOException if an I/O error occurred
 	 */
-	private void printSolution(Solution solution) {
+	private void printSolution(Solution solution) throws IOException {
 		if (settings.isIncludeVariables()) {
 			// write decision variables
 			for (int i = 0; i < solution.getNumberOfVariables(); i++) {
 				if (i > 0) {
-					writer.print(' ');
+					buffer.append(' ');
+				}
+				
+				Variable variable = solution.getVariable(i);
+				
+				if (variable.getClass() == RealVariable.class) {
+					DoubleToDecimal.appendTo(buffer, ((RealVariable)variable).getValue());
+				} else {
+					buffer.append(encode(variable));
 				}
-
-				writer.print(encode(solution.getVariable(i)));
 			}
 		}
 
 		// write objectives
 		for (int i = 0; i < solution.getNumberOfObjectives(); i++) {
 			if ((i > 0) || (settings.isIncludeVariables() && (solution.getNumberOfVariables() > 0))) {
-				writer.print(' ');
+				buffer.append(' ');
 			}
 
-			writer.print(solution.getObjective(i));
+			DoubleToDecimal.appendTo(buffer, solution.getObjective(i));
 		}
 
-		writer.println();
+		buffer.append(System.lineSeparator());
+		
+		if (buffer.length() >= BUFFER_SIZE) {
+			writeBuffer();
+		}
 	}
 	
 	/**
@@ -234,22 +323,53 @@ public class ResultFileWriter implements OutputWriter {
 	 */
 	private void printProperties(TypedProperties properties) throws IOException {
 		// using TypedProperties#store ensures special characters are stored safely
-		try (StringWriter buffer = new StringWriter()) {
-			properties.store(buffer);
+		try (StringWriter stringWriter = new StringWriter()) {
+			properties.store(stringWriter);
 		
-			try (BufferedReader reader = new BufferedReader(new StringReader(buffer.toString()))) {
+			try (BufferedReader reader = new BufferedReader(new StringReader(stringWriter.toString()))) {
 				String line = null;
 				while ((line = reader.readLine()) != null) {
-					writer.print("//");
-					writer.println(line);
+					buffer.append("//").append(line).append(System.lineSeparator());
 				}
 			}
 		} 
 	}
 
+	/**
+	 * Writes the buffered content to the underlying stream without flushing the stream.
+	 * 
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void writeBuffer() throws IOException {
+		int length = buffer.length();
+		
+		if (chars.length < length) {
+			chars = new char[Math.max(length, 2 * chars.length)];
+		}
+		
+		buffer.getChars(0, length, chars, 0);
+		writer.write(chars, 0, length);
+		buffer.setLength(0);
+	}
+	
+	/**
+	 * Flushes all entries written so far to the file.  This is only required when auto flush is disabled.
+	 * 
+	 * @throws IOException if an I/O error occurred
+	 */
+	@Override
+	public void flush() throws IOException {
+		writeBuffer();
+		writer.flush();
+	}
+
 	@Override
-	public void close() {
-		writer.close();
+	public void close() throws IOException {
+		try {
+			writeBuffer();
+		} finally {
+			writer.close();
+		}
 	}
 	
 	/**
@@ -273,6 +393,191 @@ public class ResultFileWriter implements OutputWriter {
 		}
 	}
 	
+	/**
+	 * Returns {@code true} if the lines starting with {@code #} at the start of the existing result file are identical
+	 * to the given header.  Only these leading lines are read.
+	 * 
+	 * @param file the existing result file
+	 * @param header the expected header lines
+	 * @return {@code true} if the file starts with the given header; {@code false} otherwise
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static boolean hasHeader(File file, List<String> header) throws IOException {
+		try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+			for (String expected : header) {
+				if (!expected.equals(reader.readLine())) {
+					return false;
+				}
+			}
+			
+			String line = reader.readLine();
+			return (line == null) || !line.startsWith("#");
+		}
+	}
+	
+	/**
+	 * Rewrites the existing result file with the header for the given problem and settings, copying all valid entries.
+	 * 
+	 * @param problem the problem
+	 * @param file the existing result file
+	 * @param settings the settings to use when writing the result file
+	 * @return the number of entries copied
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static int rewrite(Problem problem, File file, ResultFileWriterSettings settings) throws IOException {
+		File tempFile = File.createTempFile("temp", null);
+		int count = 0;
+		
+		// read through a reader rather than mapping the file, which could prevent replacing the file
+		try (ResultFileReader reader = new ResultFileReader(problem, new FileReader(file));
+				ResultFileWriter writer = new ResultFileWriter(problem, tempFile, new ResultFileWriterSettings(
+						Optional.of(false), Optional.of(settings.isIncludeVariables()), Optional.of(false)))) {
+			while (reader.hasNext()) {
+				writer.append(reader.next());
+			}
+
+			count = writer.getNumberOfEntries();
+		}
+
+		OutputWriter.replace(tempFile, file);
+		return count;
+	}
+	
+	/**
+	 * Removes any incomplete or invalid entries at the end of an existing result file.  The file is scanned backwards
+	 * from the end, so only the last entries are read and parsed.  The file is only modified if invalid entries are
+	 * found.
+	 * 
+	 * @param problem the problem
+	 * @param file the existing result file
+	 * @return the length of the file after removing invalid entries, or {@code 0} if the file contains no valid data
+	 *         and must be rewritten
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static long recover(Problem problem, File file) throws IOException {
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			ReverseLineScanner scanner = new ReverseLineScanner(raf);
+			long length = raf.length();
+			long position = length;
+			long end = 0;
+			long contentEnd = -1;
+			
+			// end is the position after the terminator of the last complete entry and contentEnd is the position
+			// after the last line of that entry
+			while (position > 0) {
+				long start = scanner.findLineStart(position);
+				boolean separator = scanner.get(start) == '#';
+				
+				if (end == 0) {
+					if (separator) {
+						end = position;
+					}
+				} else if (contentEnd < 0) {
+					if (!separator) {
+						contentEnd = position;
+					}
+				} else if (separator) {
+					if (isValidEntry(problem, raf, position, contentEnd)) {
+						break;
+					}
+					
+					// remove the invalid entry, making this line the terminator of the previous entry
+					end = position;
+					contentEnd = -1;
+				}
+				
+				position = start;
+			}
+			
+			if ((position == 0) && (contentEnd >= 0) && !isValidEntry(problem, raf, 0, contentEnd)) {
+				end = 0;
+			}
+			
+			if (end == 0) {
+				return 0;
+			}
+			
+			if (end < length) {
+				raf.setLength(end);
+			}
+			
+			if (scanner.get(end - 1) != '\n') {
+				// the terminator is missing its line separator, add it so new entries start on a new line
+				byte[] lineSeparator = System.lineSeparator().getBytes(Charset.defaultCharset());
+				raf.seek(end);
+				raf.write(lineSeparator);
+				end += lineSeparator.length;
+			}
+			
+			return end;
+		}
+	}
+	
+	/**
+	 * Returns {@code true} if the content of the entry can be parsed by {@link ResultFileReader}.
+	 * 
+	 * @param problem the problem
+	 * @param raf the result file
+	 * @param start the position of the first line in the entry
+	 * @param end the position after the last line in the entry, excluding the terminator
+	 * @return {@code true} if the entry is valid; {@code false} otherwise
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static boolean isValidEntry(Problem problem, RandomAccessFile raf, long start, long end)
+			throws IOException {
+		byte[] content = new byte[Math.toIntExact(end - start)];
+		raf.seek(start);
+		raf.readFully(content);
+		
+		String entry = new String(content, Charset.defaultCharset()) + "#";
+		
+		try (ResultFileReader reader = new ResultFileReader(problem, new StringReader(entry))) {
+			return reader.hasNext();
+		}
+	}
+	
+	/**
+	 * Counts the entries in the first {@code length} bytes of the result file, which is the number of lines starting
+	 * with {@code #} that terminate an entry.  This scans the file without parsing its content.
+	 * 
+	 * @param file the result file
+	 * @param length the number of bytes to scan
+	 * @return the number of entries
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static int countEntries(File file, long length) throws IOException {
+		int count = 0;
+		
+		try (InputStream input = new BufferedInputStream(new FileInputStream(file), BLOCK_SIZE)) {
+			boolean lineStart = true;
+			boolean inEntry = false;
+			
+			for (long i = 0; i < length; i++) {
+				int b = input.read();
+				
+				if (b < 0) {
+					break;
+				}
+				
+				if (lineStart) {
+					if (b == '#') {
+						if (inEntry) {
+							count++;
+						}
+						
+						inEntry = false;
+					} else {
+						inEntry = true;
+					}
+				}
+				
+				lineStart = b == '\n';
+			}
+		}
+		
+		return count;
+	}
+	
 	/**
 	 * Opens the result file in append mode.  If the file already exists, this writer will validate the contents,
 	 * remove any invalid entries at the end of the file, and report the number of valid entries in the file.
@@ -308,6 +613,11 @@ public class ResultFileWriter implements OutputWriter {
 		 */
 		protected final boolean includeVariables;
 		
+		/**
+		 * {@code true} to flush the output after each entry; {@code false} to only flush when requested.
+		 */
+		protected final boolean autoFlush;
+		
 		/**
 		 * Constructs the default settings object.
 		 */
@@ -322,9 +632,23 @@ public class ResultFileWriter implements OutputWriter {
 		 * @param includeVariables {@code true} to enable writing all decision variables; {@code false} otherwise
 		 */
 		public ResultFileWriterSettings(Optional<Boolean> append, Optional<Boolean> includeVariables) {
+			this(append, includeVariables, Optional.empty());
+		}
+		
+		/**
+		 * Constructs a new result file settings object.
+		 * 
+		 * @param append {@code true} to enable append mode, {@code false} otherwise
+		 * @param includeVariables {@code true} to enable writing all decision variables; {@code false} otherwise
+		 * @param autoFlush {@code true} to flush the output after each entry (the default); {@code false} to only
+		 *        flush when requested or when closed
+		 */
+		public ResultFileWriterSettings(Optional<Boolean> append, Optional<Boolean> includeVariables,
+				Optional<Boolean> autoFlush) {
 			super(append);
 			this.includeVariables = includeVariables != null && includeVariables.isPresent() ?
 					includeVariables.get() : true;
+			this.autoFlush = autoFlush != null && autoFlush.isPresent() ? autoFlush.get() : true;
 		}
 		
 		/**
@@ -336,6 +660,15 @@ public class ResultFileWriter implements OutputWriter {
 			return includeVariables;
 		}
 		
+		/**
+		 * Returns {@code true} if the output is flushed after each entry; {@code false} otherwise.
+		 * 
+		 * @return {@code true} if the output is flushed after each entry; {@code false} otherwise
+		 */
+		public boolean isAutoFlush() {
+			return autoFlush;
+		}
+		
 		/**
 		 * Returns the default settings for writing result files.
 		 * 
@@ -366,4 +699,82 @@ public class ResultFileWriter implements OutputWriter {
 		
 	}
 	
+	/**
+	 * Reads lines backwards from the end of a file, buffering blocks of the file.
+	 */
+	private static class ReverseLineScanner {
+		
+		/**
+		 * The file.
+		 */
+		private final RandomAccessFile raf;
+		
+		/**
+		 * The current block.
+		 */
+		private final byte[] block;
+		
+		/**
+		 * The position of the current block in the file.
+		 */
+		private long blockStart;
+		
+		/**
+		 * The number of bytes in the current block.
+		 */
+		private int blockLength;
+		
+		/**
+		 * Constructs a new scanner for the file.
+		 * 
+		 * @param raf the file
+		 */
+		public ReverseLineScanner(RandomAccessFile raf) {
+			super();
+			this.raf = raf;
+			
+			block = new byte[BLOCK_SIZE];
+		}
+		
+		/**
+		 * Returns the byte at the given position, loading the block ending at that position if required.
+		 * 
+		 * @param position the position
+		 * @return the byte at the given position
+		 * @throws IOException if an I/O error occurred
+		 */
+		public byte get(long position) throws IOException {
+			if ((position < blockStart) || (position >= blockStart + blockLength)) {
+				blockStart = Math.max(0, position + 1 - block.length);
+				blockLength = (int)(position + 1 - blockStart);
+				raf.seek(blockStart);
+				raf.readFully(block, 0, blockLength);
+			}
+			
+			return block[(int)(position - blockStart)];
+		}
+		
+		/**
+		 * Returns the start of the line ending at the given position.
+		 * 
+		 * @param end the position after the line, including its line separator
+		 * @return the position of the first character in the line
+		 * @throws IOException if an I/O error occurred
+		 */
+		public long findLineStart(long end) throws IOException {
+			long position = end - 1;
+			
+			if (get(position) == '\n') {
+				position--;
+			}
+			
+			while ((position >= 0) && (get(position) != '\n')) {
+				position--;
+			}
+			
+			return position + 1;
+		}
+		
+	}
+	
 }
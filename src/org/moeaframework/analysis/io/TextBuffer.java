@@ -0,0 +1,510 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only view of a text file for parsing numeric data without creating intermediate strings.  Small files are read
+ * into memory, while larger files are memory mapped in segments, allowing files larger than 2 GB.  Lines and tokens
+ * are identified by their positions in the file and numbers are parsed directly from the underlying bytes.
+ * <p>
+ * The content is expected to use an ASCII-compatible encoding, such as UTF-8.  Strings, such as properties and
+ * encoded decision variables, are decoded using the default charset, matching {@link java.io.FileReader}.
+ * <p>
+ * Reading from this buffer is thread-safe.
+ */
+final class TextBuffer {
+	
+	/**
+	 * The number of bits used to index bytes within a segment.
+	 */
+	private static final int SEGMENT_BITS = 30;
+	
+	/**
+	 * The maximum size of each segment.
+	 */
+	private static final long SEGMENT_SIZE = 1L << SEGMENT_BITS;
+	
+	/**
+	 * The mask for computing the position within a segment.
+	 */
+	private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+	
+	/**
+	 * The size, in bytes, above which files are memory mapped instead of read into memory.  A mapped file can not be
+	 * unmapped explicitly, and on some platforms can not be deleted or replaced until the mapping is garbage collected.
+	 */
+	private static final long MAP_THRESHOLD = 16 * 1024 * 1024;
+	
+	/**
+	 * The maximum number of significant digits that fit in a {@code long}.
+	 */
+	private static final int MAX_DIGITS = 19;
+	
+	/**
+	 * The smallest decimal exponent supported by the fast path for parsing numbers.
+	 */
+	private static final int MIN_EXPONENT = -342;
+	
+	/**
+	 * The largest decimal exponent supported by the fast path for parsing numbers.
+	 */
+	private static final int MAX_EXPONENT = 308;
+	
+	/**
+	 * The upper 64 bits of the 128-bit normalized significands of {@code 10^q}.
+	 */
+	private static final long[] POWERS_HIGH = new long[MAX_EXPONENT - MIN_EXPONENT + 1];
+	
+	/**
+	 * The lower 64 bits of the 128-bit normalized significands of {@code 10^q}.
+	 */
+	private static final long[] POWERS_LOW = new long[MAX_EXPONENT - MIN_EXPONENT + 1];
+	
+	static {
+		for (int q = MIN_EXPONENT; q <= MAX_EXPONENT; q++) {
+			BigInteger power5 = BigInteger.valueOf(5).pow(Math.abs(q));
+			BigInteger c;
+			
+			if (q < 0) {
+				// round up the reciprocal so the approximation is never below the true value
+				int z = power5.bitLength();
+				int b = q >= -27 ? z + 127 : 2 * z + 128;
+				c = BigInteger.ONE.shiftLeft(b).divide(power5).add(BigInteger.ONE);
+			} else {
+				c = power5.shiftLeft(Math.max(0, 128 - power5.bitLength()));
+			}
+			
+			c = c.shiftRight(Math.max(0, c.bitLength() - 128));
+			POWERS_HIGH[q - MIN_EXPONENT] = c.shiftRight(64).longValue();
+			POWERS_LOW[q - MIN_EXPONENT] = c.longValue();
+		}
+	}
+	
+	/**
+	 * The segments containing the content.
+	 */
+	private final ByteBuffer[] segments;
+	
+	/**
+	 * The length of the content, in bytes.
+	 */
+	private final long length;
+	
+	/**
+	 * Constructs a new text buffer.
+	 * 
+	 * @param segments the segments containing the content, each except the last with exactly {@code SEGMENT_SIZE}
+	 *        bytes
+	 * @param length the length of the content, in bytes
+	 */
+	private TextBuffer(ByteBuffer[] segments, long length) {
+		super();
+		this.segments = segments;
+		this.length = length;
+	}
+	
+	/**
+	 * Opens the file.  Files larger than {@value #MAP_THRESHOLD} bytes are memory mapped, where the mapping remains
+	 * valid until this buffer is garbage collected, even after the file channel is closed.  Smaller files are read
+	 * into memory and the file is closed before this method returns.
+	 * 
+	 * @param file the file
+	 * @return the text buffer
+	 * @throws IOException if an I/O error occurred
+	 */
+	public static TextBuffer open(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			
+			if (size <= MAP_THRESHOLD) {
+				ByteBuffer content = ByteBuffer.allocate((int)size);
+				
+				while (content.hasRemaining() && channel.read(content) >= 0) {
+					// continue reading until the buffer is full or the end of the file is reached
+				}
+				
+				content.flip();
+				return new TextBuffer(new ByteBuffer[] { content }, content.limit());
+			}
+			
+			ByteBuffer[] segments = new ByteBuffer[(int)((size + SEGMENT_SIZE - 1) >>> SEGMENT_BITS)];
+			
+			for (int i = 0; i < segments.length; i++) {
+				long offset = i * SEGMENT_SIZE;
+				segments[i] = channel.map(MapMode.READ_ONLY, offset, Math.min(SEGMENT_SIZE, size - offset));
+			}
+			
+			return new TextBuffer(segments, size);
+		}
+	}
+	
+	/**
+	 * Wraps the given content.
+	 * 
+	 * @param content the content
+	 * @return the text buffer
+	 */
+	public static TextBuffer wrap(String content) {
+		byte[] bytes = content.getBytes(Charset.defaultCharset());
+		return new TextBuffer(new ByteBuffer[] { ByteBuffer.wrap(bytes) }, bytes.length);
+	}
+	
+	/**
+	 * Returns the length of the content, in bytes.
+	 * 
+	 * @return the length of the content, in bytes
+	 */
+	public long length() {
+		return length;
+	}
+	
+	/**
+	 * Returns the byte at the given position.
+	 * 
+	 * @param position the position
+	 * @return the byte at the given position
+	 */
+	public byte get(long position) {
+		return segments[(int)(position >>> SEGMENT_BITS)].get((int)(position & SEGMENT_MASK));
+	}
+	
+	/**
+	 * Returns {@code true} if the line starting at the given position begins with the given character.
+	 * 
+	 * @param position the start of the line
+	 * @param c the character
+	 * @return {@code true} if the line begins with the given character; {@code false} otherwise
+	 */
+	public boolean startsWith(long position, char c) {
+		return position < length && get(position) == c;
+	}
+	
+	/**
+	 * Returns the end of the line starting at the given position, excluding the line separator.  Lines are terminated
+	 * by {@code \n}, {@code \r}, or {@code \r\n}, matching {@link java.io.BufferedReader#readLine()}.
+	 * 
+	 * @param position the start of the line
+	 * @return the end of the line
+	 */
+	public long findLineEnd(long position) {
+		while (position < length) {
+			byte b = get(position);
+			
+			if (b == '\n' || b == '\r') {
+				break;
+			}
+			
+			position++;
+		}
+		
+		return position;
+	}
+	
+	/**
+	 * Returns the start of the next line.
+	 * 
+	 * @param lineEnd the end of the current line, as returned by {@link #findLineEnd(long)}
+	 * @return the start of the next line
+	 */
+	public long skipLineSeparator(long lineEnd) {
+		if (lineEnd < length && get(lineEnd) == '\r') {
+			lineEnd++;
+		}
+		
+		if (lineEnd < length && get(lineEnd) == '\n') {
+			lineEnd++;
+		}
+		
+		return lineEnd;
+	}
+	
+	/**
+	 * Splits the line into tokens separated by whitespace, storing the start and end of each token in {@code bounds}.
+	 * If {@code bounds} is too small, the remaining tokens are counted but not stored.
+	 * 
+	 * @param start the start of the line
+	 * @param end the end of the line
+	 * @param bounds the array storing the start and end of each token, in pairs
+	 * @return the number of tokens in the line
+	 */
+	public int tokenize(long start, long end, long[] bounds) {
+		int count = 0;
+		long position = start;
+		
+		while (true) {
+			while (position < end && isWhitespace(get(position))) {
+				position++;
+			}
+			
+			if (position >= end) {
+				return count;
+			}
+			
+			long tokenStart = position;
+			
+			while (position < end && !isWhitespace(get(position))) {
+				position++;
+			}
+			
+			if (2 * count + 1 < bounds.length) {
+				bounds[2 * count] = tokenStart;
+				bounds[2 * count + 1] = position;
+			}
+			
+			count++;
+		}
+	}
+	
+	/**
+	 * Returns {@code true} if the byte is a whitespace character, matching the {@code \s} regular expression
+	 * excluding line separators.
+	 * 
+	 * @param b the byte
+	 * @return {@code true} if the byte is a whitespace character; {@code false} otherwise
+	 */
+	private static boolean isWhitespace(byte b) {
+		return b == ' ' || b == '\t' || b == 0x0B || b == '\f';
+	}
+	
+	/**
+	 * Decodes the content between the two positions as a string.
+	 * 
+	 * @param start the start position, inclusive
+	 * @param end the end position, exclusive
+	 * @return the string
+	 */
+	public String getString(long start, long end) {
+		byte[] bytes = new byte[Math.toIntExact(end - start)];
+		
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = get(start + i);
+		}
+		
+		return new String(bytes, Charset.defaultCharset());
+	}
+	
+	/**
+	 * Parses the number between the two positions, producing the same result as {@link Double#parseDouble(String)}.
+	 * Decimal numbers with up to 19 significant digits are parsed directly from the bytes using the Eisel-Lemire
+	 * algorithm.  All other inputs, including special values and inputs that can not be resolved by the fast path,
+	 * are converted to a string and parsed by {@link Double#parseDouble(String)}.
+	 * 
+	 * @param start the start position, inclusive
+	 * @param end the end position, exclusive
+	 * @return the parsed number
+	 * @throws NumberFormatException if the content is not a valid number
+	 */
+	public double parseDouble(long start, long end) {
+		long position = start;
+		boolean negative = false;
+		
+		if (position < end && (get(position) == '-' || get(position) == '+')) {
+			negative = get(position) == '-';
+			position++;
+		}
+		
+		long significand = 0;
+		int digits = 0;
+		int exponent = 0;
+		boolean hasDigits = false;
+		boolean truncated = false;
+		
+		// integer part
+		while (position < end && isDigit(get(position))) {
+			int digit = get(position++) - '0';
+			hasDigits = true;
+			
+			if (digits < MAX_DIGITS) {
+				if (significand != 0 || digit != 0) {
+					significand = 10 * significand + digit;
+					digits++;
+				}
+			} else {
+				exponent++;
+				truncated |= digit != 0;
+			}
+		}
+		
+		// fractional part
+		if (position < end && get(position) == '.') {
+			position++;
+			
+			while (position < end && isDigit(get(position))) {
+				int digit = get(position++) - '0';
+				hasDigits = true;
+				
+				if (digits < MAX_DIGITS) {
+					if (significand != 0 || digit != 0) {
+						significand = 10 * significand + digit;
+						digits++;
+					}
+					
+					exponent--;
+				} else {
+					truncated |= digit != 0;
+				}
+			}
+		}
+		
+		// exponent
+		if (hasDigits && position < end && (get(position) == 'e' || get(position) == 'E')) {
+			position++;
+			
+			boolean negativeExponent = false;
+			int value = 0;
+			boolean hasExponentDigits = false;
+			
+			if (position < end && (get(position) == '-' || get(position) == '+')) {
+				negativeExponent = get(position) == '-';
+				position++;
+			}
+			
+			while (position < end && isDigit(get(position))) {
+				value = Math.min(10 * value + (get(position++) - '0'), 100000);
+				hasExponentDigits = true;
+			}
+			
+			if (!hasExponentDigits) {
+				hasDigits = false;
+			}
+			
+			exponent += negativeExponent ? -value : value;
+		}
+		
+		if (hasDigits && !truncated && position == end) {
+			double result = eiselLemire(significand, exponent, negative);
+			
+			if (!Double.isNaN(result)) {
+				return result;
+			}
+		}
+		
+		return Double.parseDouble(getString(start, end));
+	}
+	
+	/**
+	 * Returns {@code true} if the byte is a decimal digit.
+	 * 
+	 * @param b the byte
+	 * @return {@code true} if the byte is a decimal digit; {@code false} otherwise
+	 */
+	private static boolean isDigit(byte b) {
+		return b >= '0' && b <= '9';
+	}
+	
+	/**
+	 * Computes the correctly rounded value of {@code significand * 10^exponent} using the Eisel-Lemire algorithm.
+	 * 
+	 * @param significand the decimal significand, treated as unsigned
+	 * @param exponent the decimal exponent
+	 * @param negative {@code true} if the value is negative
+	 * @return the value, or {@code NaN} if the result can not be determined by this algorithm, including subnormal
+	 *         values and overflow
+	 */
+	private static double eiselLemire(long significand, int exponent, boolean negative) {
+		if (significand == 0) {
+			return negative ? -0.0 : 0.0;
+		}
+		
+		if (exponent < MIN_EXPONENT || exponent > MAX_EXPONENT) {
+			return Double.NaN;
+		}
+		
+		// normalize the significand
+		int clz = Long.numberOfLeadingZeros(significand);
+		long man = significand << clz;
+		long resultExponent = ((217706L * exponent) >> 16) + 64 + 1023 - clz;
+		
+		// multiply by the 128-bit approximation of the power of 10
+		long powerHigh = POWERS_HIGH[exponent - MIN_EXPONENT];
+		long powerLow = POWERS_LOW[exponent - MIN_EXPONENT];
+		long xHigh = unsignedMultiplyHigh(man, powerHigh);
+		long xLow = man * powerHigh;
+		
+		if ((xHigh & 0x1FF) == 0x1FF && Long.compareUnsigned(xLow + man, man) < 0) {
+			// the truncated product is inexact, use a wider approximation
+			long yHigh = unsignedMultiplyHigh(man, powerLow);
+			long yLow = man * powerLow;
+			long mergedHigh = xHigh;
+			long mergedLow = xLow + yHigh;
+			
+			if (Long.compareUnsigned(mergedLow, xLow) < 0) {
+				mergedHigh++;
+			}
+			
+			if ((mergedHigh & 0x1FF) == 0x1FF && mergedLow + 1 == 0 && Long.compareUnsigned(yLow + man, man) < 0) {
+				return Double.NaN;
+			}
+			
+			xHigh = mergedHigh;
+			xLow = mergedLow;
+		}
+		
+		// shift to 54 bits
+		long msb = xHigh >>> 63;
+		long resultSignificand = xHigh >>> (msb + 9);
+		resultExponent -= 1 ^ msb;
+		
+		// halfway cases can not be resolved
+		if (xLow == 0 && (xHigh & 0x1FF) == 0 && (resultSignificand & 3) == 1) {
+			return Double.NaN;
+		}
+		
+		// round to 53 bits
+		resultSignificand += resultSignificand & 1;
+		resultSignificand >>>= 1;
+		
+		if ((resultSignificand >>> 53) > 0) {
+			resultSignificand >>>= 1;
+			resultExponent++;
+		}
+		
+		if (resultExponent <= 0 || resultExponent >= 0x7FF) {
+			return Double.NaN;
+		}
+		
+		long bits = (resultExponent << 52) | (resultSignificand & ((1L << 52) - 1));
+		
+		if (negative) {
+			bits |= Long.MIN_VALUE;
+		}
+		
+		return Double.longBitsToDouble(bits);
+	}
+	
+	/**
+	 * Returns the upper 64 bits of the unsigned 128-bit product.
+	 * 
+	 * @param x the first value, treated as unsigned
+	 * @param y the second value, treated as unsigned
+	 * @return the upper 64 bits of the unsigned product
+	 */
+	private static long unsignedMultiplyHigh(long x, long y) {
+		return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+	}
+
+}
@@ -20,6 +20,17 @@ package org.moeaframework.analysis.tools;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.Option;
@@ -47,6 +58,11 @@ import org.moeaframework.util.validate.Validate;
 
 /**
  * Command line utility for evaluating an algorithm using many parameterizations.
+ * <p>
+ * By default, the parameter samples are evaluated sequentially.  Setting the {@code --threads} option instead evaluates
+ * independent samples concurrently.  In this mode, each sample is run with its own seed derived from {@code --seed} and
+ * the index of the sample, so the results do not depend on the number of threads or if the run was resumed.  The
+ * results are always written in the order of the samples.
  */
 public class Evaluator extends CommandLineUtility {
 
@@ -105,6 +121,11 @@ public class Evaluator extends CommandLineUtility {
 				.hasArg()
 				.argName("value")
 				.build());
+		options.addOption(Option.builder("t")
+				.longOpt("threads")
+				.hasArg()
+				.argName("value")
+				.build());
 		options.addOption(Option.builder("m")
 				.longOpt("metrics")
 				.build());
@@ -146,7 +167,9 @@ public class Evaluator extends CommandLineUtility {
 				}
 
 				// resume at the last good output
-				for (int i = 0; i < output.getNumberOfEntries(); i++) {
+				int index = output.getNumberOfEntries();
+				
+				for (int i = 0; i < index; i++) {
 					if (input.hasNext()) {
 						input.next();
 					} else {
@@ -172,18 +195,28 @@ public class Evaluator extends CommandLineUtility {
 				if (epsilons != null) {
 					defaultProperties.setDoubleArray("epsilon", epsilons.toArray());
 				}
-
-				// seed the pseudo-random number generator
-				if (commandLine.hasOption("seed")) {
-					PRNG.setSeed(Long.parseLong(commandLine.getOptionValue("seed")));
-				}
-
-				// process the remaining runs
-				while (input.hasNext()) {
-					TypedProperties properties = input.next();
-					properties.addAll(defaultProperties);
-
-					process(commandLine.getOptionValue("algorithm"), properties, problem);
+				
+				if (commandLine.hasOption("threads")) {
+					int numberOfThreads = Integer.parseInt(commandLine.getOptionValue("threads"));
+					Validate.that("threads", numberOfThreads).isGreaterThan(0);
+					
+					Long seed = commandLine.hasOption("seed") ? Long.parseLong(commandLine.getOptionValue("seed")) :
+							null;
+					
+					processInParallel(commandLine, input, defaultProperties, index, numberOfThreads, seed);
+				} else {
+					// seed the pseudo-random number generator
+					if (commandLine.hasOption("seed")) {
+						PRNG.setSeed(Long.parseLong(commandLine.getOptionValue("seed")));
+					}
+					
+					// process the remaining runs
+					while (input.hasNext()) {
+						TypedProperties properties = input.next();
+						properties.addAll(defaultProperties);
+						
+						process(commandLine.getOptionValue("algorithm"), properties, problem);
+					}
 				}
 			} finally {
 				if (output != null) {
@@ -193,6 +226,95 @@ public class Evaluator extends CommandLineUtility {
 		}
 	}
 
+	/**
+	 * Evaluates the remaining parameter samples concurrently.  Each worker thread uses its own problem instance, and
+	 * the results are written to the output in the order of the samples.  The problem instances are closed once all
+	 * worker threads have terminated.
+	 * 
+	 * @param commandLine the command line inputs
+	 * @param input the reader of the remaining parameter samples
+	 * @param defaultProperties the fixed algorithm properties
+	 * @param index the index of the next parameter sample
+	 * @param numberOfThreads the number of threads
+	 * @param seed the seed from which the seed of each sample is derived, or {@code null} if not seeded
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void processInParallel(CommandLine commandLine, SampleReader input, TypedProperties defaultProperties,
+			int index, int numberOfThreads, Long seed) throws IOException {
+		String algorithmName = commandLine.getOptionValue("algorithm");
+		ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+		List<Problem> problems = Collections.synchronizedList(new ArrayList<Problem>());
+		
+		ThreadLocal<Problem> localProblem = ThreadLocal.withInitial(() -> {
+			Problem problem = OptionUtils.getProblemInstance(commandLine, false);
+			problems.add(problem);
+			return problem;
+		});
+		
+		// bound the number of pending results, since they must be written in order
+		Queue<Future<ResultEntry>> pending = new ArrayDeque<Future<ResultEntry>>();
+		
+		try {
+			while (input.hasNext()) {
+				TypedProperties properties = input.next();
+				properties.addAll(defaultProperties);
+				
+				int sampleIndex = index++;
+				
+				Callable<ResultEntry> task = () -> evaluate(algorithmName, properties, localProblem.get());
+				
+				if (seed != null) {
+					task = PRNG.withSeed(PRNG.deriveSeed(seed, sampleIndex), task);
+				}
+				
+				pending.add(executor.submit(task));
+				
+				if (pending.size() >= 2 * numberOfThreads) {
+					output.append(waitFor(pending.poll()));
+				}
+			}
+			
+			while (!pending.isEmpty()) {
+				output.append(waitFor(pending.poll()));
+			}
+		} finally {
+			executor.shutdownNow();
+			
+			// evaluations do not respond to interrupts, so wait for any still running to finish using their problems
+			try {
+				executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			
+			synchronized (problems) {
+				for (Problem problem : problems) {
+					problem.close();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Waits for the result of a parameter sample evaluated by a worker thread.
+	 * 
+	 * @param future the pending result
+	 * @return the result
+	 */
+	private static ResultEntry waitFor(Future<ResultEntry> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			throw new FrameworkException("execution was interrupted", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			
+			throw new FrameworkException("execution failed", e.getCause());
+		}
+	}
+
 	/**
 	 * Performs a single run of the specified algorithm using the parameters.
 	 * 
@@ -202,6 +324,20 @@ public class Evaluator extends CommandLineUtility {
 	 * @throws IOException if an I/O error occurred
 	 */
 	protected void process(String algorithmName, TypedProperties properties, Problem problem) throws IOException {
+		output.append(evaluate(algorithmName, properties, problem));
+	}
+
+	/**
+	 * Performs a single run of the specified algorithm using the parameters, returning the result without writing it
+	 * to the output.  This method may be called concurrently from multiple threads, provided each uses its own
+	 * problem instance.
+	 * 
+	 * @param algorithmName the algorithm name
+	 * @param properties the parameters stored in a properties object
+	 * @param problem the problem being evaluated
+	 * @return the result of the run
+	 */
+	protected ResultEntry evaluate(String algorithmName, TypedProperties properties, Problem problem) {
 		// instrument the problem to record timing information
 		TimingProblem timingProblem = new TimingProblem(problem);
 		Algorithm algorithm = AlgorithmFactory.getInstance().getAlgorithm(algorithmName, properties, timingProblem);
@@ -228,9 +364,8 @@ public class Evaluator extends CommandLineUtility {
 		TypedProperties timingData = new TypedProperties();
 		timingData.setDouble("EvaluationTime", timingProblem.getSeconds());
 		timingData.setDouble("TotalTime", (endTime - startTime) / 1e9);
-
-		// write result to output
-		output.append(new ResultEntry(result, timingData));
+		
+		return new ResultEntry(result, timingData);
 	}
 
 	/**
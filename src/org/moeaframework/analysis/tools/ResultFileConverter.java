@@ -0,0 +1,120 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.tools;
+
+import java.io.File;
+import java.util.Optional;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.moeaframework.analysis.io.BinaryResultFileReader;
+import org.moeaframework.analysis.io.BinaryResultFileWriter;
+import org.moeaframework.analysis.io.BinaryResultFileWriter.BinaryResultFileWriterSettings;
+import org.moeaframework.analysis.io.OutputWriter;
+import org.moeaframework.analysis.io.ResultEntry;
+import org.moeaframework.analysis.io.ResultFileReader;
+import org.moeaframework.analysis.io.ResultFileWriter;
+import org.moeaframework.core.Problem;
+import org.moeaframework.util.CommandLineUtility;
+
+/**
+ * Command line utility for converting between the text and binary result file formats.  The format of the input file
+ * is detected automatically, and the output is written in the other format.
+ */
+public class ResultFileConverter extends CommandLineUtility {
+	
+	/**
+	 * Constructs the command line utility for converting between the text and binary result file formats.
+	 */
+	public ResultFileConverter() {
+		super();
+	}
+	
+	@Override
+	public Options getOptions() {
+		Options options = super.getOptions();
+		
+		OptionUtils.addProblemOption(options, true);
+		
+		options.addOption(Option.builder("i")
+				.longOpt("input")
+				.hasArg()
+				.argName("file")
+				.required()
+				.build());
+		options.addOption(Option.builder("o")
+				.longOpt("output")
+				.hasArg()
+				.argName("file")
+				.required()
+				.build());
+		options.addOption(Option.builder("c")
+				.longOpt("compress")
+				.build());
+		
+		return options;
+	}
+
+	@Override
+	public void run(CommandLine commandLine) throws Exception {
+		File input = new File(commandLine.getOptionValue("input"));
+		File output = new File(commandLine.getOptionValue("output"));
+		
+		try (Problem problem = OptionUtils.getProblemInstance(commandLine, true)) {
+			if (BinaryResultFileReader.isBinaryResultFile(input)) {
+				try (BinaryResultFileReader reader = new BinaryResultFileReader(problem, input);
+						ResultFileWriter writer = ResultFileWriter.overwrite(problem, output)) {
+					copy(reader, writer);
+				}
+			} else {
+				BinaryResultFileWriterSettings settings = new BinaryResultFileWriterSettings(Optional.of(false),
+						Optional.empty(), Optional.of(false), Optional.of(commandLine.hasOption("compress")));
+				
+				try (ResultFileReader reader = new ResultFileReader(problem, input);
+						BinaryResultFileWriter writer = new BinaryResultFileWriter(problem, output, settings)) {
+					copy(reader, writer);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Copies all entries from the reader to the writer.
+	 * 
+	 * @param reader the reader
+	 * @param writer the writer
+	 * @throws Exception if an error occurred
+	 */
+	private void copy(Iterable<ResultEntry> reader, OutputWriter writer) throws Exception {
+		for (ResultEntry entry : reader) {
+			writer.append(entry);
+		}
+	}
+	
+	/**
+	 * Starts the command line utility for converting between the text and binary result file formats.
+	 * 
+	 * @param args the command line arguments
+	 * @throws Exception if an error occurred
+	 */
+	public static void main(String[] args) throws Exception {
+		new ResultFileConverter().start(args);
+	}
+
+}
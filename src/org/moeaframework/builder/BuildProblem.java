@@ -81,6 +81,7 @@ public class BuildProblem extends CommandLineUtility {
 		LANGUAGES.put("java", "java");
 		LANGUAGES.put("python", "python");
 		LANGUAGES.put("external", "external");
+		LANGUAGES.put("external-batch", "external/batch");
 		
 		EXPERIMENTAL = new TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER);
 		EXPERIMENTAL.put("matlab", "matlab");
@@ -159,6 +160,10 @@ public class BuildProblem extends CommandLineUtility {
 		options.addOption(Option.builder()
 				.longOpt("overwrite")
 				.build());
+		
+		options.addOption(Option.builder()
+				.longOpt("binary")
+				.build());
 
 		return options;
 	}
@@ -228,6 +233,7 @@ public class BuildProblem extends CommandLineUtility {
 		mappings.put("relativePath", normalizeSeparator(tryRelativize(directory, Path.of("."))));
 		mappings.put("java.home", System.getProperty("java.home"));
 		mappings.put("java.class.path", commandLine.getOptionValue("classpath", String.join(PATH_SEPARATOR, classpath)));
+		mappings.put("builderOptions", commandLine.hasOption("binary") ? ".withBinaryFormat()" : "");
 
 		StringSubstitutor substitutor = new StringSubstitutor(mappings);
 		substitutor.setEnableSubstitutionInVariables(true);
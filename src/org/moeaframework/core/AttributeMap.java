@@ -0,0 +1,492 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.moeaframework.core.attribute.CrowdingDistance;
+import org.moeaframework.core.attribute.Fitness;
+import org.moeaframework.core.attribute.Rank;
+
+/**
+ * Stores the attributes of a solution.  The attributes read and written most frequently, namely {@link Rank},
+ * {@link CrowdingDistance}, and {@link Fitness}, are stored in dedicated primitive slots, avoiding boxing and hash
+ * lookups when accessed through {@link #getInt(String)}, {@link #setInt(String, int)}, {@link #getDouble(String)},
+ * and {@link #setDouble(String, double)}.  All other attributes are stored in a hash map, which is only allocated when
+ * needed.
+ * <p>
+ * This behaves like any other {@link Map}, where the slots are visible under their attribute names.  A slot only
+ * holds values of its own type, namely {@code Integer} for the rank and {@code Double} otherwise.  Values of any other
+ * type, including {@code null}, are stored in the hash map instead.
+ */
+final class AttributeMap extends AbstractMap<String, Serializable> implements Serializable {
+
+	private static final long serialVersionUID = -4364390950251719806L;
+
+	/**
+	 * Index of the rank slot.
+	 */
+	private static final int RANK = 0;
+	
+	/**
+	 * Index of the crowding distance slot.
+	 */
+	private static final int CROWDING_DISTANCE = 1;
+	
+	/**
+	 * Index of the fitness slot.
+	 */
+	private static final int FITNESS = 2;
+	
+	/**
+	 * The attribute names of each slot.
+	 */
+	private static final String[] SLOT_NAMES = { Rank.ATTRIBUTE_NAME, CrowdingDistance.ATTRIBUTE_NAME,
+			Fitness.ATTRIBUTE_NAME };
+	
+	/**
+	 * The value of the rank slot.
+	 */
+	private int rank;
+	
+	/**
+	 * The value of the crowding distance slot.
+	 */
+	private double crowdingDistance;
+	
+	/**
+	 * The value of the fitness slot.
+	 */
+	private double fitness;
+	
+	/**
+	 * Bit mask identifying which slots contain a value.
+	 */
+	private int assigned;
+	
+	/**
+	 * Bit mask identifying which slot names are instead stored in the hash map, since their value did not match the
+	 * type of the slot.
+	 */
+	private int overflow;
+	
+	/**
+	 * The attributes not stored in a slot; or {@code null} if no such attributes have been set.
+	 */
+	private HashMap<String, Serializable> map;
+	
+	/**
+	 * Constructs a new, empty attribute map.
+	 */
+	public AttributeMap() {
+		super();
+	}
+	
+	/**
+	 * Returns the index of the slot storing the given key, or {@code -1} if the key is not stored in a slot.  Since
+	 * the attribute classes pass their constant names, the identity check typically succeeds without comparing the
+	 * strings.
+	 * 
+	 * @param key the attribute name
+	 * @return the index of the slot, or {@code -1} if the key is not stored in a slot
+	 */
+	private static int slotOf(Object key) {
+		for (int i = 0; i < SLOT_NAMES.length; i++) {
+			if (SLOT_NAMES[i] == key) {
+				return i;
+			}
+		}
+		
+		if (key instanceof String) {
+			for (int i = 0; i < SLOT_NAMES.length; i++) {
+				if (SLOT_NAMES[i].equals(key)) {
+					return i;
+				}
+			}
+		}
+		
+		return -1;
+	}
+	
+	/**
+	 * Returns {@code true} if the slot contains a value.
+	 * 
+	 * @param slot the index of the slot
+	 * @return {@code true} if the slot contains a value; {@code false} otherwise
+	 */
+	private boolean isAssigned(int slot) {
+		return (assigned & (1 << slot)) != 0;
+	}
+	
+	/**
+	 * Returns the boxed value stored in a slot.
+	 * 
+	 * @param slot the index of the slot
+	 * @return the boxed value
+	 */
+	private Serializable getSlot(int slot) {
+		return switch (slot) {
+			case RANK -> rank;
+			case CROWDING_DISTANCE -> crowdingDistance;
+			default -> fitness;
+		};
+	}
+	
+	/**
+	 * Stores a value in a slot, removing any value with the same name from the hash map.
+	 * 
+	 * @param slot the index of the slot
+	 * @param value the value, which must match the type of the slot
+	 * @return the previous value, or {@code null} if no value was previously assigned
+	 */
+	private Serializable setSlot(int slot, Serializable value) {
+		Serializable previous = removeSlot(slot);
+		
+		switch (slot) {
+			case RANK -> rank = (Integer)value;
+			case CROWDING_DISTANCE -> crowdingDistance = (Double)value;
+			default -> fitness = (Double)value;
+		}
+		
+		assigned |= 1 << slot;
+		return previous;
+	}
+	
+	/**
+	 * Removes the value associated with a slot name, whether stored in the slot or the hash map.
+	 * 
+	 * @param slot the index of the slot
+	 * @return the previous value, or {@code null} if no value was previously assigned
+	 */
+	private Serializable removeSlot(int slot) {
+		int bit = 1 << slot;
+		
+		if ((assigned & bit) != 0) {
+			assigned &= ~bit;
+			return getSlot(slot);
+		} else if ((overflow & bit) != 0) {
+			overflow &= ~bit;
+			return map.remove(SLOT_NAMES[slot]);
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Returns {@code true} if the value can be stored in the slot.
+	 * 
+	 * @param slot the index of the slot
+	 * @param value the value
+	 * @return {@code true} if the value matches the type of the slot; {@code false} otherwise
+	 */
+	private static boolean accepts(int slot, Object value) {
+		return slot == RANK ? value instanceof Integer : value instanceof Double;
+	}
+	
+	/**
+	 * Returns the value of an {@code int} attribute.  If the attribute is not stored in a slot, this falls back to
+	 * unboxing the value in the hash map.
+	 * 
+	 * @param key the attribute name
+	 * @return the value
+	 * @throws NullPointerException if the attribute is not set
+	 * @throws ClassCastException if the attribute is not an {@code Integer}
+	 */
+	public int getInt(String key) {
+		if (key == Rank.ATTRIBUTE_NAME && (assigned & (1 << RANK)) != 0) {
+			return rank;
+		}
+		
+		return (Integer)get(key);
+	}
+	
+	/**
+	 * Sets the value of an {@code int} attribute.  If the attribute is not stored in a slot, the value is boxed and
+	 * stored in the hash map.
+	 * 
+	 * @param key the attribute name
+	 * @param value the value
+	 */
+	public void setInt(String key, int value) {
+		if (key == Rank.ATTRIBUTE_NAME && overflow == 0) {
+			rank = value;
+			assigned |= 1 << RANK;
+		} else {
+			put(key, value);
+		}
+	}
+	
+	/**
+	 * Returns the value of a {@code double} attribute.  If the attribute is not stored in a slot, this falls back to
+	 * unboxing the value in the hash map.
+	 * 
+	 * @param key the attribute name
+	 * @return the value
+	 * @throws NullPointerException if the attribute is not set
+	 * @throws ClassCastException if the attribute is not a {@code Double}
+	 */
+	public double getDouble(String key) {
+		if (key == CrowdingDistance.ATTRIBUTE_NAME && (assigned & (1 << CROWDING_DISTANCE)) != 0) {
+			return crowdingDistance;
+		} else if (key == Fitness.ATTRIBUTE_NAME && (assigned & (1 << FITNESS)) != 0) {
+			return fitness;
+		}
+		
+		return (Double)get(key);
+	}
+	
+	/**
+	 * Sets the value of a {@code double} attribute.  If the attribute is not stored in a slot, the value is boxed and
+	 * stored in the hash map.
+	 * 
+	 * @param key the attribute name
+	 * @param value the value
+	 */
+	public void setDouble(String key, double value) {
+		if (key == CrowdingDistance.ATTRIBUTE_NAME && overflow == 0) {
+			crowdingDistance = value;
+			assigned |= 1 << CROWDING_DISTANCE;
+		} else if (key == Fitness.ATTRIBUTE_NAME && overflow == 0) {
+			fitness = value;
+			assigned |= 1 << FITNESS;
+		} else {
+			put(key, value);
+		}
+	}
+
+	@Override
+	public Serializable get(Object key) {
+		int slot = slotOf(key);
+		
+		if (slot >= 0 && isAssigned(slot)) {
+			return getSlot(slot);
+		}
+		
+		return map == null ? null : map.get(key);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		int slot = slotOf(key);
+		
+		if (slot >= 0 && isAssigned(slot)) {
+			return true;
+		}
+		
+		return map != null && map.containsKey(key);
+	}
+
+	@Override
+	public Serializable put(String key, Serializable value) {
+		int slot = slotOf(key);
+		
+		if (slot >= 0) {
+			if (accepts(slot, value)) {
+				return setSlot(slot, value);
+			}
+			
+			Serializable previous = removeSlot(slot);
+			overflow |= 1 << slot;
+			getOrCreateMap().put(key, value);
+			return previous;
+		}
+		
+		return getOrCreateMap().put(key, value);
+	}
+
+	@Override
+	public Serializable remove(Object key) {
+		int slot = slotOf(key);
+		
+		if (slot >= 0) {
+			return removeSlot(slot);
+		}
+		
+		return map == null ? null : map.remove(key);
+	}
+
+	@Override
+	public int size() {
+		return Integer.bitCount(assigned) + (map == null ? 0 : map.size());
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public void clear() {
+		assigned = 0;
+		overflow = 0;
+		
+		if (map != null) {
+			map.clear();
+		}
+	}
+
+	@Override
+	public Set<Entry<String, Serializable>> entrySet() {
+		return new AbstractSet<Entry<String, Serializable>>() {
+
+			@Override
+			public Iterator<Entry<String, Serializable>> iterator() {
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size() {
+				return AttributeMap.this.size();
+			}
+
+			@Override
+			public void clear() {
+				AttributeMap.this.clear();
+			}
+			
+		};
+	}
+	
+	/**
+	 * Returns the hash map, creating it if necessary.
+	 * 
+	 * @return the hash map
+	 */
+	private HashMap<String, Serializable> getOrCreateMap() {
+		if (map == null) {
+			map = new HashMap<String, Serializable>();
+		}
+		
+		return map;
+	}
+	
+	/**
+	 * Iterates over the assigned slots followed by the entries in the hash map.
+	 */
+	private class EntryIterator implements Iterator<Entry<String, Serializable>> {
+		
+		/**
+		 * The index of the next slot to check.
+		 */
+		private int nextSlot;
+		
+		/**
+		 * The index of the slot last returned by {@link #next()}, or {@code -1} if the last entry came from the hash
+		 * map or no entry was returned.
+		 */
+		private int lastSlot;
+		
+		/**
+		 * The iterator over the hash map, or {@code null} if not yet started.
+		 */
+		private Iterator<Entry<String, Serializable>> mapIterator;
+		
+		/**
+		 * The key of the entry last returned from the hash map.
+		 */
+		private String lastKey;
+		
+		/**
+		 * Constructs a new iterator over the entries.
+		 */
+		public EntryIterator() {
+			super();
+			lastSlot = -1;
+			advance();
+		}
+		
+		/**
+		 * Advances {@link #nextSlot} to the next assigned slot.
+		 */
+		private void advance() {
+			while (nextSlot < SLOT_NAMES.length && !isAssigned(nextSlot)) {
+				nextSlot++;
+			}
+		}
+		
+		/**
+		 * Returns the iterator over the hash map, creating it if necessary.
+		 * 
+		 * @return the iterator over the hash map, or {@code null} if there is no hash map
+		 */
+		private Iterator<Entry<String, Serializable>> getMapIterator() {
+			if (mapIterator == null && map != null) {
+				mapIterator = map.entrySet().iterator();
+			}
+			
+			return mapIterator;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (nextSlot < SLOT_NAMES.length) {
+				return true;
+			}
+			
+			Iterator<Entry<String, Serializable>> iterator = getMapIterator();
+			return iterator != null && iterator.hasNext();
+		}
+
+		@Override
+		public Entry<String, Serializable> next() {
+			if (nextSlot < SLOT_NAMES.length) {
+				lastSlot = nextSlot++;
+				advance();
+				return new SimpleImmutableEntry<String, Serializable>(SLOT_NAMES[lastSlot], getSlot(lastSlot));
+			}
+			
+			Iterator<Entry<String, Serializable>> iterator = getMapIterator();
+			
+			if (iterator == null) {
+				throw new NoSuchElementException();
+			}
+			
+			Entry<String, Serializable> entry = iterator.next();
+			lastSlot = -1;
+			lastKey = entry.getKey();
+			return entry;
+		}
+
+		@Override
+		public void remove() {
+			if (lastSlot >= 0) {
+				assigned &= ~(1 << lastSlot);
+				lastSlot = -1;
+			} else if (mapIterator != null) {
+				mapIterator.remove();
+				
+				int slot = slotOf(lastKey);
+				
+				if (slot >= 0) {
+					overflow &= ~(1 << slot);
+				}
+			} else {
+				throw new IllegalStateException();
+			}
+		}
+		
+	}
+
+}
@@ -0,0 +1,385 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.util.Arrays;
+
+import org.moeaframework.core.attribute.Rank;
+import org.moeaframework.core.comparator.DominanceComparator;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+import org.moeaframework.core.comparator.ParetoObjectiveComparator;
+
+/**
+ * Efficient non-dominated sorting (ENS) for dominance depth ranking using the binary search strategy (ENS-BS) from
+ * [1].  Assigns the {@code rank} and {@code crowdingDistance} attributes to solutions, producing the same results as
+ * {@link NondominatedSorting}.
+ * <p>
+ * Solutions are first sorted lexicographically by their objectives, which guarantees a solution can only be
+ * dominated by solutions preceding it.  Each solution is then assigned to the first front containing no dominating
+ * solution, located by a binary search over the existing fronts.  For two objectives, only the last solution added
+ * to each front needs to be checked, which reduces this to an {@code O(N log N)} sweep.  Memory usage is
+ * {@code O(MN)}, as no {@code N x N} dominance matrix is created.
+ * <p>
+ * This implementation is only used with {@link ParetoDominanceComparator} or {@link ParetoObjectiveComparator}.  When
+ * constructed with any other dominance comparator, it falls back to the naive implementation.
+ * <p>
+ * References:
+ * <ol>
+ *   <li>Zhang et al. (2015).  "An Efficient Approach to Nondominated Sorting for Evolutionary Multiobjective
+ *       Optimization."  IEEE Transactions on Evolutionary Computation, 19(2):201-213.
+ * </ol>
+ */
+public class EfficientNondominatedSorting extends NondominatedSorting {
+
+	/**
+	 * Constructs an efficient non-dominated sorting operator using Pareto dominance.
+	 */
+	public EfficientNondominatedSorting() {
+		super();
+	}
+
+	/**
+	 * Constructs an efficient non-dominated sorting operator using the specified dominance comparator.
+	 * 
+	 * @param comparator the dominance comparator
+	 */
+	public EfficientNondominatedSorting(DominanceComparator comparator) {
+		super(comparator);
+	}
+
+	/**
+	 * Returns {@code true} if the dominance comparator is supported by the efficient sorting routine; {@code false}
+	 * if this falls back to the naive implementation.
+	 * 
+	 * @return {@code true} if the dominance comparator is supported by the efficient sorting routine
+	 */
+	protected boolean isSupported() {
+		return comparator.getClass() == ParetoDominanceComparator.class ||
+				comparator.getClass() == ParetoObjectiveComparator.class;
+	}
+
+	@Override
+	public void evaluate(Population population) {
+		if (!isSupported()) {
+			super.evaluate(population);
+			return;
+		}
+		
+		int N = population.size();
+		
+		if (N == 0) {
+			return;
+		}
+		
+		ObjectiveMatrix matrix = population.getObjectiveMatrix();
+		int M = matrix.getNumberOfObjectives();
+		boolean useConstraints = comparator.getClass() == ParetoDominanceComparator.class;
+		
+		// the objectives are stored in a contiguous buffer in column-major order
+		double[] objectives = matrix.getObjectives();
+		double[] violations = new double[N];
+		
+		if (useConstraints) {
+			for (int i = 0; i < N; i++) {
+				violations[i] = matrix.getSumOfConstraintViolations(i);
+			}
+		}
+		
+		// sort by constraint violation and then lexicographically by objectives
+		int[] order = new int[N];
+		
+		for (int i = 0; i < N; i++) {
+			order[i] = i;
+		}
+		
+		mergeSort(order, new int[N], 0, N, objectives, violations, M, N);
+		
+		// solutions with a smaller constraint violation dominate all solutions with a larger violation, so each
+		// group of equal violation is sorted independently and its ranks offset by the fronts preceding it
+		int[] ranks = new int[N];
+		int[] frontLast = new int[N];
+		int[] previous = new int[N];
+		int numberOfFronts = 0;
+		int start = 0;
+		
+		while (start < N) {
+			int end = start + 1;
+			
+			while (end < N && Double.compare(violations[order[end]], violations[order[start]]) == 0) {
+				end++;
+			}
+			
+			numberOfFronts += sortGroup(order, start, end, objectives, M, N, numberOfFronts, ranks, frontLast,
+					previous);
+			start = end;
+		}
+		
+		// collect the fronts, preserving the original ordering of solutions
+		Population[] fronts = new Population[numberOfFronts];
+		
+		for (int i = 0; i < numberOfFronts; i++) {
+			fronts[i] = new Population();
+		}
+		
+		for (int i = 0; i < N; i++) {
+			Solution solution = population.get(i);
+			Rank.setAttribute(solution, ranks[i]);
+			fronts[ranks[i]].add(solution);
+		}
+		
+		for (Population front : fronts) {
+			updateCrowdingDistance(front);
+		}
+	}
+
+	/**
+	 * Assigns ranks to a group of solutions with identical constraint violations using ENS-BS.
+	 * 
+	 * @param order the lexicographically sorted indices of solutions
+	 * @param start the index into {@code order} of the first solution in the group
+	 * @param end the index into {@code order} after the last solution in the group
+	 * @param objectives the objectives of all solutions in column-major order
+	 * @param M the number of objectives
+	 * @param N the number of solutions
+	 * @param rankOffset the rank assigned to the first front of this group
+	 * @param ranks the assigned ranks
+	 * @param frontLast scratch space storing the index of the last solution added to each front
+	 * @param previous scratch space storing the index of the solution added to the same front immediately before
+	 *        each solution
+	 * @return the number of fronts in this group
+	 */
+	private static int sortGroup(int[] order, int start, int end, double[] objectives, int M, int N,
+			int rankOffset, int[] ranks, int[] frontLast, int[] previous) {
+		int numberOfFronts = 0;
+		
+		for (int i = start; i < end; i++) {
+			int index = order[i];
+			int lower = 0;
+			int upper = numberOfFronts;
+			
+			while (lower < upper) {
+				int middle = (lower + upper) >>> 1;
+				
+				if (isDominatedByFront(index, frontLast[middle], previous, objectives, M, N)) {
+					lower = middle + 1;
+				} else {
+					upper = middle;
+				}
+			}
+			
+			if (lower == numberOfFronts) {
+				frontLast[lower] = -1;
+				numberOfFronts++;
+			}
+			
+			previous[index] = frontLast[lower];
+			frontLast[lower] = index;
+			ranks[index] = rankOffset + lower;
+		}
+		
+		return numberOfFronts;
+	}
+
+	/**
+	 * Returns {@code true} if any solution in the front dominates the given solution.  Solutions in a front are
+	 * checked starting with the most recently added, as these are the most likely to dominate.  With two objectives,
+	 * the most recently added solution has the smallest value in the second objective and is the only one that
+	 * needs to be checked.
+	 * 
+	 * @param index the index of the solution
+	 * @param last the index of the last solution added to the front
+	 * @param previous the links between solutions in the same front
+	 * @param objectives the objectives of all solutions in column-major order
+	 * @param M the number of objectives
+	 * @param N the number of solutions
+	 * @return {@code true} if any solution in the front dominates the given solution; {@code false} otherwise
+	 */
+	private static boolean isDominatedByFront(int index, int last, int[] previous, double[] objectives, int M,
+			int N) {
+		if (M == 2) {
+			return dominates(last, index, objectives, M, N);
+		}
+		
+		for (int member = last; member >= 0; member = previous[member]) {
+			if (dominates(member, index, objectives, M, N)) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+
+	/**
+	 * Returns {@code true} if the first solution Pareto dominates the second.  This assumes the first solution
+	 * precedes the second in lexicographical order and, consequently, the second can never dominate the first.
+	 * 
+	 * @param i the index of the first solution
+	 * @param j the index of the second solution
+	 * @param objectives the objectives of all solutions in column-major order
+	 * @param M the number of objectives
+	 * @param N the number of solutions
+	 * @return {@code true} if the first solution Pareto dominates the second; {@code false} otherwise
+	 */
+	private static boolean dominates(int i, int j, double[] objectives, int M, int N) {
+		boolean strictlyBetter = false;
+		
+		for (int k = 0; k < M; k++) {
+			int flag = Double.compare(objectives[k * N + i], objectives[k * N + j]);
+			
+			if (flag > 0) {
+				return false;
+			} else if (flag < 0) {
+				strictlyBetter = true;
+			}
+		}
+		
+		return strictlyBetter;
+	}
+
+	/**
+	 * Compares two solutions first by constraint violation and then lexicographically by objectives.
+	 * 
+	 * @param i the index of the first solution
+	 * @param j the index of the second solution
+	 * @param objectives the objectives of all solutions in column-major order
+	 * @param violations the constraint violations of all solutions
+	 * @param M the number of objectives
+	 * @param N the number of solutions
+	 * @return a negative integer, zero or a positive integer if the first solution is less than, equal to or greater
+	 *         than the second
+	 */
+	private static int compare(int i, int j, double[] objectives, double[] violations, int M, int N) {
+		int flag = Double.compare(violations[i], violations[j]);
+		
+		for (int k = 0; k < M && flag == 0; k++) {
+			flag = Double.compare(objectives[k * N + i], objectives[k * N + j]);
+		}
+		
+		return flag;
+	}
+
+	/**
+	 * Stable merge sort of solution indices, avoiding the boxing required by {@link Arrays#sort(Object[])}.
+	 * 
+	 * @param order the indices being sorted
+	 * @param buffer scratch space with the same length as {@code order}
+	 * @param from the first index, inclusive, to sort
+	 * @param to the last index, exclusive, to sort
+	 * @param objectives the objectives of all solutions in column-major order
+	 * @param violations the constraint violations of all solutions
+	 * @param M the number of objectives
+	 * @param N the number of solutions
+	 */
+	private static void mergeSort(int[] order, int[] buffer, int from, int to, double[] objectives,
+			double[] violations, int M, int N) {
+		if (to - from < 8) {
+			for (int i = from + 1; i < to; i++) {
+				int value = order[i];
+				int j = i - 1;
+				
+				while (j >= from && compare(order[j], value, objectives, violations, M, N) > 0) {
+					order[j + 1] = order[j];
+					j--;
+				}
+				
+				order[j + 1] = value;
+			}
+			
+			return;
+		}
+		
+		int middle = (from + to) >>> 1;
+		mergeSort(order, buffer, from, middle, objectives, violations, M, N);
+		mergeSort(order, buffer, middle, to, objectives, violations, M, N);
+		
+		if (compare(order[middle - 1], order[middle], objectives, violations, M, N) <= 0) {
+			return;
+		}
+		
+		System.arraycopy(order, from, buffer, from, to - from);
+		
+		for (int i = from, left = from, right = middle; i < to; i++) {
+			if (right >= to || (left < middle &&
+					compare(buffer[left], buffer[right], objectives, violations, M, N) <= 0)) {
+				order[i] = buffer[left++];
+			} else {
+				order[i] = buffer[right++];
+			}
+		}
+	}
+
+	@Override
+	protected Population removeDuplicates(Population front) {
+		int n = front.size();
+		
+		if (n == 0) {
+			return new Population();
+		}
+		
+		// duplicates must be within EPS in the first objective, so sort by the first objective to limit the number
+		// of comparisons while still matching the order-dependent behavior of the naive implementation.  The window
+		// is widened to 2*EPS to tolerate rounding in the distance calculation.  The first objective occupies the
+		// first n entries of the column-major objectives.
+		ObjectiveMatrix matrix = front.getObjectiveMatrix();
+		double[] firstObjective = matrix.getNumberOfObjectives() > 0 ? matrix.getObjectives() : new double[n];
+		double[] zeros = new double[n];
+		int[] order = new int[n];
+		int[] position = new int[n];
+		boolean[] unique = new boolean[n];
+		
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		
+		mergeSort(order, new int[n], 0, n, firstObjective, zeros, 1, n);
+		
+		for (int i = 0; i < n; i++) {
+			position[order[i]] = i;
+		}
+		
+		Population uniqueFront = new Population();
+		
+		for (int i = 0; i < n; i++) {
+			Solution s1 = front.get(i);
+			boolean isDuplicate = false;
+			
+			for (int direction = -1; direction <= 1 && !isDuplicate; direction += 2) {
+				for (int k = position[i] + direction; k >= 0 && k < n; k += direction) {
+					int j = order[k];
+					
+					if (!(Math.abs(firstObjective[j] - firstObjective[i]) < 2 * Settings.EPS)) {
+						break;
+					}
+					
+					if (j < i && unique[j] && s1.euclideanDistance(front.get(j)) < Settings.EPS) {
+						isDuplicate = true;
+						break;
+					}
+				}
+			}
+			
+			if (!isDuplicate) {
+				unique[i] = true;
+				uniqueFront.add(s1);
+			}
+		}
+		
+		return uniqueFront;
+	}
+
+}
@@ -20,7 +20,18 @@ package org.moeaframework.core;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
 
 import org.moeaframework.core.comparator.EpsilonBoxDominanceComparator;
 
@@ -37,6 +48,14 @@ import org.moeaframework.core.comparator.EpsilonBoxDominanceComparator;
  *   <li>Hadka, D. and Reed, P.  "Borg: An Auto-Adaptive Many-Objective Evolutionary Computing Framework."
  *       Evolutionary Computation, 21(2):231-259, 2013.
  * </ol>
+ * <p>
+ * When using {@link EpsilonBoxDominanceComparator}, this archive indexes the solutions by their &epsilon;-box.  A
+ * hash map resolves the competition between solutions in the same box in constant time, and the boxes are also kept
+ * in lexicographic order, where any box dominating another precedes it, so only the preceding boxes are searched
+ * for a dominating box and only the following boxes are searched for dominated boxes.  With two objectives, each
+ * search is logarithmic.  The index assumes the objectives and constraints of the archived solutions are not
+ * modified.  Subclasses of the comparator, which may change the dominance relation, compare the new solution against
+ * every archived solution instead.
  */
 public class EpsilonBoxDominanceArchive extends NondominatedPopulation {
 
@@ -49,6 +68,24 @@ public class EpsilonBoxDominanceArchive extends NondominatedPopulation {
 	 * The number of &epsilon;-box improvements dominating an existing solution that have occurred.
 	 */
 	private int numberOfDominatingImprovements;
+	
+	/**
+	 * Maps each occupied &epsilon;-box to the solution it contains, or {@code null} if the index is not yet built or
+	 * must be rebuilt.
+	 */
+	private Map<Box, Solution> boxes;
+	
+	/**
+	 * The occupied &epsilon;-boxes in lexicographic order, or {@code null} if the index is not yet built or must be
+	 * rebuilt.
+	 */
+	private NavigableMap<Box, Solution> orderedBoxes;
+	
+	/**
+	 * The aggregate constraint violation shared by all solutions in this archive.  Since solutions with a smaller
+	 * violation dominate those with a larger violation, every solution in this archive has the same violation.
+	 */
+	private double constraintViolation;
 
 	/**
 	 * Constructs an empty &epsilon;-box dominance archive using an additive &epsilon;-box dominance comparator
@@ -151,8 +188,117 @@ public class EpsilonBoxDominanceArchive extends NondominatedPopulation {
 		return new EpsilonBoxDominanceArchive(epsilons, population);
 	}
 
+	/**
+	 * Returns {@code true} if the &epsilon;-box index is used by this archive; {@code false} if each new solution is
+	 * compared against every archived solution.
+	 * 
+	 * @return {@code true} if the &epsilon;-box index is used by this archive
+	 */
+	protected boolean isIndexed() {
+		return getComparator().getClass() == EpsilonBoxDominanceComparator.class;
+	}
+
 	@Override
 	public boolean add(Solution newSolution) {
+		if (!isIndexed() || ((boxes == null) && !rebuildIndex())) {
+			return addWithoutIndex(newSolution);
+		}
+		
+		Epsilons epsilons = getComparator().getEpsilons();
+		Box box = new Box(newSolution, epsilons);
+		double violation = newSolution.getSumOfConstraintViolations();
+		
+		if (!isEmpty()) {
+			int flag = Double.compare(violation, constraintViolation);
+			
+			if (flag > 0) {
+				return false;
+			} else if (flag < 0) {
+				super.clear();
+				boxes.clear();
+				orderedBoxes.clear();
+				
+				numberOfImprovements++;
+				numberOfDominatingImprovements++;
+				constraintViolation = violation;
+				return insert(box, newSolution);
+			}
+		}
+		
+		constraintViolation = violation;
+		
+		// only one solution can occupy each box, keeping the solution nearest the box's minimum corner
+		Solution occupant = boxes.get(box);
+		
+		if (occupant != null) {
+			if (Double.compare(box.distance(newSolution, epsilons), box.distance(occupant, epsilons)) >= 0) {
+				return false;
+			}
+			
+			removeSolutions(Collections.singleton(occupant));
+			return insert(box, newSolution);
+		}
+		
+		if (isDominated(box)) {
+			return false;
+		}
+		
+		List<Solution> dominated = removeDominated(box);
+		
+		if (!dominated.isEmpty()) {
+			removeSolutions(dominated);
+			numberOfDominatingImprovements++;
+		}
+		
+		numberOfImprovements++;
+		return insert(box, newSolution);
+	}
+	
+	/**
+	 * Returns {@code true} if {@link #add(Solution)} is known to reject the solution.  This only reads the
+	 * &epsilon;-box index and never modifies this archive, so any number of threads can call this method while no
+	 * thread is modifying this archive.  If the index is not used or must first be rebuilt, this returns
+	 * {@code false} and the result is only known after calling {@link #add(Solution)}.
+	 * 
+	 * @param newSolution the solution
+	 * @return {@code true} if the solution would be rejected; {@code false} if the solution would be added or the
+	 *         result is not known
+	 */
+	protected boolean isRejected(Solution newSolution) {
+		Map<Box, Solution> boxes = this.boxes;
+		
+		if (!isIndexed() || (boxes == null) || boxes.isEmpty()) {
+			return false;
+		}
+		
+		int flag = Double.compare(newSolution.getSumOfConstraintViolations(), constraintViolation);
+		
+		if (flag != 0) {
+			return flag > 0;
+		}
+		
+		Epsilons epsilons = getComparator().getEpsilons();
+		Box box = new Box(newSolution, epsilons);
+		Solution occupant = boxes.get(box);
+		
+		if (occupant != null) {
+			return Double.compare(box.distance(newSolution, epsilons), box.distance(occupant, epsilons)) >= 0;
+		}
+		
+		return isDominated(box);
+	}
+	
+	/**
+	 * Adds the solution by comparing it against every archived solution.  This is used when the comparator does not
+	 * support the &epsilon;-box index.
+	 * 
+	 * @param newSolution the solution to be added
+	 * @return {@code true} if the solution was added to this archive; {@code false} otherwise
+	 */
+	private boolean addWithoutIndex(Solution newSolution) {
+		boxes = null;
+		orderedBoxes = null;
+		
 		Iterator<Solution> iterator = iterator();
 
 		boolean same = false;
@@ -183,7 +329,177 @@ public class EpsilonBoxDominanceArchive extends NondominatedPopulation {
 			}
 		}
 
-		return forceAddWithoutCheck(newSolution);
+		return super.forceAddWithoutCheck(newSolution);
+	}
+	
+	/**
+	 * Adds the solution to the index and this archive.
+	 * 
+	 * @param box the &epsilon;-box containing the solution
+	 * @param newSolution the solution to be added
+	 * @return {@code true} if the solution was added
+	 */
+	private boolean insert(Box box, Solution newSolution) {
+		boxes.put(box, newSolution);
+		orderedBoxes.put(box, newSolution);
+		return super.forceAddWithoutCheck(newSolution);
+	}
+	
+	/**
+	 * Returns {@code true} if any occupied box dominates the given box.  Any such box precedes the given box in
+	 * lexicographic order.
+	 * 
+	 * @param box the &epsilon;-box
+	 * @return {@code true} if the box is dominated; {@code false} otherwise
+	 */
+	private boolean isDominated(Box box) {
+		if (box.size() == 2) {
+			// the occupied boxes are non-dominated, so the second index decreases in lexicographic order and the
+			// preceding box has the smallest second index of all preceding boxes
+			Box previous = orderedBoxes.lowerKey(box);
+			return previous != null && Double.compare(previous.get(1), box.get(1)) <= 0;
+		}
+		
+		// search the nearest boxes first, which are more likely to dominate the box
+		for (Box other : orderedBoxes.headMap(box, false).descendingKeySet()) {
+			if (other.dominates(box)) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Removes all boxes dominated by the given box from the index.  Any such box follows the given box in
+	 * lexicographic order.
+	 * 
+	 * @param box the &epsilon;-box
+	 * @return the solutions in the dominated boxes
+	 */
+	private List<Solution> removeDominated(Box box) {
+		List<Solution> dominated = new ArrayList<Solution>();
+		Iterator<Map.Entry<Box, Solution>> iterator = orderedBoxes.tailMap(box, false).entrySet().iterator();
+		
+		while (iterator.hasNext()) {
+			Map.Entry<Box, Solution> entry = iterator.next();
+			
+			if (box.dominates(entry.getKey())) {
+				dominated.add(entry.getValue());
+				boxes.remove(entry.getKey());
+				iterator.remove();
+			} else if (box.size() == 2 && Double.compare(entry.getKey().get(1), box.get(1)) < 0) {
+				// all remaining boxes have a smaller second index
+				break;
+			}
+		}
+		
+		return dominated;
+	}
+	
+	/**
+	 * Removes the given solutions from this archive, preserving the order of the remaining solutions.  The solutions
+	 * must already be removed from the index.
+	 * 
+	 * @param solutions the solutions to remove
+	 */
+	private void removeSolutions(Iterable<Solution> solutions) {
+		Set<Solution> removed = Collections.newSetFromMap(new IdentityHashMap<Solution, Boolean>());
+		
+		for (Solution solution : solutions) {
+			removed.add(solution);
+		}
+		
+		if (removed.size() == 1) {
+			Solution solution = removed.iterator().next();
+			
+			for (int i = size() - 1; i >= 0; i--) {
+				if (get(i) == solution) {
+					super.remove(i);
+					return;
+				}
+			}
+		} else {
+			// rebuild the list in one pass rather than shifting the remaining solutions after each removal
+			List<Solution> remaining = new ArrayList<Solution>(size());
+			
+			for (Solution solution : asList()) {
+				if (!removed.contains(solution)) {
+					remaining.add(solution);
+				}
+			}
+			
+			super.clear();
+			
+			for (Solution solution : remaining) {
+				super.forceAddWithoutCheck(solution);
+			}
+		}
+	}
+	
+	/**
+	 * Rebuilds the index from the solutions currently stored in this archive.  The index is rebuilt lazily whenever
+	 * this archive is modified in a way that can not be tracked incrementally.
+	 * 
+	 * @return {@code true} if the index was rebuilt; {@code false} if the solutions do not satisfy the requirements
+	 *         of the index, namely each solution must occupy a different box and have the same constraint violation
+	 */
+	private boolean rebuildIndex() {
+		Epsilons epsilons = getComparator().getEpsilons();
+		Map<Box, Solution> newBoxes = new HashMap<Box, Solution>();
+		NavigableMap<Box, Solution> newOrderedBoxes = new TreeMap<Box, Solution>();
+		double violation = isEmpty() ? 0.0 : get(0).getSumOfConstraintViolations();
+		
+		for (Solution solution : this) {
+			Box box = new Box(solution, epsilons);
+			
+			if ((Double.compare(solution.getSumOfConstraintViolations(), violation) != 0) ||
+					(newBoxes.put(box, solution) != null)) {
+				return false;
+			}
+			
+			newOrderedBoxes.put(box, solution);
+		}
+		
+		boxes = newBoxes;
+		orderedBoxes = newOrderedBoxes;
+		constraintViolation = violation;
+		return true;
+	}
+	
+	@Override
+	protected boolean forceAddWithoutCheck(Solution newSolution) {
+		boxes = null;
+		orderedBoxes = null;
+		return super.forceAddWithoutCheck(newSolution);
+	}
+	
+	@Override
+	public void remove(int index) {
+		boxes = null;
+		orderedBoxes = null;
+		super.remove(index);
+	}
+	
+	@Override
+	public boolean remove(Solution solution) {
+		boxes = null;
+		orderedBoxes = null;
+		return super.remove(solution);
+	}
+	
+	@Override
+	public void clear() {
+		boxes = null;
+		orderedBoxes = null;
+		super.clear();
+	}
+	
+	@Override
+	public void truncate(int size, Comparator<? super Solution> comparator) {
+		boxes = null;
+		orderedBoxes = null;
+		super.truncate(size, comparator);
 	}
 
 	/**
@@ -235,8 +551,127 @@ public class EpsilonBoxDominanceArchive extends NondominatedPopulation {
 	@Override
 	public void loadState(ObjectInputStream stream) throws IOException, ClassNotFoundException {
 		super.loadState(stream);
+		boxes = null;
+		orderedBoxes = null;
 		numberOfImprovements = stream.readInt();
 		numberOfDominatingImprovements = stream.readInt();
 	}
+	
+	/**
+	 * The index of an &epsilon;-box, computed identically to {@link EpsilonBoxDominanceComparator}.  Boxes are
+	 * ordered lexicographically.
+	 */
+	private static final class Box implements Comparable<Box> {
+		
+		/**
+		 * The index of the box for each objective.
+		 */
+		private final double[] index;
+		
+		/**
+		 * The cached hash code.
+		 */
+		private final int hashCode;
+		
+		/**
+		 * Constructs the &epsilon;-box containing the given solution.
+		 * 
+		 * @param solution the solution
+		 * @param epsilons the &epsilon; values
+		 */
+		public Box(Solution solution, Epsilons epsilons) {
+			super();
+			index = new double[solution.getNumberOfObjectives()];
+			
+			for (int i = 0; i < index.length; i++) {
+				index[i] = Math.floor(solution.getObjective(i) / epsilons.get(i));
+			}
+			
+			hashCode = Arrays.hashCode(index);
+		}
+		
+		/**
+		 * Returns the number of objectives.
+		 * 
+		 * @return the number of objectives
+		 */
+		public int size() {
+			return index.length;
+		}
+		
+		/**
+		 * Returns the index of the box for the given objective.
+		 * 
+		 * @param objective the objective
+		 * @return the index of the box
+		 */
+		public double get(int objective) {
+			return index[objective];
+		}
+		
+		/**
+		 * Returns {@code true} if this box dominates the other box.
+		 * 
+		 * @param other the other box
+		 * @return {@code true} if this box dominates the other box; {@code false} otherwise
+		 */
+		public boolean dominates(Box other) {
+			boolean strict = false;
+			
+			for (int i = 0; i < index.length; i++) {
+				int flag = Double.compare(index[i], other.index[i]);
+				
+				if (flag > 0) {
+					return false;
+				} else if (flag < 0) {
+					strict = true;
+				}
+			}
+			
+			return strict;
+		}
+		
+		/**
+		 * Returns the squared distance from the solution in this box to the box's minimum corner.
+		 * 
+		 * @param solution the solution in this box
+		 * @param epsilons the &epsilon; values
+		 * @return the squared distance
+		 */
+		public double distance(Solution solution, Epsilons epsilons) {
+			double distance = 0.0;
+			
+			for (int i = 0; i < index.length; i++) {
+				double epsilon = epsilons.get(i);
+				distance += Math.pow(solution.getObjective(i) - index[i] * epsilon, 2.0);
+			}
+			
+			return distance;
+		}
+
+		@Override
+		public int compareTo(Box other) {
+			for (int i = 0; i < index.length; i++) {
+				int flag = Double.compare(index[i], other.index[i]);
+				
+				if (flag != 0) {
+					return flag;
+				}
+			}
+			
+			return 0;
+		}
+		
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Box other && Arrays.equals(index, other.index);
+		}
+		
+	}
 
 }
@@ -0,0 +1,773 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.moeaframework.core.comparator.DominanceComparator;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+import org.moeaframework.core.comparator.ParetoObjectiveComparator;
+
+/**
+ * Non-dominated population backed by an ND-tree [1], a spatial index that partitions the archived solutions into
+ * nested regions bounded by their local ideal and nadir points.  When adding a solution, entire regions can be
+ * skipped when no solution inside can dominate or be dominated by the new solution, and entire regions are accepted
+ * or rejected at once when their bounds dominate or are dominated by the new solution.  This results in sub-linear
+ * expected time for the dominance checks, which is beneficial for large archives.
+ * <p>
+ * This population has the same contract as {@link NondominatedPopulation}, including the ordering of solutions and
+ * the handling of duplicates.
+ * <p>
+ * The index is only used with {@link ParetoDominanceComparator} or {@link ParetoObjectiveComparator}.  When
+ * constructed with any other dominance comparator, this behaves identically to {@link NondominatedPopulation}.
+ * <p>
+ * References:
+ * <ol>
+ *   <li>Jaszkiewicz, A. and T. Lust (2018).  "ND-Tree-Based Update: A Fast Algorithm for the Dynamic Nondominance
+ *       Problem."  IEEE Transactions on Evolutionary Computation, 22(5):778-791.
+ * </ol>
+ */
+public class IndexedNondominatedPopulation extends NondominatedPopulation {
+
+	/**
+	 * The maximum number of solutions stored in a leaf node before it is split.
+	 */
+	private static final int MAX_LEAF_SIZE = 20;
+
+	/**
+	 * The root of the ND-tree, or {@code null} if the index is not yet built or must be rebuilt.
+	 */
+	private Node root;
+
+	/**
+	 * Maps the decision variables of each solution to the solution, used to detect duplicates when the duplicate
+	 * mode is {@link DuplicateMode#ALLOW_DUPLICATE_OBJECTIVES}.
+	 */
+	private Map<List<Variable>, Solution> variableIndex;
+
+	/**
+	 * The constraint violation shared by all solutions in this population.
+	 */
+	private double constraintViolation;
+
+	/**
+	 * Constructs an empty indexed non-dominated population using the Pareto dominance relation.
+	 */
+	public IndexedNondominatedPopulation() {
+		this(new ParetoDominanceComparator());
+	}
+
+	/**
+	 * Constructs an empty indexed non-dominated population using the Pareto dominance relation.
+	 * 
+	 * @param duplicateMode specifies how duplicate solutions are handled
+	 */
+	public IndexedNondominatedPopulation(DuplicateMode duplicateMode) {
+		this(new ParetoDominanceComparator(), duplicateMode);
+	}
+
+	/**
+	 * Constructs an empty indexed non-dominated population using the specified dominance relation.
+	 * 
+	 * @param comparator the dominance relation used by this non-dominated population
+	 */
+	public IndexedNondominatedPopulation(DominanceComparator comparator) {
+		this(comparator, Settings.getDuplicateMode());
+	}
+
+	/**
+	 * Constructs an empty indexed non-dominated population using the specified dominance relation.
+	 * 
+	 * @param comparator the dominance relation used by this non-dominated population
+	 * @param duplicateMode specifies how duplicate solutions are handled
+	 */
+	public IndexedNondominatedPopulation(DominanceComparator comparator, DuplicateMode duplicateMode) {
+		super(comparator, duplicateMode);
+	}
+
+	/**
+	 * Constructs an indexed non-dominated population using the Pareto dominance relation and initialized with the
+	 * specified solutions.
+	 * 
+	 * @param iterable the solutions used to initialize this non-dominated population
+	 */
+	public IndexedNondominatedPopulation(Iterable<? extends Solution> iterable) {
+		this();
+		addAll(iterable);
+	}
+
+	/**
+	 * Constructs an indexed non-dominated population using the specified dominance comparator and initialized with
+	 * the specified solutions.
+	 * 
+	 * @param comparator the dominance relation used by this non-dominated population
+	 * @param iterable the solutions used to initialize this non-dominated population
+	 */
+	public IndexedNondominatedPopulation(DominanceComparator comparator, Iterable<? extends Solution> iterable) {
+		this(comparator);
+		addAll(iterable);
+	}
+
+	/**
+	 * Returns {@code true} if the dominance comparator is supported by the index; {@code false} if this population
+	 * falls back to the linear scan implemented by {@link NondominatedPopulation}.
+	 * 
+	 * @return {@code true} if the dominance comparator is supported by the index
+	 */
+	protected boolean isSupported() {
+		return comparator.getClass() == ParetoDominanceComparator.class ||
+				comparator.getClass() == ParetoObjectiveComparator.class;
+	}
+
+	@Override
+	public boolean add(Solution newSolution) {
+		if (!isSupported()) {
+			return super.add(newSolution);
+		}
+		
+		if (root == null) {
+			rebuildIndex();
+		}
+		
+		// solutions with a smaller constraint violation dominate those with a larger violation, so every solution in
+		// this population shares the same violation
+		if (comparator.getClass() == ParetoDominanceComparator.class) {
+			double violation = newSolution.getSumOfConstraintViolations();
+			
+			if (!isEmpty()) {
+				int flag = Double.compare(violation, constraintViolation);
+				
+				if (flag > 0) {
+					return false;
+				} else if (flag < 0) {
+					clear();
+				}
+			}
+			
+			constraintViolation = violation;
+		}
+		
+		if (root == null) {
+			rebuildIndex();
+		}
+		
+		Entry entry = new Entry(newSolution);
+		Set<Solution> dominated = Collections.newSetFromMap(new IdentityHashMap<Solution, Boolean>());
+		Set<Solution> duplicates = Collections.newSetFromMap(new IdentityHashMap<Solution, Boolean>());
+		
+		if (root.search(entry, dominated, duplicates)) {
+			return false;
+		}
+		
+		if (duplicateMode == DuplicateMode.ALLOW_DUPLICATE_OBJECTIVES) {
+			Solution match = variableIndex.get(getVariables(newSolution));
+			
+			if (match != null && !dominated.contains(match) && isDuplicate(newSolution, match)) {
+				duplicates.add(match);
+			}
+		}
+		
+		if (!duplicates.isEmpty()) {
+			// to match NondominatedPopulation, remove any dominated solutions preceding the first duplicate
+			if (!dominated.isEmpty()) {
+				int first = 0;
+				
+				while (!duplicates.contains(get(first))) {
+					first++;
+				}
+				
+				for (int i = first - 1; i >= 0; i--) {
+					if (dominated.contains(get(i))) {
+						remove(i);
+					}
+				}
+			}
+			
+			return false;
+		}
+		
+		if (!dominated.isEmpty()) {
+			removeAll(dominated::contains);
+		}
+		
+		insert(entry);
+		return super.forceAddWithoutCheck(newSolution);
+	}
+
+	@Override
+	protected boolean forceAddWithoutCheck(Solution newSolution) {
+		root = null;
+		return super.forceAddWithoutCheck(newSolution);
+	}
+
+	@Override
+	public void remove(int index) {
+		if (root != null) {
+			Solution solution = get(index);
+			
+			if (root.remove(new Entry(solution))) {
+				if (variableIndex != null) {
+					variableIndex.remove(getVariables(solution), solution);
+				}
+			} else {
+				// the solution was modified after being added, so the index is no longer valid
+				root = null;
+			}
+		}
+		
+		super.remove(index);
+	}
+
+	@Override
+	public boolean remove(Solution solution) {
+		for (int i = 0; i < size(); i++) {
+			if (get(i) == solution) {
+				remove(i);
+				return true;
+			}
+		}
+		
+		return false;
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		root = null;
+	}
+
+	@Override
+	public void truncate(int size, Comparator<? super Solution> comparator) {
+		super.truncate(size, comparator);
+		root = null;
+	}
+
+	@Override
+	public void loadState(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+		super.loadState(stream);
+		root = null;
+	}
+
+	@Override
+	public IndexedNondominatedPopulation copy() {
+		IndexedNondominatedPopulation result = new IndexedNondominatedPopulation(getComparator(), duplicateMode);
+		
+		for (Solution solution : this) {
+			result.forceAddWithoutCheck(solution.copy());
+		}
+		
+		return result;
+	}
+
+	/**
+	 * Rebuilds the index from the solutions currently stored in this population.  The index is rebuilt lazily
+	 * whenever this population is modified in a way that can not be tracked incrementally.
+	 */
+	private void rebuildIndex() {
+		root = new Node(null);
+		
+		if (duplicateMode == DuplicateMode.ALLOW_DUPLICATE_OBJECTIVES) {
+			variableIndex = new HashMap<List<Variable>, Solution>();
+		} else {
+			variableIndex = null;
+		}
+		
+		for (int i = 0; i < size(); i++) {
+			insert(new Entry(get(i)));
+		}
+		
+		if (!isEmpty()) {
+			constraintViolation = get(0).getSumOfConstraintViolations();
+		}
+	}
+
+	/**
+	 * Inserts the entry into the index without performing any dominance checks.
+	 * 
+	 * @param entry the entry to insert
+	 */
+	private void insert(Entry entry) {
+		root.insert(entry);
+		
+		if (variableIndex != null) {
+			variableIndex.put(getVariables(entry.solution), entry.solution);
+		}
+	}
+
+	/**
+	 * Returns the decision variables of the solution as a list, suitable for use as a key in a hash map.
+	 * 
+	 * @param solution the solution
+	 * @return the decision variables
+	 */
+	private static List<Variable> getVariables(Solution solution) {
+		Variable[] variables = new Variable[solution.getNumberOfVariables()];
+		
+		for (int i = 0; i < variables.length; i++) {
+			variables[i] = solution.getVariable(i);
+		}
+		
+		return Arrays.asList(variables);
+	}
+
+	/**
+	 * Returns {@code true} if the first point Pareto dominates the second point, using the same ordering as
+	 * {@link ParetoObjectiveComparator}.
+	 * 
+	 * @param p1 the first point
+	 * @param p2 the second point
+	 * @return {@code true} if the first point Pareto dominates the second point
+	 */
+	private static boolean dominates(double[] p1, double[] p2) {
+		boolean strictlyBetter = false;
+		
+		for (int i = 0; i < p1.length; i++) {
+			int flag = Double.compare(p1[i], p2[i]);
+			
+			if (flag > 0) {
+				return false;
+			} else if (flag < 0) {
+				strictlyBetter = true;
+			}
+		}
+		
+		return strictlyBetter;
+	}
+
+	/**
+	 * Returns {@code true} if the first point is less than or equal to the second point in every objective.
+	 * 
+	 * @param p1 the first point
+	 * @param p2 the second point
+	 * @return {@code true} if the first point weakly dominates the second point
+	 */
+	private static boolean weaklyDominates(double[] p1, double[] p2) {
+		for (int i = 0; i < p1.length; i++) {
+			if (Double.compare(p1[i], p2[i]) > 0) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+
+	/**
+	 * A solution stored in the index along with a copy of its objectives.
+	 */
+	private static class Entry {
+
+		/**
+		 * The solution.
+		 */
+		private final Solution solution;
+		
+		/**
+		 * The objectives of the solution.
+		 */
+		private final double[] objectives;
+		
+		/**
+		 * Constructs a new entry for the given solution.
+		 * 
+		 * @param solution the solution
+		 */
+		public Entry(Solution solution) {
+			super();
+			this.solution = solution;
+			this.objectives = solution.getObjectives();
+		}
+
+	}
+
+	/**
+	 * A node in the ND-tree.  Leaf nodes store the entries directly while internal nodes store child nodes.  Each
+	 * node tracks the local ideal and nadir points of all entries in its subtree.  These bounds are not tightened
+	 * when entries are removed, which remains valid since they only need to enclose the remaining entries.
+	 */
+	private class Node {
+
+		/**
+		 * The parent of this node, or {@code null} if this is the root node.
+		 */
+		private final Node parent;
+		
+		/**
+		 * The entries stored in this leaf node, or {@code null} if this is an internal node.
+		 */
+		private List<Entry> entries;
+		
+		/**
+		 * The children of this internal node, or {@code null} if this is a leaf node.
+		 */
+		private List<Node> children;
+		
+		/**
+		 * The local ideal point, or {@code null} if no entries have been added.
+		 */
+		private double[] ideal;
+		
+		/**
+		 * The local nadir point, or {@code null} if no entries have been added.
+		 */
+		private double[] nadir;
+		
+		/**
+		 * Constructs a new, empty leaf node.
+		 * 
+		 * @param parent the parent of this node
+		 */
+		public Node(Node parent) {
+			super();
+			this.parent = parent;
+			this.entries = new ArrayList<Entry>();
+		}
+		
+		/**
+		 * Returns {@code true} if this is a leaf node.
+		 * 
+		 * @return {@code true} if this is a leaf node; {@code false} otherwise
+		 */
+		public boolean isLeaf() {
+			return entries != null;
+		}
+		
+		/**
+		 * Extends the local ideal and nadir points to include the given point.
+		 * 
+		 * @param point the point
+		 */
+		public void extend(double[] point) {
+			if (ideal == null) {
+				ideal = point.clone();
+				nadir = point.clone();
+				return;
+			}
+			
+			for (int i = 0; i < point.length; i++) {
+				if (Double.compare(point[i], ideal[i]) < 0) {
+					ideal[i] = point[i];
+				}
+				
+				if (Double.compare(point[i], nadir[i]) > 0) {
+					nadir[i] = point[i];
+				}
+			}
+		}
+		
+		/**
+		 * Returns {@code true} if the given point lies within the local ideal and nadir points.
+		 * 
+		 * @param point the point
+		 * @return {@code true} if the given point lies within the local ideal and nadir points
+		 */
+		public boolean encloses(double[] point) {
+			return ideal != null && weaklyDominates(ideal, point) && weaklyDominates(point, nadir);
+		}
+		
+		/**
+		 * Returns {@code true} if a solution within {@link Settings#EPS} of the given point could be stored in this
+		 * node.  The distance is doubled to tolerate rounding in the distance calculation.
+		 * 
+		 * @param point the point
+		 * @return {@code true} if a duplicate of the given point could be stored in this node
+		 */
+		public boolean isNear(double[] point) {
+			for (int i = 0; i < point.length; i++) {
+				if (!(point[i] - nadir[i] < 2 * Settings.EPS) || !(ideal[i] - point[i] < 2 * Settings.EPS)) {
+					return false;
+				}
+			}
+			
+			return true;
+		}
+		
+		/**
+		 * Returns the squared Euclidean distance from the given point to the midpoint of this node.
+		 * 
+		 * @param point the point
+		 * @return the squared Euclidean distance
+		 */
+		public double distanceTo(double[] point) {
+			double distance = 0.0;
+			
+			for (int i = 0; i < point.length; i++) {
+				double delta = point[i] - (ideal[i] + nadir[i]) / 2.0;
+				distance += delta * delta;
+			}
+			
+			return distance;
+		}
+		
+		/**
+		 * Searches this node for entries dominating, dominated by or duplicating the new entry.  No modifications are
+		 * made to this node.
+		 * 
+		 * @param entry the new entry
+		 * @param dominated collects the solutions dominated by the new entry
+		 * @param duplicates collects the non-dominated solutions that are duplicates of the new entry
+		 * @return {@code true} if the new entry is dominated by an existing entry; {@code false} otherwise
+		 */
+		public boolean search(Entry entry, Set<Solution> dominated, Set<Solution> duplicates) {
+			if (ideal == null) {
+				return false;
+			}
+			
+			double[] point = entry.objectives;
+			
+			if (dominates(nadir, point)) {
+				return true;
+			}
+			
+			if (dominates(point, ideal)) {
+				collect(dominated);
+				return false;
+			}
+			
+			boolean mayInteract = weaklyDominates(ideal, point) || weaklyDominates(point, nadir);
+			
+			if (!mayInteract && !(duplicateMode == DuplicateMode.NO_DUPLICATE_OBJECTIVES && isNear(point))) {
+				return false;
+			}
+			
+			if (isLeaf()) {
+				for (Entry other : entries) {
+					if (dominates(point, other.objectives)) {
+						dominated.add(other.solution);
+					} else if (dominates(other.objectives, point)) {
+						return true;
+					} else if (duplicateMode == DuplicateMode.NO_DUPLICATE_OBJECTIVES &&
+							isDuplicate(entry.solution, other.solution)) {
+						duplicates.add(other.solution);
+					}
+				}
+			} else {
+				for (Node child : children) {
+					if (child.search(entry, dominated, duplicates)) {
+						return true;
+					}
+				}
+			}
+			
+			return false;
+		}
+		
+		/**
+		 * Collects all solutions stored in this subtree.
+		 * 
+		 * @param solutions the collection of solutions
+		 */
+		public void collect(Set<Solution> solutions) {
+			if (isLeaf()) {
+				for (Entry entry : entries) {
+					solutions.add(entry.solution);
+				}
+			} else {
+				for (Node child : children) {
+					child.collect(solutions);
+				}
+			}
+		}
+		
+		/**
+		 * Returns the leaf node storing the given solution, or {@code null} if the solution is not stored in this
+		 * subtree.
+		 * 
+		 * @param entry the entry identifying the solution
+		 * @return the leaf node storing the given solution, or {@code null}
+		 */
+		private Node find(Entry entry) {
+			if (!encloses(entry.objectives)) {
+				return null;
+			}
+			
+			if (isLeaf()) {
+				for (Entry other : entries) {
+					if (other.solution == entry.solution) {
+						return this;
+					}
+				}
+			} else {
+				for (Node child : children) {
+					Node result = child.find(entry);
+					
+					if (result != null) {
+						return result;
+					}
+				}
+			}
+			
+			return null;
+		}
+		
+		/**
+		 * Inserts the entry into this subtree, descending into the child whose midpoint is closest to the entry.
+		 * 
+		 * @param entry the entry to insert
+		 */
+		public void insert(Entry entry) {
+			Node node = this;
+			node.extend(entry.objectives);
+			
+			while (!node.isLeaf()) {
+				Node closest = node.children.get(0);
+				double minimumDistance = closest.distanceTo(entry.objectives);
+				
+				for (int i = 1; i < node.children.size(); i++) {
+					Node child = node.children.get(i);
+					double distance = child.distanceTo(entry.objectives);
+					
+					if (distance < minimumDistance) {
+						closest = child;
+						minimumDistance = distance;
+					}
+				}
+				
+				node = closest;
+				node.extend(entry.objectives);
+			}
+			
+			node.entries.add(entry);
+			
+			if (node.entries.size() > MAX_LEAF_SIZE && !Arrays.equals(node.ideal, node.nadir)) {
+				node.split();
+			}
+		}
+		
+		/**
+		 * Splits this leaf node into {@code M+1} children.  The seed of each child is chosen to be far from the seeds
+		 * already selected, and the remaining entries are assigned to the child with the closest midpoint.
+		 */
+		private void split() {
+			int numberOfChildren = Math.min(ideal.length + 1, entries.size());
+			List<Entry> remaining = entries;
+			
+			entries = null;
+			children = new ArrayList<Node>(numberOfChildren);
+			
+			for (int i = 0; i < numberOfChildren; i++) {
+				int seed = 0;
+				double maximumDistance = -1.0;
+				
+				for (int j = 0; j < remaining.size(); j++) {
+					double distance = 0.0;
+					
+					if (children.isEmpty()) {
+						for (Entry other : remaining) {
+							distance += squaredDistance(remaining.get(j).objectives, other.objectives);
+						}
+					} else {
+						for (Node child : children) {
+							distance += child.distanceTo(remaining.get(j).objectives);
+						}
+					}
+					
+					if (distance > maximumDistance) {
+						seed = j;
+						maximumDistance = distance;
+					}
+				}
+				
+				Node child = new Node(this);
+				child.insert(remaining.remove(seed));
+				children.add(child);
+			}
+			
+			for (Entry entry : remaining) {
+				Node closest = children.get(0);
+				double minimumDistance = closest.distanceTo(entry.objectives);
+				
+				for (int i = 1; i < children.size(); i++) {
+					double distance = children.get(i).distanceTo(entry.objectives);
+					
+					if (distance < minimumDistance) {
+						closest = children.get(i);
+						minimumDistance = distance;
+					}
+				}
+				
+				closest.insert(entry);
+			}
+		}
+		
+		/**
+		 * Removes the entry from this subtree, pruning any nodes left empty.
+		 * 
+		 * @param entry the entry identifying the solution to remove
+		 * @return {@code true} if the entry was found and removed; {@code false} otherwise
+		 */
+		public boolean remove(Entry entry) {
+			Node node = find(entry);
+			
+			if (node == null) {
+				return false;
+			}
+			
+			for (int i = 0; i < node.entries.size(); i++) {
+				if (node.entries.get(i).solution == entry.solution) {
+					node.entries.remove(i);
+					break;
+				}
+			}
+			
+			while (node.parent != null && (node.isLeaf() ? node.entries.isEmpty() : node.children.isEmpty())) {
+				node.parent.children.remove(node);
+				node = node.parent;
+			}
+			
+			// the bounds are only valid for non-empty nodes, so reset the root once empty
+			if (node.parent == null && (node.isLeaf() ? node.entries.isEmpty() : node.children.isEmpty())) {
+				node.entries = new ArrayList<Entry>();
+				node.children = null;
+				node.ideal = null;
+				node.nadir = null;
+			}
+			
+			return true;
+		}
+
+	}
+
+	/**
+	 * Returns the squared Euclidean distance between two points.
+	 * 
+	 * @param p1 the first point
+	 * @param p2 the second point
+	 * @return the squared Euclidean distance
+	 */
+	private static double squaredDistance(double[] p1, double[] p2) {
+		double distance = 0.0;
+		
+		for (int i = 0; i < p1.length; i++) {
+			double delta = p1[i] - p2[i];
+			distance += delta * delta;
+		}
+		
+		return distance;
+	}
+
+}
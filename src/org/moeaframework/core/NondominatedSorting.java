@@ -24,7 +24,6 @@ import org.moeaframework.core.NondominatedPopulation.DuplicateMode;
 import org.moeaframework.core.attribute.CrowdingDistance;
 import org.moeaframework.core.attribute.Rank;
 import org.moeaframework.core.comparator.DominanceComparator;
-import org.moeaframework.core.comparator.ObjectiveComparator;
 import org.moeaframework.core.comparator.ParetoDominanceComparator;
 
 /**
@@ -121,24 +120,7 @@ public class NondominatedSorting {
 		}
 		
 		// remove any duplicate solutions, the duplicate solutions will retain the crowding distance of 0.0
-		Population uniqueFront = new Population();
-		
-		for (Solution s1 : front) {
-			boolean isDuplicate = false;
-			
-			for (Solution s2 : uniqueFront) {
-				if (s1.euclideanDistance(s2) < Settings.EPS) {
-					isDuplicate = true;
-					break;
-				}
-			}
-			
-			if (!isDuplicate) {
-				uniqueFront.add(s1);
-			}
-		}
-		
-		front = uniqueFront;
+		front = removeDuplicates(front);
 
 		// then compute the crowding distance for the unique solutions
 		int n = front.size();
@@ -148,27 +130,118 @@ public class NondominatedSorting {
 				CrowdingDistance.setAttribute(solution, Double.POSITIVE_INFINITY);
 			}
 		} else {
-			int numberOfObjectives = front.get(0).getNumberOfObjectives();
+			ObjectiveMatrix matrix = front.getObjectiveMatrix();
+			double[] objectives = matrix.getObjectives();
+			double[] distances = new double[n];
+			int[] order = new int[n];
+			int[] buffer = new int[n];
+			
+			for (int j = 0; j < n; j++) {
+				order[j] = j;
+			}
 
-			for (int i = 0; i < numberOfObjectives; i++) {
-				front.sort(new ObjectiveComparator(i));
+			// each objective is sorted starting from the order of the previous objective, matching the tie-breaking
+			// of sorting the front in place with a stable sort
+			for (int i = 0; i < matrix.getNumberOfObjectives(); i++) {
+				int offset = i * n;
+				sortByObjective(order, buffer, 0, n, objectives, offset);
 
-				double minObjective = front.get(0).getObjective(i);
-				double maxObjective = front.get(n - 1).getObjective(i);
+				double minObjective = objectives[offset + order[0]];
+				double maxObjective = objectives[offset + order[n - 1]];
 				
 				if (maxObjective - minObjective >= Settings.EPS) {
-					CrowdingDistance.setAttribute(front.get(0), Double.POSITIVE_INFINITY);
-					CrowdingDistance.setAttribute(front.get(n - 1), Double.POSITIVE_INFINITY);
+					distances[order[0]] = Double.POSITIVE_INFINITY;
+					distances[order[n - 1]] = Double.POSITIVE_INFINITY;
 
 					for (int j = 1; j < n - 1; j++) {
-						double distance = CrowdingDistance.getAttribute(front.get(j));
-						distance += (front.get(j + 1).getObjective(i) - front.get(j - 1).getObjective(i))
-								/ (maxObjective - minObjective);
-						CrowdingDistance.setAttribute(front.get(j), distance);
+						distances[order[j]] += (objectives[offset + order[j + 1]] -
+								objectives[offset + order[j - 1]]) / (maxObjective - minObjective);
 					}
 				}
 			}
+			
+			for (int j = 0; j < n; j++) {
+				CrowdingDistance.setAttribute(front.get(j), distances[j]);
+			}
 		}
 	}
+	
+	/**
+	 * Stable merge sort of solution indices by the value of one objective, equivalent to sorting with
+	 * {@link org.moeaframework.core.comparator.ObjectiveComparator}.
+	 * 
+	 * @param order the indices being sorted
+	 * @param buffer scratch space with the same length as {@code order}
+	 * @param from the first index, inclusive, to sort
+	 * @param to the last index, exclusive, to sort
+	 * @param objectives the objectives of all solutions in column-major order
+	 * @param offset the offset of the objective's column
+	 */
+	private static void sortByObjective(int[] order, int[] buffer, int from, int to, double[] objectives,
+			int offset) {
+		if (to - from < 8) {
+			for (int i = from + 1; i < to; i++) {
+				int value = order[i];
+				int j = i - 1;
+				
+				while (j >= from && Double.compare(objectives[offset + order[j]], objectives[offset + value]) > 0) {
+					order[j + 1] = order[j];
+					j--;
+				}
+				
+				order[j + 1] = value;
+			}
+			
+			return;
+		}
+		
+		int middle = (from + to) >>> 1;
+		sortByObjective(order, buffer, from, middle, objectives, offset);
+		sortByObjective(order, buffer, middle, to, objectives, offset);
+		
+		if (Double.compare(objectives[offset + order[middle - 1]], objectives[offset + order[middle]]) <= 0) {
+			return;
+		}
+		
+		System.arraycopy(order, from, buffer, from, to - from);
+		
+		for (int i = from, left = from, right = middle; i < to; i++) {
+			if (right >= to || (left < middle &&
+					Double.compare(objectives[offset + buffer[left]], objectives[offset + buffer[right]]) <= 0)) {
+				order[i] = buffer[left++];
+			} else {
+				order[i] = buffer[right++];
+			}
+		}
+	}
+	
+	/**
+	 * Returns the solutions in the given front, in their original order, that are not duplicates of an earlier
+	 * solution.  Two solutions are considered duplicates if the Euclidean distance between their objectives is less
+	 * than {@link Settings#EPS}.
+	 * 
+	 * @param front the population whose duplicate solutions are removed
+	 * @return a new population containing only the unique solutions
+	 */
+	protected Population removeDuplicates(Population front) {
+		Population uniqueFront = new Population();
+		
+		for (Solution s1 : front) {
+			boolean isDuplicate = false;
+			
+			for (Solution s2 : uniqueFront) {
+				if (s1.euclideanDistance(s2) < Settings.EPS) {
+					isDuplicate = true;
+					break;
+				}
+			}
+			
+			if (!isDuplicate) {
+				uniqueFront.add(s1);
+			}
+		}
+		
+		return uniqueFront;
+	}
 
 }
@@ -71,7 +71,9 @@ public class NondominatedSortingPopulation extends Population {
 		super();
 		modified = false;
 		
-		if (Settings.useFastNondominatedSorting()) {
+		if (Settings.useEfficientNondominatedSorting()) {
+			nondominatedSorting = new EfficientNondominatedSorting(comparator);
+		} else if (Settings.useFastNondominatedSorting()) {
 			nondominatedSorting = new FastNondominatedSorting(comparator);
 		} else {
 			nondominatedSorting = new NondominatedSorting(comparator);
@@ -0,0 +1,312 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.util.Arrays;
+
+import org.moeaframework.util.validate.Validate;
+
+/**
+ * A read-only snapshot of the objective and constraint values of all solutions in a population, stored in
+ * contiguous, column-major arrays.  The values of objective {@code j} for all solutions occupy the indices
+ * {@code j * size()} through {@code (j + 1) * size() - 1} of {@link #getObjectives()}, so loops over an objective
+ * access memory sequentially instead of visiting each solution.  Constraints are stored in the same layout.
+ * <p>
+ * Instances are obtained from {@link Population#getObjectiveMatrix()}, which reuses the snapshot until the population
+ * is modified.  Since the snapshot copies the values, it does not reflect any later changes to the solutions.
+ */
+public final class ObjectiveMatrix {
+	
+	/**
+	 * The number of solutions.
+	 */
+	private final int size;
+	
+	/**
+	 * The number of objectives of each solution.
+	 */
+	private final int numberOfObjectives;
+	
+	/**
+	 * The number of constraints of each solution.
+	 */
+	private final int numberOfConstraints;
+	
+	/**
+	 * The objective values in column-major order.
+	 */
+	private final double[] objectives;
+	
+	/**
+	 * The constraint values in column-major order.
+	 */
+	private final double[] constraints;
+	
+	/**
+	 * Constructs a snapshot of the objective and constraint values of the given population.
+	 * 
+	 * @param population the population
+	 * @throws IllegalArgumentException if the solutions have differing numbers of objectives or constraints
+	 */
+	ObjectiveMatrix(Population population) {
+		super();
+		this.size = population.size();
+		
+		if (size == 0) {
+			numberOfObjectives = 0;
+			numberOfConstraints = 0;
+		} else {
+			numberOfObjectives = population.get(0).getNumberOfObjectives();
+			numberOfConstraints = population.get(0).getNumberOfConstraints();
+		}
+		
+		objectives = new double[size * numberOfObjectives];
+		constraints = new double[size * numberOfConstraints];
+		
+		for (int i = 0; i < size; i++) {
+			Solution solution = population.get(i);
+			
+			Validate.that("solution.getNumberOfObjectives()", solution.getNumberOfObjectives())
+				.isEqualTo("numberOfObjectives", numberOfObjectives);
+			Validate.that("solution.getNumberOfConstraints()", solution.getNumberOfConstraints())
+				.isEqualTo("numberOfConstraints", numberOfConstraints);
+			
+			for (int j = 0; j < numberOfObjectives; j++) {
+				objectives[j * size + i] = solution.getObjective(j);
+			}
+			
+			for (int j = 0; j < numberOfConstraints; j++) {
+				constraints[j * size + i] = solution.getConstraint(j);
+			}
+		}
+	}
+	
+	/**
+	 * Returns the number of solutions.
+	 * 
+	 * @return the number of solutions
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Returns the number of objectives of each solution.
+	 * 
+	 * @return the number of objectives
+	 */
+	public int getNumberOfObjectives() {
+		return numberOfObjectives;
+	}
+	
+	/**
+	 * Returns the number of constraints of each solution.
+	 * 
+	 * @return the number of constraints
+	 */
+	public int getNumberOfConstraints() {
+		return numberOfConstraints;
+	}
+	
+	/**
+	 * Returns the value of an objective.
+	 * 
+	 * @param index the index of the solution
+	 * @param objective the index of the objective
+	 * @return the objective value
+	 */
+	public double getObjective(int index, int objective) {
+		return objectives[objective * size + index];
+	}
+	
+	/**
+	 * Returns the value of a constraint.
+	 * 
+	 * @param index the index of the solution
+	 * @param constraint the index of the constraint
+	 * @return the constraint value
+	 */
+	public double getConstraint(int index, int constraint) {
+		return constraints[constraint * size + index];
+	}
+	
+	/**
+	 * Returns the objective values in column-major order.  The returned array is shared by all users of this
+	 * snapshot and must not be modified.
+	 * 
+	 * @return the objective values
+	 */
+	public double[] getObjectives() {
+		return objectives;
+	}
+	
+	/**
+	 * Returns the constraint values in column-major order.  The returned array is shared by all users of this
+	 * snapshot and must not be modified.
+	 * 
+	 * @return the constraint values
+	 */
+	public double[] getConstraints() {
+		return constraints;
+	}
+	
+	/**
+	 * Returns {@code true} if the solution violates one or more constraints; {@code false} otherwise.
+	 * 
+	 * @param index the index of the solution
+	 * @return {@code true} if the solution violates one or more constraints; {@code false} otherwise
+	 * @see Solution#violatesConstraints()
+	 */
+	public boolean violatesConstraints(int index) {
+		for (int j = 0; j < numberOfConstraints; j++) {
+			if (constraints[j * size + index] != Constraint.SATISFIED) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Returns the sum of constraint violations of the solution, taking the absolute value of each constraint.
+	 * 
+	 * @param index the index of the solution
+	 * @return the sum of constraint violations
+	 * @see Solution#getSumOfConstraintViolations()
+	 */
+	public double getSumOfConstraintViolations(int index) {
+		double sum = 0.0;
+		
+		for (int j = 0; j < numberOfConstraints; j++) {
+			sum += Math.abs(constraints[j * size + index]);
+		}
+		
+		return sum;
+	}
+	
+	/**
+	 * Computes the minimum value of each objective, including any solutions violating constraints.
+	 * 
+	 * @return the lower bounds
+	 * @throws UnsupportedOperationException if there are no solutions
+	 */
+	public double[] getLowerBounds() {
+		checkNotEmpty();
+		double[] lower = new double[numberOfObjectives];
+		
+		for (int j = 0; j < numberOfObjectives; j++) {
+			int offset = j * size;
+			double value = objectives[offset];
+			
+			for (int i = 1; i < size; i++) {
+				value = Math.min(value, objectives[offset + i]);
+			}
+			
+			lower[j] = value;
+		}
+		
+		return lower;
+	}
+	
+	/**
+	 * Computes the maximum value of each objective, including any solutions violating constraints.
+	 * 
+	 * @return the upper bounds
+	 * @throws UnsupportedOperationException if there are no solutions
+	 */
+	public double[] getUpperBounds() {
+		checkNotEmpty();
+		double[] upper = new double[numberOfObjectives];
+		
+		for (int j = 0; j < numberOfObjectives; j++) {
+			int offset = j * size;
+			double value = objectives[offset];
+			
+			for (int i = 1; i < size; i++) {
+				value = Math.max(value, objectives[offset + i]);
+			}
+			
+			upper[j] = value;
+		}
+		
+		return upper;
+	}
+	
+	/**
+	 * Computes the Euclidean distance, in objective space, from each solution in this snapshot to the nearest solution
+	 * in another snapshot.  The distance is {@code Double.POSITIVE_INFINITY} if the other snapshot is empty.
+	 * 
+	 * @param other the other snapshot
+	 * @return the distance from each solution to the nearest solution in the other snapshot
+	 * @throws IllegalArgumentException if the solutions have differing numbers of objectives
+	 * @see Solution#distanceToNearestSolution(Population)
+	 */
+	public double[] distancesToNearestSolution(ObjectiveMatrix other) {
+		double[] result = new double[size];
+		
+		if (other.size == 0) {
+			Arrays.fill(result, Double.POSITIVE_INFINITY);
+			return result;
+		}
+		
+		if (size > 0) {
+			Validate.that("other.getNumberOfObjectives()", other.numberOfObjectives)
+				.isEqualTo("this.getNumberOfObjectives()", numberOfObjectives);
+		}
+		
+		// accumulate the squared distances to all other solutions one objective at a time, so the inner loop runs
+		// sequentially over the other snapshot's column
+		double[] squaredDistances = new double[other.size];
+		
+		for (int i = 0; i < size; i++) {
+			Arrays.fill(squaredDistances, 0.0);
+			
+			for (int k = 0; k < numberOfObjectives; k++) {
+				double value = objectives[k * size + i];
+				int offset = k * other.size;
+				
+				for (int j = 0; j < other.size; j++) {
+					double difference = other.objectives[offset + j] - value;
+					squaredDistances[j] += difference * difference;
+				}
+			}
+			
+			double minimum = Double.POSITIVE_INFINITY;
+			
+			for (int j = 0; j < other.size; j++) {
+				minimum = Math.min(minimum, squaredDistances[j]);
+			}
+			
+			result[i] = Math.sqrt(minimum);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Checks if this snapshot contains at least one solution, which is required to compute bounds.
+	 * 
+	 * @throws UnsupportedOperationException if there are no solutions
+	 */
+	private void checkNotEmpty() {
+		if (size == 0) {
+			throw new UnsupportedOperationException("population must contain at least one solution to compute bounds");
+		}
+	}
+
+}
@@ -22,8 +22,10 @@ import java.util.ConcurrentModificationException;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
 
-import org.moeaframework.parallel.util.ThreadLocalMersenneTwister;
+import org.moeaframework.parallel.util.ThreadLocalSplittableRandom;
 
 /**
  * Static methods for generating random or pseudo-random numbers. Any source of randomness implementing the
@@ -32,19 +34,23 @@ import org.moeaframework.parallel.util.ThreadLocalMersenneTwister;
  * {@code PRNG} relies on an underlying source of randomness, and inherits thread safety from the underlying
  * implementation.  Unless the underlying implementation is known to be thread-safe, assume that {@code PRNG} is not
  * thread-safe.
+ * <p>
+ * The default source of randomness, {@link ThreadLocalSplittableRandom}, assigns each thread its own generator.
+ * Seeding only affects the current thread, and tasks run concurrently can each be bound to an independent,
+ * deterministic stream of random numbers using {@link #withSeed(long, Callable)}.
  */
 public class PRNG {
 
 	/**
 	 * Internal source of randomness.
 	 */
-	private static Random random;
+	private static volatile Random random;
 
 	/**
 	 * Initialize the static variables.
 	 */
 	static {
-		random = ThreadLocalMersenneTwister.getInstance();
+		random = ThreadLocalSplittableRandom.getInstance();
 		
 		if (Settings.PROPERTIES.contains(Settings.KEY_PRNG_SEED)) {
 			setSeed(Settings.PROPERTIES.getLong(Settings.KEY_PRNG_SEED));
@@ -61,11 +67,12 @@ public class PRNG {
 	/**
 	 * While the preferred method for seeding PRNGs is through the {@code setRandom} method since methods providing
 	 * more entropy may be available to specific implementations, this method is intended to provide a uniform
-	 * interface for setting the seed.
+	 * interface for setting the seed.  When using a thread-local source of randomness, such as the default, only the
+	 * current thread is seeded.
 	 * 
 	 * @param seed the new seed
 	 */
-	public static synchronized void setSeed(long seed) {
+	public static void setSeed(long seed) {
 		random.setSeed(seed);
 	}
 
@@ -74,7 +81,7 @@ public class PRNG {
 	 * 
 	 * @param random the source of randomness to be used
 	 */
-	public static synchronized void setRandom(Random random) {
+	public static void setRandom(Random random) {
 		PRNG.random = random;
 	}
 
@@ -87,6 +94,78 @@ public class PRNG {
 		return random;
 	}
 
+	/**
+	 * Derives a seed for an independent task, such as one of many seeds or samples run concurrently, from a base
+	 * seed and the index of the task.  The two values are mixed using the SplitMix64 finalizer, so nearby indices
+	 * produce unrelated seeds.  Each task can then call {@link #setSeed(long)} with the derived seed from its own
+	 * thread, which when using the default thread-local source of randomness makes the task reproducible regardless
+	 * of which thread runs it.
+	 * 
+	 * @param seed the base seed
+	 * @param index the index of the task
+	 * @return the derived seed
+	 */
+	public static long deriveSeed(long seed, long index) {
+		long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Returns a task that runs the given task using an independent, deterministic stream of random numbers created
+	 * from the seed.  With the default source of randomness, the stream is bound to whichever thread runs the task
+	 * and the thread's original stream is restored afterwards, so the results do not depend on the thread or on any
+	 * other tasks.  Combined with {@link #deriveSeed(long, long)}, this allows each island, seed or worker task to be
+	 * reproducible.  For other sources of randomness, the task instead calls {@link #setSeed(long)} before running.
+	 * 
+	 * @param <T> the type of the result
+	 * @param seed the seed of the stream
+	 * @param task the task
+	 * @return the task using the stream of random numbers
+	 */
+	public static <T> Callable<T> withSeed(long seed, Callable<T> task) {
+		return () -> {
+			if (random instanceof ThreadLocalSplittableRandom localRandom) {
+				SplittableRandom previous = localRandom.bind(new SplittableRandom(seed));
+				
+				try {
+					return task.call();
+				} finally {
+					localRandom.bind(previous);
+				}
+			} else {
+				setSeed(seed);
+				return task.call();
+			}
+		};
+	}
+	
+	/**
+	 * Returns a task that runs the given task using an independent, deterministic stream of random numbers created
+	 * from the seed.  See {@link #withSeed(long, Callable)} for details.
+	 * 
+	 * @param seed the seed of the stream
+	 * @param task the task
+	 * @return the task using the stream of random numbers
+	 */
+	public static Runnable withSeed(long seed, Runnable task) {
+		return () -> {
+			if (random instanceof ThreadLocalSplittableRandom localRandom) {
+				SplittableRandom previous = localRandom.bind(new SplittableRandom(seed));
+				
+				try {
+					task.run();
+				} finally {
+					localRandom.bind(previous);
+				}
+			} else {
+				setSeed(seed);
+				task.run();
+			}
+		};
+	}
+
 	/**
 	 * Returns the next random, uniformly distributed {@code float} value between 0.0 and 1.0.
 	 * 
@@ -163,6 +242,15 @@ public class PRNG {
 		return min + random.nextInt(max - min + 1);
 	}
 
+	/**
+	 * Returns the next random, uniformly distributed {@code long} value.
+	 * 
+	 * @return the next random, uniformly distributed {@code long} value
+	 */
+	public static long nextLong() {
+		return random.nextLong();
+	}
+
 	/**
 	 * Returns the next random, uniformly distributed {@code boolean} value.
 	 * 
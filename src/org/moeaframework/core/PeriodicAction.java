@@ -157,6 +157,11 @@ public abstract class PeriodicAction implements Algorithm {
 	public void evaluate(Solution solution) {
 		algorithm.evaluate(solution);
 	}
+	
+	@Override
+	public void evaluateAll(Iterable<Solution> solutions) {
+		algorithm.evaluateAll(solutions);
+	}
 
 	@Override
 	public int getNumberOfEvaluations() {
@@ -60,6 +60,12 @@ public class Population implements Iterable<Solution>, Formattable<Solution>, St
 	 * The internal data storage for solutions.
 	 */
 	private final List<Solution> data;
+	
+	/**
+	 * The snapshot of the objective and constraint values, or {@code null} if not yet created or the population
+	 * was modified.
+	 */
+	private ObjectiveMatrix objectiveMatrix;
 
 	/**
 	 * Constructs an empty population.
@@ -110,6 +116,7 @@ public class Population implements Iterable<Solution>, Formattable<Solution>, St
 	 */
 	public void remove(int index) {
 		modCount++;
+		objectiveMatrix = null;
 		data.remove(index);
 	}
 
@@ -133,6 +140,7 @@ public class Population implements Iterable<Solution>, Formattable<Solution>, St
 	 */
 	public boolean add(Solution solution) {
 		modCount++;
+		objectiveMatrix = null;
 		return data.add(solution);
 	}
 
@@ -170,6 +178,7 @@ public class Population implements Iterable<Solution>, Formattable<Solution>, St
 	 * @param solution the new solution
 	 */
 	public void replace(int index, Solution solution) {
+		objectiveMatrix = null;
 		data.set(index, solution);
 	}
 
@@ -178,6 +187,7 @@ public class Population implements Iterable<Solution>, Formattable<Solution>, St
 	 */
 	public void clear() {
 		modCount++;
+		objectiveMatrix = null;
 		data.clear();
 	}
 
@@ -247,6 +257,7 @@ public class Population implements Iterable<Solution>, Formattable<Solution>, St
 	 */
 	public boolean remove(Solution solution) {
 		modCount++;
+		objectiveMatrix = null;
 		return data.remove(solution);
 	}
 
@@ -334,9 +345,32 @@ public class Population implements Iterable<Solution>, Formattable<Solution>, St
 	 */
 	public void sort(Comparator<? super Solution> comparator) {
 		modCount++;
+		objectiveMatrix = null;
 		Collections.sort(data, comparator);
 	}
 	
+	/**
+	 * Returns a snapshot of the objective and constraint values of the solutions in this population, stored in
+	 * contiguous arrays.  The snapshot is reused by subsequent calls until this population is modified, such as by
+	 * adding, removing, replacing or sorting solutions.  Changes to the objectives or constraints of solutions
+	 * already contained in this population are not detected, so avoid holding onto the snapshot while modifying the
+	 * solutions.
+	 * 
+	 * @return the snapshot of the objective and constraint values
+	 * @throws IllegalArgumentException if the solutions have differing numbers of objectives or constraints
+	 */
+	public ObjectiveMatrix getObjectiveMatrix() {
+		// the snapshot is immutable, so concurrent readers at worst create it more than once
+		ObjectiveMatrix result = objectiveMatrix;
+		
+		if (result == null) {
+			result = new ObjectiveMatrix(this);
+			objectiveMatrix = result;
+		}
+		
+		return result;
+	}
+	
 	/**
 	 * Computes the lower bounds of this population.  Since all objectives are minimized, this is equivalent to the
 	 * ideal point.  Also note that all solutions, including those violating constraints, are included.
@@ -400,6 +434,7 @@ public class Population implements Iterable<Solution>, Formattable<Solution>, St
 		sort(comparator);
 
 		while (data.size() > size) {
+			objectiveMatrix = null;
 			data.remove(data.size() - 1);
 		}
 	}
@@ -724,6 +759,7 @@ public class Population implements Iterable<Solution>, Formattable<Solution>, St
 	@SuppressWarnings("unchecked")
 	@Override
 	public void loadState(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+		objectiveMatrix = null;
 		data.clear();
 		data.addAll((List<Solution>)stream.readObject());
 	}
@@ -57,6 +57,20 @@ public interface Problem extends AutoCloseable {
 	 * @param solution the solution to be evaluated
 	 */
 	public void evaluate(Solution solution);
+	
+	/**
+	 * Evaluates a batch of solutions, updating each solution's objectives in place.  The default implementation
+	 * evaluates each solution in order by calling {@link #evaluate(Solution)}.  Problems that can evaluate multiple
+	 * solutions more efficiently than one at a time, such as by streaming all solutions to an external process, can
+	 * override this method.  Upon returning, all solutions must be evaluated.
+	 * 
+	 * @param solutions the solutions to be evaluated
+	 */
+	public default void evaluateAll(Iterable<? extends Solution> solutions) {
+		for (Solution solution : solutions) {
+			evaluate(solution);
+		}
+	}
 
 	/**
 	 * Returns a new solution for this problem. Implementations must initialize the variables so that the
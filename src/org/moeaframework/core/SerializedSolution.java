@@ -0,0 +1,227 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.Map;
+
+import org.moeaframework.core.variable.RealVariable;
+
+/**
+ * Compact serialized form of a {@link Solution}, substituted by {@link Solution}'s {@code writeReplace} method.
+ * Default serialization writes a separate object, with its own header, for every variable, the objective and
+ * constraint arrays, and the attribute map.  This form instead writes real-valued variables, objectives, constraints,
+ * and numeric attributes as raw primitives, which is significantly smaller and faster to read and write when saving
+ * the state of large populations.  Other variables and attribute values fall back to default serialization.
+ * <p>
+ * Object identity is preserved, so a solution shared by multiple populations is still restored as a single instance.
+ */
+final class SerializedSolution implements Externalizable {
+	
+	private static final long serialVersionUID = -6529532401936294107L;
+	
+	/**
+	 * Tag for a real-valued variable written as its value and bounds.
+	 */
+	private static final byte REAL = 'R';
+	
+	/**
+	 * Tag for a real-valued variable written as its value, sharing the bounds of the preceding real-valued variable.
+	 */
+	private static final byte REAL_SAME_BOUNDS = 'r';
+	
+	/**
+	 * Tag for a value written using default serialization.
+	 */
+	private static final byte OBJECT = 'O';
+	
+	/**
+	 * Tag for an integer attribute.
+	 */
+	private static final byte INT = 'I';
+	
+	/**
+	 * Tag for a double attribute.
+	 */
+	private static final byte DOUBLE = 'D';
+	
+	/**
+	 * The solution being written or the solution that was read.
+	 */
+	private Solution solution;
+	
+	/**
+	 * Constructor used by serialization when reading the solution.
+	 */
+	public SerializedSolution() {
+		super();
+	}
+	
+	/**
+	 * Constructs the serialized form of the given solution.
+	 * 
+	 * @param solution the solution
+	 */
+	SerializedSolution(Solution solution) {
+		super();
+		this.solution = solution;
+	}
+
+	@Override
+	public void writeExternal(ObjectOutput out) throws IOException {
+		out.writeInt(solution.getNumberOfVariables());
+		out.writeInt(solution.getNumberOfObjectives());
+		out.writeInt(solution.getNumberOfConstraints());
+		
+		RealVariable previous = null;
+		
+		for (int i = 0; i < solution.getNumberOfVariables(); i++) {
+			Variable variable = solution.getVariable(i);
+			
+			if (variable != null && variable.getClass() == RealVariable.class) {
+				RealVariable realVariable = (RealVariable)variable;
+				
+				//most problems use the same bounds for many variables, so avoid repeating them
+				if (previous != null && hasSameBounds(previous, realVariable)) {
+					out.writeByte(REAL_SAME_BOUNDS);
+					out.writeDouble(realVariable.getValue());
+				} else {
+					out.writeByte(REAL);
+					out.writeDouble(realVariable.getValue());
+					out.writeDouble(realVariable.getLowerBound());
+					out.writeDouble(realVariable.getUpperBound());
+				}
+				
+				previous = realVariable;
+			} else {
+				out.writeByte(OBJECT);
+				out.writeObject(variable);
+			}
+		}
+		
+		for (int i = 0; i < solution.getNumberOfObjectives(); i++) {
+			out.writeDouble(solution.getObjective(i));
+		}
+		
+		for (int i = 0; i < solution.getNumberOfConstraints(); i++) {
+			out.writeDouble(solution.getConstraint(i));
+		}
+		
+		Map<String, Serializable> attributes = solution.getAttributes();
+		out.writeInt(attributes.size());
+		
+		for (Map.Entry<String, Serializable> entry : attributes.entrySet()) {
+			Serializable value = entry.getValue();
+			out.writeUTF(entry.getKey());
+			
+			if (value instanceof Integer intValue) {
+				out.writeByte(INT);
+				out.writeInt(intValue);
+			} else if (value instanceof Double doubleValue) {
+				out.writeByte(DOUBLE);
+				out.writeDouble(doubleValue);
+			} else {
+				out.writeByte(OBJECT);
+				out.writeObject(value);
+			}
+		}
+	}
+
+	@Override
+	public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+		solution = new Solution(in.readInt(), in.readInt(), in.readInt());
+		
+		RealVariable previous = null;
+		
+		for (int i = 0; i < solution.getNumberOfVariables(); i++) {
+			byte tag = in.readByte();
+			
+			if (tag == REAL || tag == REAL_SAME_BOUNDS) {
+				double value = in.readDouble();
+				
+				if (tag == REAL) {
+					previous = new RealVariable(in.readDouble(), in.readDouble());
+				} else if (previous != null) {
+					previous = new RealVariable(previous.getLowerBound(), previous.getUpperBound());
+				} else {
+					throw new IOException("real-valued variable is missing its bounds");
+				}
+				
+				previous.setValue(value);
+				solution.setVariable(i, previous);
+			} else if (tag == OBJECT) {
+				solution.setVariable(i, (Variable)in.readObject());
+			} else {
+				throw new IOException("invalid variable tag " + tag);
+			}
+		}
+		
+		for (int i = 0; i < solution.getNumberOfObjectives(); i++) {
+			solution.setObjective(i, in.readDouble());
+		}
+		
+		for (int i = 0; i < solution.getNumberOfConstraints(); i++) {
+			solution.setConstraint(i, in.readDouble());
+		}
+		
+		int numberOfAttributes = in.readInt();
+		
+		for (int i = 0; i < numberOfAttributes; i++) {
+			String key = in.readUTF();
+			byte tag = in.readByte();
+			
+			if (tag == INT) {
+				solution.setAttribute(key, in.readInt());
+			} else if (tag == DOUBLE) {
+				solution.setAttribute(key, in.readDouble());
+			} else if (tag == OBJECT) {
+				solution.setAttribute(key, (Serializable)in.readObject());
+			} else {
+				throw new IOException("invalid attribute tag " + tag);
+			}
+		}
+	}
+	
+	/**
+	 * Returns {@code true} if the two variables have identical bounds.
+	 * 
+	 * @param first the first variable
+	 * @param second the second variable
+	 * @return {@code true} if the two variables have identical bounds; {@code false} otherwise
+	 */
+	private static boolean hasSameBounds(RealVariable first, RealVariable second) {
+		return Double.doubleToLongBits(first.getLowerBound()) == Double.doubleToLongBits(second.getLowerBound()) &&
+				Double.doubleToLongBits(first.getUpperBound()) == Double.doubleToLongBits(second.getUpperBound());
+	}
+	
+	/**
+	 * Replaces this serialized form with the solution after reading.
+	 * 
+	 * @return the solution
+	 * @throws ObjectStreamException if an error occurred
+	 */
+	private Object readResolve() throws ObjectStreamException {
+		return solution;
+	}
+
+}
@@ -29,6 +29,8 @@ import java.io.InputStreamReader;
 import java.time.Duration;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
 import org.moeaframework.core.NondominatedPopulation.DuplicateMode;
@@ -74,6 +76,11 @@ public class Settings {
 	 */
 	public static final TypedProperties PROPERTIES = TypedProperties.newThreadSafeInstance();
 	
+	/**
+	 * The parsed values of frequently-read settings, valid for a single version of {@link #PROPERTIES}.
+	 */
+	private static volatile ParsedValues parsedValues;
+	
 	/**
 	 * The prefix for all property keys.
 	 */
@@ -121,6 +128,16 @@ public class Settings {
 	 */
 	public static final String KEY_FAST_NONDOMINATED_SORTING = createKey(KEY_PREFIX, "core", "fast_nondominated_sorting");
 	
+	/**
+	 * The property key to indicate that efficient non-dominated sorting should be used.
+	 */
+	public static final String KEY_EFFICIENT_NONDOMINATED_SORTING = createKey(KEY_PREFIX, "core", "efficient_nondominated_sorting");
+	
+	/**
+	 * The property key to indicate that indexed non-dominated archives should be used.
+	 */
+	public static final String KEY_INDEXED_ARCHIVE = createKey(KEY_PREFIX, "core", "indexed_archive");
+	
 	/**
 	 * The property key to indicate that truncation warnings should be suppressed.
 	 */
@@ -171,6 +188,12 @@ public class Settings {
 	 */
 	public static final String KEY_DIAGNOSTIC_TOOL_PROBLEMS = createKey(KEY_PREFIX, "analysis", "diagnostics", "problems");
 	
+	/**
+	 * The property key for the number of bytes of solutions stored in memory by runtime observations before spilling
+	 * to disk.
+	 */
+	public static final String KEY_OBSERVATIONS_SPILL_THRESHOLD = createKey(KEY_PREFIX, "analysis", "collector", "spill_threshold");
+	
 	/**
 	 * The property key for enabling consistency checks in the CMA-ES algorithm.
 	 */
@@ -214,10 +237,12 @@ public class Settings {
 	}
 	
 	/**
-	 * Clears any existing settings and reloads the properties.
+	 * Reloads the properties from the system properties and configuration file.  The new properties are staged
+	 * separately and then published, replacing any existing settings.  Readers never observe an empty set of
+	 * properties during a reload, and any parsed values cached from the previous settings are discarded.
 	 */
 	public static void reload() {
-		PROPERTIES.clear();
+		TypedProperties staged = new TypedProperties();
 		
 		//system properties
 		try {
@@ -225,7 +250,7 @@ public class Settings {
 			
 			for (String key : systemProperties.stringPropertyNames()) {
 				if (StringUtils.startsWithIgnoreCase(key, Settings.KEY_PREFIX)) {
-					PROPERTIES.setString(key, systemProperties.getProperty(key));
+					staged.setString(key, systemProperties.getProperty(key));
 				}
 			}
 		} catch (SecurityException e) {
@@ -234,18 +259,18 @@ public class Settings {
 		
 		//properties file
 		try {
-			String resource = PROPERTIES.getString(KEY_CONFIGURATION_FILE, DEFAULT_CONFIGURATION_FILE);			
+			String resource = staged.getString(KEY_CONFIGURATION_FILE, DEFAULT_CONFIGURATION_FILE);
 			File file = new File(resource);
 			
 			if (file.exists()) {
 				try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-					PROPERTIES.load(reader);
+					staged.load(reader);
 				}
 			} else {
 				try (InputStream stream = ClassLoader.getSystemResourceAsStream("/" + resource)) {
 					if (stream != null) {
 						try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream))) {
-							PROPERTIES.load(reader);
+							staged.load(reader);
 						}
 					}
 				}
@@ -253,6 +278,51 @@ public class Settings {
 		} catch (IOException e) {
 			throw new FrameworkException(e);
 		}
+		
+		//publish the staged properties, removing stale keys first so readers never see an empty set of properties
+		PROPERTIES.keySet().removeIf(key -> !staged.contains(key));
+		PROPERTIES.addAll(staged);
+		PROPERTIES.clearAccessedProperties();
+		parsedValues = new ParsedValues(PROPERTIES.getVersion());
+	}
+	
+	/**
+	 * Returns the parsed value of a setting, caching the result until the properties are next modified.  The cache is
+	 * keyed by the version of {@link #PROPERTIES}, so modifications made directly to the properties, including through
+	 * a {@link PropertyScope}, are observed by the next read.  Reads of a cached value do not acquire any locks.
+	 * <p>
+	 * The parser must be a pure function of the properties and must always be used with the same key, as the cached
+	 * value is shared by all callers.  {@code null} values are not cached.  Reading a cached value still marks the
+	 * property as accessed.
+	 * 
+	 * @param <T> the type of the parsed value
+	 * @param key the property name, which also identifies the cached value
+	 * @param parser the function reading and parsing the value from {@link #PROPERTIES}
+	 * @return the parsed value
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T getParsed(String key, Function<String, T> parser) {
+		long version = PROPERTIES.getVersion();
+		ParsedValues current = parsedValues;
+		
+		if (current == null || current.version != version) {
+			current = new ParsedValues(version);
+			parsedValues = current;
+		}
+		
+		Object value = current.values.get(key);
+		
+		if (value == null) {
+			value = parser.apply(key);
+			
+			if (value != null) {
+				current.values.putIfAbsent(key, value);
+			}
+		} else {
+			PROPERTIES.markAccessed(key);
+		}
+		
+		return (T)value;
 	}
 	
 	/**
@@ -268,7 +338,7 @@ public class Settings {
 	 * @return {@code true} if verbose logging is enabled; {@code false} otherwise
 	 */
 	public static boolean isVerbose() {
-		return PROPERTIES.getBoolean(KEY_VERBOSE, false);
+		return getParsed(KEY_VERBOSE, key -> PROPERTIES.getBoolean(key, false));
 	}
 	
 	/**
@@ -280,7 +350,7 @@ public class Settings {
 	 * @return {@code true} if continuity correction is enabled; {@code false} otherwise
 	 */
 	public static boolean isContinuityCorrection() {
-		return PROPERTIES.getBoolean(KEY_CONTINUITY_CORRECTION, false);
+		return getParsed(KEY_CONTINUITY_CORRECTION, key -> PROPERTIES.getBoolean(key, false));
 	}
 	
 	/**
@@ -289,7 +359,8 @@ public class Settings {
 	 * @return the strategy for handling duplicate solutions
 	 */
 	public static DuplicateMode getDuplicateMode() {
-		return PROPERTIES.getEnum(KEY_DUPLICATE_MODE, DuplicateMode.class, DuplicateMode.NO_DUPLICATE_OBJECTIVES);
+		return getParsed(KEY_DUPLICATE_MODE, key ->
+				PROPERTIES.getEnum(key, DuplicateMode.class, DuplicateMode.NO_DUPLICATE_OBJECTIVES));
 	}
 	
 	/**
@@ -298,7 +369,7 @@ public class Settings {
 	 * @return the power used in the generational distance calculation
 	 */
 	public static double getGDPower() {
-		return PROPERTIES.getDouble(KEY_GD_POWER, 2.0);
+		return getParsed(KEY_GD_POWER, key -> PROPERTIES.getDouble(key, 2.0));
 	}
 	
 	/**
@@ -307,7 +378,7 @@ public class Settings {
 	 * @return the power used in the inverted generational distance calculation
 	 */
 	public static double getIGDPower() {
-		return PROPERTIES.getDouble(KEY_IGD_POWER, 1.0);
+		return getParsed(KEY_IGD_POWER, key -> PROPERTIES.getDouble(key, 1.0));
 	}
 
 	/**
@@ -319,7 +390,31 @@ public class Settings {
 	 *         sorting implementation is preferred
 	 */
 	public static boolean useFastNondominatedSorting() {
-		return PROPERTIES.getBoolean(KEY_FAST_NONDOMINATED_SORTING, false);
+		return getParsed(KEY_FAST_NONDOMINATED_SORTING, key -> PROPERTIES.getBoolean(key, false));
+	}
+	
+	/**
+	 * Returns {@code true} if efficient non-dominated sorting should be used.  This takes precedence over
+	 * {@link #useFastNondominatedSorting()} and is recommended for large populations, as it avoids the quadratic
+	 * memory requirements of the other implementations.  The default is {@code false}.
+	 * 
+	 * @return {@code true} if efficient non-dominated sorting should be used; {@code false} otherwise
+	 * @see EfficientNondominatedSorting
+	 */
+	public static boolean useEfficientNondominatedSorting() {
+		return getParsed(KEY_EFFICIENT_NONDOMINATED_SORTING, key -> PROPERTIES.getBoolean(key, false));
+	}
+	
+	/**
+	 * Returns {@code true} if the archives created by the {@link org.moeaframework.Executor} and
+	 * {@link org.moeaframework.Analyzer} should be indexed, which speeds up inserting solutions into large archives.
+	 * The default is {@code false}.
+	 * 
+	 * @return {@code true} if indexed non-dominated archives should be used; {@code false} otherwise
+	 * @see IndexedNondominatedPopulation
+	 */
+	public static boolean useIndexedArchive() {
+		return getParsed(KEY_INDEXED_ARCHIVE, key -> PROPERTIES.getBoolean(key, false));
 	}
 	
 	/**
@@ -329,7 +424,7 @@ public class Settings {
 	 * @return {@code true} if truncation warnings are suppressed; {@code false} otherwise
 	 */
 	public static boolean isSuppressTruncationWarning() {
-		return PROPERTIES.getBoolean(KEY_SUPPRESS_TRUNCATION_WARNING, true);
+		return getParsed(KEY_SUPPRESS_TRUNCATION_WARNING, key -> PROPERTIES.getBoolean(key, true));
 	}
 	
 	/**
@@ -339,7 +434,7 @@ public class Settings {
 	 * @return the delta applied to the nadir point of the reference set when calculating the hypervolume
 	 */
 	public static double getHypervolumeDelta() {
-		return PROPERTIES.getDouble(KEY_HYPERVOLUME_DELTA, 0.0);
+		return getParsed(KEY_HYPERVOLUME_DELTA, key -> PROPERTIES.getDouble(key, 0.0));
 	}
 	
 	/**
@@ -362,7 +457,7 @@ public class Settings {
 	 *         implementation; otherwise {@code false}
 	 */
 	public static boolean isHypervolumeInverted() {
-		return PROPERTIES.getBoolean(KEY_HYPERVOLUME_INVERTED, false);
+		return getParsed(KEY_HYPERVOLUME_INVERTED, key -> PROPERTIES.getBoolean(key, false));
 	}
 	
 	/**
@@ -373,7 +468,7 @@ public class Settings {
 	 * @return {@code true} if hypervolume calculation is enabled; {@code false} otherwise
 	 */
 	public static boolean isHypervolumeEnabled() {
-		return PROPERTIES.getBoolean(KEY_HYPERVOLUME_ENABLED, true);
+		return getParsed(KEY_HYPERVOLUME_ENABLED, key -> PROPERTIES.getBoolean(key, true));
 	}
 	
 	/**
@@ -518,6 +613,18 @@ public class Settings {
 		return Set.of(result);
 	}
 	
+	/**
+	 * Returns the number of bytes of serialized solutions, such as approximation sets, that runtime observations keep
+	 * in memory before writing the remaining solutions to a temporary file.  The default is {@code -1}, which keeps
+	 * all solutions in memory.
+	 * 
+	 * @return the number of bytes kept in memory, or {@code -1} to keep all solutions in memory
+	 * @see org.moeaframework.analysis.collector.Observations
+	 */
+	public static long getObservationsSpillThreshold() {
+		return getParsed(KEY_OBSERVATIONS_SPILL_THRESHOLD, key -> PROPERTIES.getLong(key, -1));
+	}
+	
 	/**
 	 * Returns {@code true} if genetic programming functions should use protection against invalid arguments that
 	 * would otherwise result in {@code NaN} or other invalid values; {@code false} otherwise.
@@ -526,7 +633,7 @@ public class Settings {
 	 *         would otherwise result in {@code NaN} or other invalid values; {@code false} otherwise
 	 */
 	public static boolean isProtectedFunctions() {
-		return PROPERTIES.getBoolean(KEY_GP_PROTECTED_FUNCTIONS, true);
+		return getParsed(KEY_GP_PROTECTED_FUNCTIONS, key -> PROPERTIES.getBoolean(key, true));
 	}
 	
 	/**
@@ -573,7 +680,7 @@ public class Settings {
 	 * @return {@code true} if the CMA-ES algorithm has consistency checks enabled; {@code false} otherwise
 	 */
 	public static boolean isCMAESConsistencyCheckingEnabled() {
-		return PROPERTIES.getBoolean(KEY_CMAES_CHECK_CONSISTENCY, false);
+		return getParsed(KEY_CMAES_CHECK_CONSISTENCY, key -> PROPERTIES.getBoolean(key, false));
 	}
 	
 	/**
@@ -624,4 +731,32 @@ public class Settings {
 		return new PropertyScope(PROPERTIES);
 	}
 	
+	/**
+	 * The parsed values of settings read from a single version of {@link #PROPERTIES}.
+	 */
+	private static final class ParsedValues {
+		
+		/**
+		 * The version of the properties these values were parsed from.
+		 */
+		private final long version;
+		
+		/**
+		 * The parsed values, keyed by the property name.
+		 */
+		private final ConcurrentHashMap<String, Object> values;
+		
+		/**
+		 * Constructs an empty set of parsed values for the given version of the properties.
+		 * 
+		 * @param version the version of the properties
+		 */
+		public ParsedValues(long version) {
+			super();
+			this.version = version;
+			values = new ConcurrentHashMap<String, Object>();
+		}
+		
+	}
+
 }
@@ -17,8 +17,10 @@
  */
 package org.moeaframework.core;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamException;
 import java.io.Serializable;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -32,7 +34,8 @@ import org.moeaframework.util.validate.Validate;
 /**
  * A solution to an optimization problem, storing the decision variables, objectives, constraints and attributes.
  * Attributes are arbitrary {@code (key, value)} pairs; they are instance-specific and are not carried over in
- * the copy constructor.
+ * the copy constructor.  The attributes accessed most frequently, such as the rank and crowding distance, are stored
+ * in primitive fields and can be accessed without boxing using the typed methods like {@link #getIntAttribute(String)}.
  * <p>
  * Solutions should only be constructed in {@link Problem#newSolution()} or cloned from an existing solution with
  * {@link #copy()}.  This ensures the solutions and configured correctly for the given optimization problem.
@@ -44,22 +47,22 @@ public class Solution implements Formattable<Solution>, Serializable {
 	/**
 	 * The decision variables of this solution.
 	 */
-	private final Variable[] variables;
+	private Variable[] variables;
 
 	/**
 	 * The objectives of this solution.
 	 */
-	private final double[] objectives;
+	private double[] objectives;
 
 	/**
 	 * The constraints of this solution.
 	 */
-	private final double[] constraints;
+	private double[] constraints;
 
 	/**
 	 * The attributes of this solutions.
 	 */
-	private final Map<String, Serializable> attributes;
+	private AttributeMap attributes;
 
 	/**
 	 * Constructs a solution with the specified number of variables and objectives with no constraints.
@@ -87,7 +90,7 @@ public class Solution implements Formattable<Solution>, Serializable {
 		variables = new Variable[numberOfVariables];
 		objectives = new double[numberOfObjectives];
 		constraints = new double[numberOfConstraints];
-		attributes = new HashMap<String, Serializable>();
+		attributes = new AttributeMap();
 	}
 
 	/**
@@ -354,6 +357,54 @@ public class Solution implements Formattable<Solution>, Serializable {
 	public Object setAttribute(String key, Serializable value) {
 		return attributes.put(key, value);
 	}
+	
+	/**
+	 * Returns the value of an {@code int} attribute.  This is equivalent to casting the result of
+	 * {@link #getAttribute(String)} to {@code Integer}, but avoids boxing for attributes stored in primitive fields.
+	 * 
+	 * @param key the key whose associated value is to be returned
+	 * @return the value associated with the specified key
+	 * @throws NullPointerException if no value has been associated with the key
+	 * @throws ClassCastException if the value is not an {@code Integer}
+	 */
+	public int getIntAttribute(String key) {
+		return attributes.getInt(key);
+	}
+	
+	/**
+	 * Associates the specified {@code int} value with the specified key.  This is equivalent to
+	 * {@link #setAttribute(String, Serializable)}, but avoids boxing for attributes stored in primitive fields.
+	 * 
+	 * @param key the key with which the specified value is to be associated
+	 * @param value the value to be associated with the specified key
+	 */
+	public void setIntAttribute(String key, int value) {
+		attributes.setInt(key, value);
+	}
+	
+	/**
+	 * Returns the value of a {@code double} attribute.  This is equivalent to casting the result of
+	 * {@link #getAttribute(String)} to {@code Double}, but avoids boxing for attributes stored in primitive fields.
+	 * 
+	 * @param key the key whose associated value is to be returned
+	 * @return the value associated with the specified key
+	 * @throws NullPointerException if no value has been associated with the key
+	 * @throws ClassCastException if the value is not a {@code Double}
+	 */
+	public double getDoubleAttribute(String key) {
+		return attributes.getDouble(key);
+	}
+	
+	/**
+	 * Associates the specified {@code double} value with the specified key.  This is equivalent to
+	 * {@link #setAttribute(String, Serializable)}, but avoids boxing for attributes stored in primitive fields.
+	 * 
+	 * @param key the key with which the specified value is to be associated
+	 * @param value the value to be associated with the specified key
+	 */
+	public void setDoubleAttribute(String key, double value) {
+		attributes.setDouble(key, value);
+	}
 
 	/**
 	 * Removes the specified key and its associated value from this solution.  Returns the old value associated with
@@ -495,6 +546,46 @@ public class Solution implements Formattable<Solution>, Serializable {
 		return minimum;
 	}
 	
+	/**
+	 * Substitutes the compact {@link SerializedSolution} form when serializing.  Since this method is private, it
+	 * only applies to instances of this class and not subclasses, which may define additional state.
+	 * 
+	 * @return the compact serialized form of this solution
+	 * @throws ObjectStreamException if an error occurred
+	 */
+	private Object writeReplace() throws ObjectStreamException {
+		return new SerializedSolution(this);
+	}
+	
+	/**
+	 * Reads the default serialized form, which is written by subclasses and by earlier versions of this class.  Since
+	 * earlier versions stored the attributes in a {@link java.util.HashMap}, the attributes are copied into an
+	 * {@link AttributeMap} if required.  The fields of this class are not final so they can be assigned here.
+	 * 
+	 * @param stream the stream
+	 * @throws IOException if an I/O error occurred
+	 * @throws ClassNotFoundException if the class of a serialized object could not be found
+	 */
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField fields = stream.readFields();
+		Object storedAttributes = fields.get("attributes", null);
+		
+		variables = (Variable[])fields.get("variables", null);
+		objectives = (double[])fields.get("objectives", null);
+		constraints = (double[])fields.get("constraints", null);
+		
+		if (storedAttributes instanceof AttributeMap attributeMap) {
+			attributes = attributeMap;
+		} else {
+			attributes = new AttributeMap();
+			
+			if (storedAttributes != null) {
+				attributes.putAll((Map<String, Serializable>)storedAttributes);
+			}
+		}
+	}
+	
 	@Override
 	public TabularData<Solution> asTabularData() {
 		TabularData<Solution> data = new TabularData<Solution>(List.of(this));
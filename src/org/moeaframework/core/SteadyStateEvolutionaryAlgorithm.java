@@ -0,0 +1,43 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+/**
+ * Interface for evolutionary algorithms that can be run in a steady-state manner, where offspring are produced and
+ * inserted into the population one at a time instead of an entire generation at once.  This allows driving the
+ * algorithm asynchronously, such as by {@link org.moeaframework.parallel.AsynchronousSteadyStateAlgorithm}.
+ */
+public interface SteadyStateEvolutionaryAlgorithm extends EvolutionaryAlgorithm {
+	
+	/**
+	 * Selects parents from the current population and applies variation to produce new offspring.  The offspring
+	 * are not evaluated.
+	 * 
+	 * @return the new offspring
+	 */
+	public Solution[] createOffspring();
+	
+	/**
+	 * Inserts an evaluated offspring into the population and, if available, the archive.  The population size is
+	 * preserved, so the offspring either replaces an existing member or is rejected.
+	 * 
+	 * @param offspring the evaluated offspring
+	 */
+	public void addOffspring(Solution offspring);
+
+}
@@ -59,7 +59,7 @@ public final class Rank implements Attribute {
 	 * @param value the value to set
 	 */
 	public static final void setAttribute(Solution solution, int value) {
-		solution.setAttribute(ATTRIBUTE_NAME, value);
+		solution.setIntAttribute(ATTRIBUTE_NAME, value);
 	}
 	
 	/**
@@ -69,7 +69,7 @@ public final class Rank implements Attribute {
 	 * @return the stored value
 	 */
 	public static final int getAttribute(Solution solution) {
-		return (Integer)solution.getAttribute(ATTRIBUTE_NAME);
+		return solution.getIntAttribute(ATTRIBUTE_NAME);
 	}
 	
 	/**
@@ -111,8 +111,12 @@ public class FitnessBasedArchive extends NondominatedPopulation {
 		
 		if (solutionAdded) {
 			if (size() > capacity) {
-				update();
-				truncate(capacity, fitnessComparator);
+				if (fitnessEvaluator instanceof HypervolumeContributionFitnessEvaluator hypervolumeEvaluator) {
+					hypervolumeEvaluator.truncate(this, capacity);
+				} else {
+					update();
+					truncate(capacity, fitnessComparator);
+				}
 			}
 		}
 		
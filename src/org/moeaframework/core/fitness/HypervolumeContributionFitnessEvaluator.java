@@ -17,19 +17,22 @@
  */
 package org.moeaframework.core.fitness;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.moeaframework.core.FitnessEvaluator;
 import org.moeaframework.core.Population;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.attribute.Fitness;
-import org.moeaframework.core.indicator.PISAHypervolume;
+import org.moeaframework.core.comparator.FitnessComparator;
+import org.moeaframework.core.indicator.HypervolumeContributions;
 import org.moeaframework.util.validate.Validate;
 
 /**
- * Assigns the fitness of solutions based on their contribution to the overall hypervolume.
+ * Assigns the fitness of solutions based on their contribution to the overall hypervolume.  The contributions of all
+ * solutions are computed together by {@link HypervolumeContributions} rather than recomputing the hypervolume once
+ * for each solution.
  */
 public class HypervolumeContributionFitnessEvaluator implements FitnessEvaluator {
 	
@@ -71,23 +74,71 @@ public class HypervolumeContributionFitnessEvaluator implements FitnessEvaluator
 				Fitness.setAttribute(solution, 0.0);
 			}
 		} else {
-			int numberOfObjectives = problem.getNumberOfObjectives();
-			List<Solution> solutions = normalize(population);
-			List<Solution> solutionsCopy = new ArrayList<Solution>(solutions);
-			
-			double totalVolume = PISAHypervolume.calculateHypervolume(solutionsCopy, solutionsCopy.size(), 
-					numberOfObjectives);
+			HypervolumeContributions contributions = calculateContributions(population);
 			
 			for (int i = 0; i < population.size(); i++) {
-				solutionsCopy = new ArrayList<Solution>(solutions);
-				solutionsCopy.remove(i);
-				
-				double volume = PISAHypervolume.calculateHypervolume(solutionsCopy, solutionsCopy.size(),
-						numberOfObjectives);
-				
-				Fitness.setAttribute(population.get(i), totalVolume - volume);
+				Fitness.setAttribute(population.get(i), contributions.get(i));
+			}
+		}
+	}
+	
+	/**
+	 * Truncates the population to the given size by repeatedly removing the solution with the smallest hypervolume
+	 * contribution.  Unlike computing the fitness once and truncating, the contributions are updated after each
+	 * removal.  The fitness of the remaining solutions is set to their contribution in the truncated population.
+	 * 
+	 * @param population the population to truncate
+	 * @param size the target population size
+	 */
+	public void truncate(Population population, int size) {
+		if (population.size() <= size) {
+			return;
+		}
+		
+		if (population.size() <= 2) {
+			evaluate(population);
+			population.truncate(size, new FitnessComparator(areLargerValuesPreferred()));
+			return;
+		}
+		
+		HypervolumeContributions contributions = calculateContributions(population);
+		
+		while (contributions.size() > size) {
+			contributions.remove(contributions.findMinimum());
+		}
+		
+		Set<Solution> removed = new HashSet<Solution>();
+		
+		for (int i = 0; i < population.size(); i++) {
+			if (contributions.isRemoved(i)) {
+				removed.add(population.get(i));
+			} else {
+				Fitness.setAttribute(population.get(i), contributions.get(i));
+			}
+		}
+		
+		population.removeAll(removed::contains);
+	}
+	
+	/**
+	 * Computes the hypervolume contributions of the solutions in the population.  The objectives are normalized using
+	 * a reference point calculated by the maximum extent of the population plus an offset, and then negated so the
+	 * contributions match the hypervolume measured from the origin in the normalized, maximized objective space.
+	 * 
+	 * @param population the population
+	 * @return the hypervolume contributions, indexed in the same order as the population
+	 */
+	private HypervolumeContributions calculateContributions(Population population) {
+		int numberOfObjectives = problem.getNumberOfObjectives();
+		double[][] points = normalize(population);
+		
+		for (double[] point : points) {
+			for (int i = 0; i < numberOfObjectives; i++) {
+				point[i] = -point[i];
 			}
 		}
+		
+		return new HypervolumeContributions(points, new double[numberOfObjectives]);
 	}
 	
 	/**
@@ -95,9 +146,9 @@ public class HypervolumeContributionFitnessEvaluator implements FitnessEvaluator
 	 * offset.
 	 * 
 	 * @param population the population to normalize
-	 * @return the normalized solutions
+	 * @return the normalized objectives
 	 */
-	private List<Solution> normalize(Population population) {
+	private double[][] normalize(Population population) {
 		if (population.size() < 2) {
 			Validate.that("population", population)
 				.fails("Requires at least two solutions to compute bounds for normalization");
@@ -105,17 +156,14 @@ public class HypervolumeContributionFitnessEvaluator implements FitnessEvaluator
 		
 		double[] min = population.getLowerBounds();
 		double[] max = population.getUpperBounds();
-		List<Solution> result = new ArrayList<Solution>();
+		double[][] result = new double[population.size()][problem.getNumberOfObjectives()];
 		
-		for (Solution solution : population) {
-			Solution newSolution = solution.copy();
+		for (int j = 0; j < population.size(); j++) {
+			Solution solution = population.get(j);
 			
 			for (int i = 0; i < problem.getNumberOfObjectives(); i++) {
-				newSolution.setObjective(i,
-						(max[i] - (newSolution.getObjective(i) - min[i]) + offset) / (max[i] - min[i]));
+				result[j][i] = (max[i] - (solution.getObjective(i) - min[i]) + offset) / (max[i] - min[i]);
 			}
-
-			result.add(newSolution);
 		}
 		
 		return result;
@@ -17,9 +17,11 @@
  */
 package org.moeaframework.core.indicator;
 
+import java.util.Arrays;
+
 import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.ObjectiveMatrix;
 import org.moeaframework.core.Problem;
-import org.moeaframework.core.Solution;
 
 /**
  * Additive &epsilon;-indicator for minimization problems. Finds the minimum &epsilon; value for the approximation
@@ -67,24 +69,35 @@ public class AdditiveEpsilonIndicator extends NormalizedIndicator {
 	 */
 	static double evaluate(Problem problem, NondominatedPopulation approximationSet,
 			NondominatedPopulation referenceSet) {
+		ObjectiveMatrix referenceMatrix = referenceSet.getObjectiveMatrix();
+		ObjectiveMatrix approximationMatrix = approximationSet.getObjectiveMatrix();
+		double[] approximationObjectives = approximationMatrix.getObjectives();
+		int size = approximationMatrix.size();
 		double eps_i = 0.0;
+		
+		// the epsilon values of all solutions in the approximation set are updated one objective at a time, so the
+		// inner loop runs sequentially over an objective column
+		double[] eps_j = new double[size];
 
-		for (int i = 0; i < referenceSet.size(); i++) {
-			Solution solution1 = referenceSet.get(i);
-			double eps_j = Double.POSITIVE_INFINITY;
-
-			for (int j = 0; j < approximationSet.size(); j++) {
-				Solution solution2 = approximationSet.get(j);
-				double eps_k = 0.0;
+		for (int i = 0; i < referenceMatrix.size(); i++) {
+			Arrays.fill(eps_j, 0.0);
 
-				for (int k = 0; k < problem.getNumberOfObjectives(); k++) {
-					eps_k = Math.max(eps_k, solution2.getObjective(k) - solution1.getObjective(k));
+			for (int k = 0; k < problem.getNumberOfObjectives(); k++) {
+				double value = referenceMatrix.getObjective(i, k);
+				int offset = k * size;
+				
+				for (int j = 0; j < size; j++) {
+					eps_j[j] = Math.max(eps_j[j], approximationObjectives[offset + j] - value);
 				}
-
-				eps_j = Math.min(eps_j, eps_k);
+			}
+			
+			double eps_min = Double.POSITIVE_INFINITY;
+			
+			for (int j = 0; j < size; j++) {
+				eps_min = Math.min(eps_min, eps_j[j]);
 			}
 
-			eps_i = Math.max(eps_i, eps_j);
+			eps_i = Math.max(eps_i, eps_min);
 		}
 
 		return eps_i;
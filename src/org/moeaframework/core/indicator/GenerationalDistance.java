@@ -92,9 +92,12 @@ public class GenerationalDistance extends NormalizedIndicator {
 		if (approximationSet.isEmpty()) {
 			return Double.POSITIVE_INFINITY;
 		}
+		
+		double[] distances = approximationSet.getObjectiveMatrix().distancesToNearestSolution(
+				referenceSet.getObjectiveMatrix());
 
-		for (int i = 0; i < approximationSet.size(); i++) {
-			sum += Math.pow(approximationSet.get(i).distanceToNearestSolution(referenceSet), d);
+		for (double distance : distances) {
+			sum += Math.pow(distance, d);
 		}
 		
 		return Math.pow(sum, 1.0 / d) / approximationSet.size();
@@ -0,0 +1,629 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.indicator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.moeaframework.util.validate.Validate;
+
+/**
+ * Computes the exclusive hypervolume contribution of each point in a set, which is the volume dominated by that point
+ * and no other point.  All objectives are minimized and the volume is measured with respect to the given reference
+ * point.  Points that are not strictly better than the reference point in every objective contribute no volume.
+ * <p>
+ * The contributions are computed once for all points and are then updated incrementally as points are removed.
+ * When a point {@code q} is removed, the contribution of every other point {@code p} increases by the volume
+ * dominated by exactly {@code p} and {@code q}, which is the exclusive contribution of {@code max(p, q)}.  Since
+ * most points do not share any exclusive volume with {@code q}, this is much cheaper than recomputing all
+ * contributions.
+ * <p>
+ * With two objectives, the contributions of a mutually non-dominated set are computed from the neighbors along
+ * the sorted front in {@code O(N log N)} time.  With more objectives, the exclusive contribution of each point is
+ * computed from its limit set as in the WFG algorithm [1], using an {@code O(N log N)} sweep to compute the volume
+ * of three-dimensional limit sets [2] and {@link WFGHypervolumeKernel} otherwise.
+ * <p>
+ * References:
+ * <ol>
+ *   <li>While, Ronald Lyndon et al. "A Fast Way of Calculating Exact Hypervolumes." IEEE Transactions on Evolutionary
+ *       Computation 16 (2012): 86-95.
+ *   <li>Beume, N. et al. "On the Complexity of Computing the Hypervolume Indicator."  IEEE Transactions on
+ *       Evolutionary Computation 13(5):1075-1082, 2009.
+ * </ol>
+ */
+public class HypervolumeContributions {
+
+	/**
+	 * The points, where {@code points[i][j]} is the {@code j}-th objective of the {@code i}-th point.
+	 */
+	private final double[][] points;
+
+	/**
+	 * The reference point.
+	 */
+	private final double[] referencePoint;
+
+	/**
+	 * The number of objectives.
+	 */
+	private final int numberOfObjectives;
+
+	/**
+	 * The current contribution of each point.
+	 */
+	private final double[] contributions;
+
+	/**
+	 * {@code true} if the point has been removed.
+	 */
+	private final boolean[] removed;
+
+	/**
+	 * {@code true} if the point is strictly better than the reference point in every objective.
+	 */
+	private final boolean[] inside;
+
+	/**
+	 * The number of points not yet removed.
+	 */
+	private int size;
+
+	/**
+	 * With two objectives, the index of the previous remaining point when ordered by the objectives, or {@code -1} if
+	 * there is no previous point.  This is {@code null} if the points are not mutually non-dominated.
+	 */
+	private int[] previous;
+
+	/**
+	 * With two objectives, the index of the next remaining point when ordered by the objectives, or {@code -1} if
+	 * there is no next point.  This is {@code null} if the points are not mutually non-dominated.
+	 */
+	private int[] next;
+
+	/**
+	 * The kernel used to compute the hypervolume of limit sets with four or more objectives.
+	 */
+	private final WFGHypervolumeKernel kernel;
+
+	/**
+	 * The buffer holding the points passed to the kernel.
+	 */
+	private double[] buffer;
+
+	/**
+	 * Computes the exclusive hypervolume contributions of the given points.  The arrays are not copied and must not
+	 * be modified while this instance is in use.
+	 * 
+	 * @param points the points, where {@code points[i][j]} is the {@code j}-th objective of the {@code i}-th point
+	 * @param referencePoint the reference point
+	 */
+	public HypervolumeContributions(double[][] points, double[] referencePoint) {
+		super();
+		this.points = points;
+		this.referencePoint = referencePoint;
+		this.numberOfObjectives = referencePoint.length;
+		
+		contributions = new double[points.length];
+		removed = new boolean[points.length];
+		inside = new boolean[points.length];
+		size = points.length;
+		kernel = new WFGHypervolumeKernel(referencePoint);
+		
+		for (int i = 0; i < points.length; i++) {
+			Validate.that("points[i].length", points[i].length).isEqualTo("referencePoint.length", numberOfObjectives);
+			inside[i] = isInside(points[i]);
+		}
+		
+		if (numberOfObjectives == 2 && computeTwoDimensions()) {
+			return;
+		}
+		
+		for (int i = 0; i < points.length; i++) {
+			if (inside[i]) {
+				contributions[i] = exclusive(points[i], i);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of points that have not been removed.
+	 * 
+	 * @return the number of points that have not been removed
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the current exclusive hypervolume contribution of the point at the given index.
+	 * 
+	 * @param index the index of the point
+	 * @return the exclusive hypervolume contribution
+	 */
+	public double get(int index) {
+		return contributions[index];
+	}
+
+	/**
+	 * Returns {@code true} if the point at the given index was removed.
+	 * 
+	 * @param index the index of the point
+	 * @return {@code true} if the point at the given index was removed; {@code false} otherwise
+	 */
+	public boolean isRemoved(int index) {
+		return removed[index];
+	}
+
+	/**
+	 * Returns the index of the remaining point with the smallest contribution.  If multiple points have the smallest
+	 * contribution, the point with the largest index is returned.
+	 * 
+	 * @return the index of the remaining point with the smallest contribution, or {@code -1} if all points were
+	 *         removed
+	 */
+	public int findMinimum() {
+		int result = -1;
+		
+		for (int i = 0; i < points.length; i++) {
+			if (!removed[i] && (result < 0 || contributions[i] <= contributions[result])) {
+				result = i;
+			}
+		}
+		
+		return result;
+	}
+
+	/**
+	 * Removes the point at the given index and updates the contributions of the remaining points.
+	 * 
+	 * @param index the index of the point to remove
+	 */
+	public void remove(int index) {
+		if (removed[index]) {
+			return;
+		}
+		
+		removed[index] = true;
+		contributions[index] = 0.0;
+		size--;
+		
+		if (!inside[index]) {
+			return;
+		}
+		
+		if (next != null) {
+			removeTwoDimensions(index);
+			return;
+		}
+		
+		double[] point = points[index];
+		double[] joint = new double[numberOfObjectives];
+		
+		for (int i = 0; i < points.length; i++) {
+			if (!removed[i] && inside[i]) {
+				for (int j = 0; j < numberOfObjectives; j++) {
+					joint[j] = Math.max(points[i][j], point[j]);
+				}
+				
+				contributions[i] += exclusive(joint, i);
+			}
+		}
+	}
+
+	/**
+	 * Returns {@code true} if the point is strictly better than the reference point in every objective.
+	 * 
+	 * @param point the point
+	 * @return {@code true} if the point is strictly better than the reference point in every objective
+	 */
+	private boolean isInside(double[] point) {
+		for (int j = 0; j < numberOfObjectives; j++) {
+			if (!(point[j] < referencePoint[j])) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+
+	/**
+	 * Computes the contributions of all points with two objectives.  This only succeeds if the distinct points are
+	 * mutually non-dominated, as is the case when computing contributions for a single front.  Identical points
+	 * contribute no exclusive volume, but otherwise do not affect the contributions of their neighbors.  The points
+	 * are sorted once and kept in order as a linked list, so removing a point only updates its neighbors.
+	 * 
+	 * @return {@code true} if the contributions were computed; {@code false} if the set contains dominated points
+	 */
+	private boolean computeTwoDimensions() {
+		int[] order = new int[size];
+		int count = 0;
+		
+		for (int i = 0; i < points.length; i++) {
+			if (inside[i]) {
+				order[count++] = i;
+			}
+		}
+		
+		sort(order, new int[count], 0, count);
+		
+		// verify the distinct points are mutually non-dominated, which requires strictly decreasing values in the
+		// second objective
+		for (int k = 1; k < count; k++) {
+			double[] previousPoint = points[order[k - 1]];
+			double[] currentPoint = points[order[k]];
+			
+			if (!(currentPoint[1] < previousPoint[1]) && !Arrays.equals(currentPoint, previousPoint)) {
+				return false;
+			}
+		}
+		
+		previous = new int[points.length];
+		next = new int[points.length];
+		
+		for (int k = 0; k < count; k++) {
+			previous[order[k]] = k > 0 ? order[k - 1] : -1;
+			next[order[k]] = k < count - 1 ? order[k + 1] : -1;
+		}
+		
+		int start = count > 0 ? order[0] : -1;
+		
+		while (start >= 0) {
+			start = updateGroup(start);
+		}
+		
+		return true;
+	}
+
+	/**
+	 * Removes the point from the ordered list of points with two objectives and updates the contributions of its
+	 * neighbors.
+	 * 
+	 * @param index the index of the removed point
+	 */
+	private void removeTwoDimensions(int index) {
+		int before = previous[index];
+		int after = next[index];
+		
+		if (before >= 0) {
+			next[before] = after;
+		}
+		
+		if (after >= 0) {
+			previous[after] = before;
+		}
+		
+		if (before >= 0) {
+			updateGroup(findGroup(before));
+		}
+		
+		if (after >= 0) {
+			updateGroup(findGroup(after));
+		}
+	}
+
+	/**
+	 * Returns the first point in the ordered list of points with two objectives that is identical to the given point.
+	 * 
+	 * @param index the index of the point
+	 * @return the index of the first identical point
+	 */
+	private int findGroup(int index) {
+		while (previous[index] >= 0 && Arrays.equals(points[previous[index]], points[index])) {
+			index = previous[index];
+		}
+		
+		return index;
+	}
+
+	/**
+	 * Updates the contributions of a group of identical points with two objectives from its neighbors.
+	 * 
+	 * @param start the index of the first point in the group
+	 * @return the index of the first point following the group, or {@code -1} if this is the last group
+	 */
+	private int updateGroup(int start) {
+		double[] point = points[start];
+		int end = next[start];
+		int groupSize = 1;
+		
+		while (end >= 0 && Arrays.equals(points[end], point)) {
+			end = next[end];
+			groupSize++;
+		}
+		
+		double right = end >= 0 ? points[end][0] : referencePoint[0];
+		double top = previous[start] >= 0 ? points[previous[start]][1] : referencePoint[1];
+		double contribution = groupSize > 1 ? 0.0 : (right - point[0]) * (top - point[1]);
+		
+		for (int i = start; i != end; i = next[i]) {
+			contributions[i] = contribution;
+		}
+		
+		return end;
+	}
+
+	/**
+	 * Sorts the indices of points with two objectives by the first and then second objective using a stable merge sort.
+	 * 
+	 * @param order the indices of the points
+	 * @param temp the temporary storage, at least as long as the range being sorted
+	 * @param from the start of the range, inclusive
+	 * @param to the end of the range, exclusive
+	 */
+	private void sort(int[] order, int[] temp, int from, int to) {
+		if (to - from < 2) {
+			return;
+		}
+		
+		int middle = (from + to) >>> 1;
+		sort(order, temp, from, middle);
+		sort(order, temp, middle, to);
+		
+		int left = from;
+		int right = middle;
+		
+		for (int k = 0; k < to - from; k++) {
+			if (right >= to || (left < middle && compare(order[left], order[right]) <= 0)) {
+				temp[k] = order[left++];
+			} else {
+				temp[k] = order[right++];
+			}
+		}
+		
+		System.arraycopy(temp, 0, order, from, to - from);
+	}
+
+	/**
+	 * Compares two points with two objectives by the first and then second objective.
+	 * 
+	 * @param i the index of the first point
+	 * @param j the index of the second point
+	 * @return a negative value, zero, or a positive value if the first point orders before, equal to, or after the
+	 *         second point
+	 */
+	private int compare(int i, int j) {
+		int result = Double.compare(points[i][0], points[j][0]);
+		return result != 0 ? result : Double.compare(points[i][1], points[j][1]);
+	}
+
+	/**
+	 * Returns the volume dominated by the given point but not by any remaining point other than the one at the
+	 * excluded index.
+	 * 
+	 * @param point the point
+	 * @param excluded the index of the point excluded from the calculation
+	 * @return the exclusive volume of the given point
+	 */
+	private double exclusive(double[] point, int excluded) {
+		double[][] limitSet = new double[size][];
+		int count = 0;
+		
+		for (int i = 0; i < points.length; i++) {
+			if (i == excluded || removed[i] || !inside[i]) {
+				continue;
+			}
+			
+			double[] limited = new double[numberOfObjectives];
+			boolean dominated = true;
+			
+			for (int j = 0; j < numberOfObjectives; j++) {
+				limited[j] = Math.max(points[i][j], point[j]);
+				dominated &= limited[j] == point[j];
+			}
+			
+			// the point is weakly dominated by another point, so it has no exclusive volume
+			if (dominated) {
+				return 0.0;
+			}
+			
+			limitSet[count++] = limited;
+		}
+		
+		return inclusive(point, numberOfObjectives) - hypervolume(limitSet, count, numberOfObjectives);
+	}
+
+	/**
+	 * Returns the volume dominated by the point in the first {@code d} objectives.
+	 * 
+	 * @param point the point
+	 * @param d the number of objectives considered
+	 * @return the inclusive volume of the point
+	 */
+	private double inclusive(double[] point, int d) {
+		double volume = 1.0;
+		
+		for (int j = 0; j < d; j++) {
+			volume *= referencePoint[j] - point[j];
+		}
+		
+		return volume;
+	}
+
+	/**
+	 * Computes the hypervolume of the first {@code n} points in the first {@code d} objectives.  The points are
+	 * reordered by this method.
+	 * 
+	 * @param points the points
+	 * @param n the number of points
+	 * @param d the number of objectives considered
+	 * @return the hypervolume
+	 */
+	private double hypervolume(double[][] points, int n, int d) {
+		if (n == 0) {
+			return 0.0;
+		} else if (d == 1) {
+			double minimum = points[0][0];
+			
+			for (int i = 1; i < n; i++) {
+				minimum = Math.min(minimum, points[i][0]);
+			}
+			
+			return referencePoint[0] - minimum;
+		} else if (d == 2) {
+			return hypervolume2D(points, n);
+		} else if (d == 3) {
+			return hypervolume3D(points, n);
+		}
+		
+		n = filterNondominated(points, n, d);
+		
+		if (buffer == null || buffer.length < n * d) {
+			buffer = new double[n * d];
+		}
+		
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(points[i], 0, buffer, i * d, d);
+		}
+		
+		return kernel.evaluate(buffer, n);
+	}
+
+	/**
+	 * Computes the two-dimensional hypervolume by sweeping the points in order of the first objective.
+	 * 
+	 * @param points the points
+	 * @param n the number of points
+	 * @return the hypervolume
+	 */
+	private double hypervolume2D(double[][] points, int n) {
+		Arrays.sort(points, 0, n, Comparator.<double[]>comparingDouble(p -> p[0]).thenComparingDouble(p -> p[1]));
+		
+		double volume = 0.0;
+		double bound = referencePoint[1];
+		
+		for (int i = 0; i < n; i++) {
+			if (points[i][1] < bound) {
+				volume += (referencePoint[0] - points[i][0]) * (bound - points[i][1]);
+				bound = points[i][1];
+			}
+		}
+		
+		return volume;
+	}
+
+	/**
+	 * Computes the three-dimensional hypervolume by sweeping the points in order of the last objective while
+	 * maintaining the area of the two-dimensional front of the points seen so far.
+	 * 
+	 * @param points the points
+	 * @param n the number of points
+	 * @return the hypervolume
+	 */
+	private double hypervolume3D(double[][] points, int n) {
+		Arrays.sort(points, 0, n, Comparator.<double[]>comparingDouble(p -> p[2]));
+		
+		TreeMap<Double, Double> front = new TreeMap<Double, Double>();
+		double area = 0.0;
+		double volume = 0.0;
+		
+		for (int i = 0; i < n; i++) {
+			double x = points[i][0];
+			double y = points[i][1];
+			
+			if (i > 0) {
+				volume += area * (points[i][2] - points[i - 1][2]);
+			}
+			
+			Map.Entry<Double, Double> floor = front.floorEntry(x);
+			
+			if (floor != null && floor.getValue() <= y) {
+				continue;
+			}
+			
+			double height = floor != null ? floor.getValue() : referencePoint[1];
+			
+			if (floor != null && floor.getKey() == x) {
+				front.remove(floor.getKey());
+			}
+			
+			double position = x;
+			Map.Entry<Double, Double> higher = front.higherEntry(x);
+			
+			while (higher != null && higher.getValue() >= y) {
+				area += (higher.getKey() - position) * (height - y);
+				position = higher.getKey();
+				height = higher.getValue();
+				front.remove(higher.getKey());
+				higher = front.higherEntry(position);
+			}
+			
+			area += ((higher != null ? higher.getKey() : referencePoint[0]) - position) * (height - y);
+			front.put(x, y);
+		}
+		
+		volume += area * (referencePoint[2] - points[n - 1][2]);
+		return volume;
+	}
+
+	/**
+	 * Moves the points that are not weakly dominated by another point to the front of the array.  If multiple points
+	 * are identical, only one is kept.
+	 * 
+	 * @param points the points
+	 * @param n the number of points
+	 * @param d the number of objectives considered
+	 * @return the number of non-dominated points
+	 */
+	private static int filterNondominated(double[][] points, int n, int d) {
+		int i = 0;
+		
+		while (i < n) {
+			boolean dominated = false;
+			
+			for (int k = 0; k < n && !dominated; k++) {
+				if (k != i && weaklyDominates(points[k], points[i], d) &&
+						(k < i || !weaklyDominates(points[i], points[k], d))) {
+					dominated = true;
+				}
+			}
+			
+			if (dominated) {
+				n--;
+				double[] temp = points[i];
+				points[i] = points[n];
+				points[n] = temp;
+			} else {
+				i++;
+			}
+		}
+		
+		return n;
+	}
+
+	/**
+	 * Returns {@code true} if the first point is less than or equal to the second point in the first {@code d}
+	 * objectives.
+	 * 
+	 * @param p1 the first point
+	 * @param p2 the second point
+	 * @param d the number of objectives considered
+	 * @return {@code true} if the first point weakly dominates the second point
+	 */
+	private static boolean weaklyDominates(double[] p1, double[] p2, int d) {
+		for (int j = 0; j < d; j++) {
+			if (p1[j] > p2[j]) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+
+}
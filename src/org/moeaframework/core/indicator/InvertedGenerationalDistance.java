@@ -87,9 +87,11 @@ public class InvertedGenerationalDistance extends NormalizedIndicator {
 	static double evaluate(Problem problem, NondominatedPopulation approximationSet,
 			NondominatedPopulation referenceSet, double d) {
 		double sum = 0.0;
+		double[] distances = referenceSet.getObjectiveMatrix().distancesToNearestSolution(
+				approximationSet.getObjectiveMatrix());
 
-		for (int i = 0; i < referenceSet.size(); i++) {
-			sum += Math.pow(referenceSet.get(i).distanceToNearestSolution(approximationSet), d);
+		for (double distance : distances) {
+			sum += Math.pow(distance, d);
 		}
 
 		return Math.pow(sum, 1.0 / d) / referenceSet.size();
@@ -21,6 +21,7 @@ import java.util.Arrays;
 import java.util.Iterator;
 
 import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.ObjectiveMatrix;
 import org.moeaframework.core.Population;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Settings;
@@ -202,17 +203,44 @@ public class Normalizer {
 	 * @throws IllegalArgumentException if the population contains fewer than two solutions
 	 */
 	private void calculateRanges(Population population) {
-		Population feasibleSolutions = new Population(population);
-		feasibleSolutions.removeAll(Solution::violatesConstraints);
+		ObjectiveMatrix matrix = population.getObjectiveMatrix();
+		int size = matrix.size();
+		int numberOfObjectives = matrix.getNumberOfObjectives();
+		int numberOfFeasibleSolutions = 0;
 		
-		if (feasibleSolutions.size() < 2) {
+		minimum = Vector.of(numberOfObjectives, Double.POSITIVE_INFINITY);
+		maximum = Vector.of(numberOfObjectives, Double.NEGATIVE_INFINITY);
+		
+		if (matrix.getNumberOfConstraints() == 0) {
+			double[] objectives = matrix.getObjectives();
+			numberOfFeasibleSolutions = size;
+			
+			for (int j = 0; j < numberOfObjectives; j++) {
+				int offset = j * size;
+				
+				for (int i = 0; i < size; i++) {
+					minimum[j] = Math.min(minimum[j], objectives[offset + i]);
+					maximum[j] = Math.max(maximum[j], objectives[offset + i]);
+				}
+			}
+		} else {
+			for (int i = 0; i < size; i++) {
+				if (!matrix.violatesConstraints(i)) {
+					numberOfFeasibleSolutions++;
+					
+					for (int j = 0; j < numberOfObjectives; j++) {
+						minimum[j] = Math.min(minimum[j], matrix.getObjective(i, j));
+						maximum[j] = Math.max(maximum[j], matrix.getObjective(i, j));
+					}
+				}
+			}
+		}
+		
+		if (numberOfFeasibleSolutions < 2) {
 			Validate.that("population", population)
 				.fails("At least two solutions must be provided to compute bounds for normalization");
 		}
 		
-		minimum = feasibleSolutions.getLowerBounds();
-		maximum = feasibleSolutions.getUpperBounds();
-		
 		if (referencePoint != null) {
 			for (int j = 0; j < maximum.length; j++) {
 				maximum[j] = referencePoint[j >= referencePoint.length ? referencePoint.length-1 : j];
@@ -17,10 +17,14 @@
  */
 package org.moeaframework.core.indicator;
 
+import java.util.Arrays;
+
 import org.apache.commons.math3.util.ArithmeticUtils;
 import org.apache.commons.math3.util.CombinatoricsUtils;
 import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.ObjectiveMatrix;
+import org.moeaframework.core.Population;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
 
@@ -49,6 +53,21 @@ public abstract class RIndicator extends NormalizedIndicator {
 		 */
 		public double computeUtility(Solution solution, double[] weights);
 		
+		/**
+		 * Computes the utility of each solution in the population, storing the results in the given array.  The
+		 * default implementation calls {@link #computeUtility(Solution, double[])} for each solution.  Implementations
+		 * can override this method to compute the utilities from the population's {@link ObjectiveMatrix}.
+		 * 
+		 * @param population the population
+		 * @param weights the weights for the utility calculation
+		 * @param utilities the array, with at least as many elements as solutions, storing the utilities
+		 */
+		public default void computeUtilities(Population population, double[] weights, double[] utilities) {
+			for (int i = 0; i < population.size(); i++) {
+				utilities[i] = computeUtility(population.get(i), weights);
+			}
+		}
+		
 	}
 	
 	/**
@@ -73,6 +92,33 @@ public abstract class RIndicator extends NormalizedIndicator {
 			
 			return 1.0 - sum;
 		}
+		
+		@Override
+		public void computeUtilities(Population population, double[] weights, double[] utilities) {
+			// subclasses overriding computeUtility(Solution, double[]) must use the default implementation
+			if (getClass() != LinearWeightedSumUtility.class) {
+				UtilityFunction.super.computeUtilities(population, weights, utilities);
+				return;
+			}
+			
+			ObjectiveMatrix matrix = population.getObjectiveMatrix();
+			double[] objectives = matrix.getObjectives();
+			int size = matrix.size();
+			
+			Arrays.fill(utilities, 0, size, 0.0);
+			
+			for (int i = 0; i < matrix.getNumberOfObjectives(); i++) {
+				int offset = i * size;
+				
+				for (int j = 0; j < size; j++) {
+					utilities[j] += weights[i] * objectives[offset + j];
+				}
+			}
+			
+			for (int j = 0; j < size; j++) {
+				utilities[j] = 1.0 - utilities[j];
+			}
+		}
 
 	}
 	
@@ -99,6 +145,33 @@ public abstract class RIndicator extends NormalizedIndicator {
 			return 1.0 - max;
 		}
 		
+		@Override
+		public void computeUtilities(Population population, double[] weights, double[] utilities) {
+			// subclasses overriding computeUtility(Solution, double[]) must use the default implementation
+			if (getClass() != ChebyshevUtility.class) {
+				UtilityFunction.super.computeUtilities(population, weights, utilities);
+				return;
+			}
+			
+			ObjectiveMatrix matrix = population.getObjectiveMatrix();
+			double[] objectives = matrix.getObjectives();
+			int size = matrix.size();
+			
+			Arrays.fill(utilities, 0, size, 0.0);
+			
+			for (int i = 0; i < matrix.getNumberOfObjectives(); i++) {
+				int offset = i * size;
+				
+				for (int j = 0; j < size; j++) {
+					utilities[j] = Math.max(utilities[j], weights[i] * objectives[offset + j]);
+				}
+			}
+			
+			for (int j = 0; j < size; j++) {
+				utilities[j] = 1.0 - utilities[j];
+			}
+		}
+		
 	}
 	
 	/**
@@ -136,12 +209,15 @@ public abstract class RIndicator extends NormalizedIndicator {
 	 */
 	public double expectedUtility(NondominatedPopulation population) {
 		double sum = 0.0;
+		double[] utilities = new double[population.size()];
 		
 		for (int i = 0; i < weights.length; i++) {
 			double max = Double.NEGATIVE_INFINITY;
 			
-			for (Solution solution : population) {
-				max = Math.max(max, utilityFunction.computeUtility(solution, weights[i]));
+			utilityFunction.computeUtilities(population, weights[i], utilities);
+			
+			for (int j = 0; j < utilities.length; j++) {
+				max = Math.max(max, utilities[j]);
 			}
 			
 			sum += max;
@@ -0,0 +1,425 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.indicator;
+
+import org.moeaframework.core.Settings;
+
+/**
+ * The WFG hypervolume calculation operating on primitive arrays.  Points are stored in a flat array in row-major
+ * order, where the {@code j}-th objective of the {@code i}-th point is located at index {@code i * M + j} with
+ * {@code M} being the number of objectives.  All objectives are minimized.
+ * <p>
+ * The scratch space for each level of the recursion, including the space used for sorting, is allocated once and
+ * reused, so no objects are created while computing the hypervolume.  The limit sets are filtered in place using
+ * the same dominance and duplicate checks as {@link org.moeaframework.core.NondominatedPopulation}, and the points
+ * are processed in the same order and with the same floating-point operations as {@link WFGHypervolume}, so the
+ * results are identical.
+ * <p>
+ * Instances are not thread-safe due to the shared scratch space.
+ */
+public class WFGHypervolumeKernel {
+
+	/**
+	 * The reference point.
+	 */
+	private final double[] referencePoint;
+
+	/**
+	 * The number of objectives, which is also the stride between points in the flat arrays.
+	 */
+	private final int numberOfObjectives;
+
+	/**
+	 * The points at each level of the recursion.  The top-level points are stored in {@code levels[0]}, and the
+	 * limit set computed at level {@code L} is stored in {@code levels[L + 1]}.
+	 */
+	private double[][] levels;
+
+	/**
+	 * The sorted order of the points, used when sorting.
+	 */
+	private int[] order;
+
+	/**
+	 * Temporary storage used when merging the sorted order.
+	 */
+	private int[] orderScratch;
+
+	/**
+	 * Temporary storage used when rearranging points into sorted order.
+	 */
+	private double[] pointScratch;
+
+	/**
+	 * The maximum number of points that fit in the scratch space.
+	 */
+	private int capacity;
+
+	/**
+	 * Constructs a new WFG hypervolume kernel with the given reference point.
+	 * 
+	 * @param referencePoint the reference point
+	 */
+	public WFGHypervolumeKernel(double[] referencePoint) {
+		super();
+		this.referencePoint = referencePoint;
+		this.numberOfObjectives = referencePoint.length;
+	}
+
+	/**
+	 * Computes the hypervolume of the given points.  The points must be non-dominated and must not exceed the
+	 * reference point.  The array is copied and not modified by this method.
+	 * 
+	 * @param points the points stored in row-major order
+	 * @param size the number of points
+	 * @return the hypervolume of the points
+	 */
+	public double evaluate(double[] points, int size) {
+		ensureCapacity(size);
+		System.arraycopy(points, 0, levels[0], 0, size * numberOfObjectives);
+		return wfg(0, size, numberOfObjectives);
+	}
+
+	/**
+	 * Ensures the scratch space can hold the given number of points.
+	 * 
+	 * @param size the number of points
+	 */
+	private void ensureCapacity(int size) {
+		if (levels != null && size <= capacity) {
+			return;
+		}
+		
+		capacity = Math.max(size, 2 * capacity);
+		levels = new double[Math.max(numberOfObjectives, 1)][capacity * numberOfObjectives];
+		order = new int[capacity];
+		orderScratch = new int[capacity];
+		pointScratch = new double[capacity * numberOfObjectives];
+	}
+
+	/**
+	 * Recursive hypervolume calculation using slices.
+	 * 
+	 * @param level the level of the recursion identifying the points
+	 * @param size the number of points
+	 * @param slice the current slice (dimension) being computed
+	 * @return the hypervolume of the points
+	 */
+	private double wfg(int level, int size, int slice) {
+		double volume = 0.0;
+		
+		if (size == 0) {
+			return volume;
+		}
+		
+		double[] points = levels[level];
+		sort(points, size, slice);
+		
+		if (slice == 1) {
+			// special case - O(1) calculation for the 1-dimension case
+			volume = referencePoint[0] - points[0];
+		} else if (slice == 2) {
+			// special case - O(n) calculation for the 2-dimension case
+			volume = (referencePoint[0] - points[0]) * (referencePoint[1] - points[1]);
+			
+			for (int i = 1; i < size; i++) {
+				int offset = i * numberOfObjectives;
+				volume += (referencePoint[0] - points[offset]) *
+						(points[offset - numberOfObjectives + 1] - points[offset + 1]);
+			}
+		} else {
+			// recursive case for 3+ dimensions
+			for (int i = size - 1; i >= 0; i--) {
+				volume += (referencePoint[slice - 1] - points[i * numberOfObjectives + slice - 1]) *
+						exclhv(level, size, i, slice - 1);
+			}
+		}
+		
+		return volume;
+	}
+
+	/**
+	 * Returns the inclusive hypervolume for the given point.
+	 * 
+	 * @param points the points
+	 * @param k the index of the point
+	 * @param slice the current slice (dimension) being computed
+	 * @return the inclusive hypervolume of the point
+	 */
+	private double inclhv(double[] points, int k, int slice) {
+		double volume = 1.0;
+		int offset = k * numberOfObjectives;
+		
+		for (int i = 0; i < slice; i++) {
+			volume *= (referencePoint[i] - points[offset + i]);
+		}
+		
+		return volume;
+	}
+
+	/**
+	 * Returns the exclusive hypervolume of the current (contributing) point.
+	 * 
+	 * @param level the level of the recursion identifying the points
+	 * @param size the number of points
+	 * @param k the index of the current (contributing) point
+	 * @param slice the current slice (dimension) being computed
+	 * @return the exclusive hypervolume of the current point
+	 */
+	private double exclhv(int level, int size, int k, int slice) {
+		int limitSize = limitset(level, size, k, slice);
+		return inclhv(levels[level], k, slice) - wfg(level + 1, limitSize, slice);
+	}
+
+	/**
+	 * Stores the points {@code k+1 .. size-1} limited by the contributing point {@code k} in the next level,
+	 * discarding any dominated or duplicate points in the same manner as adding the points to a
+	 * {@link org.moeaframework.core.NondominatedPopulation}.
+	 * 
+	 * @param level the level of the recursion identifying the points
+	 * @param size the number of points
+	 * @param k the index of the current (contributing) point
+	 * @param slice the current slice (dimension) being computed
+	 * @return the number of points in the limit set
+	 */
+	private int limitset(int level, int size, int k, int slice) {
+		double[] points = levels[level];
+		double[] result = levels[level + 1];
+		int stride = numberOfObjectives;
+		int contributor = k * stride;
+		int count = 0;
+		
+		for (int i = k + 1; i < size; i++) {
+			int candidate = count * stride;
+			int source = i * stride;
+			
+			for (int j = 0; j < slice; j++) {
+				double objective1 = points[contributor + j];
+				double objective2 = points[source + j];
+				result[candidate + j] = objective1 > objective2 ? objective1 : objective2;
+			}
+			
+			boolean accepted = true;
+			int write = 0;
+			int read = 0;
+			
+			for (; read < count; read++) {
+				int flag = compareDominance(result, candidate, read * stride, slice);
+				
+				if (flag < 0) {
+					continue;
+				} else if (flag > 0 || isDuplicate(result, candidate, read * stride, slice)) {
+					accepted = false;
+					break;
+				}
+				
+				copyPoint(result, read, write++, slice);
+			}
+			
+			// retain any remaining points that were not compared after rejecting the candidate
+			for (; read < count; read++) {
+				copyPoint(result, read, write++, slice);
+			}
+			
+			if (accepted) {
+				copyPoint(result, count, write++, slice);
+			}
+			
+			count = write;
+		}
+		
+		return count;
+	}
+
+	/**
+	 * Copies a point to a new position within the same array.
+	 * 
+	 * @param points the points
+	 * @param from the index of the point to copy
+	 * @param to the destination index
+	 * @param slice the current slice (dimension) being computed
+	 */
+	private void copyPoint(double[] points, int from, int to, int slice) {
+		if (from != to) {
+			System.arraycopy(points, from * numberOfObjectives, points, to * numberOfObjectives, slice);
+		}
+	}
+
+	/**
+	 * Compares two points using Pareto dominance, matching
+	 * {@link org.moeaframework.core.comparator.ParetoObjectiveComparator}.
+	 * 
+	 * @param points the points
+	 * @param offset1 the offset of the first point
+	 * @param offset2 the offset of the second point
+	 * @param slice the current slice (dimension) being computed
+	 * @return {@code -1} if the first point dominates the second, {@code 1} if the second point dominates the first,
+	 *         or {@code 0} if the points are non-dominated
+	 */
+	private static int compareDominance(double[] points, int offset1, int offset2, int slice) {
+		boolean dominate1 = false;
+		boolean dominate2 = false;
+		
+		for (int i = 0; i < slice; i++) {
+			int flag = Double.compare(points[offset1 + i], points[offset2 + i]);
+			
+			if (flag < 0) {
+				dominate1 = true;
+				
+				if (dominate2) {
+					return 0;
+				}
+			} else if (flag > 0) {
+				dominate2 = true;
+				
+				if (dominate1) {
+					return 0;
+				}
+			}
+		}
+		
+		if (dominate1 == dominate2) {
+			return 0;
+		} else if (dominate1) {
+			return -1;
+		} else {
+			return 1;
+		}
+	}
+
+	/**
+	 * Returns {@code true} if the Euclidean distance between the two points is less than {@link Settings#EPS},
+	 * matching the duplicate check in {@link org.moeaframework.core.NondominatedPopulation}.
+	 * 
+	 * @param points the points
+	 * @param offset1 the offset of the first point
+	 * @param offset2 the offset of the second point
+	 * @param slice the current slice (dimension) being computed
+	 * @return {@code true} if the points are duplicates; {@code false} otherwise
+	 */
+	private static boolean isDuplicate(double[] points, int offset1, int offset2, int slice) {
+		double distance = 0.0;
+		
+		for (int i = 0; i < slice; i++) {
+			distance += Math.pow(Math.abs(points[offset1 + i] - points[offset2 + i]), 2.0);
+		}
+		
+		return Math.pow(distance, 1.0 / 2.0) < Settings.EPS;
+	}
+
+	/**
+	 * Sorts the points so they are monotonically improving (decreasing) in the last objective of the slice.  Ties are
+	 * broken by considering the other objectives.
+	 * 
+	 * @param points the points
+	 * @param size the number of points
+	 * @param slice the current slice (dimension) being computed
+	 */
+	private void sort(double[] points, int size, int slice) {
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+		
+		mergeSort(points, 0, size, slice);
+		
+		int stride = numberOfObjectives;
+		
+		for (int i = 0; i < size; i++) {
+			System.arraycopy(points, order[i] * stride, pointScratch, i * stride, slice);
+		}
+		
+		for (int i = 0; i < size; i++) {
+			System.arraycopy(pointScratch, i * stride, points, i * stride, slice);
+		}
+	}
+
+	/**
+	 * Stable merge sort of the order array between the given indices.
+	 * 
+	 * @param points the points
+	 * @param from the first index, inclusive
+	 * @param to the last index, exclusive
+	 * @param slice the current slice (dimension) being computed
+	 */
+	private void mergeSort(double[] points, int from, int to, int slice) {
+		if (to - from <= 8) {
+			for (int i = from + 1; i < to; i++) {
+				int value = order[i];
+				int j = i - 1;
+				
+				while (j >= from && compareOrder(points, order[j], value, slice) > 0) {
+					order[j + 1] = order[j];
+					j--;
+				}
+				
+				order[j + 1] = value;
+			}
+			
+			return;
+		}
+		
+		int middle = (from + to) >>> 1;
+		mergeSort(points, from, middle, slice);
+		mergeSort(points, middle, to, slice);
+		
+		if (compareOrder(points, order[middle - 1], order[middle], slice) <= 0) {
+			return;
+		}
+		
+		System.arraycopy(order, from, orderScratch, from, to - from);
+		
+		int left = from;
+		int right = middle;
+		
+		for (int i = from; i < to; i++) {
+			if (right >= to || (left < middle &&
+					compareOrder(points, orderScratch[left], orderScratch[right], slice) <= 0)) {
+				order[i] = orderScratch[left++];
+			} else {
+				order[i] = orderScratch[right++];
+			}
+		}
+	}
+
+	/**
+	 * Compares two points by their sort order, which is decreasing in the last objective of the slice with ties
+	 * broken by the preceding objectives.
+	 * 
+	 * @param points the points
+	 * @param index1 the index of the first point
+	 * @param index2 the index of the second point
+	 * @param slice the current slice (dimension) being computed
+	 * @return a negative value if the first point is ordered first, a positive value if the second point is ordered
+	 *         first, or {@code 0} if the points are equal
+	 */
+	private int compareOrder(double[] points, int index1, int index2, int slice) {
+		int offset1 = index1 * numberOfObjectives;
+		int offset2 = index2 * numberOfObjectives;
+		
+		for (int i = slice - 1; i >= 0; i--) {
+			int flag = Double.compare(points[offset1 + i], points[offset2 + i]);
+			
+			if (flag != 0) {
+				return -flag;
+			}
+		}
+		
+		return 0;
+	}
+
+}
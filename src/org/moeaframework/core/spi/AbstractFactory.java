@@ -20,13 +20,21 @@ package org.moeaframework.core.spi;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
 import java.util.ServiceLoader;
-
-import org.moeaframework.util.Concaterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Abstract factory for service providers.  This contains convenience methods for enumerating the providers using a
  * {@link ServiceLoader} along with explicit providers registered with {@link #addProvider}.
+ * <p>
+ * The providers are discovered once, the first time they are needed or when calling {@link #preload()}, and
+ * enumerated from an immutable snapshot afterwards.  Lookups determined by the name alone remember the provider that
+ * resolved each name, so later lookups try that provider first instead of every provider.  These lookups do not
+ * lock, allowing the factory to be used by many threads.  Adding a provider discards the remembered providers, since
+ * the new provider takes precedence over the providers discovered by the service loader.
  *
  * @param <T> the generic type of the provider
  */
@@ -40,7 +48,19 @@ public class AbstractFactory<T> implements Iterable<T> {
 	/**
 	 * Collection of providers that have been manually added.
 	 */
-	private List<T> customProviders;
+	private final List<T> customProviders;
+	
+	/**
+	 * The providers discovered by the service loader, or {@code null} if not yet discovered.
+	 */
+	private List<T> serviceProviders;
+	
+	/**
+	 * The snapshot of all providers and the providers resolving each name, or {@code null} if the providers must be
+	 * discovered.  A new snapshot replaces the old one when adding a provider, so lookups already in progress can
+	 * not update the new snapshot with outdated results.
+	 */
+	private volatile Snapshot<T> snapshot;
 	
 	/**
 	 * Constructs a new factory for the given type.
@@ -58,8 +78,17 @@ public class AbstractFactory<T> implements Iterable<T> {
 	 * 
 	 * @param provider the new provider
 	 */
-	public void addProvider(T provider) {
+	public synchronized void addProvider(T provider) {
 		customProviders.add(provider);
+		snapshot = null;
+	}
+	
+	/**
+	 * Discovers all providers ahead of time.  Otherwise, the providers are discovered the first time they are needed.
+	 * Call this during startup to avoid delaying the first lookup.
+	 */
+	public void preload() {
+		getSnapshot();
 	}
 	
 	/**
@@ -68,7 +97,7 @@ public class AbstractFactory<T> implements Iterable<T> {
 	 * @return the iterator of all registered providers
 	 */
 	public Iterator<T> iterator() {
-		return new Concaterator<T>(customProviders.iterator(), providers.iterator());
+		return getSnapshot().providers.iterator();
 	}
 	
 	/**
@@ -90,4 +119,131 @@ public class AbstractFactory<T> implements Iterable<T> {
 		return false;
 	}
 	
+	/**
+	 * Returns the first non-{@code null} result from the providers, trying the provider that previously resolved the
+	 * name first.  Since the remembered provider is tried before any others, only use this method for lookups where
+	 * the result depends on the name alone.  Lookups with other arguments, where a provider could support a name for
+	 * some arguments but not others, must instead enumerate the providers in order.  If the remembered provider no
+	 * longer supports the name, all other providers are tried.
+	 * 
+	 * @param <R> the type of the result
+	 * @param type the type of lookup, such as {@code "problem"}, since a provider could support a name for one type
+	 *        of lookup but not another
+	 * @param name the name being resolved
+	 * @param function the function invoking the provider, returning {@code null} if the provider does not support
+	 *        the name
+	 * @return the first non-{@code null} result, or {@code null} if no provider supports the name
+	 */
+	protected <R> R resolve(String type, String name, Function<? super T, ? extends R> function) {
+		Snapshot<T> current = getSnapshot();
+		String key = type + ":" + name;
+		T resolvedProvider = current.resolvedProviders.get(key);
+		
+		if (resolvedProvider != null) {
+			R result = function.apply(resolvedProvider);
+			
+			if (result != null) {
+				return result;
+			}
+		}
+		
+		for (T provider : current.providers) {
+			if (provider == resolvedProvider) {
+				continue;
+			}
+			
+			R result = function.apply(provider);
+			
+			if (result != null) {
+				current.resolvedProviders.put(key, provider);
+				return result;
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Returns the current snapshot, discovering the providers if required.
+	 * 
+	 * @return the current snapshot
+	 */
+	private Snapshot<T> getSnapshot() {
+		Snapshot<T> result = snapshot;
+		
+		if (result == null) {
+			synchronized (this) {
+				result = snapshot;
+				
+				if (result == null) {
+					if (serviceProviders == null) {
+						serviceProviders = discoverProviders();
+					}
+					
+					List<T> allProviders = new ArrayList<T>(customProviders);
+					allProviders.addAll(serviceProviders);
+					
+					result = new Snapshot<T>(allProviders);
+					snapshot = result;
+				}
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Discovers the providers using the service loader.  Providers that fail to load are reported and skipped.
+	 * 
+	 * @return the discovered providers
+	 */
+	private List<T> discoverProviders() {
+		List<T> result = new ArrayList<T>();
+		Iterator<T> iterator = providers.iterator();
+		
+		while (true) {
+			try {
+				if (!iterator.hasNext()) {
+					break;
+				}
+				
+				result.add(iterator.next());
+			} catch (ServiceConfigurationError e) {
+				System.err.println(e.getMessage());
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Immutable snapshot of the providers along with the providers resolving each name.
+	 * 
+	 * @param <T> the generic type of the provider
+	 */
+	private static final class Snapshot<T> {
+		
+		/**
+		 * All providers, with the custom providers first.
+		 */
+		private final List<T> providers;
+		
+		/**
+		 * The providers resolving each name.
+		 */
+		private final Map<String, T> resolvedProviders;
+		
+		/**
+		 * Constructs a new snapshot with the given providers.
+		 * 
+		 * @param providers all providers, with the custom providers first
+		 */
+		public Snapshot(List<T> providers) {
+			super();
+			this.providers = List.copyOf(providers);
+			this.resolvedProviders = new ConcurrentHashMap<String, T>();
+		}
+		
+	}
+	
 }
@@ -35,7 +35,7 @@ public class AlgorithmFactory extends AbstractFactory<AlgorithmProvider> {
 	/**
 	 * The default algorithm factory.
 	 */
-	private static AlgorithmFactory INSTANCE;
+	private static volatile AlgorithmFactory INSTANCE;
 
 	/**
 	 * Instantiates the static {@code INSTANCE} object.
@@ -49,7 +49,7 @@ public class AlgorithmFactory extends AbstractFactory<AlgorithmProvider> {
 	 * 
 	 * @return the default algorithm factory
 	 */
-	public static synchronized AlgorithmFactory getInstance() {
+	public static AlgorithmFactory getInstance() {
 		return INSTANCE;
 	}
 
@@ -58,7 +58,7 @@ public class AlgorithmFactory extends AbstractFactory<AlgorithmProvider> {
 	 * 
 	 * @param instance the default algorithm factory
 	 */
-	public static synchronized void setInstance(AlgorithmFactory instance) {
+	public static void setInstance(AlgorithmFactory instance) {
 		AlgorithmFactory.INSTANCE = instance;
 	}
 	
@@ -94,7 +94,7 @@ public class AlgorithmFactory extends AbstractFactory<AlgorithmProvider> {
 	 * @return an instance of the algorithm with the registered name
 	 * @throws ProviderNotFoundException if no provider for the algorithm is available
 	 */
-	public synchronized Algorithm getAlgorithm(String name, TypedProperties properties, Problem problem) {
+	public Algorithm getAlgorithm(String name, TypedProperties properties, Problem problem) {
 		for (AlgorithmProvider provider : this) {
 			Algorithm algorithm = instantiateAlgorithm(provider, name, properties, problem);
 			
@@ -132,7 +132,7 @@ public class AlgorithmFactory extends AbstractFactory<AlgorithmProvider> {
 	 * 
 	 * @return all diagnostic tool algorithm names
 	 */
-	public synchronized Set<String> getAllDiagnosticToolAlgorithms() {
+	public Set<String> getAllDiagnosticToolAlgorithms() {
 		Set<String> result = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
 		
 		for (AlgorithmProvider provider : this) {
@@ -39,7 +39,7 @@ public class OperatorFactory extends AbstractFactory<OperatorProvider> {
 	/**
 	 * The default operator factory.
 	 */
-	private static OperatorFactory INSTANCE;
+	private static volatile OperatorFactory INSTANCE;
 	
 	/**
 	 * Instantiates the static {@code INSTANCE} object.
@@ -53,7 +53,7 @@ public class OperatorFactory extends AbstractFactory<OperatorProvider> {
 	 * 
 	 * @return the default operator factory
 	 */
-	public static synchronized OperatorFactory getInstance() {
+	public static OperatorFactory getInstance() {
 		return INSTANCE;
 	}
 
@@ -62,7 +62,7 @@ public class OperatorFactory extends AbstractFactory<OperatorProvider> {
 	 * 
 	 * @param instance the default operator factory
 	 */
-	public static synchronized void setInstance(OperatorFactory instance) {
+	public static void setInstance(OperatorFactory instance) {
 		OperatorFactory.INSTANCE = instance;
 	}
 	
@@ -39,7 +39,7 @@ public class ProblemFactory extends AbstractFactory<ProblemProvider> {
 	/**
 	 * The default problem factory.
 	 */
-	private static ProblemFactory INSTANCE;
+	private static volatile ProblemFactory INSTANCE;
 	
 	/**
 	 * Instantiates the static {@code INSTANCE} object.
@@ -53,7 +53,7 @@ public class ProblemFactory extends AbstractFactory<ProblemProvider> {
 	 * 
 	 * @return the default problem factory
 	 */
-	public static synchronized ProblemFactory getInstance() {
+	public static ProblemFactory getInstance() {
 		return INSTANCE;
 	}
 
@@ -62,7 +62,7 @@ public class ProblemFactory extends AbstractFactory<ProblemProvider> {
 	 * 
 	 * @param instance the default problem factory
 	 */
-	public static synchronized void setInstance(ProblemFactory instance) {
+	public static void setInstance(ProblemFactory instance) {
 		ProblemFactory.INSTANCE = instance;
 	}
 	
@@ -82,16 +82,14 @@ public class ProblemFactory extends AbstractFactory<ProblemProvider> {
 	 * @return an instance of the problem with the registered name
 	 * @throws ProviderNotFoundException if no provider for the problem is available
 	 */
-	public synchronized Problem getProblem(String name) {
-		for (ProblemProvider provider : this) {
-			Problem problem = instantiateProblem(provider, name);
-			
-			if (problem != null) {
-				return problem;
-			}
+	public Problem getProblem(String name) {
+		Problem problem = resolve("problem", name, provider -> instantiateProblem(provider, name));
+		
+		if (problem == null) {
+			throw new ProviderNotFoundException(name);
 		}
-
-		throw new ProviderNotFoundException(name);
+		
+		return problem;
 	}
 	
 	/**
@@ -120,16 +118,8 @@ public class ProblemFactory extends AbstractFactory<ProblemProvider> {
 	 * @return the reference set of the problem with the registered name; or {@code null} if no reference set is
 	 *         available
 	 */
-	public synchronized NondominatedPopulation getReferenceSet(String name) {
-		for (ProblemProvider provider : this) {
-			NondominatedPopulation referenceSet = provider.getReferenceSet(name);
-
-			if (referenceSet != null) {
-				return referenceSet;
-			}
-		}
-
-		return null;
+	public NondominatedPopulation getReferenceSet(String name) {
+		return resolve("referenceSet", name, provider -> provider.getReferenceSet(name));
 	}
 	
 	/**
@@ -139,16 +129,8 @@ public class ProblemFactory extends AbstractFactory<ProblemProvider> {
 	 * @param name the name identifying the problem
 	 * @return the &epsilon; values of the problem with the registered name; or {@code null} if no values are available
 	 */
-	public synchronized Epsilons getEpsilons(String name) {
-		for (ProblemProvider provider : this) {
-			Epsilons epsilons = provider.getEpsilons(name);
-			
-			if (epsilons != null) {
-				return epsilons;
-			}
-		}
-		
-		return null;
+	public Epsilons getEpsilons(String name) {
+		return resolve("epsilons", name, provider -> provider.getEpsilons(name));
 	}
 	
 	/**
@@ -158,7 +140,7 @@ public class ProblemFactory extends AbstractFactory<ProblemProvider> {
 	 * 
 	 * @return all registered problem names
 	 */
-	public synchronized Set<String> getAllRegisteredProblems() {
+	public Set<String> getAllRegisteredProblems() {
 		Set<String> result = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
 		
 		for (ProblemProvider provider : this) {
@@ -175,7 +157,7 @@ public class ProblemFactory extends AbstractFactory<ProblemProvider> {
 	 * 
 	 * @return all diagnostic tool problem names
 	 */
-	public synchronized Set<String> getAllDiagnosticToolProblems() {
+	public Set<String> getAllDiagnosticToolProblems() {
 		Set<String> result = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
 		
 		for (ProblemProvider provider : this) {
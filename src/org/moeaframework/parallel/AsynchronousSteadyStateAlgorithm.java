@@ -0,0 +1,268 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.parallel;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.moeaframework.algorithm.AlgorithmException;
+import org.moeaframework.algorithm.extension.AlgorithmWrapper;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.SteadyStateEvolutionaryAlgorithm;
+import org.moeaframework.util.validate.Validate;
+
+/**
+ * Drives a steady-state evolutionary algorithm asynchronously.  Instead of evaluating an entire generation and waiting
+ * for the slowest evaluation to finish, this keeps a fixed number of evaluations in flight and inserts each offspring
+ * into the population as soon as its evaluation completes, immediately replacing it with a new offspring.  This keeps
+ * the workers busy when evaluation times vary.
+ * <p>
+ * The algorithm must be constructed with a {@link DistributedProblem}, which performs the evaluations using its
+ * {@link java.util.concurrent.ExecutorService}.  Since the in-flight tasks are wrapped locally to detect when they
+ * complete, the executor must run tasks submitted with {@link java.util.concurrent.Executor#execute(Runnable)}, such
+ * as a local thread pool.  Typically, the number of in-flight evaluations matches the number of threads.  Since
+ * some algorithms create offspring in pairs, the number in flight can briefly exceed this limit by one.
+ * <p>
+ * As the offspring are inserted in the order their evaluations complete, results are not reproducible even when
+ * using the same random seed.
+ */
+public class AsynchronousSteadyStateAlgorithm extends AlgorithmWrapper<SteadyStateEvolutionaryAlgorithm> {
+	
+	/**
+	 * The maximum number of evaluations in flight.
+	 */
+	private final int maxInFlight;
+	
+	/**
+	 * The solutions whose evaluations have completed, in the order they completed, but have not yet been inserted
+	 * into the population.
+	 */
+	private final BlockingQueue<FutureSolution> completed;
+	
+	/**
+	 * The number of evaluations submitted but not yet inserted into the population.
+	 */
+	private int numberInFlight;
+	
+	/**
+	 * The total time, in nanoseconds, the evaluations spent in flight.
+	 */
+	private final LongAdder busyTime;
+	
+	/**
+	 * The time, in nanoseconds, when the algorithm started running asynchronously.
+	 */
+	private long startTime;
+	
+	/**
+	 * Constructs a new driver for running the steady-state algorithm asynchronously, keeping one evaluation in flight
+	 * per available processor.
+	 * 
+	 * @param algorithm the steady-state algorithm, which must use a {@link DistributedProblem}
+	 */
+	public AsynchronousSteadyStateAlgorithm(SteadyStateEvolutionaryAlgorithm algorithm) {
+		this(algorithm, Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Constructs a new driver for running the steady-state algorithm asynchronously.
+	 * 
+	 * @param algorithm the steady-state algorithm, which must use a {@link DistributedProblem}
+	 * @param maxInFlight the maximum number of evaluations in flight, typically the number of threads used by the
+	 *        {@link DistributedProblem}
+	 */
+	public AsynchronousSteadyStateAlgorithm(SteadyStateEvolutionaryAlgorithm algorithm, int maxInFlight) {
+		super(algorithm);
+		
+		Validate.that("maxInFlight", maxInFlight).isGreaterThan(0);
+		
+		this.maxInFlight = maxInFlight;
+		
+		completed = new LinkedBlockingQueue<FutureSolution>();
+		busyTime = new LongAdder();
+	}
+	
+	/**
+	 * Returns the maximum number of evaluations in flight.
+	 * 
+	 * @return the maximum number of evaluations in flight
+	 */
+	public int getMaxInFlight() {
+		return maxInFlight;
+	}
+	
+	/**
+	 * Returns the number of evaluations that have been submitted but whose offspring are not yet inserted into the
+	 * population.
+	 * 
+	 * @return the number of evaluations in flight
+	 */
+	public int getNumberInFlight() {
+		return numberInFlight;
+	}
+	
+	/**
+	 * Returns the fraction of time, between {@code 0.0} and {@code 1.0}, the evaluation slots were occupied since the
+	 * first asynchronous step.  When the maximum number of evaluations in flight matches the number of
+	 * workers, this measures how often the workers are kept busy.  Time spent waiting in the executor's queue
+	 * counts as busy.
+	 * 
+	 * @return the utilization of the evaluation slots
+	 */
+	public double getUtilization() {
+		if (startTime == 0) {
+			return 0.0;
+		}
+		
+		long elapsedTime = System.nanoTime() - startTime;
+		
+		if (elapsedTime <= 0) {
+			return 0.0;
+		}
+		
+		return Math.min(1.0, busyTime.sum() / ((double)maxInFlight * elapsedTime));
+	}
+	
+	/**
+	 * Performs one step of this algorithm.  The first step initializes the underlying algorithm.  Each subsequent step
+	 * waits for at least one evaluation to complete and inserts all completed offspring into the population.  Each
+	 * slot is refilled with a new offspring before inserting the completed offspring, so the workers are not left idle
+	 * while updating the population.
+	 */
+	@Override
+	public void step() {
+		SteadyStateEvolutionaryAlgorithm algorithm = getAlgorithm();
+		
+		if (!algorithm.isInitialized()) {
+			algorithm.step();
+			return;
+		}
+		
+		if (startTime == 0) {
+			startTime = System.nanoTime();
+		}
+		
+		fill();
+		
+		// only process the results available when this step begins, otherwise fast evaluations could keep this
+		// loop running indefinitely
+		int available = Math.max(1, completed.size());
+		
+		for (int i = 0; i < available; i++) {
+			FutureSolution solution = take();
+			numberInFlight--;
+			fill();
+			addOffspring(solution);
+		}
+		
+		algorithm.getExtensions().onStep();
+	}
+	
+	/**
+	 * Waits for all in-flight evaluations to complete and inserts the offspring into the population before
+	 * terminating the underlying algorithm.
+	 */
+	@Override
+	public void terminate() {
+		drain();
+		super.terminate();
+	}
+	
+	/**
+	 * Waits for all in-flight evaluations to complete and inserts the offspring into the population before
+	 * saving the state, since in-flight evaluations can not be saved.
+	 */
+	@Override
+	public void saveState(ObjectOutputStream stream) throws IOException {
+		drain();
+		super.saveState(stream);
+	}
+	
+	/**
+	 * Creates and submits new offspring until all evaluation slots are occupied.
+	 */
+	private void fill() {
+		while (numberInFlight < maxInFlight) {
+			for (Solution offspring : getAlgorithm().createOffspring()) {
+				submit(offspring);
+			}
+		}
+	}
+	
+	/**
+	 * Submits the offspring for evaluation without waiting for the result.
+	 * 
+	 * @param offspring the offspring
+	 */
+	private void submit(Solution offspring) {
+		if (offspring instanceof FutureSolution futureSolution) {
+			long submitTime = System.nanoTime();
+			
+			futureSolution.setCompletionHandler(solution -> {
+				busyTime.add(System.nanoTime() - submitTime);
+				completed.add(solution);
+			});
+			
+			numberInFlight++;
+			getAlgorithm().evaluate(futureSolution);
+		} else {
+			throw new AlgorithmException(getAlgorithm(), "offspring must be a FutureSolution created by a " +
+					"DistributedProblem");
+		}
+	}
+	
+	/**
+	 * Waits for the next evaluation to complete.
+	 * 
+	 * @return the evaluated solution
+	 */
+	private FutureSolution take() {
+		try {
+			return completed.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AlgorithmException(getAlgorithm(), "interrupted while waiting for evaluations", e);
+		}
+	}
+	
+	/**
+	 * Inserts the evaluated offspring into the population.  The caller is responsible for updating the number of
+	 * evaluations in flight.
+	 * 
+	 * @param solution the evaluated offspring
+	 */
+	private void addOffspring(FutureSolution solution) {
+		solution.setCompletionHandler(null);
+		getAlgorithm().addOffspring(solution);
+	}
+	
+	/**
+	 * Waits for all in-flight evaluations to complete and inserts the offspring into the population.
+	 */
+	private void drain() {
+		while (numberInFlight > 0) {
+			FutureSolution solution = take();
+			numberInFlight--;
+			addOffspring(solution);
+		}
+	}
+
+}
@@ -22,7 +22,9 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
@@ -39,6 +41,15 @@ import org.moeaframework.problem.ProblemWrapper;
  * implementations should prefer calling {@link org.moeaframework.core.Algorithm#evaluateAll(Solution[])} to submit
  * all solutions at once for evaluation.
  * <p>
+ * Algorithms implementing {@link org.moeaframework.core.SteadyStateEvolutionaryAlgorithm} can also be run
+ * asynchronously using {@link AsynchronousSteadyStateAlgorithm}, which avoids waiting on the slowest evaluation in each
+ * generation.
+ * <p>
+ * The problem is evaluated concurrently by the threads of the executor, so it must be thread-safe.  An
+ * {@link org.moeaframework.problem.ExternalProblem} sends each solution to its next idle worker, waiting while all
+ * workers are busy, so configure a pool of workers with
+ * {@link org.moeaframework.problem.ExternalProblem.Builder#withPoolSize(int)} to evaluate solutions concurrently.
+ * <p>
  * Any {@code ExecutorService} can be used.  For example, {@link Executors} provides various options for distributing
  * locally.  For remote evaluations, Java frameworks such as <a href="https://github.com/jppf-grid/JPPF">JPPF</a>, 
  * <a href="http://www.gridgain.com">GridGain</a>, and <a href="https://ignite.apache.org/">Apache Ignite</a> should
@@ -161,13 +172,41 @@ public class DistributedProblem extends ProblemWrapper {
 		if (solution instanceof FutureSolution futureSolution) {
 			futureSolution.setDistributedEvaluationID(nextDistributedEvaluationID.getAndIncrement());
 			
-			Future<Solution> future = executor.submit(new ProblemEvaluator(problem, futureSolution));
-			futureSolution.setFuture(future);
+			Consumer<FutureSolution> completionHandler = futureSolution.getCompletionHandler();
+			
+			if (completionHandler == null) {
+				Future<Solution> future = executor.submit(new ProblemEvaluator(problem, futureSolution));
+				futureSolution.setFuture(future);
+			} else {
+				// wrap the task locally so the handler runs on completion, which requires executing the task directly
+				FutureTask<Solution> future = new FutureTask<Solution>(new ProblemEvaluator(problem, futureSolution)) {
+					
+					@Override
+					protected void done() {
+						completionHandler.accept(futureSolution);
+					}
+					
+				};
+				
+				futureSolution.setFuture(future);
+				executor.execute(future);
+			}
 		} else {
 			throw new ProblemException(this, "must provide FutureSolution to DistributedProblem");
 		}
 	}
 
+	/**
+	 * Submits each solution for evaluation by calling {@link #evaluate(Solution)}, so the solutions are distributed
+	 * to the executor instead of being evaluated as a batch by the inner problem.
+	 */
+	@Override
+	public void evaluateAll(Iterable<? extends Solution> solutions) {
+		for (Solution solution : solutions) {
+			evaluate(solution);
+		}
+	}
+
 	@Override
 	public Solution newSolution() {
 		Solution solution = super.newSolution();
@@ -20,6 +20,7 @@ package org.moeaframework.parallel;
 import java.io.Serializable;
 import java.util.Map;
 import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.Solution;
@@ -39,6 +40,12 @@ public class FutureSolution extends Solution {
 	 * evaluation is underway.
 	 */
 	private transient Future<Solution> future;
+	
+	/**
+	 * Callback invoked, possibly from another thread, once the asynchronous evaluation of this solution completes,
+	 * or {@code null} if no callback is registered.
+	 */
+	private transient Consumer<FutureSolution> completionHandler;
 
 	/**
 	 * The unique identifier for this solution.
@@ -64,6 +71,26 @@ public class FutureSolution extends Solution {
 		this.future = future;
 	}
 
+	/**
+	 * Sets the callback invoked once the asynchronous evaluation of this solution completes.  This must be set prior
+	 * to submitting this solution for evaluation.  Since the callback is invoked from the thread performing the
+	 * evaluation, it should only perform a small amount of work, such as adding this solution to a queue.
+	 * 
+	 * @param completionHandler the callback, or {@code null} to remove any existing callback
+	 */
+	synchronized void setCompletionHandler(Consumer<FutureSolution> completionHandler) {
+		this.completionHandler = completionHandler;
+	}
+	
+	/**
+	 * Returns the callback invoked once the asynchronous evaluation of this solution completes.
+	 * 
+	 * @return the callback, or {@code null} if no callback is registered
+	 */
+	synchronized Consumer<FutureSolution> getCompletionHandler() {
+		return completionHandler;
+	}
+
 	/**
 	 * Sets the unique identifier for this solution. This is assigned automatically by {@link DistributedProblem} when
 	 * evaluating the solution.
@@ -157,6 +184,18 @@ public class FutureSolution extends Solution {
 		return super.hasAttribute(key);
 	}
 	
+	@Override
+	public int getIntAttribute(String key) {
+		update();
+		return super.getIntAttribute(key);
+	}
+	
+	@Override
+	public double getDoubleAttribute(String key) {
+		update();
+		return super.getDoubleAttribute(key);
+	}
+	
 	@Override
 	public Map<String, Serializable> getAttributes() {
 		update();
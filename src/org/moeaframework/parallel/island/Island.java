@@ -49,11 +49,22 @@ public class Island {
 	 * @param population the initial population for this island
 	 */
 	public Island(Algorithm algorithm, Population population) {
+		this(algorithm, population, new ImmigrationQueue());
+	}
+	
+	/**
+	 * Creates a new island with the given algorithm, population, and immigration queue.  A custom immigration queue
+	 * can be used to deliver migrants to an island running elsewhere, such as in another process.
+	 * 
+	 * @param algorithm the algorithm assigned to this island
+	 * @param population the initial population for this island
+	 * @param immigrationQueue the queue receiving solutions migrating from other islands
+	 */
+	public Island(Algorithm algorithm, Population population, ImmigrationQueue immigrationQueue) {
 		super();
 		this.algorithm = algorithm;
 		this.population = population;
-		
-		immigrationQueue = new ImmigrationQueue();
+		this.immigrationQueue = immigrationQueue;
 	}
 
 	/**
@@ -28,11 +28,14 @@ import java.util.concurrent.Future;
 import org.moeaframework.core.Algorithm;
 import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
 import org.moeaframework.parallel.island.Island;
 import org.moeaframework.parallel.island.IslandModel;
 
 /**
- * Executes an island model using an {@see ExecutorService}.
+ * Executes an island model using an {@see ExecutorService}.  Each island is bound to its own stream of random numbers,
+ * derived from the calling thread's {@link PRNG}, so the random numbers used by an island do not depend on the thread
+ * running it.  Note that the timing of migrations between concurrently running islands can still vary.
  */
 public class BasicIslandExecutor implements IslandExecutor {
 	
@@ -59,12 +62,18 @@ public class BasicIslandExecutor implements IslandExecutor {
 	@Override
 	public NondominatedPopulation run(int maxEvaluations) {
 		final int evaluationsPerIsland = maxEvaluations / islands.size();
+		
+		//each island uses its own stream of random numbers, derived from the current thread's stream
+		final long baseSeed = PRNG.nextLong();
 			
 		//start threads to process each island
 		List<Future<NondominatedPopulation>> futures = new ArrayList<Future<NondominatedPopulation>>();
 			
-		for (final Island island : islands) {
-			futures.add(executorService.submit(new Callable<NondominatedPopulation>() {
+		for (int i = 0; i < islands.size(); i++) {
+			final Island island = islands.get(i);
+			
+			futures.add(executorService.submit(PRNG.withSeed(PRNG.deriveSeed(baseSeed, i),
+					new Callable<NondominatedPopulation>() {
 
 				@Override
 				public NondominatedPopulation call() {
@@ -74,7 +83,7 @@ public class BasicIslandExecutor implements IslandExecutor {
 					return algorithm.getResult();
 				}
 				
-			}));
+			})));
 		}
 
 		//wait for all to complete and aggregate the result
@@ -0,0 +1,290 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.parallel.island.executor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+
+/**
+ * Socket connection between the coordinator and a worker process of a {@link ProcessIslandExecutor}.  Each message
+ * starts with a one-byte tag identifying its type, followed by the fields for that type.  Solutions are carried as
+ * length-prefixed blocks of serialized solutions, allowing the coordinator to forward migrants without decoding them.
+ * Serialization uses the compact form that {@link Solution} already substitutes for itself.
+ */
+class IslandConnection implements Closeable {
+	
+	/**
+	 * Sent by a worker after connecting, followed by the worker index.
+	 */
+	static final byte HELLO = 1;
+	
+	/**
+	 * Sent to a worker with its assignment, followed by the evaluations per island, the base seed, and the indices
+	 * of the assigned islands.
+	 */
+	static final byte ASSIGN = 2;
+	
+	/**
+	 * Carries migrants, followed by the index of the destination island and the encoded solutions.
+	 */
+	static final byte MIGRATE = 3;
+	
+	/**
+	 * Sent by a worker when an island finishes, followed by the index of the island and its encoded result.
+	 */
+	static final byte RESULT = 4;
+	
+	/**
+	 * Sent by a worker after all of its islands finish.
+	 */
+	static final byte DONE = 5;
+	
+	/**
+	 * Sent by a worker if any of its islands fail, followed by the error message.
+	 */
+	static final byte ERROR = 6;
+	
+	/**
+	 * Sent to a worker once all workers are done, after which no more migrants will arrive.
+	 */
+	static final byte SHUTDOWN = 7;
+	
+	/**
+	 * The underlying socket.
+	 */
+	private final Socket socket;
+	
+	/**
+	 * The stream for reading messages.  Only one thread should read from a connection.
+	 */
+	private final DataInputStream input;
+	
+	/**
+	 * The stream for writing messages.  Writes are synchronized so messages from different threads are not
+	 * interleaved.
+	 */
+	private final DataOutputStream output;
+	
+	/**
+	 * Creates a new connection over the given socket.
+	 * 
+	 * @param socket the connected socket
+	 * @throws IOException if an I/O error occurred
+	 */
+	public IslandConnection(Socket socket) throws IOException {
+		super();
+		this.socket = socket;
+		
+		socket.setTcpNoDelay(true);
+		input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+		output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+	}
+	
+	/**
+	 * Returns the stream for reading messages.
+	 * 
+	 * @return the input stream
+	 */
+	public DataInputStream getInput() {
+		return input;
+	}
+	
+	/**
+	 * Sends a message containing only the tag.
+	 * 
+	 * @param tag the message tag
+	 * @throws IOException if an I/O error occurred
+	 */
+	public synchronized void send(byte tag) throws IOException {
+		output.writeByte(tag);
+		output.flush();
+	}
+	
+	/**
+	 * Sends a message containing a single integer.
+	 * 
+	 * @param tag the message tag
+	 * @param value the value
+	 * @throws IOException if an I/O error occurred
+	 */
+	public synchronized void send(byte tag, int value) throws IOException {
+		output.writeByte(tag);
+		output.writeInt(value);
+		output.flush();
+	}
+	
+	/**
+	 * Sends a message containing a string.
+	 * 
+	 * @param tag the message tag
+	 * @param value the string
+	 * @throws IOException if an I/O error occurred
+	 */
+	public synchronized void send(byte tag, String value) throws IOException {
+		output.writeByte(tag);
+		output.writeUTF(value);
+		output.flush();
+	}
+	
+	/**
+	 * Sends a message containing an island index and a block of encoded solutions.
+	 * 
+	 * @param tag the message tag
+	 * @param island the island index
+	 * @param solutions the block of encoded solutions
+	 * @throws IOException if an I/O error occurred
+	 */
+	public synchronized void send(byte tag, int island, byte[] solutions) throws IOException {
+		output.writeByte(tag);
+		output.writeInt(island);
+		output.writeInt(solutions.length);
+		output.write(solutions);
+		output.flush();
+	}
+	
+	/**
+	 * Sends the assignment to a worker.
+	 * 
+	 * @param evaluationsPerIsland the number of evaluations performed by each island
+	 * @param baseSeed the seed from which each island derives its random number stream
+	 * @param islands the indices of the islands assigned to the worker
+	 * @throws IOException if an I/O error occurred
+	 */
+	public synchronized void sendAssignment(int evaluationsPerIsland, long baseSeed, List<Integer> islands)
+			throws IOException {
+		output.writeByte(ASSIGN);
+		output.writeInt(evaluationsPerIsland);
+		output.writeLong(baseSeed);
+		output.writeInt(islands.size());
+		
+		for (int island : islands) {
+			output.writeInt(island);
+		}
+		
+		output.flush();
+	}
+	
+	/**
+	 * Reads a length-prefixed block of encoded solutions.
+	 * 
+	 * @return the block of encoded solutions
+	 * @throws IOException if an I/O error occurred
+	 */
+	public byte[] readBlock() throws IOException {
+		byte[] result = new byte[input.readInt()];
+		input.readFully(result);
+		return result;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		socket.close();
+	}
+	
+	/**
+	 * Encodes a collection of solutions into a block.
+	 * 
+	 * @param solutions the solutions
+	 * @return the block of encoded solutions
+	 * @throws IOException if an I/O error occurred
+	 */
+	public static byte[] encode(Collection<? extends Solution> solutions) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		
+		try (ObjectOutputStream out = new ObjectOutputStream(buffer)) {
+			out.writeInt(solutions.size());
+			
+			for (Solution solution : solutions) {
+				out.writeObject(solution);
+			}
+		}
+		
+		return buffer.toByteArray();
+	}
+	
+	/**
+	 * Decodes a block of solutions.
+	 * 
+	 * @param block the block of encoded solutions
+	 * @param problem the problem used to create the solutions
+	 * @return the decoded solutions
+	 * @throws IOException if an I/O error occurred or the solutions do not match the problem
+	 */
+	public static List<Solution> decode(byte[] block, Problem problem) throws IOException {
+		Solution template = problem.newSolution();
+		
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(block))) {
+			int size = in.readInt();
+			List<Solution> result = new ArrayList<Solution>(size);
+			
+			for (int i = 0; i < size; i++) {
+				Solution solution = (Solution)in.readObject();
+				
+				if (!isCompatible(solution, template)) {
+					throw new IOException("encoded solution does not match the problem definition");
+				}
+				
+				result.add(solution);
+			}
+			
+			return result;
+		} catch (ClassNotFoundException e) {
+			throw new IOException("encoded solution contains an unknown class", e);
+		}
+	}
+	
+	/**
+	 * Returns {@code true} if the solution has the same number of objectives and constraints as the template, and its
+	 * variables have the same types.
+	 * 
+	 * @param solution the decoded solution
+	 * @param template the solution created by the problem
+	 * @return {@code true} if the solution is compatible with the template; {@code false} otherwise
+	 */
+	private static boolean isCompatible(Solution solution, Solution template) {
+		if ((solution.getNumberOfVariables() != template.getNumberOfVariables()) ||
+				(solution.getNumberOfObjectives() != template.getNumberOfObjectives()) ||
+				(solution.getNumberOfConstraints() != template.getNumberOfConstraints())) {
+			return false;
+		}
+		
+		for (int i = 0; i < solution.getNumberOfVariables(); i++) {
+			if (solution.getVariable(i).getClass() != template.getVariable(i).getClass()) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+
+}
@@ -0,0 +1,36 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.parallel.island.executor;
+
+import org.moeaframework.parallel.island.IslandModel;
+
+/**
+ * Creates the island model run by a {@link ProcessIslandExecutor}.  Since each process must reconstruct the same
+ * island model, implementations must be public classes with a public, no-argument constructor, and must create the
+ * same islands, in the same order, every time {@link #createIslandModel()} is called.
+ */
+public interface IslandModelFactory {
+	
+	/**
+	 * Creates a new instance of the island model.
+	 * 
+	 * @return the island model
+	 */
+	public IslandModel createIslandModel();
+
+}
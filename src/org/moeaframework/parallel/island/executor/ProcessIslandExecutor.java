@@ -0,0 +1,292 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.parallel.island.executor;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.parallel.island.Island;
+import org.moeaframework.parallel.island.IslandModel;
+import org.moeaframework.util.validate.Validate;
+
+/**
+ * Island model executor that runs the islands in separate JVM processes on the local machine, allowing the islands to
+ * scale beyond a single heap and isolating garbage collection pauses.  Islands are assigned to the processes in a
+ * round-robin fashion, with each process running its islands on separate threads.
+ * <p>
+ * The island model is created by an {@link IslandModelFactory}, which is instantiated in each process.  This
+ * executor acts as the coordinator: it accepts connections from the worker processes on the loopback address,
+ * forwards migrants between them, and merges the results from each island.  Migrants are exchanged using the
+ * model's {@link org.moeaframework.parallel.island.topology.Topology} and
+ * {@link org.moeaframework.parallel.island.migration.Migration} strategies, with solutions sent in a compact binary
+ * encoding.  The islands in the coordinator's own copy of the model are never run.
+ * <p>
+ * Worker processes are started using the current Java executable and class path.  Each island uses its own stream of
+ * random numbers, but as with {@link BasicIslandExecutor}, the timing of migrations is not reproducible.
+ */
+public class ProcessIslandExecutor implements IslandExecutor {
+	
+	/**
+	 * The maximum time, in milliseconds, to wait for the worker processes to connect or exit.
+	 */
+	private static final int TIMEOUT = 60000;
+	
+	/**
+	 * The class used to create the island model in each process.
+	 */
+	private final Class<? extends IslandModelFactory> factoryClass;
+	
+	/**
+	 * The coordinator's copy of the island model.
+	 */
+	private final IslandModel model;
+	
+	/**
+	 * The number of worker processes.
+	 */
+	private final int numberOfProcesses;
+	
+	/**
+	 * Constructs a new executor that runs each island in a separate process.
+	 * 
+	 * @param factoryClass the class used to create the island model, which must be public and provide a public,
+	 *        no-argument constructor
+	 */
+	public ProcessIslandExecutor(Class<? extends IslandModelFactory> factoryClass) {
+		this(factoryClass, Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Constructs a new executor that runs the islands in the given number of processes.  If there are fewer islands
+	 * than processes, one process is started per island.
+	 * 
+	 * @param factoryClass the class used to create the island model, which must be public and provide a public,
+	 *        no-argument constructor
+	 * @param numberOfProcesses the maximum number of worker processes
+	 */
+	public ProcessIslandExecutor(Class<? extends IslandModelFactory> factoryClass, int numberOfProcesses) {
+		super();
+		Validate.that("numberOfProcesses", numberOfProcesses).isGreaterThan(0);
+		
+		this.factoryClass = factoryClass;
+		
+		try {
+			model = factoryClass.getConstructor().newInstance().createIslandModel();
+		} catch (ReflectiveOperationException e) {
+			throw new FrameworkException("unable to create island model using " + factoryClass.getName(), e);
+		}
+		
+		Validate.that("islands", model.getIslands()).isNotEmpty();
+		
+		this.numberOfProcesses = Math.min(numberOfProcesses, model.getIslands().size());
+	}
+	
+	/**
+	 * Returns the coordinator's copy of the island model.  The islands in this model are not run.
+	 * 
+	 * @return the island model
+	 */
+	public IslandModel getModel() {
+		return model;
+	}
+	
+	/**
+	 * Returns the number of worker processes started by this executor.
+	 * 
+	 * @return the number of worker processes
+	 */
+	public int getNumberOfProcesses() {
+		return numberOfProcesses;
+	}
+
+	@Override
+	public NondominatedPopulation run(int maxEvaluations) {
+		List<Island> islands = model.getIslands();
+		int evaluationsPerIsland = maxEvaluations / islands.size();
+		long baseSeed = PRNG.nextLong();
+		
+		List<Process> processes = new ArrayList<Process>();
+		IslandConnection[] connections = new IslandConnection[numberOfProcesses];
+		ExecutorService executorService = Executors.newFixedThreadPool(numberOfProcesses);
+		NondominatedPopulation result = new NondominatedPopulation();
+		
+		try (ServerSocket server = new ServerSocket(0, numberOfProcesses, InetAddress.getLoopbackAddress())) {
+			server.setSoTimeout(TIMEOUT);
+			
+			for (int i = 0; i < numberOfProcesses; i++) {
+				processes.add(createWorker(i, server.getLocalPort()).start());
+			}
+			
+			//workers may connect in any order, so they identify themselves when connecting
+			for (int i = 0; i < numberOfProcesses; i++) {
+				Socket socket = server.accept();
+				IslandConnection connection = new IslandConnection(socket);
+				DataInputStream input = connection.getInput();
+				
+				if (input.readByte() != IslandConnection.HELLO) {
+					connection.close();
+					throw new IOException("unexpected message from worker");
+				}
+				
+				connections[input.readInt()] = connection;
+			}
+			
+			for (int i = 0; i < numberOfProcesses; i++) {
+				List<Integer> assigned = new ArrayList<Integer>();
+				
+				for (int j = i; j < islands.size(); j += numberOfProcesses) {
+					assigned.add(j);
+				}
+				
+				connections[i].sendAssignment(evaluationsPerIsland, baseSeed, assigned);
+			}
+			
+			List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			
+			for (int i = 0; i < numberOfProcesses; i++) {
+				final IslandConnection connection = connections[i];
+				
+				futures.add(executorService.submit(new Callable<Void>() {
+
+					@Override
+					public Void call() throws IOException {
+						receive(connection, connections, result);
+						return null;
+					}
+					
+				}));
+			}
+			
+			for (Future<Void> future : futures) {
+				future.get();
+			}
+			
+			//all islands are finished, so no more migrants will be sent
+			for (IslandConnection connection : connections) {
+				connection.send(IslandConnection.SHUTDOWN);
+			}
+			
+			for (Process process : processes) {
+				process.waitFor(TIMEOUT, TimeUnit.MILLISECONDS);
+			}
+		} catch (IOException e) {
+			throw new FrameworkException("failed to communicate with worker processes", e);
+		} catch (InterruptedException e) {
+			throw new FrameworkException("execution was interrupted", e);
+		} catch (ExecutionException e) {
+			throw new FrameworkException("execution failed", e);
+		} finally {
+			executorService.shutdownNow();
+			
+			for (IslandConnection connection : connections) {
+				if (connection != null) {
+					try {
+						connection.close();
+					} catch (IOException e) {
+						//ignore, the process is destroyed below
+					}
+				}
+			}
+			
+			for (Process process : processes) {
+				process.destroy();
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Handles the messages sent by one worker, forwarding migrants to the worker running the destination island and
+	 * merging the results, until the worker is done.
+	 * 
+	 * @param connection the connection to the worker
+	 * @param connections the connections to all workers, indexed by the worker index
+	 * @param result the aggregated result
+	 * @throws IOException if an I/O error occurred or the worker failed
+	 */
+	private void receive(IslandConnection connection, IslandConnection[] connections, NondominatedPopulation result)
+			throws IOException {
+		DataInputStream input = connection.getInput();
+		
+		while (true) {
+			byte tag = input.readByte();
+			
+			if (tag == IslandConnection.DONE) {
+				return;
+			} else if (tag == IslandConnection.MIGRATE) {
+				int island = input.readInt();
+				connections[island % numberOfProcesses].send(IslandConnection.MIGRATE, island, connection.readBlock());
+			} else if (tag == IslandConnection.RESULT) {
+				Island island = model.getIslands().get(input.readInt());
+				byte[] block = connection.readBlock();
+				
+				synchronized (result) {
+					result.addAll(IslandConnection.decode(block, island.getAlgorithm().getProblem()));
+				}
+			} else if (tag == IslandConnection.ERROR) {
+				throw new IOException("worker failed: " + input.readUTF());
+			} else {
+				throw new IOException("unexpected message from worker: " + tag);
+			}
+		}
+	}
+	
+	/**
+	 * Creates the process builder for starting a worker process.  Subclasses can override this method to customize
+	 * the command, such as by passing additional options to the JVM.
+	 * 
+	 * @param workerIndex the index of the worker
+	 * @param port the port the coordinator is listening on, using the loopback address
+	 * @return the process builder
+	 */
+	protected ProcessBuilder createWorker(int workerIndex, int port) {
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		
+		return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+				ProcessIslandWorker.class.getName(), factoryClass.getName(), Integer.toString(port),
+				Integer.toString(workerIndex))
+				.redirectOutput(Redirect.INHERIT)
+				.redirectError(Redirect.INHERIT);
+	}
+
+	/**
+	 * Worker processes only run while {@link #run(int)} is executing, so there are no resources to release.
+	 */
+	@Override
+	public void close() throws IOException {
+		//nothing to close
+	}
+
+}
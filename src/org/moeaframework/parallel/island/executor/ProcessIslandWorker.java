@@ -0,0 +1,216 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.parallel.island.executor;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Solution;
+import org.moeaframework.parallel.island.Island;
+import org.moeaframework.parallel.island.IslandModel;
+
+/**
+ * Worker process started by {@link ProcessIslandExecutor}.  Each worker reconstructs the island model, runs the
+ * islands assigned to it on separate threads, and exchanges migrants with the other workers through the coordinator.
+ * Islands assigned to other workers are replaced by islands with a {@link RemoteImmigrationQueue}, so the existing
+ * {@link org.moeaframework.parallel.island.topology.Topology} and
+ * {@link org.moeaframework.parallel.island.migration.Migration} strategies work unchanged.
+ * <p>
+ * This class is not intended to be run directly.
+ */
+public class ProcessIslandWorker {
+	
+	/**
+	 * The island model, as created by this worker.
+	 */
+	private final IslandModel model;
+	
+	/**
+	 * The connection to the coordinator.
+	 */
+	private final IslandConnection connection;
+	
+	/**
+	 * Constructs a new worker.
+	 * 
+	 * @param model the island model
+	 * @param connection the connection to the coordinator
+	 */
+	ProcessIslandWorker(IslandModel model, IslandConnection connection) {
+		super();
+		this.model = model;
+		this.connection = connection;
+	}
+	
+	/**
+	 * Runs the worker until the coordinator sends the shutdown message.
+	 * 
+	 * @param workerIndex the index of this worker
+	 * @throws IOException if an I/O error occurred while communicating with the coordinator
+	 */
+	void run(int workerIndex) throws IOException {
+		DataInputStream input = connection.getInput();
+		connection.send(IslandConnection.HELLO, workerIndex);
+		
+		if (input.readByte() != IslandConnection.ASSIGN) {
+			throw new IOException("expected assignment from coordinator");
+		}
+		
+		int evaluationsPerIsland = input.readInt();
+		long baseSeed = input.readLong();
+		boolean[] assigned = new boolean[model.getIslands().size()];
+		int numberOfAssigned = input.readInt();
+		
+		for (int i = 0; i < numberOfAssigned; i++) {
+			assigned[input.readInt()] = true;
+		}
+		
+		//islands running in other processes receive migrants through the coordinator
+		IslandModel localModel = new IslandModel(model.getMigrationFrequency(), model.getMigration(),
+				model.getTopology());
+		
+		for (int i = 0; i < assigned.length; i++) {
+			Island island = model.getIslands().get(i);
+			
+			if (assigned[i]) {
+				localModel.addIsland(island);
+			} else {
+				localModel.addIsland(new Island(island.getAlgorithm(), island.getPopulation(),
+						new RemoteImmigrationQueue(connection, i)));
+			}
+		}
+		
+		Thread reader = new Thread(() -> receive(localModel), "ProcessIslandWorker-" + workerIndex);
+		reader.setDaemon(true);
+		reader.start();
+		
+		ExecutorService executorService = Executors.newFixedThreadPool(numberOfAssigned);
+		
+		try {
+			List<Integer> indices = new ArrayList<Integer>();
+			List<Future<NondominatedPopulation>> futures = new ArrayList<Future<NondominatedPopulation>>();
+			
+			for (int i = 0; i < assigned.length; i++) {
+				if (assigned[i]) {
+					final Island island = localModel.getIslands().get(i);
+					
+					indices.add(i);
+					futures.add(executorService.submit(PRNG.withSeed(PRNG.deriveSeed(baseSeed, i),
+							new Callable<NondominatedPopulation>() {
+
+						@Override
+						public NondominatedPopulation call() {
+							Algorithm algorithm = island.getAlgorithm();
+							algorithm.addExtension(new IslandMigrationExtension(island, localModel));
+							algorithm.run(evaluationsPerIsland);
+							return algorithm.getResult();
+						}
+						
+					})));
+				}
+			}
+			
+			for (int i = 0; i < futures.size(); i++) {
+				NondominatedPopulation result = futures.get(i).get();
+				connection.send(IslandConnection.RESULT, indices.get(i), IslandConnection.encode(result.asList()));
+			}
+			
+			connection.send(IslandConnection.DONE);
+		} catch (InterruptedException e) {
+			connection.send(IslandConnection.ERROR, "execution was interrupted");
+		} catch (ExecutionException e) {
+			connection.send(IslandConnection.ERROR, String.valueOf(e.getCause()));
+		} finally {
+			executorService.shutdown();
+		}
+		
+		try {
+			reader.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Receives migrants forwarded by the coordinator until the shutdown message arrives.
+	 * 
+	 * @param localModel the island model, where the islands run by this worker have local immigration queues
+	 */
+	private void receive(IslandModel localModel) {
+		DataInputStream input = connection.getInput();
+		
+		try {
+			while (true) {
+				byte tag = input.readByte();
+				
+				if (tag == IslandConnection.SHUTDOWN) {
+					return;
+				} else if (tag == IslandConnection.MIGRATE) {
+					Island island = localModel.getIslands().get(input.readInt());
+					List<Solution> immigrants = IslandConnection.decode(connection.readBlock(),
+							island.getAlgorithm().getProblem());
+					island.getImmigrationQueue().addAll(immigrants);
+				} else {
+					throw new IOException("unexpected message from coordinator: " + tag);
+				}
+			}
+		} catch (EOFException e) {
+			//the coordinator closed the connection after a failure elsewhere; terminate the process
+			System.exit(-1);
+		} catch (IOException e) {
+			//the coordinator is unreachable, so there is nobody to report to; terminate the process
+			System.err.println("lost connection to coordinator: " + e.getMessage());
+			System.exit(-1);
+		}
+	}
+	
+	/**
+	 * Starts the worker process.  The arguments are the name of the {@link IslandModelFactory} class, the port of the
+	 * coordinator on the loopback address, and the index of this worker.
+	 * 
+	 * @param args the command line arguments
+	 * @throws Exception if the worker failed
+	 */
+	public static void main(String[] args) throws Exception {
+		if (args.length != 3) {
+			throw new FrameworkException("expected arguments: <factory> <port> <workerIndex>");
+		}
+		
+		IslandModelFactory factory = (IslandModelFactory)Class.forName(args[0]).getConstructor().newInstance();
+		
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(args[1]));
+				IslandConnection connection = new IslandConnection(socket)) {
+			new ProcessIslandWorker(factory.createIslandModel(), connection).run(Integer.parseInt(args[2]));
+		}
+	}
+
+}
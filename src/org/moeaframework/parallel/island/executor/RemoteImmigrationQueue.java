@@ -0,0 +1,88 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.parallel.island.executor;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.Solution;
+import org.moeaframework.parallel.util.ImmigrationQueue;
+
+/**
+ * Immigration queue for an island running in another process.  Solutions added to this queue are encoded and sent to
+ * the coordinator, which forwards them to the process running the island.  Nothing is ever stored locally.
+ */
+class RemoteImmigrationQueue extends ImmigrationQueue {
+	
+	/**
+	 * The connection to the coordinator.
+	 */
+	private final IslandConnection connection;
+	
+	/**
+	 * The index of the destination island.
+	 */
+	private final int island;
+	
+	/**
+	 * Constructs a new immigration queue for an island running in another process.
+	 * 
+	 * @param connection the connection to the coordinator
+	 * @param island the index of the destination island
+	 */
+	public RemoteImmigrationQueue(IslandConnection connection, int island) {
+		super();
+		this.connection = connection;
+		this.island = island;
+	}
+	
+	@Override
+	public void add(Solution solution) {
+		send(List.of(solution));
+	}
+	
+	@Override
+	public void addAll(Solution[] solutions) {
+		send(List.of(solutions));
+	}
+	
+	@Override
+	public void addAll(Collection<? extends Solution> solutions) {
+		send(solutions);
+	}
+	
+	/**
+	 * Sends the solutions to the destination island.
+	 * 
+	 * @param solutions the migrating solutions
+	 */
+	private void send(Collection<? extends Solution> solutions) {
+		if (solutions.isEmpty()) {
+			return;
+		}
+		
+		try {
+			connection.send(IslandConnection.MIGRATE, island, IslandConnection.encode(solutions));
+		} catch (IOException e) {
+			throw new FrameworkException("failed to send migrants to island " + island, e);
+		}
+	}
+
+}
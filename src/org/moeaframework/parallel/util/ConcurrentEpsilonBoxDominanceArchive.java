@@ -0,0 +1,413 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.parallel.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.moeaframework.core.EpsilonBoxDominanceArchive;
+import org.moeaframework.core.Epsilons;
+import org.moeaframework.core.ObjectiveMatrix;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.EpsilonBoxDominanceComparator;
+
+/**
+ * A thread-safe &epsilon;-box dominance archive that can be shared by multiple algorithms running concurrently, such
+ * as the master archive used by islands.
+ * <p>
+ * Most solutions offered to an archive are rejected, so rejections are decided concurrently by reading the
+ * &epsilon;-box index under a shared lock.  Only solutions that are added to this archive acquire the exclusive lock,
+ * and the index is checked again before modifying this archive.  A solution that is dominated by a solution in this
+ * archive remains dominated after any later additions, so the rejection is never invalidated by a concurrent
+ * addition.  Since a dominating solution can remove solutions from any box, all modifications share one exclusive
+ * lock rather than locking individual boxes.
+ * <p>
+ * Reading methods, including {@link #size()}, {@link #get(int)}, and {@link #iterator()}, use an immutable snapshot
+ * of this archive that is rebuilt after each modification.  Iterators never throw
+ * {@link java.util.ConcurrentModificationException} and see a consistent snapshot.  However, separate calls such as
+ * {@code size()} followed by {@code get(index)} can observe different snapshots; use {@link #snapshot()} when
+ * consistency between calls is required.  The improvement counters are only updated under the exclusive lock, so no
+ * improvements are lost.
+ * <p>
+ * As with {@link ImmigrationQueue}, solutions must not be modified after they are added to this archive.  The
+ * &epsilon;-box index requires the default {@link EpsilonBoxDominanceComparator}; with a subclass of the comparator,
+ * every addition acquires the exclusive lock.
+ */
+public class ConcurrentEpsilonBoxDominanceArchive extends EpsilonBoxDominanceArchive {
+	
+	/**
+	 * The lock guarding this archive.  The exclusive lock is held while modifying this archive.
+	 */
+	private final ReentrantReadWriteLock lock;
+	
+	/**
+	 * The immutable snapshot of the solutions in this archive, or {@code null} if this archive was modified since the
+	 * snapshot was created.
+	 */
+	private volatile List<Solution> snapshot;
+	
+	/**
+	 * Constructs an empty, thread-safe &epsilon;-box dominance archive using an additive &epsilon;-box dominance
+	 * comparator with the specified &epsilon; values.
+	 * 
+	 * @param epsilons the &epsilon; values used by the additive &epsilon;-box dominance comparator
+	 */
+	public ConcurrentEpsilonBoxDominanceArchive(Epsilons epsilons) {
+		this(new EpsilonBoxDominanceComparator(epsilons));
+	}
+	
+	/**
+	 * Constructs an empty, thread-safe &epsilon;-box dominance archive using the specified &epsilon;-box dominance
+	 * comparator.
+	 * 
+	 * @param comparator the &epsilon;-box dominance comparator used by this archive
+	 */
+	public ConcurrentEpsilonBoxDominanceArchive(EpsilonBoxDominanceComparator comparator) {
+		super(comparator);
+		lock = new ReentrantReadWriteLock();
+	}
+	
+	/**
+	 * Constructs a thread-safe &epsilon;-box dominance archive using the specified &epsilon;-box dominance comparator
+	 * and initialized with the specified solutions.
+	 * 
+	 * @param comparator the &epsilon;-box dominance comparator used by this archive
+	 * @param iterable the solutions used to initialize this archive
+	 */
+	public ConcurrentEpsilonBoxDominanceArchive(EpsilonBoxDominanceComparator comparator,
+			Iterable<? extends Solution> iterable) {
+		this(comparator);
+		addAll(iterable);
+	}
+	
+	/**
+	 * Returns an immutable snapshot of the solutions in this archive.  The snapshot is not affected by later
+	 * modifications to this archive.
+	 * 
+	 * @return the snapshot of the solutions in this archive
+	 */
+	public List<Solution> snapshot() {
+		List<Solution> result = snapshot;
+		
+		if (result == null) {
+			lock.readLock().lock();
+			
+			try {
+				// holding the shared lock prevents a modification from discarding the snapshot while it is created
+				List<Solution> solutions = new ArrayList<Solution>(super.size());
+				
+				for (int i = 0; i < super.size(); i++) {
+					solutions.add(super.get(i));
+				}
+				
+				result = List.copyOf(solutions);
+				
+				if (!isModifying()) {
+					snapshot = result;
+				}
+			} finally {
+				lock.readLock().unlock();
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Returns {@code true} if the current thread is modifying this archive, in which case the reading methods must
+	 * use the current contents rather than the snapshot.
+	 * 
+	 * @return {@code true} if the current thread holds the exclusive lock
+	 */
+	private boolean isModifying() {
+		return lock.isWriteLockedByCurrentThread();
+	}
+	
+	@Override
+	public boolean add(Solution newSolution) {
+		lock.readLock().lock();
+		
+		try {
+			if (isRejected(newSolution)) {
+				return false;
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		
+		lock.writeLock().lock();
+		
+		try {
+			boolean added = super.add(newSolution);
+			
+			if (added) {
+				snapshot = null;
+			}
+			
+			return added;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	@Override
+	protected boolean forceAddWithoutCheck(Solution newSolution) {
+		lock.writeLock().lock();
+		
+		try {
+			snapshot = null;
+			return super.forceAddWithoutCheck(newSolution);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	@Override
+	public void remove(int index) {
+		lock.writeLock().lock();
+		
+		try {
+			snapshot = null;
+			super.remove(index);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	@Override
+	public boolean remove(Solution solution) {
+		lock.writeLock().lock();
+		
+		try {
+			snapshot = null;
+			return super.remove(solution);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	@Override
+	public void clear() {
+		lock.writeLock().lock();
+		
+		try {
+			snapshot = null;
+			super.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	@Override
+	public void sort(Comparator<? super Solution> comparator) {
+		lock.writeLock().lock();
+		
+		try {
+			snapshot = null;
+			super.sort(comparator);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	@Override
+	public void truncate(int size, Comparator<? super Solution> comparator) {
+		lock.writeLock().lock();
+		
+		try {
+			snapshot = null;
+			super.truncate(size, comparator);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	@Override
+	public Solution get(int index) {
+		return isModifying() ? super.get(index) : snapshot().get(index);
+	}
+	
+	@Override
+	public int size() {
+		return isModifying() ? super.size() : snapshot().size();
+	}
+	
+	@Override
+	public boolean isEmpty() {
+		return isModifying() ? super.isEmpty() : snapshot().isEmpty();
+	}
+	
+	@Override
+	public int indexOf(Solution solution) {
+		return isModifying() ? super.indexOf(solution) : snapshot().indexOf(solution);
+	}
+	
+	@Override
+	public boolean contains(Solution solution) {
+		return isModifying() ? super.contains(solution) : snapshot().contains(solution);
+	}
+	
+	/**
+	 * Returns an iterator over a snapshot of this archive.  The iterator is not affected by later modifications to
+	 * this archive.  Calling {@link Iterator#remove()} removes the solution from this archive.
+	 */
+	@Override
+	public Iterator<Solution> iterator() {
+		return isModifying() ? super.iterator() : new SnapshotIterator(snapshot());
+	}
+	
+	@Override
+	public List<Solution> asList() {
+		return isModifying() ? super.asList() : new ArrayList<Solution>(snapshot());
+	}
+	
+	@Override
+	public ObjectiveMatrix getObjectiveMatrix() {
+		lock.readLock().lock();
+		
+		try {
+			return super.getObjectiveMatrix();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	@Override
+	public int getNumberOfImprovements() {
+		lock.readLock().lock();
+		
+		try {
+			return super.getNumberOfImprovements();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	@Override
+	public int getNumberOfDominatingImprovements() {
+		lock.readLock().lock();
+		
+		try {
+			return super.getNumberOfDominatingImprovements();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Returns a thread-safe copy of this archive.
+	 */
+	@Override
+	public ConcurrentEpsilonBoxDominanceArchive copy() {
+		ConcurrentEpsilonBoxDominanceArchive result = new ConcurrentEpsilonBoxDominanceArchive(getComparator());
+		
+		for (Solution solution : snapshot()) {
+			result.forceAddWithoutCheck(solution.copy());
+		}
+		
+		return result;
+	}
+	
+	@Override
+	public void saveState(ObjectOutputStream stream) throws IOException {
+		lock.readLock().lock();
+		
+		try {
+			super.saveState(stream);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	@Override
+	public void loadState(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+		lock.writeLock().lock();
+		
+		try {
+			snapshot = null;
+			super.loadState(stream);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Iterates over a snapshot of this archive.
+	 */
+	private class SnapshotIterator implements Iterator<Solution> {
+		
+		/**
+		 * The snapshot being iterated.
+		 */
+		private final List<Solution> solutions;
+		
+		/**
+		 * The index of the next solution.
+		 */
+		private int nextIndex;
+		
+		/**
+		 * The solution returned by the last call to {@link #next()}, or {@code null} if none or it was removed.
+		 */
+		private Solution current;
+		
+		/**
+		 * Constructs a new iterator over the given snapshot.
+		 * 
+		 * @param solutions the snapshot being iterated
+		 */
+		public SnapshotIterator(List<Solution> solutions) {
+			super();
+			this.solutions = solutions;
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return nextIndex < solutions.size();
+		}
+		
+		@Override
+		public Solution next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			
+			current = solutions.get(nextIndex++);
+			return current;
+		}
+		
+		@Override
+		public void remove() {
+			if (current == null) {
+				throw new IllegalStateException();
+			}
+			
+			ConcurrentEpsilonBoxDominanceArchive.this.remove(current);
+			current = null;
+		}
+		
+	}
+
+}
@@ -20,80 +20,175 @@ package org.moeaframework.parallel.util;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.moeaframework.core.Solution;
 
 /**
- * A queue for tracking migrating solutions that is (1) thread-safe, and (2) automatically creates copies of the
- * solutions to avoid issues in shared-memory environments.
+ * A queue for tracking migrating solutions that is (1) thread-safe and non-blocking, and (2) automatically creates
+ * copies of the solutions to avoid issues in shared-memory environments.
+ * <p>
+ * Solutions are copied when they are removed from the queue, so the sending island is never delayed by copying.
+ * Consequently, the sender must not modify the variables, objectives, or constraints of a solution after adding it
+ * to the queue; attributes are never copied.  By default the queue is unbounded, but a bounded queue backed by a
+ * lock-free {@link RingBuffer} can be used to limit the number of waiting migrants when the receiving island is slow,
+ * with the {@link OverflowPolicy} deciding which migrants are dropped.
+ * <p>
+ * The queue also tracks the number of migrants added, dropped, and received, along with the time migrants spend
+ * waiting in the queue.
  */
 public class ImmigrationQueue {
 	
+	/**
+	 * Determines which solutions are dropped when adding to a full, bounded queue.
+	 */
+	public enum OverflowPolicy {
+		
+		/**
+		 * Drops the solution being added, keeping the solutions already in the queue.
+		 */
+		DROP_NEWEST,
+		
+		/**
+		 * Replaces the oldest solutions in the queue with the solution being added.
+		 */
+		DROP_OLDEST
+		
+	}
+	
 	/**
 	 * The underlying thread-safe queue.
 	 */
-	private final Queue<Solution> queue;
+	private final Queue<Immigrant> queue;
+	
+	/**
+	 * The maximum number of solutions in the queue, or {@link Integer#MAX_VALUE} if unbounded.
+	 */
+	private final int capacity;
+	
+	/**
+	 * The policy used when adding to a full queue.
+	 */
+	private final OverflowPolicy overflowPolicy;
+	
+	/**
+	 * The number of solutions added to this queue, including those later dropped.
+	 */
+	private final LongAdder numberAdded;
+	
+	/**
+	 * The number of solutions dropped because the queue was full.
+	 */
+	private final LongAdder numberDropped;
+	
+	/**
+	 * The number of solutions removed from this queue.
+	 */
+	private final LongAdder numberReceived;
 	
 	/**
-	 * Creates a new, empty immigration queue.
+	 * The total time, in nanoseconds, the received solutions spent waiting in this queue.
+	 */
+	private final LongAdder totalLatency;
+	
+	/**
+	 * Creates a new, empty, unbounded immigration queue.
 	 */
 	public ImmigrationQueue() {
+		this(Integer.MAX_VALUE, OverflowPolicy.DROP_NEWEST);
+	}
+	
+	/**
+	 * Creates a new, empty immigration queue storing at most {@code capacity} solutions.
+	 * 
+	 * @param capacity the maximum number of solutions in the queue, or {@link Integer#MAX_VALUE} if unbounded
+	 * @param overflowPolicy the policy used when adding to a full queue
+	 */
+	public ImmigrationQueue(int capacity, OverflowPolicy overflowPolicy) {
 		super();
-		queue = new ConcurrentLinkedQueue<Solution>();
+		this.capacity = capacity;
+		this.overflowPolicy = overflowPolicy;
+		
+		queue = capacity == Integer.MAX_VALUE ? new ConcurrentLinkedQueue<Immigrant>() :
+			new RingBuffer<Immigrant>(capacity);
+		
+		numberAdded = new LongAdder();
+		numberDropped = new LongAdder();
+		numberReceived = new LongAdder();
+		totalLatency = new LongAdder();
 	}
 	
 	/**
-	 * Adds a copy of the solution to this immigration queue.
+	 * Adds the solution to this immigration queue.  The solution is copied when it is removed.
 	 * 
 	 * @param solution the solution to add
 	 */
 	public void add(Solution solution) {
-		queue.add(solution.copy());
+		Immigrant immigrant = new Immigrant(solution);
+		numberAdded.increment();
+		
+		while (!queue.offer(immigrant)) {
+			if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+				numberDropped.increment();
+				return;
+			} else if (queue.poll() != null) {
+				numberDropped.increment();
+			}
+		}
 	}
 	
 	/**
-	 * Adds a copy of all solutions to this immigration queue.
+	 * Adds all solutions to this immigration queue.  The solutions are copied when they are removed.
 	 * 
 	 * @param solutions the solutions to add
 	 */
 	public void addAll(Solution[] solutions) {
 		for (Solution solution : solutions) {
-			queue.add(solution.copy());
+			add(solution);
 		}
 	}
 	
 	/**
-	 * Adds a copy of all solutions to this immigration queue.
+	 * Adds all solutions to this immigration queue.  The solutions are copied when they are removed.
 	 * 
 	 * @param solutions the solutions to add
 	 */
 	public void addAll(Collection<? extends Solution> solutions) {
 		for (Solution solution : solutions) {
-			queue.add(solution.copy());
+			add(solution);
 		}
 	}
 	
 	/**
-	 * Removes and returns one solution from this immigration queue.
+	 * Removes and returns a copy of one solution from this immigration queue.
 	 * 
 	 * @return the solution that was removed
+	 * @throws NoSuchElementException if this queue is empty
 	 */
 	public Solution pop() {
-		return queue.remove();
+		Immigrant immigrant = queue.poll();
+		
+		if (immigrant == null) {
+			throw new NoSuchElementException();
+		}
+		
+		return receive(immigrant);
 	}
 	
 	/**
-	 * Removes and returns all solutions currently in the immigration queue.
+	 * Removes and returns a copy of all solutions currently in the immigration queue.
 	 * 
 	 * @return the solutions that were removed
 	 */
 	public List<Solution> popAll() {
 		List<Solution> result = new ArrayList<Solution>();
+		Immigrant immigrant = null;
 		
-		while (!queue.isEmpty()) {
-			result.add(queue.remove());
+		while ((immigrant = queue.poll()) != null) {
+			result.add(receive(immigrant));
 		}
 		
 		return result;
@@ -116,5 +211,119 @@ public class ImmigrationQueue {
 	public boolean isEmpty() {
 		return queue.isEmpty();
 	}
+	
+	/**
+	 * Returns the maximum number of solutions in this queue.
+	 * 
+	 * @return the capacity, or {@link Integer#MAX_VALUE} if unbounded
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+	
+	/**
+	 * Returns the policy used when adding to a full queue.
+	 * 
+	 * @return the overflow policy
+	 */
+	public OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+	
+	/**
+	 * Returns the number of solutions added to this queue, including those later dropped.
+	 * 
+	 * @return the number of solutions added
+	 */
+	public long getNumberAdded() {
+		return numberAdded.sum();
+	}
+	
+	/**
+	 * Returns the number of solutions dropped because this queue was full.
+	 * 
+	 * @return the number of solutions dropped
+	 */
+	public long getNumberDropped() {
+		return numberDropped.sum();
+	}
+	
+	/**
+	 * Returns the number of solutions removed from this queue.
+	 * 
+	 * @return the number of solutions received
+	 */
+	public long getNumberReceived() {
+		return numberReceived.sum();
+	}
+	
+	/**
+	 * Returns the average time the received solutions spent waiting in this queue.
+	 * 
+	 * @return the average latency, in seconds, or {@code 0.0} if no solutions were received
+	 */
+	public double getMeanLatency() {
+		long count = numberReceived.sum();
+		return count == 0 ? 0.0 : totalLatency.sum() / (count * 1e9);
+	}
+	
+	/**
+	 * Records the solution as received and returns a copy.
+	 * 
+	 * @param immigrant the immigrant removed from the queue
+	 * @return a copy of the solution
+	 */
+	private Solution receive(Immigrant immigrant) {
+		totalLatency.add(System.nanoTime() - immigrant.getSendTime());
+		numberReceived.increment();
+		return immigrant.getSolution().copy();
+	}
+	
+	/**
+	 * A solution waiting in the queue along with the time it was added.
+	 */
+	private static class Immigrant {
+		
+		/**
+		 * The migrating solution.
+		 */
+		private final Solution solution;
+		
+		/**
+		 * The time, in nanoseconds, the solution was added to the queue.
+		 */
+		private final long sendTime;
+		
+		/**
+		 * Constructs a new immigrant, recording the current time.
+		 * 
+		 * @param solution the migrating solution
+		 */
+		public Immigrant(Solution solution) {
+			super();
+			this.solution = solution;
+			
+			sendTime = System.nanoTime();
+		}
+		
+		/**
+		 * Returns the migrating solution.
+		 * 
+		 * @return the migrating solution
+		 */
+		public Solution getSolution() {
+			return solution;
+		}
+		
+		/**
+		 * Returns the time, in nanoseconds, the solution was added to the queue.
+		 * 
+		 * @return the time the solution was added
+		 */
+		public long getSendTime() {
+			return sendTime;
+		}
+		
+	}
 
 }
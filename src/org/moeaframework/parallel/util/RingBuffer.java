@@ -0,0 +1,215 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.parallel.util;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.moeaframework.util.validate.Validate;
+
+/**
+ * Bounded, lock-free queue backed by a ring buffer, supporting any number of concurrent producers and consumers.  Each
+ * slot stores a sequence number identifying whether it is ready to be written or read in the current lap around the
+ * buffer, so producers and consumers only contend on a single compare-and-set.  Unlike
+ * {@link java.util.concurrent.ArrayBlockingQueue}, no locks are held and {@link #offer(Object)} fails immediately when
+ * the buffer is full.
+ * <p>
+ * The size and iterator are weakly consistent, reflecting the state of the buffer at some point during the call.
+ * 
+ * @param <E> the type of elements stored in this queue
+ */
+public class RingBuffer<E> extends AbstractQueue<E> {
+	
+	/**
+	 * The maximum number of elements stored in this buffer.
+	 */
+	private final int capacity;
+	
+	/**
+	 * The slots storing the elements.
+	 */
+	private final AtomicReferenceArray<E> elements;
+	
+	/**
+	 * The sequence number of each slot.  A slot can be written at position {@code p} when its sequence is {@code p},
+	 * and read when its sequence is {@code p + 1}.
+	 */
+	private final AtomicLongArray sequences;
+	
+	/**
+	 * The position of the next element to be read.
+	 */
+	private final AtomicLong head;
+	
+	/**
+	 * The position of the next element to be written.
+	 */
+	private final AtomicLong tail;
+	
+	/**
+	 * Constructs a new, empty ring buffer.
+	 * 
+	 * @param capacity the maximum number of elements stored in this buffer
+	 */
+	public RingBuffer(int capacity) {
+		super();
+		Validate.that("capacity", capacity).isGreaterThan(0);
+		
+		this.capacity = capacity;
+		
+		elements = new AtomicReferenceArray<E>(capacity);
+		sequences = new AtomicLongArray(capacity);
+		head = new AtomicLong();
+		tail = new AtomicLong();
+		
+		for (int i = 0; i < capacity; i++) {
+			sequences.set(i, i);
+		}
+	}
+	
+	/**
+	 * Returns the maximum number of elements stored in this buffer.
+	 * 
+	 * @return the capacity of this buffer
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+	
+	/**
+	 * Inserts the element if space is available, returning immediately.
+	 * 
+	 * @param element the element to insert
+	 * @return {@code true} if the element was inserted; {@code false} if this buffer is full
+	 * @throws NullPointerException if the element is {@code null}
+	 */
+	@Override
+	public boolean offer(E element) {
+		if (element == null) {
+			throw new NullPointerException("ring buffer does not permit null elements");
+		}
+		
+		long position = tail.get();
+		
+		while (true) {
+			int index = (int)(position % capacity);
+			long difference = sequences.get(index) - position;
+			
+			if (difference == 0) {
+				if (tail.compareAndSet(position, position + 1)) {
+					elements.set(index, element);
+					sequences.set(index, position + 1);
+					return true;
+				}
+				
+				position = tail.get();
+			} else if (difference < 0) {
+				return false;
+			} else {
+				position = tail.get();
+			}
+		}
+	}
+
+	/**
+	 * Removes and returns the oldest element, returning immediately.
+	 * 
+	 * @return the oldest element, or {@code null} if this buffer is empty
+	 */
+	@Override
+	public E poll() {
+		long position = head.get();
+		
+		while (true) {
+			int index = (int)(position % capacity);
+			long difference = sequences.get(index) - (position + 1);
+			
+			if (difference == 0) {
+				if (head.compareAndSet(position, position + 1)) {
+					E element = elements.getAndSet(index, null);
+					sequences.set(index, position + capacity);
+					return element;
+				}
+				
+				position = head.get();
+			} else if (difference < 0) {
+				return null;
+			} else {
+				position = head.get();
+			}
+		}
+	}
+
+	@Override
+	public E peek() {
+		while (true) {
+			long position = head.get();
+			int index = (int)(position % capacity);
+			
+			if (sequences.get(index) != position + 1) {
+				return null;
+			}
+			
+			E element = elements.get(index);
+			
+			//the element is only valid if no consumer removed it while reading
+			if (element != null && head.get() == position) {
+				return element;
+			}
+		}
+	}
+
+	@Override
+	public int size() {
+		long position = head.get();
+		return (int)Math.max(0, Math.min(capacity, tail.get() - position));
+	}
+	
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * Returns an iterator over a snapshot of the elements in this buffer, from oldest to newest.  The iterator does not
+	 * support removal.
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		List<E> snapshot = new ArrayList<E>();
+		long end = tail.get();
+		
+		for (long position = head.get(); position < end; position++) {
+			int index = (int)(position % capacity);
+			E element = elements.get(index);
+			
+			if (element != null && sequences.get(index) == position + 1) {
+				snapshot.add(element);
+			}
+		}
+		
+		return Collections.unmodifiableList(snapshot).iterator();
+	}
+
+}
@@ -17,9 +17,14 @@
  */
 package org.moeaframework.problem;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -32,9 +37,22 @@ import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.commons.lang3.SystemUtils;
@@ -42,6 +60,7 @@ import org.moeaframework.core.Problem;
 import org.moeaframework.core.Settings;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.Variable;
+import org.moeaframework.core.variable.BinaryIntegerVariable;
 import org.moeaframework.core.variable.BinaryVariable;
 import org.moeaframework.core.variable.Permutation;
 import org.moeaframework.core.variable.RealVariable;
@@ -62,6 +81,41 @@ import org.moeaframework.util.validate.Validate;
  * process repeats in a loop until all solutions are evaluated, at which point the stream is closed.  We strongly
  * recommend flushing the output stream after writing each line to prevent buffering.
  * 
+ * <h2>Batch Evaluation</h2>
+ * By default, solutions evaluated together with {@link #evaluateAll(Iterable)}, such as when an algorithm evaluates
+ * its offspring, are still sent one at a time, waiting for each response before sending the next request.  Enable
+ * {@link Builder#withPipelining()} to instead stream all requests to the process without waiting for the responses,
+ * which are read as they arrive.  The external process must then buffer any input it reads beyond the current line,
+ * as the library provided in {@code examples/} does since this version; programs built against older versions of
+ * the library can lose requests.  Enable {@link Builder#withEvaluationIDs()}, which also enables pipelining, to
+ * prefix each request and response with an integer evaluation ID, separated by whitespace from the remaining values.
+ * The external process must echo the ID of the request in its response, but is then free to respond in any order,
+ * such as when evaluating several solutions concurrently.
+ * 
+ * <h2>Worker Pools</h2>
+ * Since each process evaluates one solution at a time, a single-threaded program can not make use of additional
+ * cores.  Use {@link Builder#withPoolSize(int)} to start multiple copies of the program, or
+ * {@link Builder#withSockets(InetSocketAddress...)} to connect to multiple processes, where each solution is evaluated
+ * by the next idle worker.  A batch evaluated by {@link #evaluateAll(Iterable)} is split among the workers.
+ * Alternatively, wrap this problem in a {@link org.moeaframework.parallel.DistributedProblem}, such as by calling
+ * {@link org.moeaframework.Executor#distributeOnAllCores()}, to evaluate solutions from multiple threads.
+ * 
+ * <h2>Binary Format</h2>
+ * Formatting and parsing decimal text can dominate the cost of evaluating inexpensive problems.  Enable
+ * {@link Builder#withBinaryFormat()} to instead send each request and response as a frame starting with its length in
+ * bytes, stored as a 4-byte unsigned integer, followed by the content.  All values are little-endian.  A request
+ * contains the 8-byte evaluation ID, if enabled, followed by each decision variable, starting with a one byte tag:
+ * <ul>
+ *   <li>{@code 'd'} - a real-valued variable stored as an 8-byte double
+ *   <li>{@code 'i'} - an integer-valued variable stored as a 4-byte integer
+ *   <li>{@code 'b'} - a binary variable storing the 4-byte number of bits followed by the bits, packed eight per byte
+ *   <li>{@code 'p'} - a permutation storing the 4-byte size, a 1-byte width, and the elements each packed using
+ *       width bits
+ *   <li>{@code 's'} - a subset storing the 4-byte size, a 1-byte width, and the members each packed using width bits
+ * </ul>
+ * Bits are packed starting with the least significant bit of each byte.  A response contains the 8-byte evaluation
+ * ID, if enabled, followed by the objectives and constraints stored as 8-byte doubles.
+ * 
  * <h2>Standard I/O</h2>
  * When using Standard I/O, a process is started and the data is transmitted over the standard input/output streams.
  * One limitation of this approach is the process can not use standard input/output for any other purpose, as that will
@@ -75,7 +129,8 @@ import org.moeaframework.util.validate.Validate;
  * To assist in writing the function in a native language, we provide {@code moeaframework.c} and
  * {@code moeaframework.h} under the {@code examples/} folder.  This library handles setting up the connection using
  * either I/O or sockets, parsing decision variables, and writing the objectives and constraints.  Furthermore, we can
- * use the {@link org.moeaframework.builder.BuildProblem} to generate a template using {@code --language external}.
+ * use the {@link org.moeaframework.builder.BuildProblem} to generate a template using {@code --language external},
+ * adding {@code --binary} to use the binary format.
  * 
  * <p>
  * <b>It is critical that the {@link #close()} method be invoked to ensure the external process is shutdown cleanly.</b>
@@ -88,6 +143,12 @@ public abstract class ExternalProblem implements Problem {
 	 */
 	public static final int DEFAULT_PORT = 16801;
 	
+	/**
+	 * The environment variable set when starting a process configured with {@link Builder#withBinaryFormat()}, which
+	 * allows the process to detect the format.
+	 */
+	public static final String FORMAT_ENVIRONMENT_VARIABLE = "MOEA_FORMAT";
+	
 	/**
 	 * Builder for defining the process or connection to the external problem.
 	 */
@@ -97,7 +158,7 @@ public abstract class ExternalProblem implements Problem {
 		
 		private File workingDirectory;
 				
-		private InetSocketAddress socketAddress;
+		private List<InetSocketAddress> socketAddresses;
 		
 		private InputStream inputStream;
 		
@@ -113,12 +174,23 @@ public abstract class ExternalProblem implements Problem {
 		
 		private Duration shutdownTimeout;
 		
+		private boolean evaluationIDs;
+		
+		private boolean pipelining;
+		
+		private int poolSize;
+		
+		private boolean binaryFormat;
+		
 		/**
 		 * Constructs a new builder.
 		 */
 		public Builder() {
 			super();
 			
+			socketAddresses = List.of();
+			poolSize = 1;
+			
 			if (Settings.isExternalProblemDebuggingEnabled()) {
 				withDebugging();
 			} else {
@@ -169,7 +241,7 @@ public abstract class ExternalProblem implements Problem {
 		 * @return a reference to this builder for chaining together calls
 		 */
 		public Builder withSocket(int port) {
-			socketAddress = new InetSocketAddress(port);
+			socketAddresses = List.of(new InetSocketAddress(port));
 			return this;
 		}
 		
@@ -181,7 +253,7 @@ public abstract class ExternalProblem implements Problem {
 		 * @return a reference to this builder for chaining together calls
 		 */
 		public Builder withSocket(InetAddress address, int port) {
-			socketAddress = new InetSocketAddress(address, port);
+			socketAddresses = List.of(new InetSocketAddress(address, port));
 			return this;
 		}
 		
@@ -193,7 +265,42 @@ public abstract class ExternalProblem implements Problem {
 		 * @return a reference to this builder for chaining together calls
 		 */
 		public Builder withSocket(String hostname, int port) {
-			socketAddress = new InetSocketAddress(hostname, port);
+			socketAddresses = List.of(new InetSocketAddress(hostname, port));
+			return this;
+		}
+		
+		/**
+		 * Configures this builder to communicate with a pool of processes, each listening on one of the given socket
+		 * addresses.  This creates one worker per address, unless a larger pool size is given by
+		 * {@link #withPoolSize(int)}, in which case the workers are assigned to the addresses in a round-robin
+		 * order.  Since each address is typically served by a separate process, these processes should be started
+		 * independently rather than using {@link #withCommand(String...)}.  When combined with a command, the pool can
+		 * not contain more workers than addresses, as each worker would start a process listening on the same
+		 * address.
+		 * 
+		 * @param socketAddresses the socket addresses
+		 * @return a reference to this builder for chaining together calls
+		 */
+		public Builder withSockets(InetSocketAddress... socketAddresses) {
+			Validate.that("socketAddresses", socketAddresses).isNotEmpty();
+			this.socketAddresses = List.of(socketAddresses);
+			return this;
+		}
+		
+		/**
+		 * Sets the number of workers, allowing multiple solutions to be evaluated concurrently.  Each worker starts its
+		 * own copy of the command and/or opens its own socket connection.  Idle workers are assigned solutions as
+		 * they are evaluated, which is typically combined with
+		 * {@link org.moeaframework.parallel.DistributedProblem} or {@link Problem#evaluateAll(Iterable)} to keep all
+		 * workers busy.  A worker that fails, such as when the process crashes, is restarted using the retry settings
+		 * (see {@link #withRetries(int, Duration)}).
+		 * 
+		 * @param poolSize the number of workers
+		 * @return a reference to this builder for chaining together calls
+		 */
+		public Builder withPoolSize(int poolSize) {
+			Validate.that("poolSize", poolSize).isGreaterThan(0);
+			this.poolSize = poolSize;
 			return this;
 		}
 		
@@ -268,6 +375,45 @@ public abstract class ExternalProblem implements Problem {
 			return this;
 		}
 		
+		/**
+		 * Enables prefixing each request and response with an evaluation ID.  This allows the external process to
+		 * reply to requests in any order, such as when evaluating multiple solutions concurrently.  The external
+		 * process must support this protocol.  This also enables pipelining.
+		 * 
+		 * @return a reference to this builder for chaining together calls
+		 * @see #withPipelining()
+		 */
+		public Builder withEvaluationIDs() {
+			this.evaluationIDs = true;
+			this.pipelining = true;
+			return this;
+		}
+		
+		/**
+		 * Enables sending all requests in a batch without waiting for each response.  The external process must
+		 * buffer any input read beyond the current request, otherwise requests can be lost.  Without this option,
+		 * each solution is sent only after receiving the response to the previous solution.
+		 * 
+		 * @return a reference to this builder for chaining together calls
+		 */
+		public Builder withPipelining() {
+			this.pipelining = true;
+			return this;
+		}
+		
+		/**
+		 * Enables the binary format, which avoids the cost of formatting and parsing numbers as text.  See the
+		 * class documentation for details on the format.  When starting a process, the environment variable
+		 * {@value ExternalProblem#FORMAT_ENVIRONMENT_VARIABLE} is set to {@code binary}, which is detected by the
+		 * provided C/C++ library.  Otherwise, the external process must be configured to use the binary format.
+		 * 
+		 * @return a reference to this builder for chaining together calls
+		 */
+		public Builder withBinaryFormat() {
+			this.binaryFormat = true;
+			return this;
+		}
+		
 		/**
 		 * Creates a copy of this builder.  Note that streams are shared between the two instances.
 		 * 
@@ -277,7 +423,7 @@ public abstract class ExternalProblem implements Problem {
 			Builder copy = new Builder();
 			copy.command = command == null ? null : command.clone();
 			copy.workingDirectory = workingDirectory;
-			copy.socketAddress = socketAddress;
+			copy.socketAddresses = socketAddresses;
 			copy.inputStream = inputStream;
 			copy.outputStream = outputStream;
 			copy.errorStream = errorStream;
@@ -285,6 +431,10 @@ public abstract class ExternalProblem implements Problem {
 			copy.retryAttempts = retryAttempts;
 			copy.retryDelay = retryDelay;
 			copy.shutdownTimeout = shutdownTimeout;
+			copy.evaluationIDs = evaluationIDs;
+			copy.pipelining = pipelining;
+			copy.poolSize = poolSize;
+			copy.binaryFormat = binaryFormat;
 			return copy;
 		}
 		
@@ -297,6 +447,34 @@ public abstract class ExternalProblem implements Problem {
 			return new Instance(this);
 		}
 		
+		/**
+		 * Returns the constructed instances for each worker in the pool, where the first instance is equivalent to
+		 * {@link #build()}.
+		 * 
+		 * @return the external problem instances
+		 */
+		protected List<Instance> buildPool() {
+			int size = Math.max(poolSize, socketAddresses.size());
+			List<Instance> result = new ArrayList<Instance>(size);
+			
+			if (size > 1 && inputStream != null && outputStream != null) {
+				Validate.fail("Unable to create a pool of workers sharing the same I/O streams");
+			}
+			
+			if (size > socketAddresses.size() && !socketAddresses.isEmpty() && command != null) {
+				Validate.fail("Unable to create a pool of workers starting processes that listen on the same socket " +
+						"address, provide one address per worker with withSockets");
+			}
+			
+			result.add(build());
+			
+			for (int i = 1; i < size; i++) {
+				result.add(new Instance(this, i));
+			}
+			
+			return result;
+		}
+		
 	}
 	
 	/**
@@ -306,6 +484,8 @@ public abstract class ExternalProblem implements Problem {
 		
 		private final Builder builder;
 		
+		private final InetSocketAddress socketAddress;
+		
 		private Process process;
 		
 		private Socket socket;
@@ -314,14 +494,30 @@ public abstract class ExternalProblem implements Problem {
 		
 		private BufferedWriter writer;
 		
+		private DataInputStream input;
+		
+		private OutputStream output;
+		
 		/**
 		 * Constructs an instance of an external problem.
 		 * 
 		 * @param builder the builder
 		 */
 		public Instance(Builder builder) {
+			this(builder, 0);
+		}
+		
+		/**
+		 * Constructs an instance of an external problem for the given worker in a pool.
+		 * 
+		 * @param builder the builder
+		 * @param index the index of the worker, which selects the socket address if multiple are configured
+		 */
+		protected Instance(Builder builder, int index) {
 			super();
 			this.builder = builder.copy();
+			this.socketAddress = builder.socketAddresses.isEmpty() ? null :
+				builder.socketAddresses.get(index % builder.socketAddresses.size());
 		}
 		
 		/**
@@ -330,7 +526,7 @@ public abstract class ExternalProblem implements Problem {
 		 * @return {@code true} if the underlying process or connections are established; {@code false} otherwise
 		 */
 		public boolean isStarted() {
-			return reader != null || writer != null;
+			return reader != null || writer != null || input != null || output != null;
 		}
 
 		/**
@@ -340,7 +536,7 @@ public abstract class ExternalProblem implements Problem {
 		 * @throws IOException if an error occurred connecting to the address
 		 */
 		private Socket connectWithRetries() throws IOException {
-			if (builder.socketAddress == null) {
+			if (socketAddress == null) {
 				return null;
 			}
 			
@@ -353,8 +549,8 @@ public abstract class ExternalProblem implements Problem {
 				Socket socket = new Socket();
 				
 				try {
-					debug.println("Connecting to " + builder.socketAddress);
-					socket.connect(builder.socketAddress);
+					debug.println("Connecting to " + socketAddress);
+					socket.connect(socketAddress);
 					return socket;
 				} catch (SocketException e) {
 					socket.close();
@@ -424,7 +620,13 @@ public abstract class ExternalProblem implements Problem {
 			}
 			
 			getDebug().println("Starting process '" + String.join(" ", command) + "'");
-			return new ProcessBuilder(command).directory(builder.workingDirectory).start();
+			ProcessBuilder processBuilder = new ProcessBuilder(command).directory(builder.workingDirectory);
+			
+			if (builder.binaryFormat) {
+				processBuilder.environment().put(FORMAT_ENVIRONMENT_VARIABLE, "binary");
+			}
+			
+			return processBuilder.start();
 		}
 		
 		/**
@@ -454,18 +656,29 @@ public abstract class ExternalProblem implements Problem {
 			}
 			
 			// Set up the reader / writer for communication
+			InputStream in = null;
+			OutputStream out = null;
+			
 			if (builder.inputStream != null && builder.outputStream != null) {
-				reader = new BufferedReader(new InputStreamReader(builder.inputStream));
-				writer = new BufferedWriter(new OutputStreamWriter(builder.outputStream));
+				in = builder.inputStream;
+				out = builder.outputStream;
 			} else if (socket != null) {
-				reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-				writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream()));
+				in = socket.getInputStream();
+				out = socket.getOutputStream();
 			} else if (process != null) {
-				reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-				writer = new BufferedWriter(new OutputStreamWriter(process.getOutputStream()));
+				in = process.getInputStream();
+				out = process.getOutputStream();
 			} else {
 				Validate.fail("Must configure a program or socket connection");
 			}
+			
+			if (builder.binaryFormat) {
+				input = new DataInputStream(new BufferedInputStream(in));
+				output = new BufferedOutputStream(out);
+			} else {
+				reader = new BufferedReader(new InputStreamReader(in));
+				writer = new BufferedWriter(new OutputStreamWriter(out));
+			}
 		}
 		
 		/**
@@ -494,6 +707,32 @@ public abstract class ExternalProblem implements Problem {
 			return writer;
 		}
 		
+		/**
+		 * Returns the stream used to read content from the external problem when using the binary format.
+		 * 
+		 * @return the input stream
+		 */
+		public DataInputStream getInputStream() {
+			if (!isStarted()) {
+				throw new IllegalStateException("must call start() before using problem instance");
+			}
+			
+			return input;
+		}
+		
+		/**
+		 * Returns the stream used to write content to the external problem when using the binary format.
+		 * 
+		 * @return the output stream
+		 */
+		public OutputStream getOutputStream() {
+			if (!isStarted()) {
+				throw new IllegalStateException("must call start() before using problem instance");
+			}
+			
+			return output;
+		}
+		
 		/**
 		 * Returns the stream where debugging logs are written.
 		 * 
@@ -533,6 +772,14 @@ public abstract class ExternalProblem implements Problem {
 				reader.close();
 			}
 			
+			if (output != null) {
+				output.close();
+			}
+			
+			if (input != null) {
+				input.close();
+			}
+			
 			if (socket != null) {
 				socket.close();
 			}
@@ -556,13 +803,59 @@ public abstract class ExternalProblem implements Problem {
 			}
 		}
 		
+		/**
+		 * Closes and restarts the underlying process and connections, such as after the process crashed.
+		 * 
+		 * @throws IOException if an I/O error occurred
+		 */
+		public void restart() throws IOException {
+			try {
+				close();
+			} catch (IOException e) {
+				getDebug().println("Caught exception while closing instance: " + e.getMessage());
+			}
+			
+			if (process != null && process.isAlive()) {
+				process.destroy();
+			}
+			
+			process = null;
+			socket = null;
+			reader = null;
+			writer = null;
+			input = null;
+			output = null;
+			
+			start();
+		}
+		
 	}
 	
 	/**
 	 * The instance backing this external problem, which manages the underlying resources including the process,
-	 * socket, and streams.
+	 * socket, and streams.  When using a pool of workers, this is the first worker in the pool.
 	 */
 	protected final Instance instance;
+	
+	/**
+	 * The instances for each worker in the pool, including {@link #instance}.
+	 */
+	private final List<Instance> pool;
+	
+	/**
+	 * The workers that are not currently evaluating solutions.
+	 */
+	private final BlockingQueue<Instance> idleWorkers;
+	
+	/**
+	 * The next evaluation ID sent to the external process when evaluation IDs are enabled.
+	 */
+	private final AtomicLong nextEvaluationID;
+	
+	/**
+	 * The threads used to dispatch a batch of solutions to the workers in the pool, created when first required.
+	 */
+	private ExecutorService dispatcher;
 
 	/**
 	 * Constructs an external problem using {@code new ProcessBuilder(command).start()}.  If the command contains
@@ -616,7 +909,10 @@ public abstract class ExternalProblem implements Problem {
 	 */
 	public ExternalProblem(Builder builder) {
 		super();
-		instance = builder.build();
+		pool = builder.buildPool();
+		instance = pool.get(0);
+		idleWorkers = new LinkedBlockingQueue<Instance>(pool);
+		nextEvaluationID = new AtomicLong();
 	}
 	
 	/**
@@ -653,10 +949,12 @@ public abstract class ExternalProblem implements Problem {
 	 */
 	@Deprecated
 	public void setDebugStream(OutputStream stream) {		
-		if (stream == null) {
-			instance.builder.debug = null;
-		} else {
-			instance.builder.debug = new PrintStream(stream);
+		for (Instance worker : pool) {
+			if (stream == null) {
+				worker.builder.debug = null;
+			} else {
+				worker.builder.debug = new PrintStream(stream);
+			}
 		}
 	}
 
@@ -665,90 +963,559 @@ public abstract class ExternalProblem implements Problem {
 	 */
 	@Override
 	public synchronized void close() {
-		try {
-			instance.close();
-		} catch (IOException e) {
-			throw new ProblemException(this, e);
+		IOException error = null;
+		
+		if (dispatcher != null) {
+			dispatcher.shutdownNow();
+		}
+		
+		for (Instance worker : pool) {
+			try {
+				worker.close();
+			} catch (IOException e) {
+				if (error == null) {
+					error = e;
+				} else {
+					error.addSuppressed(e);
+				}
+			}
+		}
+		
+		if (error != null) {
+			throw new ProblemException(this, error);
 		}
 	}
 
 	/**
-	 * Evaluates the specified solution using the process defined by this class' constructor.
+	 * Evaluates the specified solution using the process defined by this class' constructor.  When using a pool of
+	 * workers, the solution is sent to the next idle worker.
 	 * 
 	 * @param solution the solution to evaluate
 	 */
 	@Override
-	public synchronized void evaluate(Solution solution) throws ProblemException {
-		if (!instance.isStarted()) {
+	public void evaluate(Solution solution) throws ProblemException {
+		evaluateOnWorker(List.of(solution));
+	}
+	
+	/**
+	 * Evaluates the solutions using the process defined by this class' constructor.  If pipelining is enabled, all
+	 * requests are sent to the external process while the responses are read as they arrive, and if evaluation IDs
+	 * are enabled, the responses can arrive in any order.  Otherwise, each solution is sent after receiving the
+	 * response to the previous solution.  When using a pool of workers, the solutions are split into smaller batches
+	 * that are dispatched to the idle workers.
+	 * 
+	 * @param solutions the solutions to evaluate
+	 */
+	@Override
+	public void evaluateAll(Iterable<? extends Solution> solutions) throws ProblemException {
+		List<Solution> batch = new ArrayList<Solution>();
+		
+		for (Solution solution : solutions) {
+			batch.add(solution);
+		}
+		
+		if (batch.isEmpty()) {
+			return;
+		} else if (pool.size() == 1 || batch.size() == 1) {
+			evaluateOnWorker(batch);
+			return;
+		}
+		
+		// use several smaller batches per worker so faster workers can take on more of the solutions
+		int chunkSize = Math.max(1, batch.size() / (4 * pool.size()));
+		List<Future<?>> futures = new ArrayList<Future<?>>();
+		ExecutorService executor = getDispatcher();
+		
+		for (int i = 0; i < batch.size(); i += chunkSize) {
+			List<Solution> chunk = batch.subList(i, Math.min(i + chunkSize, batch.size()));
+			futures.add(executor.submit(() -> evaluateOnWorker(chunk)));
+		}
+		
+		ProblemException error = null;
+		
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ProblemException(this, "interrupted while evaluating solutions", e);
+			} catch (ExecutionException e) {
+				ProblemException cause = e.getCause() instanceof ProblemException problemException ?
+						problemException : new ProblemException(this, e.getCause());
+				
+				if (error == null) {
+					error = cause;
+				} else {
+					error.addSuppressed(cause);
+				}
+			}
+		}
+		
+		if (error != null) {
+			throw error;
+		}
+	}
+	
+	/**
+	 * Returns the threads used to dispatch solutions to the workers in the pool, creating the threads if required.
+	 * 
+	 * @return the threads used to dispatch solutions
+	 */
+	private synchronized ExecutorService getDispatcher() {
+		if (dispatcher == null) {
+			dispatcher = Executors.newFixedThreadPool(pool.size(), runnable -> {
+				Thread thread = new Thread(runnable, "ExternalProblem-Dispatcher");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		
+		return dispatcher;
+	}
+	
+	/**
+	 * Evaluates the solutions on the next idle worker, waiting until a worker becomes available.  When using a pool
+	 * of workers, a failed worker is restarted and the solutions are re-evaluated up to the configured number of
+	 * retry attempts.
+	 * 
+	 * @param batch the solutions to evaluate
+	 * @throws ProblemException if an error occurred while evaluating the solutions
+	 */
+	private void evaluateOnWorker(List<? extends Solution> batch) throws ProblemException {
+		Instance worker = null;
+		
+		try {
+			worker = idleWorkers.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ProblemException(this, "interrupted while waiting for an idle worker", e);
+		}
+		
+		try {
+			int attempt = 0;
+			
+			while (true) {
+				try {
+					evaluate(worker, batch);
+					return;
+				} catch (ProblemException e) {
+					if (pool.size() == 1 || attempt >= worker.builder.retryAttempts) {
+						throw e;
+					}
+					
+					attempt += 1;
+					worker.getDebug().println(e.getMessage() + ", restarting worker attempt " + attempt + " of " +
+							worker.builder.retryAttempts + "...");
+					
+					try {
+						Thread.sleep(DurationUtils.toMilliseconds(worker.builder.retryDelay));
+						worker.restart();
+					} catch (InterruptedException ie) {
+						// if interrupted, rethrow the original error causing retries
+						Thread.currentThread().interrupt();
+						throw e;
+					} catch (IOException ioe) {
+						e.addSuppressed(ioe);
+						throw e;
+					}
+				}
+			}
+		} finally {
+			idleWorkers.add(worker);
+		}
+	}
+	
+	/**
+	 * Evaluates the solutions on the given worker.  If given more than one solution and pipelining is enabled, all
+	 * requests are sent to the external process from a separate thread while the responses are read as they arrive.
+	 * 
+	 * @param worker the worker
+	 * @param batch the solutions to evaluate
+	 * @throws ProblemException if an error occurred while evaluating the solutions
+	 */
+	private void evaluate(Instance worker, List<? extends Solution> batch) throws ProblemException {
+		if (batch.size() > 1 && !worker.builder.pipelining) {
+			for (Solution solution : batch) {
+				evaluate(worker, List.of(solution));
+			}
+			
+			return;
+		}
+		
+		if (!worker.isStarted()) {
 			try {
-				instance.start();
+				worker.start();
 			} catch (IOException e) {
 				throw new ProblemException(this, "error while starting external problem", e);
 			}
 		}
 		
-		BufferedReader reader = instance.getReader();
-		BufferedWriter writer = instance.getWriter();
-		PrintStream debug = instance.getDebug();
+		boolean binaryFormat = worker.builder.binaryFormat;
+		long firstEvaluationID = nextEvaluationID.getAndAdd(batch.size());
+		
+		// format the requests up front so any encoding errors are raised before communicating with the process
+		StringBuilder textRequests = new StringBuilder();
+		ByteArrayOutputStream binaryRequests = new ByteArrayOutputStream();
+		
+		for (int i = 0; i < batch.size(); i++) {
+			if (binaryFormat) {
+				binaryRequests.writeBytes(formatBinaryRequest(worker, batch.get(i), firstEvaluationID + i));
+			} else {
+				textRequests.append(formatRequest(worker, batch.get(i), firstEvaluationID + i));
+			}
+		}
 		
 		// send variables to external process
+		AtomicReference<IOException> writeError = new AtomicReference<IOException>();
+		Runnable sendRequests = () -> {
+			try {
+				if (binaryFormat) {
+					binaryRequests.writeTo(worker.getOutputStream());
+					worker.getOutputStream().flush();
+				} else {
+					worker.getWriter().write(textRequests.toString());
+					worker.getWriter().flush();
+				}
+			} catch (IOException e) {
+				writeError.set(e);
+			}
+		};
+		
+		Thread writerThread = null;
+		
+		if (batch.size() == 1) {
+			sendRequests.run();
+		} else {
+			// send from a separate thread so neither side blocks when the stream buffers fill up
+			writerThread = new Thread(sendRequests, "ExternalProblem-Writer");
+			writerThread.setDaemon(true);
+			writerThread.start();
+		}
+		
+		// receive objectives from external process
 		try {
-			StringBuilder sb = new StringBuilder();
+			if (writerThread == null && writeError.get() != null) {
+				throw new ProblemException(this, "error sending variables to external problem", writeError.get());
+			}
 			
-			sb.append(encode(solution.getVariable(0)));
+			boolean[] received = new boolean[batch.size()];
 			
-			for (int i = 1; i < solution.getNumberOfVariables(); i++) {
-				sb.append(" ");
-				sb.append(encode(solution.getVariable(i)));
+			for (int i = 0; i < batch.size(); i++) {
+				Response response = binaryFormat ? readBinaryResponse(worker) : readResponse(worker);
+				int index = i;
+				
+				if (worker.builder.evaluationIDs) {
+					long offset = response.evaluationID - firstEvaluationID;
+					
+					if (offset < 0 || offset >= batch.size() || received[(int)offset]) {
+						throw new ProblemException(this, "response contained an unexpected evaluation ID");
+					}
+					
+					index = (int)offset;
+				}
+				
+				received[index] = true;
+				response.apply(batch.get(index));
 			}
 			
-			sb.append(System.lineSeparator());
+			if (writerThread != null) {
+				writerThread.join();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ProblemException(this, "interrupted while evaluating solutions", e);
+		} catch (ProblemException e) {
+			if (writerThread != null) {
+				// the stream is no longer in a consistent state, so close the worker which also unblocks the writer
+				try {
+					worker.close();
+				} catch (IOException ioe) {
+					e.addSuppressed(ioe);
+				}
+				
+				if (writeError.get() != null) {
+					e.addSuppressed(writeError.get());
+				}
+			}
 			
-			debug.print("<< ");
-			debug.print(sb.toString());
+			throw e;
+		}
+		
+		if (writeError.get() != null) {
+			throw new ProblemException(this, "error sending variables to external problem", writeError.get());
+		}
+	}
+	
+	/**
+	 * Formats the request line sent to the external process, including the trailing line separator.
+	 * 
+	 * @param worker the worker receiving the request
+	 * @param solution the solution being evaluated
+	 * @param evaluationID the evaluation ID, which is only included if enabled
+	 * @return the request line
+	 */
+	private String formatRequest(Instance worker, Solution solution, long evaluationID) {
+		StringBuilder sb = new StringBuilder();
+		
+		if (worker.builder.evaluationIDs) {
+			sb.append(evaluationID);
+			sb.append(" ");
+		}
+		
+		sb.append(encode(solution.getVariable(0)));
+		
+		for (int i = 1; i < solution.getNumberOfVariables(); i++) {
+			sb.append(" ");
+			sb.append(encode(solution.getVariable(i)));
+		}
+		
+		sb.append(System.lineSeparator());
+		
+		worker.getDebug().print("<< " + sb.toString());
+		return sb.toString();
+	}
+	
+	/**
+	 * Formats the request sent to the external process using the binary format, including the length prefix.
+	 * 
+	 * @param worker the worker receiving the request
+	 * @param solution the solution being evaluated
+	 * @param evaluationID the evaluation ID, which is only included if enabled
+	 * @return the request
+	 */
+	private byte[] formatBinaryRequest(Instance worker, Solution solution, long evaluationID) {
+		int length = worker.builder.evaluationIDs ? Long.BYTES : 0;
+		
+		for (int i = 0; i < solution.getNumberOfVariables(); i++) {
+			length += 1 + getBinaryLength(solution.getVariable(i));
+		}
+		
+		ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + length).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putInt(length);
+		
+		if (worker.builder.evaluationIDs) {
+			buffer.putLong(evaluationID);
+		}
+		
+		for (int i = 0; i < solution.getNumberOfVariables(); i++) {
+			Variable variable = solution.getVariable(i);
 			
-			writer.write(sb.toString());
-			writer.flush();
-		} catch (IOException e) {
-			throw new ProblemException(this, "error sending variables to external problem", e);
+			if (variable instanceof RealVariable realVariable) {
+				buffer.put((byte)'d');
+				buffer.putDouble(realVariable.getValue());
+			} else if (variable instanceof BinaryIntegerVariable binaryIntegerVariable) {
+				buffer.put((byte)'i');
+				buffer.putInt(binaryIntegerVariable.getValue());
+			} else if (variable instanceof BinaryVariable binaryVariable) {
+				buffer.put((byte)'b');
+				buffer.putInt(binaryVariable.getNumberOfBits());
+				buffer.put(Arrays.copyOf(binaryVariable.getBitSet().toByteArray(),
+						(binaryVariable.getNumberOfBits() + 7) / 8));
+			} else if (variable instanceof Permutation permutation) {
+				buffer.put((byte)'p');
+				buffer.putInt(permutation.size());
+				putPacked(buffer, permutation.toArray(), getBitWidth(permutation.size()));
+			} else if (variable instanceof Subset subset) {
+				buffer.put((byte)'s');
+				buffer.putInt(subset.size());
+				putPacked(buffer, subset.toArray(), getBitWidth(subset.getN()));
+			}
 		}
-
-		// receive objectives from external process
+		
+		worker.getDebug().println("<< " + length + " bytes");
+		return buffer.array();
+	}
+	
+	/**
+	 * Returns the number of bytes required to encode the variable in the binary format, excluding the type tag.
+	 * 
+	 * @param variable the variable
+	 * @return the number of bytes
+	 */
+	private int getBinaryLength(Variable variable) {
+		if (variable instanceof RealVariable) {
+			return Double.BYTES;
+		} else if (variable instanceof BinaryIntegerVariable) {
+			return Integer.BYTES;
+		} else if (variable instanceof BinaryVariable binaryVariable) {
+			return Integer.BYTES + (binaryVariable.getNumberOfBits() + 7) / 8;
+		} else if (variable instanceof Permutation permutation) {
+			return Integer.BYTES + 1 + (permutation.size() * getBitWidth(permutation.size()) + 7) / 8;
+		} else if (variable instanceof Subset subset) {
+			return Integer.BYTES + 1 + (subset.size() * getBitWidth(subset.getN()) + 7) / 8;
+		} else {
+			throw new ProblemException(this, "encoding " + variable.getClass().getSimpleName() + " not supported");
+		}
+	}
+	
+	/**
+	 * Returns the number of bits needed to represent the values {@code 0, ..., n-1}, which is at least one bit.
+	 * 
+	 * @param n the number of distinct values
+	 * @return the number of bits
+	 */
+	private static int getBitWidth(int n) {
+		return Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(n - 1));
+	}
+	
+	/**
+	 * Writes the bit width followed by the values packed using the given number of bits per value, where bits are
+	 * stored from least to most significant.
+	 * 
+	 * @param buffer the buffer
+	 * @param values the values to pack
+	 * @param width the number of bits per value
+	 */
+	private static void putPacked(ByteBuffer buffer, int[] values, int width) {
+		byte[] packed = new byte[(values.length * width + 7) / 8];
+		int bit = 0;
+		
+		for (int value : values) {
+			for (int j = 0; j < width; j++) {
+				if (((value >>> j) & 1) != 0) {
+					packed[bit >>> 3] |= 1 << (bit & 7);
+				}
+				
+				bit++;
+			}
+		}
+		
+		buffer.put((byte)width);
+		buffer.put(packed);
+	}
+	
+	/**
+	 * Reads the next response line from the external process.
+	 * 
+	 * @param worker the worker sending the response
+	 * @return the response
+	 */
+	private Response readResponse(Instance worker) {
+		BufferedReader reader = worker.getReader();
+		PrintStream debug = worker.getDebug();
+		
 		try {
 			String line = reader.readLine();
 
 			if (line == null) {
 				if (debug != null) {
 					debug.println("Reached end of stream");
-					instance.close();
+					worker.close();
 				}
 				
 				throw new ProblemException(this, "end of stream reached when response expected");
 			}
 
-			debug.print(">> ");
-			debug.println(line);
+			debug.println(">> " + line);
 			
 			String[] tokens = line.split("\\s+");
+			long evaluationID = 0;
+			int offset = 0;
+			
+			if (worker.builder.evaluationIDs) {
+				evaluationID = Long.parseLong(tokens[0]);
+				offset = 1;
+			}
+			
+			double[] values = new double[tokens.length - offset];
+			
+			for (int i = 0; i < values.length; i++) {
+				values[i] = Double.parseDouble(tokens[offset + i]);
+			}
 			
-			if (tokens.length != (solution.getNumberOfObjectives() + solution.getNumberOfConstraints())) {
-				throw new ProblemException(this, "response contained fewer tokens than expected");
+			return new Response(evaluationID, values);
+		} catch (IOException | NumberFormatException e) {
+			throw new ProblemException(this, "error receiving variables from external problem", e);
+		}
+	}
+	
+	/**
+	 * Reads the next response from the external process using the binary format.
+	 * 
+	 * @param worker the worker sending the response
+	 * @return the response
+	 */
+	private Response readBinaryResponse(Instance worker) {
+		DataInputStream input = worker.getInputStream();
+		PrintStream debug = worker.getDebug();
+		
+		try {
+			byte[] header = new byte[Integer.BYTES];
+			input.readFully(header);
+			
+			int length = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN).getInt();
+			int offset = worker.builder.evaluationIDs ? Long.BYTES : 0;
+			
+			if (length < offset || (length - offset) % Double.BYTES != 0) {
+				throw new ProblemException(this, "response contained an invalid length");
+			}
+			
+			byte[] content = new byte[length];
+			input.readFully(content);
+			debug.println(">> " + length + " bytes");
+			
+			ByteBuffer buffer = ByteBuffer.wrap(content).order(ByteOrder.LITTLE_ENDIAN);
+			long evaluationID = worker.builder.evaluationIDs ? buffer.getLong() : 0;
+			double[] values = new double[(length - offset) / Double.BYTES];
+			buffer.asDoubleBuffer().get(values);
+			
+			return new Response(evaluationID, values);
+		} catch (EOFException e) {
+			debug.println("Reached end of stream");
+			throw new ProblemException(this, "end of stream reached when response expected", e);
+		} catch (IOException e) {
+			throw new ProblemException(this, "error receiving variables from external problem", e);
+		}
+	}
+	
+	/**
+	 * A response received from the external process.
+	 */
+	private class Response {
+		
+		/**
+		 * The evaluation ID, which is only defined if evaluation IDs are enabled.
+		 */
+		private final long evaluationID;
+		
+		/**
+		 * The objective values followed by the constraint values.
+		 */
+		private final double[] values;
+		
+		/**
+		 * Constructs a new response.
+		 * 
+		 * @param evaluationID the evaluation ID
+		 * @param values the objective values followed by the constraint values
+		 */
+		public Response(long evaluationID, double[] values) {
+			super();
+			this.evaluationID = evaluationID;
+			this.values = values;
+		}
+		
+		/**
+		 * Updates the objectives and constraints of the solution with the values in this response.
+		 * 
+		 * @param solution the solution being evaluated
+		 */
+		public void apply(Solution solution) {
+			if (values.length != (solution.getNumberOfObjectives() + solution.getNumberOfConstraints())) {
+				throw new ProblemException(ExternalProblem.this, "response contained fewer tokens than expected");
 			}
 			
 			int index = 0;
 
 			for (int i = 0; i < solution.getNumberOfObjectives(); i++) {
-				solution.setObjective(i, Double.parseDouble(tokens[index]));
-				index++;
+				solution.setObjective(i, values[index++]);
 			}
 			
 			for (int i = 0; i < solution.getNumberOfConstraints(); i++) {
-				solution.setConstraint(i, Double.parseDouble(tokens[index]));
-				index++;
+				solution.setConstraint(i, values[index++]);
 			}
-		} catch (IOException | NumberFormatException e) {
-			throw new ProblemException(this, "error receiving variables from external problem", e);
 		}
+		
 	}
 
 	/**
@@ -24,7 +24,8 @@ import org.moeaframework.core.Solution;
  * Wraps a problem instance to modify or extend its functionality.
  * <p>
  * All methods invoke the corresponding method on the inner problem.  Subclasses need only override the methods they
- * need to change.
+ * need to change.  Subclasses that override {@link #evaluate(Solution)} should also override
+ * {@link #evaluateAll(Iterable)}, as batches are passed directly to the inner problem.
  */
 public abstract class ProblemWrapper implements Problem {
 
@@ -68,6 +69,11 @@ public abstract class ProblemWrapper implements Problem {
 		problem.evaluate(solution);
 	}
 
+	@Override
+	public void evaluateAll(Iterable<? extends Solution> solutions) {
+		problem.evaluateAll(solutions);
+	}
+
 	@Override
 	public Solution newSolution() {
 		return problem.newSolution();
@@ -17,6 +17,9 @@
  */
 package org.moeaframework.problem;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.commons.math3.linear.RealMatrix;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
@@ -96,7 +99,48 @@ public class RotatedProblem extends ProblemWrapper {
 	@Override
 	public void evaluate(Solution solution) {
 		Solution temp = super.newSolution();
+		double boundsViolation = rotate(solution, temp);
+		
+		//evaluate the solution
+		super.evaluate(temp);
+		
+		extractResults(solution, temp, boundsViolation);
+	}
+	
+	@Override
+	public void evaluateAll(Iterable<? extends Solution> solutions) {
+		List<Solution> batch = new ArrayList<Solution>();
+		
+		for (Solution solution : solutions) {
+			batch.add(solution);
+		}
+		
+		List<Solution> temps = new ArrayList<Solution>(batch.size());
+		double[] boundsViolations = new double[batch.size()];
+		
+		for (int i = 0; i < batch.size(); i++) {
+			Solution temp = super.newSolution();
+			boundsViolations[i] = rotate(batch.get(i), temp);
+			temps.add(temp);
+		}
+		
+		//evaluate the solutions
+		super.evaluateAll(temps);
 		
+		for (int i = 0; i < batch.size(); i++) {
+			extractResults(batch.get(i), temps.get(i), boundsViolations[i]);
+		}
+	}
+	
+	/**
+	 * Applies the rotation to the variables of the solution, storing the rotated variables in the solution passed to
+	 * the original problem.  Any variables exceeding their bounds are clamped.
+	 * 
+	 * @param solution the solution being evaluated
+	 * @param temp the solution passed to the original problem
+	 * @return the total bounds violation of the rotated variables
+	 */
+	private double rotate(Solution solution, Solution temp) {
 		//apply the rotation
 		double[] x = EncodingUtils.getReal(solution);
 		x = rotation.operate(x);
@@ -119,9 +163,17 @@ public class RotatedProblem extends ProblemWrapper {
 			}
 		}
 		
-		//evaluate the solution
-		super.evaluate(temp);
-		
+		return boundsViolation;
+	}
+	
+	/**
+	 * Copies the objectives and constraints computed by the original problem into the solution being evaluated.
+	 * 
+	 * @param solution the solution being evaluated
+	 * @param temp the solution evaluated by the original problem
+	 * @param boundsViolation the total bounds violation of the rotated variables
+	 */
+	private void extractResults(Solution solution, Solution temp, double boundsViolation) {
 		//extract the results
 		solution.setObjectives(temp.getObjectives());
 		
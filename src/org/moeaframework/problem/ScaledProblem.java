@@ -19,6 +19,8 @@ package org.moeaframework.problem;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.Problem;
@@ -65,6 +67,21 @@ public class ScaledProblem extends ProblemWrapper {
 		scale(solution);
 	}
 	
+	@Override
+	public void evaluateAll(Iterable<? extends Solution> solutions) {
+		List<Solution> batch = new ArrayList<Solution>();
+		
+		for (Solution solution : solutions) {
+			batch.add(solution);
+		}
+		
+		super.evaluateAll(batch);
+		
+		for (Solution solution : batch) {
+			scale(solution);
+		}
+	}
+	
 	/**
 	 * Loads the reference set file and scales the solutions.
 	 * 
@@ -17,6 +17,8 @@
  */
 package org.moeaframework.problem;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -61,6 +63,39 @@ public class TimingProblem extends ProblemWrapper {
 		counter.incrementAndGet();
 	}
 	
+	@Override
+	public void evaluateAll(Iterable<? extends Solution> solutions) {
+		Collection<? extends Solution> batch = toCollection(solutions);
+		
+		long start = System.nanoTime();
+		problem.evaluateAll(batch);
+		long end = System.nanoTime();
+		
+		time.addAndGet(end - start);
+		counter.addAndGet(batch.size());
+	}
+	
+	/**
+	 * Returns the solutions as a collection so they can be counted after evaluation.  Collections are returned
+	 * unchanged, while other iterables are copied into a list, so the solutions are only iterated once.
+	 * 
+	 * @param solutions the solutions
+	 * @return the solutions as a collection
+	 */
+	private static Collection<? extends Solution> toCollection(Iterable<? extends Solution> solutions) {
+		if (solutions instanceof Collection<? extends Solution> collection) {
+			return collection;
+		}
+		
+		Collection<Solution> result = new ArrayList<Solution>();
+		
+		for (Solution solution : solutions) {
+			result.add(solution);
+		}
+		
+		return result;
+	}
+	
 	/**
 	 * Clears any timing data collected.  
 	 */
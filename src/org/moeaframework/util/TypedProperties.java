@@ -24,14 +24,19 @@ import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.lang.reflect.Array;
-import java.util.Collections;
+import java.util.AbstractSet;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -80,6 +85,11 @@ public class TypedProperties implements Formattable<Entry<String, String>> {
 	 */
 	private final Set<String> accessedProperties;
 	
+	/**
+	 * The version, incremented after each modification.
+	 */
+	private final AtomicLong version;
+	
 	/**
 	 * Creates a new, empty instance of this class.
 	 */
@@ -108,12 +118,14 @@ public class TypedProperties implements Formattable<Entry<String, String>> {
 		this.separator = separator;
 		
 		if (threadSafe) {
-			this.properties = Collections.synchronizedMap(new TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER));
-			this.accessedProperties = Collections.synchronizedSet(new TreeSet<String>(String.CASE_INSENSITIVE_ORDER));
+			this.properties = new ConcurrentSkipListMap<String, String>(String.CASE_INSENSITIVE_ORDER);
+			this.accessedProperties = new ConcurrentSkipListSet<String>(String.CASE_INSENSITIVE_ORDER);
 		} else {
 			this.properties = new TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER);
 			this.accessedProperties = new TreeSet<String>(String.CASE_INSENSITIVE_ORDER);
 		}
+		
+		version = new AtomicLong();
 	}
 	
 	/**
@@ -135,7 +147,9 @@ public class TypedProperties implements Formattable<Entry<String, String>> {
 	
 	/**
 	 * Creates and returns an empty properties object that is thread-safe.  This is useful when needing thread-safe
-	 * access to a shared properties object.
+	 * access to a shared properties object.  Reading properties never locks, so many threads can read the properties
+	 * without contention.  Since the thread-safe instance can not store {@code null} values, setting a property to
+	 * {@code null} removes the property.
 	 * 
 	 * @return an empty, thread-safe properties object
 	 */
@@ -213,7 +227,66 @@ public class TypedProperties implements Formattable<Entry<String, String>> {
 	 * @return the keys
 	 */
 	public Set<String> keySet() {
-		return properties.keySet();
+		Set<String> keys = properties.keySet();
+		
+		// track removals through the view in the version
+		return new AbstractSet<String>() {
+
+			@Override
+			public Iterator<String> iterator() {
+				Iterator<String> iterator = keys.iterator();
+				
+				return new Iterator<String>() {
+
+					@Override
+					public boolean hasNext() {
+						return iterator.hasNext();
+					}
+
+					@Override
+					public String next() {
+						return iterator.next();
+					}
+					
+					@Override
+					public void remove() {
+						iterator.remove();
+						version.incrementAndGet();
+					}
+					
+				};
+			}
+
+			@Override
+			public int size() {
+				return keys.size();
+			}
+			
+			@Override
+			public boolean contains(Object key) {
+				return keys.contains(key);
+			}
+			
+			@Override
+			public boolean remove(Object key) {
+				boolean removed = keys.remove(key);
+				version.incrementAndGet();
+				return removed;
+			}
+			
+		};
+	}
+	
+	/**
+	 * Returns the version of this properties object, which changes after each modification.  This allows callers to
+	 * cache values derived from the properties, discarding the cached values when the version changes.  Since the
+	 * version changes after the modification is visible, a value derived after reading the version is at least as
+	 * recent as the version.
+	 * 
+	 * @return the version
+	 */
+	public long getVersion() {
+		return version.get();
 	}
 	
 	/**
@@ -1030,7 +1103,13 @@ public class TypedProperties implements Formattable<Entry<String, String>> {
 	 * @param value the property value
 	 */
 	public void setString(String key, String value) {
-		properties.put(key, value);
+		if (value == null && properties instanceof ConcurrentMap) {
+			properties.remove(key);
+		} else {
+			properties.put(key, value);
+		}
+		
+		version.incrementAndGet();
 	}
 	
 	/**
@@ -1190,6 +1269,7 @@ public class TypedProperties implements Formattable<Entry<String, String>> {
 	public void clear() {
 		properties.clear();
 		accessedProperties.clear();
+		version.incrementAndGet();
 	}
 	
 	/**
@@ -1199,6 +1279,7 @@ public class TypedProperties implements Formattable<Entry<String, String>> {
 	 */
 	public void remove(String key) {
 		properties.remove(key);
+		version.incrementAndGet();
 	}
 	
 	/**
@@ -1210,6 +1291,8 @@ public class TypedProperties implements Formattable<Entry<String, String>> {
 		for (String key : properties.stringPropertyNames()) {
 			this.properties.put(key, properties.getProperty(key));
 		}
+		
+		version.incrementAndGet();
 	}
 	
 	/**
@@ -1219,6 +1302,7 @@ public class TypedProperties implements Formattable<Entry<String, String>> {
 	 */
 	public void addAll(TypedProperties properties) {
 		this.properties.putAll(properties.properties);
+		version.incrementAndGet();
 	}
 	
 	/**
@@ -1325,6 +1409,16 @@ public class TypedProperties implements Formattable<Entry<String, String>> {
 		return table;
 	}
 	
+	/**
+	 * Marks the property as accessed without reading its value.  This is intended for callers that cache values
+	 * parsed from these properties, so properties read from the cache are not reported as unaccessed.
+	 * 
+	 * @param key the property name
+	 */
+	public void markAccessed(String key) {
+		accessedProperties.add(key);
+	}
+	
 	/**
 	 * Clears the tracking information for properties that have been accessed.
 	 */
@@ -0,0 +1,338 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.util.format;
+
+import java.math.BigInteger;
+
+/**
+ * Converts {@code double} values to their shortest decimal representation using the Schubfach algorithm, a successor
+ * of Ryu.  The result is the shortest string that parses back to exactly the same value with
+ * {@link Double#parseDouble(String)}, formatted following the same rules as {@link Double#toString(double)}.  Older
+ * JDKs use an algorithm that can produce longer strings than necessary and is considerably slower.
+ * <p>
+ * Values are appended directly to a {@link StringBuilder}, avoiding the temporary string created for each value when
+ * writing large amounts of numeric data.
+ * <p>
+ * References:
+ * <ol>
+ *   <li>Giulietti, R. "The Schubfach way to render doubles."  2020.
+ *   <li>Adams, U. "Ryu: Fast Float-to-String Conversion."  Proceedings of the 39th ACM SIGPLAN Conference on
+ *       Programming Language Design and Implementation, pp. 270-282, 2018.
+ * </ol>
+ */
+public final class DoubleToDecimal {
+	
+	/**
+	 * The number of bits in the significand, including the hidden bit.
+	 */
+	private static final int P = 53;
+	
+	/**
+	 * The minimum binary exponent of the significand.
+	 */
+	private static final int Q_MIN = -1074;
+	
+	/**
+	 * The minimum normal significand, {@code 2^(P-1)}.
+	 */
+	private static final long C_MIN = 1L << (P - 1);
+	
+	/**
+	 * Subnormal significands below this value are scaled by 10 to produce enough digits.
+	 */
+	private static final long C_TINY = 3;
+	
+	/**
+	 * The minimum decimal exponent in the table of powers of 10.
+	 */
+	private static final int K_MIN = -324;
+	
+	/**
+	 * The maximum decimal exponent in the table of powers of 10.
+	 */
+	private static final int K_MAX = 292;
+	
+	/**
+	 * Mask for the lower 63 bits.
+	 */
+	private static final long MASK_63 = (1L << 63) - 1;
+	
+	/**
+	 * The 126-bit approximations of {@code 10^-k}, stored as two 63-bit halves for each {@code k} from {@code K_MIN}
+	 * to {@code K_MAX}.  Let {@code 10^-k = b 2^r} with {@code 2^125 <= b < 2^126}; then {@code g = floor(b) + 1}.
+	 */
+	private static final long[] G = new long[2 * (K_MAX - K_MIN + 1)];
+	
+	static {
+		BigInteger mask = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+		
+		for (int k = K_MIN; k <= K_MAX; k++) {
+			int e = -k;
+			int r = flog2pow10(e) - 125;
+			BigInteger g;
+			
+			if (e >= 0) {
+				BigInteger pow10 = BigInteger.TEN.pow(e);
+				g = r <= 0 ? pow10.shiftLeft(-r) : pow10.shiftRight(r);
+			} else {
+				g = BigInteger.ONE.shiftLeft(-r).divide(BigInteger.TEN.pow(-e));
+			}
+			
+			g = g.add(BigInteger.ONE);
+			G[2 * (k - K_MIN)] = g.shiftRight(63).longValueExact();
+			G[2 * (k - K_MIN) + 1] = g.and(mask).longValueExact();
+		}
+	}
+	
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private DoubleToDecimal() {
+		super();
+	}
+	
+	/**
+	 * Returns the shortest decimal representation of the value.
+	 * 
+	 * @param value the value
+	 * @return the string representation
+	 */
+	public static String toString(double value) {
+		StringBuilder sb = new StringBuilder(24);
+		appendTo(sb, value);
+		return sb.toString();
+	}
+	
+	/**
+	 * Appends the shortest decimal representation of the value.
+	 * 
+	 * @param sb the string builder
+	 * @param value the value
+	 * @return the string builder
+	 */
+	public static StringBuilder appendTo(StringBuilder sb, double value) {
+		long bits = Double.doubleToRawLongBits(value);
+		long t = bits & (C_MIN - 1);
+		int bq = (int)(bits >>> (P - 1)) & 0x7FF;
+		
+		if (bq == 0x7FF) {
+			return sb.append(t != 0 ? "NaN" : bits > 0 ? "Infinity" : "-Infinity");
+		}
+		
+		if (bits < 0) {
+			sb.append('-');
+		}
+		
+		if (bq != 0) {
+			//normal value
+			int mq = -Q_MIN + 1 - bq;
+			long c = C_MIN | t;
+			
+			//fast path for integers
+			if (0 < mq && mq < P) {
+				long f = c >> mq;
+				
+				if (f << mq == c) {
+					return appendDecimal(sb, f, 0);
+				}
+			}
+			
+			return toDecimal(sb, -mq, c, 0);
+		} else if (t != 0) {
+			//subnormal value
+			return t < C_TINY ? toDecimal(sb, Q_MIN, 10 * t, -1) : toDecimal(sb, Q_MIN, t, 0);
+		} else {
+			return sb.append("0.0");
+		}
+	}
+	
+	/**
+	 * Computes the shortest decimal {@code f 10^e} in the rounding interval of {@code c 2^q} and appends it.
+	 * 
+	 * @param sb the string builder
+	 * @param q the binary exponent
+	 * @param c the significand
+	 * @param dk the adjustment to the decimal exponent for scaled subnormals
+	 * @return the string builder
+	 */
+	private static StringBuilder toDecimal(StringBuilder sb, int q, long c, int dk) {
+		int out = (int)c & 0x1;
+		long cb = c << 2;
+		long cbr = cb + 2;
+		long cbl;
+		int k;
+		
+		if (c != C_MIN || q == Q_MIN) {
+			cbl = cb - 2;
+			k = flog10pow2(q);
+		} else {
+			//the interval is asymmetric at powers of 2
+			cbl = cb - 1;
+			k = flog10threeQuartersPow2(q);
+		}
+		
+		int h = q + flog2pow10(-k) + 2;
+		long g1 = G[2 * (k - K_MIN)];
+		long g0 = G[2 * (k - K_MIN) + 1];
+		
+		long vb = rop(g1, g0, cb << h);
+		long vbl = rop(g1, g0, cbl << h);
+		long vbr = rop(g1, g0, cbr << h);
+		
+		long s = vb >> 2;
+		
+		if (s >= 100) {
+			//try the shorter decimal with one fewer digit
+			long sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+			long tp10 = sp10 + 10;
+			boolean upin = vbl + out <= sp10 << 2;
+			boolean wpin = (tp10 << 2) + out <= vbr;
+			
+			if (upin != wpin) {
+				return appendDecimal(sb, upin ? sp10 : tp10, k);
+			}
+		}
+		
+		long t = s + 1;
+		boolean uin = vbl + out <= s << 2;
+		boolean win = (t << 2) + out <= vbr;
+		
+		if (uin != win) {
+			return appendDecimal(sb, uin ? s : t, k + dk);
+		}
+		
+		//both are in the interval, pick the closest, breaking ties to even
+		long cmp = vb - ((s + t) << 1);
+		return appendDecimal(sb, cmp < 0 || (cmp == 0 && (s & 0x1) == 0) ? s : t, k + dk);
+	}
+	
+	/**
+	 * Computes the rounded-to-odd product of the 126-bit {@code g} and {@code cp}, divided by {@code 2^127}.
+	 * 
+	 * @param g1 the upper 63 bits of {@code g}
+	 * @param g0 the lower 63 bits of {@code g}
+	 * @param cp the multiplier
+	 * @return the product, rounded to odd
+	 */
+	private static long rop(long g1, long g0, long cp) {
+		long x1 = Math.multiplyHigh(g0, cp);
+		long y0 = g1 * cp;
+		long y1 = Math.multiplyHigh(g1, cp);
+		long z = (y0 >>> 1) + x1;
+		long vbp = y1 + (z >>> 63);
+		return vbp | (((z & MASK_63) + MASK_63) >>> 63);
+	}
+	
+	/**
+	 * Appends the decimal {@code f 10^e} using the same format as {@link Double#toString(double)}: plain notation
+	 * when {@code 10^-3 <= |value| < 10^7}, and computerized scientific notation otherwise.
+	 * 
+	 * @param sb the string builder
+	 * @param f the decimal significand
+	 * @param e the decimal exponent
+	 * @return the string builder
+	 */
+	private static StringBuilder appendDecimal(StringBuilder sb, long f, int e) {
+		//remove trailing zeros
+		while (f != 0 && f % 10 == 0) {
+			f /= 10;
+			e++;
+		}
+		
+		char[] digits = new char[20];
+		int n = 0;
+		
+		for (long remaining = f; remaining != 0 || n == 0; remaining /= 10) {
+			digits[digits.length - ++n] = (char)('0' + (int)(remaining % 10));
+		}
+		
+		int start = digits.length - n;
+		int exponent = n + e - 1;
+		
+		if (exponent >= 0 && exponent < 7) {
+			int integerDigits = exponent + 1;
+			
+			if (n <= integerDigits) {
+				sb.append(digits, start, n);
+				
+				for (int i = n; i < integerDigits; i++) {
+					sb.append('0');
+				}
+				
+				sb.append(".0");
+			} else {
+				sb.append(digits, start, integerDigits);
+				sb.append('.');
+				sb.append(digits, start + integerDigits, n - integerDigits);
+			}
+		} else if (exponent < 0 && exponent >= -3) {
+			sb.append("0.");
+			
+			for (int i = -1; i > exponent; i--) {
+				sb.append('0');
+			}
+			
+			sb.append(digits, start, n);
+		} else {
+			sb.append(digits[start]);
+			sb.append('.');
+			
+			if (n > 1) {
+				sb.append(digits, start + 1, n - 1);
+			} else {
+				sb.append('0');
+			}
+			
+			sb.append('E');
+			sb.append(exponent);
+		}
+		
+		return sb;
+	}
+	
+	/**
+	 * Returns {@code floor(q log10(2))}, valid for {@code |q| <= 5456721}.
+	 * 
+	 * @param q the exponent
+	 * @return {@code floor(q log10(2))}
+	 */
+	private static int flog10pow2(int q) {
+		return (int)((q * 661_971_961_083L) >> 41);
+	}
+	
+	/**
+	 * Returns {@code floor(log10(3/4 2^q))}, valid for {@code |q| <= 5456721}.
+	 * 
+	 * @param q the exponent
+	 * @return {@code floor(log10(3/4 2^q))}
+	 */
+	private static int flog10threeQuartersPow2(int q) {
+		return (int)((q * 661_971_961_083L - 274_743_187_321L) >> 41);
+	}
+	
+	/**
+	 * Returns {@code floor(e log2(10))}, valid for {@code |e| <= 1838394}.
+	 * 
+	 * @param e the exponent
+	 * @return {@code floor(e log2(10))}
+	 */
+	private static int flog2pow10(int e) {
+		return (int)((e * 913_124_641_741L) >> 38);
+	}
+
+}
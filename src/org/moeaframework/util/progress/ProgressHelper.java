@@ -17,6 +17,9 @@
  */
 package org.moeaframework.util.progress;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.apache.commons.lang3.event.EventListenerSupport;
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
 import org.moeaframework.Executor;
@@ -26,6 +29,10 @@ import org.moeaframework.core.Algorithm;
  * Helper for notifying any {@link ProgressListener} when the evaluation progress of an {@link Executor} changes.  This
  * class reports the current progress, percent complete, elapsed time, and remaining time.  Be sure to first call
  * {@link #start} to set the total number of seeds and NFE prior to invoking any other method.
+ * <p>
+ * When seeds are run concurrently, use {@link #setCurrentNFE(int, int)} and {@link #finishSeed(int)} to report the
+ * progress of each seed.  The reports then aggregate the progress of all running seeds, with the current NFE being
+ * the sum of the NFE of each running seed.  All methods are thread-safe.
  */
 public class ProgressHelper {
 	
@@ -95,6 +102,12 @@ public class ProgressHelper {
 	 */
 	private int lastNFE;
 	
+	/**
+	 * The current number of objective function evaluations of each seed still running, used when reporting the
+	 * progress of seeds running concurrently.
+	 */
+	private final Map<Integer, Integer> runningNFE;
+	
 	/**
 	 * Constructs a new progress helper for generating progress reports for the given executor.
 	 * 
@@ -105,6 +118,7 @@ public class ProgressHelper {
 		this.executor = executor;
 		
 		statistics = new DescriptiveStatistics(25);
+		runningNFE = new HashMap<Integer, Integer>();
 		listeners = EventListenerSupport.create(ProgressListener.class);
 	}
 	
@@ -208,7 +222,7 @@ public class ProgressHelper {
 	 * 
 	 * @param currentNFE the current number of objective function evaluations
 	 */
-	public void setCurrentNFE(int currentNFE) {
+	public synchronized void setCurrentNFE(int currentNFE) {
 		this.currentNFE = currentNFE;
 		
 		updateStatistics();
@@ -224,7 +238,7 @@ public class ProgressHelper {
 	 * 
 	 * @param currentSeed the current seed being processed, starting at {@code 1}
 	 */
-	public void setCurrentSeed(int currentSeed) {
+	public synchronized void setCurrentSeed(int currentSeed) {
 		if (this.currentSeed != currentSeed) {
 			this.currentSeed = currentSeed;
 	
@@ -238,17 +252,57 @@ public class ProgressHelper {
 	 * 
 	 * @param algorithm - the algorithm that is going to be running
 	 */
-	public void setCurrentAlgorithm(Algorithm algorithm) {
+	public synchronized void setCurrentAlgorithm(Algorithm algorithm) {
 		this.currentAlgorithm = algorithm;
+	}
+	
+	/**
+	 * Sets the current number of objective function evaluations of a seed that may be running concurrently with other
+	 * seeds.  This method will generate a progress report.
+	 * 
+	 * @param seed the seed being processed, starting at {@code 1}
+	 * @param currentNFE the current number of objective function evaluations of the seed
+	 */
+	public synchronized void setCurrentNFE(int seed, int currentNFE) {
+		runningNFE.put(seed, currentNFE);
+		setCurrentNFE(sumRunningNFE());
+	}
+	
+	/**
+	 * Indicates a seed, which may be running concurrently with other seeds, has finished.  This method will generate
+	 * a progress report.
+	 * 
+	 * @param seed the seed that finished, starting at {@code 1}
+	 */
+	public synchronized void finishSeed(int seed) {
+		runningNFE.remove(seed);
+		currentSeed++;
+		currentNFE = sumRunningNFE();
 		
+		updateStatistics();
+		sendProgressEvent(true);
+	}
+	
+	/**
+	 * Returns the total number of objective function evaluations of all running seeds.
+	 * 
+	 * @return the total number of objective function evaluations of all running seeds
+	 */
+	private int sumRunningNFE() {
+		int sum = 0;
+		
+		for (int nfe : runningNFE.values()) {
+			sum += nfe;
+		}
+		
+		return sum;
 	}
-
 	
 	/**
 	 * Increments the current seed and sets NFE to 0.  This method will generate a progress report.  This method should
 	 * be invoked after every seed completes in order to notify listeners that the seed completed.
 	 */
-	public void nextSeed() {
+	public synchronized void nextSeed() {
 		currentSeed++;
 		currentNFE = 0;
 		
@@ -265,7 +319,7 @@ public class ProgressHelper {
 	 * @param maxNFE the maximum number of objective function evaluations per seed
 	 * @param maxTime the maximum time
 	 */
-	public void start(int totalSeeds, int maxNFE, long maxTime) {
+	public synchronized void start(int totalSeeds, int maxNFE, long maxTime) {
 		this.totalSeeds = totalSeeds;
 		this.maxNFE = maxNFE;
 		this.maxTime = maxTime;
@@ -275,6 +329,7 @@ public class ProgressHelper {
 		lastNFE = 0;
 		currentSeed = 1;
 		currentNFE = 0;
+		runningNFE.clear();
 		statistics.clear();
 		startTime = System.currentTimeMillis();
 		lastTime = startTime;
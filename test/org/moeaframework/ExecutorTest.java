@@ -18,14 +18,21 @@
 package org.moeaframework;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Solution;
 import org.moeaframework.core.spi.AlgorithmFactoryTestWrapper;
 import org.moeaframework.core.spi.ProblemFactoryTestWrapper;
 import org.moeaframework.mock.MockMultiTypeProblem;
+import org.moeaframework.problem.DTLZ.DTLZ2;
 import org.moeaframework.util.progress.ProgressEvent;
 import org.moeaframework.util.progress.ProgressListener;
 
@@ -84,6 +91,74 @@ public class ExecutorTest {
 		Assert.assertEquals(10, problemFactory.getCloseCount());
 	}
 	
+	@Test
+	public void testRunSeedsConcurrently() {
+		Assert.assertEquals(10, new Executor()
+				.usingAlgorithmFactory(algorithmFactory)
+				.usingProblemFactory(problemFactory)
+				.withProblem("DTLZ2_2")
+				.withAlgorithm("NSGAII")
+				.withProperty("populationSize", 100)
+				.withProperty("maxEvaluations", 1000)
+				.distributeSeedsOn(4)
+				.runSeeds(10).size());
+		
+		Assert.assertEquals(10, algorithmFactory.getTerminateCount());
+		Assert.assertEquals(10, problemFactory.getCloseCount());
+	}
+	
+	@Test
+	public void testRunSeedsConcurrentlyReproducible() {
+		PRNG.setSeed(12345);
+		List<NondominatedPopulation> expected = new Executor()
+				.withProblem("DTLZ2_2")
+				.withAlgorithm("NSGAII")
+				.withMaxEvaluations(1000)
+				.distributeSeedsOn(2)
+				.runSeeds(5);
+		
+		PRNG.setSeed(12345);
+		List<NondominatedPopulation> actual = new Executor()
+				.withProblem("DTLZ2_2")
+				.withAlgorithm("NSGAII")
+				.withMaxEvaluations(1000)
+				.distributeSeedsOn(5)
+				.runSeeds(5);
+		
+		Assert.assertEquals(5, expected.size());
+		Assert.assertEquals(5, actual.size());
+		
+		for (int i = 0; i < expected.size(); i++) {
+			Assert.assertEquals(expected.get(i), actual.get(i));
+		}
+	}
+	
+	@Test
+	public void testProgressListenerConcurrentSeeds() {
+		AtomicInteger seedCount = new AtomicInteger();
+		AtomicReference<ProgressEvent> lastEvent = new AtomicReference<ProgressEvent>();
+		
+		new Executor()
+			.withProblem("DTLZ2_2")
+			.withAlgorithm("NSGAII")
+			.withProgressListener(event -> {
+				if (event.isSeedFinished()) {
+					seedCount.incrementAndGet();
+				}
+				
+				Assert.assertBetween(0.0, 1.0, event.getPercentComplete());
+				lastEvent.set(event);
+			})
+			.withMaxEvaluations(1000)
+			.distributeSeedsOn(3)
+			.runSeeds(5);
+		
+		Assert.assertEquals(5, seedCount.get());
+		Assert.assertEquals(6, lastEvent.get().getCurrentSeed());
+		Assert.assertEquals(0, lastEvent.get().getCurrentNFE());
+		Assert.assertEquals(1.0, lastEvent.get().getPercentComplete(), 0.0);
+	}
+	
 	@Test
 	public void testProgressListenerSingleSeed() {
 		TestProgressListener listener = new TestProgressListener();
@@ -155,6 +230,28 @@ public class ExecutorTest {
 			.run();
 	}
 	
+	@Test
+	public void testEvaluatesInBatches() {
+		AtomicInteger batches = new AtomicInteger();
+		
+		new Executor()
+			.withProblem(new DTLZ2(2) {
+				
+				@Override
+				public void evaluateAll(Iterable<? extends Solution> solutions) {
+					batches.incrementAndGet();
+					super.evaluateAll(solutions);
+				}
+				
+			})
+			.withAlgorithm("NSGAII")
+			.withProperty("populationSize", 100)
+			.withMaxEvaluations(1000)
+			.run();
+		
+		Assert.assertEquals(10, batches.get());
+	}
+	
 	private static class TestProgressListener implements ProgressListener {
 
 		private int seedCount = 0;
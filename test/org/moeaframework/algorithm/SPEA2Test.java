@@ -65,6 +65,35 @@ public class SPEA2Test extends JMetalAlgorithmTest {
 		Assert.assertEquals(Math.sqrt(0.5), distances[2][1]);
 	}
 	
+	@Test
+	public void testMutableDistanceMap() {
+		Population population = new Population();
+		population.add(MockSolution.of().withObjectives(0.0, 0.0));
+		population.add(MockSolution.of().withObjectives(1.0, 0.0));
+		population.add(MockSolution.of().withObjectives(3.0, 0.0));
+		population.add(MockSolution.of().withObjectives(7.0, 0.0));
+		
+		SPEA2.MutableDistanceMap map = new SPEA2.MutableDistanceMap(population);
+		SPEA2.MutableDistanceMap subset = map.subset(new int[] { 0, 2, 3 });
+		
+		Assert.assertEquals(1.0, map.getDistanceToNeighbor(0, 1));
+		Assert.assertEquals(3.0, map.getDistanceToNeighbor(0, 2));
+		Assert.assertThrows(ArrayIndexOutOfBoundsException.class, () -> map.getDistanceToNeighbor(0, 4));
+		
+		// ties at the nearest neighbor are broken by the next nearest neighbor
+		Assert.assertEquals(1, map.findMostCrowdedPoint());
+		map.removePoint(1);
+		Assert.assertEquals(3.0, map.getDistanceToNeighbor(0, 1));
+		Assert.assertEquals(1, map.findMostCrowdedPoint());
+		map.removePoint(1);
+		Assert.assertEquals(7.0, map.getDistanceToNeighbor(0, 1));
+		Assert.assertThrows(IllegalStateException.class, () -> map.subset(new int[] { 0 }));
+		
+		// the subset matches the mapping after removing the same point
+		Assert.assertEquals(3.0, subset.getDistanceToNeighbor(0, 1));
+		Assert.assertEquals(1, subset.findMostCrowdedPoint());
+	}
+	
 	@Test
 	public void testTruncate1() {
 		SPEA2 spea2 = new SPEA2(new MockRealProblem(2));
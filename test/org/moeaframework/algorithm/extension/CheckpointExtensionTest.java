@@ -19,6 +19,8 @@ package org.moeaframework.algorithm.extension;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.function.Function;
 
 import org.junit.Test;
 import org.moeaframework.Assert;
@@ -39,5 +41,65 @@ public class CheckpointExtensionTest {
 		Assert.assertNotNull(algorithm);
 		Assert.assertEquals(100, algorithm.getNumberOfEvaluations());
 	}
+	
+	@Test
+	public void testFullSnapshots() throws IOException {
+		testResume(TempFiles.createFile(), file -> new CheckpointExtension(file, 0));
+	}
+	
+	@Test
+	public void testCompression() throws IOException {
+		testResume(TempFiles.createFile(), file -> new CheckpointExtension(file, 0).withCompression());
+	}
+	
+	@Test
+	public void testIncrementalSnapshots() throws IOException {
+		File file = TempFiles.createFile();
+		
+		testResume(file, f -> new CheckpointExtension(f, 0).withIncrementalSnapshots(3));
+		testResume(file, f -> new CheckpointExtension(f, 0).withIncrementalSnapshots(3).withCompression());
+		
+		// only one base file is kept
+		File directory = file.getAbsoluteFile().getParentFile();
+		Assert.assertEquals(1, directory.listFiles((dir, name) -> name.startsWith(file.getName() + ".base")).length);
+	}
+	
+	@Test
+	public void testBackground() throws IOException {
+		testResume(TempFiles.createFile(), file -> new CheckpointExtension(file, 0).inBackground()
+				.withIncrementalSnapshots(2));
+	}
+	
+	private void testResume(File file, Function<File, CheckpointExtension> factory) throws IOException {
+		Files.deleteIfExists(file.toPath());
+		
+		NSGAII algorithm = new NSGAII(new MockRealProblem(2));
+		algorithm.addExtension(factory.apply(file));
+		
+		for (int i = 0; i < 10; i++) {
+			algorithm.step();
+		}
+		
+		algorithm.terminate();
+		Assert.assertFileWithContent(file);
+		
+		NSGAII resumed = new NSGAII(new MockRealProblem(2));
+		resumed.addExtension(factory.apply(file));
+		
+		Assert.assertEquals(algorithm.getNumberOfEvaluations(), resumed.getNumberOfEvaluations());
+		Assert.assertEquals(algorithm.getPopulation().size(), resumed.getPopulation().size());
+		
+		for (int i = 0; i < algorithm.getPopulation().size(); i++) {
+			Assert.assertEquals(algorithm.getPopulation().get(i), resumed.getPopulation().get(i), true);
+		}
+		
+		// continue from the resumed state and reload again
+		resumed.step();
+		resumed.terminate();
+		
+		NSGAII reloaded = new NSGAII(new MockRealProblem(2));
+		reloaded.addExtension(factory.apply(file));
+		Assert.assertEquals(resumed.getNumberOfEvaluations(), reloaded.getNumberOfEvaluations());
+	}
 
 }
@@ -17,15 +17,56 @@
  */
 package org.moeaframework.analysis.collector;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
 import java.util.NoSuchElementException;
 
+import org.apache.commons.lang3.SerializationUtils;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.moeaframework.Assert;
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.variable.RealVariable;
 
 public class ObservationsTest {
 	
+	/**
+	 * Observations serialized by version 4.5, recorded at NFE 100 and 200, each storing the elapsed time and an
+	 * approximation set with two and one solutions, respectively.
+	 */
+	private static final String LEGACY_OBSERVATIONS =
+			"rO0ABXNyADFvcmcubW9lYWZyYW1ld29yay5hbmFseXNpcy5jb2xsZWN0b3IuT2JzZXJ2YXRpb25zs9NYSNl6DY8CAAFMAAxvYnNl" +
+			"cnZhdGlvbnN0ABVMamF2YS91dGlsL1NvcnRlZE1hcDt4cHNyABFqYXZhLnV0aWwuVHJlZU1hcAzB9j4tJWrmAwABTAAKY29tcGFy" +
+			"YXRvcnQAFkxqYXZhL3V0aWwvQ29tcGFyYXRvcjt4cHB3BAAAAAJzcgARamF2YS5sYW5nLkludGVnZXIS4qCk94GHOAIAAUkABXZh" +
+			"bHVleHIAEGphdmEubGFuZy5OdW1iZXKGrJUdC5TgiwIAAHhwAAAAZHNyADBvcmcubW9lYWZyYW1ld29yay5hbmFseXNpcy5jb2xs" +
+			"ZWN0b3IuT2JzZXJ2YXRpb24tV+edl4iL/wIAAkkAA25mZUwABGRhdGF0AA9MamF2YS91dGlsL01hcDt4cAAAAGRzcQB+AANzcgAq" +
+			"amF2YS5sYW5nLlN0cmluZyRDYXNlSW5zZW5zaXRpdmVDb21wYXJhdG9ydwNcfVxQ5c4CAAB4cHcEAAAAAnQAEUFwcHJveGltYXRp" +
+			"b24gU2V0c3IAE2phdmEudXRpbC5BcnJheUxpc3R4gdIdmcdhnQMAAUkABHNpemV4cAAAAAJ3BAAAAAJzcgAfb3JnLm1vZWFmcmFt" +
+			"ZXdvcmsuY29yZS5Tb2x1dGlvbu9zFPSSTfABAgAETAAKYXR0cmlidXRlc3EAfgAKWwALY29uc3RyYWludHN0AAJbRFsACm9iamVj" +
+			"dGl2ZXNxAH4AE1sACXZhcmlhYmxlc3QAIltMb3JnL21vZWFmcmFtZXdvcmsvY29yZS9WYXJpYWJsZTt4cHNyABFqYXZhLnV0aWwu" +
+			"SGFzaE1hcAUH2sHDFmDRAwACRgAKbG9hZEZhY3RvckkACXRocmVzaG9sZHhwP0AAAAAAAAx3CAAAABAAAAADdAADZm9vdAADYmFy" +
+			"dAAEcmFua3NxAH4ABgAAAAF0ABBjcm93ZGluZ0Rpc3RhbmNlc3IAEGphdmEubGFuZy5Eb3VibGWAs8JKKWv7BAIAAUQABXZhbHVl" +
+			"eHEAfgAHP+AAAAAAAAB4dXIAAltEPqaMFKtjWh4CAAB4cAAAAAEAAAAAAAAAAHVxAH4AHwAAAAI/6AAAAAAAAD/QAAAAAAAAdXIA" +
+			"IltMb3JnLm1vZWFmcmFtZXdvcmsuY29yZS5WYXJpYWJsZTv5PrXzJxStMAIAAHhwAAAAAnNyACxvcmcubW9lYWZyYW1ld29yay5j" +
+			"b3JlLnZhcmlhYmxlLlJlYWxWYXJpYWJsZSuaGR9GInVQAgADRAAKbG93ZXJCb3VuZEQACnVwcGVyQm91bmREAAV2YWx1ZXhwAAAA" +
+			"AAAAAAA/8AAAAAAAAD/QAAAAAAAAc3IALm9yZy5tb2VhZnJhbWV3b3JrLmNvcmUudmFyaWFibGUuQmluYXJ5VmFyaWFibGX2iH1p" +
+			"FqcozQIAAkkADG51bWJlck9mQml0c0wABmJpdFNldHQAEkxqYXZhL3V0aWwvQml0U2V0O3hwAAAAA3NyABBqYXZhLnV0aWwuQml0" +
+			"U2V0bv2Ifjk0qyEDAAFbAARiaXRzdAACW0p4cHVyAAJbSnggBLUSsXWTAgAAeHAAAAABAAAAAAAAAAJ4c3EAfgASc3EAfgAWP0AA" +
+			"AAAAAAx3CAAAABAAAAADcQB+ABhxAH4AGXEAfgAacQB+ABtxAH4AHHNxAH4AHT/gAAAAAAAAeHVxAH4AHwAAAAEAAAAAAAAAAHVx" +
+			"AH4AHwAAAAI/4AAAAAAAAD/gAAAAAAAAdXEAfgAiAAAAAnNxAH4AJAAAAAAAAAAAP/AAAAAAAAA/4AAAAAAAAHNxAH4AJgAAAANz" +
+			"cQB+ACl1cQB+ACwAAAABAAAAAAAAAAJ4eHQADEVsYXBzZWQgVGltZXNxAH4AHT/4AAAAAAAAeHNxAH4ABgAAAMhzcQB+AAkAAADI" +
+			"c3EAfgADcQB+AA53BAAAAAJxAH4AD3NxAH4AEAAAAAF3BAAAAAFzcQB+ABJzcQB+ABY/QAAAAAAADHcIAAAAEAAAAANxAH4AGHEA" +
+			"fgAZcQB+ABpxAH4AG3EAfgAcc3EAfgAdP+AAAAAAAAB4dXEAfgAfAAAAAQAAAAAAAAAAdXEAfgAfAAAAAj/QAAAAAAAAP+gAAAAA" +
+			"AAB1cQB+ACIAAAACc3EAfgAkAAAAAAAAAAA/8AAAAAAAAD/oAAAAAAAAc3EAfgAmAAAAA3NxAH4AKXVxAH4ALAAAAAEAAAAAAAAA" +
+			"Anh4cQB+ADhzcQB+AB1ABAAAAAAAAHh4";
+
 	private Observations observations;
 	
 	@Before
@@ -108,5 +149,129 @@ public class ObservationsTest {
 	public void testGetIllegalKey() {
 		observations.first().get("foo");
 	}
+	
+	@Test
+	public void testValueTypes() {
+		Observation observation = new Observation(300);
+		observation.set("test", 1);
+		observation.set("double", 0.5);
+		observation.set("long", 5L);
+		observation.set("string", "foo");
+		observations.add(observation);
+		
+		Observation result = observations.last();
+		Assert.assertEquals(Integer.valueOf(1), result.get("test"));
+		Assert.assertEquals(Double.valueOf(0.5), result.get("double"));
+		Assert.assertEquals(Long.valueOf(5L), result.get("long"));
+		Assert.assertEquals("foo", result.get("string"));
+		Assert.assertEquals(5, observations.first().get("TEST"));
+		
+		Assert.assertSize(1, observations.first().keys());
+		Assert.assertSize(4, result.keys());
+		Assert.assertThrows(IllegalArgumentException.class, () -> observations.first().get("double"));
+		
+		// storing a different type converts the column
+		result.set("test", 2.5);
+		Assert.assertEquals(5, observations.first().get("test"));
+		Assert.assertEquals(2.5, observations.last().get("test"));
+	}
+	
+	@Test
+	public void testInsertAndReplace() {
+		Observation observation = new Observation(150);
+		observation.set("test", 3);
+		observations.add(observation);
+		
+		Observation replacement = new Observation(200);
+		replacement.set("other", 4.0);
+		observations.add(replacement);
+		
+		// changes after adding are not stored
+		observation.set("test", 10);
+		
+		Assert.assertSize(3, observations);
+		Assert.assertEquals(3, observations.at(101).get("test"));
+		Assert.assertEquals(4.0, observations.last().get("other"));
+		Assert.assertThrows(IllegalArgumentException.class, () -> observations.last().get("test"));
+		
+		int[] expected = { 100, 150, 200 };
+		int i = 0;
+		
+		for (Observation o : observations) {
+			Assert.assertEquals(expected[i++], o.getNFE());
+		}
+	}
+	
+	@Test
+	public void testSnapshots() {
+		testSnapshots(new Observations(-1));
+	}
+	
+	@Test
+	public void testSpilledSnapshots() {
+		testSnapshots(new Observations(0));
+	}
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testDeserializeLegacyForm() throws IOException, ClassNotFoundException {
+		try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(
+				Base64.getDecoder().decode(LEGACY_OBSERVATIONS)))) {
+			Observations observations = (Observations)stream.readObject();
+			
+			Assert.assertSize(2, observations);
+			Assert.assertEquals(100, observations.first().getNFE());
+			Assert.assertEquals(200, observations.last().getNFE());
+			Assert.assertEquals(1.5, observations.first().get("Elapsed Time"));
+			Assert.assertEquals(2.5, observations.last().get("Elapsed Time"));
+			
+			List<Solution> solutions = (List<Solution>)observations.first().get("Approximation Set");
+			Assert.assertSize(2, solutions);
+			Assert.assertArrayEquals(new double[] { 0.5, 0.5 }, solutions.get(1).getObjectives(), 0.0);
+			Assert.assertEquals("bar", solutions.get(1).getAttribute("foo"));
+			
+			// the observations can be extended after being restored
+			Observation observation = new Observation(300);
+			observation.set("Elapsed Time", 3.5);
+			observations.add(observation);
+			
+			Assert.assertSize(3, observations);
+			Assert.assertEquals(3.5, observations.at(300).get("Elapsed Time"));
+		}
+	}
+	
+	@SuppressWarnings("unchecked")
+	private void testSnapshots(Observations observations) {
+		List<List<Solution>> expected = new ArrayList<List<Solution>>();
+		
+		for (int i = 0; i < 10; i++) {
+			ArrayList<Solution> solutions = new ArrayList<Solution>();
+			
+			for (int j = 0; j <= i; j++) {
+				Solution solution = new Solution(1, 2);
+				solution.setVariable(0, new RealVariable(j / 10.0, 0.0, 1.0));
+				solution.setObjectives(new double[] { i, j });
+				solutions.add(solution);
+			}
+			
+			Observation observation = new Observation(100 * (10 - i));
+			observation.set("Approximation Set", solutions);
+			observations.add(observation);
+			expected.add(0, solutions);
+		}
+		
+		Observations copy = SerializationUtils.clone(observations);
+		
+		for (Observations result : List.of(observations, copy)) {
+			Assert.assertSize(10, result);
+			int i = 0;
+			
+			for (Observation observation : result) {
+				Serializable value = observation.get("Approximation Set");
+				Assert.assertInstanceOf(ArrayList.class, value);
+				Assert.assertEquals(new Population(expected.get(i++)), new Population((List<Solution>)value));
+			}
+		}
+	}
 
 }
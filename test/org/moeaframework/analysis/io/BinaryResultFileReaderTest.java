@@ -0,0 +1,177 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.moeaframework.Assert;
+import org.moeaframework.TempFiles;
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Problem;
+import org.moeaframework.mock.MockSolution;
+import org.moeaframework.problem.ProblemStub;
+import org.moeaframework.util.TypedProperties;
+
+public class BinaryResultFileReaderTest {
+	
+	private final Problem problem = new ProblemStub(2);
+	
+	@Test
+	public void testRandomAccess() throws IOException {
+		File file = TempFiles.createFile();
+		List<NondominatedPopulation> populations = writeEntries(file, 100);
+		
+		try (BinaryResultFileReader reader = new BinaryResultFileReader(problem, file)) {
+			Assert.assertEquals(100, reader.getNumberOfEntries());
+			
+			for (int i : new int[] { 99, 0, 50, 1, 98 }) {
+				ResultEntry entry = reader.get(i);
+				Assert.assertEquals(populations.get(i), entry.getPopulation());
+				Assert.assertEquals(i, entry.getProperties().getInt("NFE"));
+			}
+			
+			Assert.assertThrows(IndexOutOfBoundsException.class, () -> reader.get(-1));
+			Assert.assertThrows(IndexOutOfBoundsException.class, () -> reader.get(100));
+		}
+	}
+	
+	@Test
+	public void testMissingIndex() throws IOException {
+		File file = TempFiles.createFile();
+		List<NondominatedPopulation> populations = writeEntries(file, 10);
+		
+		// remove the trailer, forcing the reader to scan the file
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.setLength(raf.length() - 1);
+		}
+		
+		try (BinaryResultFileReader reader = new BinaryResultFileReader(problem, file)) {
+			Assert.assertEquals(10, reader.getNumberOfEntries());
+			Assert.assertEquals(populations.get(7), reader.get(7).getPopulation());
+		}
+	}
+	
+	@Test
+	public void testCorruptedEntry() throws IOException {
+		File file = TempFiles.createFile();
+		writeEntries(file, 3);
+		
+		long position = 0;
+		
+		try (BinaryResultFileReader reader = new BinaryResultFileReader(problem, file)) {
+			Assert.assertEquals(3, reader.getNumberOfEntries());
+		}
+		
+		try (BinaryResultFileWriter writer = BinaryResultFileWriter.append(problem, file)) {
+			position = file.length();
+			writeEntries(writer, 1);
+		}
+		
+		// flip a byte in the content of the last entry
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.seek(position + BinaryResultFileWriter.BLOCK_HEADER_SIZE + 2);
+			raf.write(raf.read() ^ 0xFF);
+		}
+		
+		try (BinaryResultFileReader reader = new BinaryResultFileReader(problem, file)) {
+			Assert.assertEquals(4, reader.getNumberOfEntries());
+			Assert.assertThrows(FrameworkException.class, () -> reader.get(3));
+			
+			int count = 0;
+			
+			while (reader.hasNext()) {
+				reader.next();
+				count++;
+			}
+			
+			Assert.assertEquals(3, count);
+		}
+	}
+	
+	@Test
+	public void testCorruptedBlockLength() throws IOException {
+		File file = TempFiles.createFile();
+		writeEntries(file, 3);
+		
+		long position = 0;
+		
+		try (BinaryResultFileWriter writer = BinaryResultFileWriter.append(problem, file)) {
+			position = file.length();
+			writeEntries(writer, 1);
+		}
+		
+		// replace the stored and decompressed lengths of the last entry with lengths larger than the file
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.seek(position + 1);
+			raf.writeInt(Integer.MAX_VALUE);
+			raf.writeInt(Integer.MAX_VALUE);
+		}
+		
+		try (BinaryResultFileReader reader = new BinaryResultFileReader(problem, file)) {
+			Assert.assertEquals(4, reader.getNumberOfEntries());
+			Assert.assertEquals(2, reader.get(2).getProperties().getInt("NFE"));
+			Assert.assertThrows(FrameworkException.class, () -> reader.get(3));
+		}
+	}
+	
+	@Test
+	public void testTextResultFile() throws IOException {
+		File file = TempFiles.createFile().withContent("0.0 1.0\n#\n");
+		
+		Assert.assertFalse(BinaryResultFileReader.isBinaryResultFile(file));
+		Assert.assertThrows(IOException.class, () -> new BinaryResultFileReader(problem, file));
+	}
+	
+	@Test
+	public void testObjectivesMismatch() throws IOException {
+		File file = TempFiles.createFile();
+		writeEntries(file, 1);
+		
+		Assert.assertThrows(IOException.class, () -> new BinaryResultFileReader(new ProblemStub(3), file));
+	}
+	
+	private List<NondominatedPopulation> writeEntries(File file, int count) throws IOException {
+		try (BinaryResultFileWriter writer = BinaryResultFileWriter.overwrite(problem, file)) {
+			return writeEntries(writer, count);
+		}
+	}
+	
+	private List<NondominatedPopulation> writeEntries(BinaryResultFileWriter writer, int count) throws IOException {
+		List<NondominatedPopulation> populations = new ArrayList<NondominatedPopulation>();
+		
+		for (int i = 0; i < count; i++) {
+			NondominatedPopulation population = new NondominatedPopulation();
+			
+			for (int j = 0; j <= i % 5; j++) {
+				population.add(MockSolution.of().withObjectives(i + j, i - j));
+			}
+			
+			writer.append(new ResultEntry(population, TypedProperties.of("NFE", Integer.toString(i))));
+			populations.add(population);
+		}
+		
+		return populations;
+	}
+
+}
@@ -0,0 +1,447 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.moeaframework.Assert;
+import org.moeaframework.TempFiles;
+import org.moeaframework.TestThresholds;
+import org.moeaframework.analysis.io.BinaryResultFileWriter.BinaryResultFileWriterSettings;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.variable.BinaryVariable;
+import org.moeaframework.core.variable.Permutation;
+import org.moeaframework.core.variable.RealVariable;
+import org.moeaframework.mock.MockSolution;
+import org.moeaframework.mock.MockUnsupportedVariable;
+import org.moeaframework.problem.AbstractProblem;
+import org.moeaframework.problem.ProblemStub;
+import org.moeaframework.util.TypedProperties;
+
+public class BinaryResultFileWriterTest {
+	
+	private Problem problem;
+	private Solution solution1; // feasible
+	private Solution solution2; // feasible
+	private Solution solution3; // violates constraints
+	private TypedProperties properties;
+
+	@Before
+	public void setUp() {
+		problem = new AbstractProblem(3, 2, 1) {
+			
+			@Override
+			public void evaluate(Solution solution) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public Solution newSolution() {
+				Solution solution = new Solution(3, 2, 1);
+				solution.setVariable(0, new RealVariable(0.0, 1.0));
+				solution.setVariable(1, new BinaryVariable(5));
+				solution.setVariable(2, new Permutation(3));
+				return solution;
+			}
+			
+		};
+		
+		solution1 = problem.newSolution();
+		((RealVariable)solution1.getVariable(0)).setValue(0.25);
+		((BinaryVariable)solution1.getVariable(1)).set(2, true);
+		((Permutation)solution1.getVariable(2)).swap(0, 2);
+		solution1.setObjectives(new double[] { 0.0, 1.0 });
+		
+		solution2 = problem.newSolution();
+		((RealVariable)solution2.getVariable(0)).setValue(0.1);
+		((BinaryVariable)solution2.getVariable(1)).set(1, true);
+		((Permutation)solution2.getVariable(2)).swap(0, 1);
+		solution2.setObjectives(new double[] { 1.0, 0.0 });
+		
+		solution3 = problem.newSolution();
+		solution3.setObjectives(new double[] { 0.5, 0.5 });
+		solution3.setConstraints(new double[] { -1.0 });
+		
+		properties = new TypedProperties();
+		properties.setString("foo", "bar");
+		properties.setString("\"'!@#$=:%^&*()\\\r\n//\t ", "é中");
+	}
+
+	@After
+	public void tearDown() {
+		problem = null;
+		solution1 = null;
+		solution2 = null;
+		solution3 = null;
+		properties = null;
+	}
+	
+	@Test
+	public void testNormal() throws IOException {
+		File file = TempFiles.createFile();
+		NondominatedPopulation population = new NondominatedPopulation(List.of(solution1, solution2));
+		
+		try (BinaryResultFileWriter writer = BinaryResultFileWriter.append(problem, file)) {
+			writer.append(new ResultEntry(population, properties));
+		}
+		
+		Assert.assertTrue(BinaryResultFileReader.isBinaryResultFile(file));
+		
+		try (BinaryResultFileReader reader = BinaryResultFileReader.open(problem, file)) {
+			Assert.assertEquals(problem.getName(), reader.getProblemName());
+			
+			ResultEntry entry = reader.next();
+			Assert.assertEquals(population, entry.getPopulation());
+			Assert.assertEquals(properties, entry.getProperties());
+			Assert.assertFalse(reader.hasNext());
+		}
+	}
+	
+	@Test
+	public void testCompressed() throws IOException {
+		File file = TempFiles.createFile();
+		NondominatedPopulation population = new NondominatedPopulation(List.of(solution1, solution2));
+		
+		try (BinaryResultFileWriter writer = new BinaryResultFileWriter(problem, file,
+				new BinaryResultFileWriterSettings(Optional.empty(), Optional.empty(), Optional.empty(),
+						Optional.of(true)))) {
+			writer.append(new ResultEntry(population, properties));
+			writer.append(new ResultEntry(new NondominatedPopulation(), null));
+		}
+		
+		try (BinaryResultFileReader reader = BinaryResultFileReader.open(problem, file)) {
+			Assert.assertEquals(2, reader.getNumberOfEntries());
+			Assert.assertEquals(population, reader.get(0).getPopulation());
+			Assert.assertEquals(properties, reader.get(0).getProperties());
+			Assert.assertEquals(0, reader.get(1).getPopulation().size());
+		}
+	}
+	
+	@Test
+	public void testNullProperties() throws IOException {
+		File file = TempFiles.createFile();
+		
+		try (BinaryResultFileWriter writer = BinaryResultFileWriter.append(problem, file)) {
+			writer.append(new ResultEntry(new NondominatedPopulation(), (TypedProperties)null));
+		}
+		
+		try (BinaryResultFileReader reader = BinaryResultFileReader.open(problem, file)) {
+			Assert.assertEquals(new TypedProperties(), reader.next().getProperties());
+		}
+	}
+	
+	@Test
+	public void testNoVariables() throws IOException {
+		File file = TempFiles.createFile();
+		NondominatedPopulation population = new NondominatedPopulation(List.of(solution1, solution2));
+		
+		try (BinaryResultFileWriter writer = new BinaryResultFileWriter(problem, file,
+				new BinaryResultFileWriterSettings(Optional.empty(), Optional.of(false), Optional.empty(),
+						Optional.empty()))) {
+			writer.append(new ResultEntry(population, properties));
+		}
+		
+		population.clear();
+		population.add(MockSolution.of().withObjectives(solution1.getObjectives()));
+		population.add(MockSolution.of().withObjectives(solution2.getObjectives()));
+		
+		try (BinaryResultFileReader reader = BinaryResultFileReader.open(problem, file)) {
+			Assert.assertEquals(population, reader.next().getPopulation());
+		}
+	}
+	
+	@Test
+	public void testConstrainedSolution() throws IOException {
+		File file = TempFiles.createFile();
+		
+		try (BinaryResultFileWriter writer = BinaryResultFileWriter.append(problem, file)) {
+			writer.append(new ResultEntry(new NondominatedPopulation(List.of(solution3)), properties));
+		}
+		
+		try (BinaryResultFileReader reader = BinaryResultFileReader.open(problem, file)) {
+			Assert.assertEquals(0, reader.next().getPopulation().size());
+		}
+	}
+	
+	@Test
+	public void testAppend() throws IOException {
+		File file = TempFiles.createFile();
+		NondominatedPopulation population = new NondominatedPopulation(List.of(solution1, solution2));
+		
+		try (BinaryResultFileWriter writer = BinaryResultFileWriter.append(problem, file)) {
+			Assert.assertEquals(0, writer.getNumberOfEntries());
+			writer.append(new ResultEntry(population, properties));
+			writer.append(new ResultEntry(population, properties));
+			Assert.assertEquals(2, writer.getNumberOfEntries());
+		}
+		
+		try (BinaryResultFileWriter writer = BinaryResultFileWriter.append(problem, file)) {
+			Assert.assertEquals(2, writer.getNumberOfEntries());
+			writer.append(new ResultEntry(population, properties));
+			Assert.assertEquals(3, writer.getNumberOfEntries());
+		}
+		
+		assertEntries(file, population, 3);
+	}
+	
+	@Test
+	public void testAppendMissingIndex() throws IOException {
+		File file = TempFiles.createFile();
+		NondominatedPopulation population = new NondominatedPopulation(List.of(solution1, solution2));
+		
+		BinaryResultFileWriter writer = BinaryResultFileWriter.append(problem, file);
+		writer.append(new ResultEntry(population, properties));
+		writer.append(new ResultEntry(population, properties));
+		writer.flush();
+		
+		// simulate the program terminating before the index is written
+		long length = file.length();
+		writer.close();
+		truncate(file, length);
+		
+		assertEntries(file, population, 2);
+		
+		try (BinaryResultFileWriter appender = BinaryResultFileWriter.append(problem, file)) {
+			Assert.assertEquals(2, appender.getNumberOfEntries());
+			appender.append(new ResultEntry(population, properties));
+		}
+		
+		assertEntries(file, population, 3);
+	}
+	
+	@Test
+	public void testAppendRemovesIncompleteEntries() throws IOException {
+		File file = TempFiles.createFile();
+		NondominatedPopulation population = new NondominatedPopulation(List.of(solution1, solution2));
+		long length = 0;
+		
+		try (BinaryResultFileWriter writer = BinaryResultFileWriter.append(problem, file)) {
+			writer.append(new ResultEntry(population, properties));
+			writer.flush();
+			length = file.length();
+			writer.append(new ResultEntry(population, properties));
+		}
+		
+		// cut the second entry in half
+		truncate(file, length + 20);
+		
+		try (BinaryResultFileWriter writer = BinaryResultFileWriter.append(problem, file)) {
+			Assert.assertEquals(1, writer.getNumberOfEntries());
+			Assert.assertEquals(length, file.length());
+			writer.append(new ResultEntry(population, properties));
+		}
+		
+		assertEntries(file, population, 2);
+	}
+	
+	@Test
+	public void testAppendRemovesCorruptedEntries() throws IOException {
+		File file = TempFiles.createFile();
+		NondominatedPopulation population = new NondominatedPopulation(List.of(solution1, solution2));
+		long length = 0;
+		
+		try (BinaryResultFileWriter writer = BinaryResultFileWriter.append(problem, file)) {
+			for (int i = 0; i < 5; i++) {
+				if (i == 2) {
+					writer.flush();
+					length = file.length();
+				}
+				
+				writer.append(new ResultEntry(population, properties));
+			}
+		}
+		
+		// flip one byte in the content of the third entry, leaving the index intact
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.seek(length + 20);
+			int value = raf.read();
+			raf.seek(length + 20);
+			raf.write(value ^ 0xFF);
+		}
+		
+		try (BinaryResultFileWriter writer = BinaryResultFileWriter.append(problem, file)) {
+			Assert.assertEquals(2, writer.getNumberOfEntries());
+			Assert.assertEquals(length, file.length());
+			writer.append(new ResultEntry(population, properties));
+		}
+		
+		assertEntries(file, population, 3);
+	}
+	
+	@Test
+	public void testAppendDifferentProblem() throws IOException {
+		File file = TempFiles.createFile().withContent("# Problem = Foo\n0.0 1.0\n#\n");
+		NondominatedPopulation population = new NondominatedPopulation(List.of(solution1, solution2));
+		
+		try (BinaryResultFileWriter writer = BinaryResultFileWriter.append(problem, file)) {
+			Assert.assertEquals(0, writer.getNumberOfEntries());
+			writer.append(new ResultEntry(population, properties));
+		}
+		
+		assertEntries(file, population, 1);
+	}
+	
+	@Test
+	public void testAppendDifferentNumberOfVariables() throws IOException {
+		File file = TempFiles.createFile();
+		
+		try (BinaryResultFileWriter writer = BinaryResultFileWriter.overwrite(problem, file)) {
+			writer.append(new ResultEntry(new NondominatedPopulation(List.of(solution1, solution2))));
+		}
+		
+		Problem otherProblem = new AbstractProblem(2, 2, 1) {
+			
+			@Override
+			public void evaluate(Solution solution) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public Solution newSolution() {
+				return new Solution(2, 2, 1);
+			}
+			
+		};
+		
+		Assert.assertEquals(problem.getName(), otherProblem.getName());
+		
+		try (BinaryResultFileWriter writer = BinaryResultFileWriter.append(otherProblem, file)) {
+			Assert.assertEquals(0, writer.getNumberOfEntries());
+		}
+	}
+	
+	@Test
+	public void testAppendDifferentProblemName() throws IOException {
+		File file = TempFiles.createFile();
+		Problem stub = new ProblemStub(2);
+		
+		try (BinaryResultFileWriter writer = BinaryResultFileWriter.overwrite(stub, file)) {
+			writer.append(new ResultEntry(new NondominatedPopulation()));
+		}
+		
+		try (BinaryResultFileWriter writer = BinaryResultFileWriter.append(stub, file)) {
+			Assert.assertEquals(1, writer.getNumberOfEntries());
+		}
+		
+		Problem otherProblem = new AbstractProblem(0, 2) {
+			
+			@Override
+			public void evaluate(Solution solution) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public Solution newSolution() {
+				return new Solution(0, 2);
+			}
+			
+		};
+		
+		try (BinaryResultFileWriter writer = BinaryResultFileWriter.append(otherProblem, file)) {
+			Assert.assertEquals(0, writer.getNumberOfEntries());
+		}
+	}
+	
+	@Test
+	public void testOverwrite() throws IOException {
+		File file = TempFiles.createFile();
+		NondominatedPopulation population = new NondominatedPopulation(List.of(solution1, solution2));
+		
+		try (BinaryResultFileWriter writer = BinaryResultFileWriter.append(problem, file)) {
+			writer.append(new ResultEntry(population, properties));
+		}
+		
+		try (BinaryResultFileWriter writer = BinaryResultFileWriter.overwrite(problem, file)) {
+			Assert.assertEquals(0, writer.getNumberOfEntries());
+			writer.append(new ResultEntry(population, properties));
+		}
+		
+		assertEntries(file, population, 1);
+	}
+	
+	@Test
+	public void testUnsupportedDecisionVariable() throws IOException {
+		File file = TempFiles.createFile();
+		
+		problem = new AbstractProblem(2, 2, 1) {
+
+			@Override
+			public void evaluate(Solution solution) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public Solution newSolution() {
+				Solution solution = new Solution(2, 2, 1);
+				solution.setVariable(0, new RealVariable(0.0, 1.0));
+				solution.setVariable(1, new MockUnsupportedVariable());
+				return solution;
+			}
+			
+		};
+		
+		Solution solution = problem.newSolution();
+		((RealVariable)solution.getVariable(0)).setValue(0.5);
+		solution.setObjectives(new double[] { 0.0, 1.0 });
+		
+		try (BinaryResultFileWriter writer = BinaryResultFileWriter.append(problem, file)) {
+			writer.append(new ResultEntry(new NondominatedPopulation(List.of(solution)), null));
+		}
+		
+		try (BinaryResultFileReader reader = BinaryResultFileReader.open(problem, file)) {
+			ResultEntry entry = reader.next();
+			Assert.assertEquals(1, entry.getPopulation().size());
+			Assert.assertArrayEquals(solution.getObjectives(), entry.getPopulation().get(0).getObjectives(),
+					TestThresholds.HIGH_PRECISION);
+			Assert.assertEquals(solution.getVariable(0), entry.getPopulation().get(0).getVariable(0));
+		}
+	}
+	
+	private void assertEntries(File file, NondominatedPopulation population, int numberOfEntries)
+			throws IOException {
+		try (BinaryResultFileReader reader = BinaryResultFileReader.open(problem, file)) {
+			Assert.assertEquals(numberOfEntries, reader.getNumberOfEntries());
+			
+			for (int i = 0; i < numberOfEntries; i++) {
+				Assert.assertTrue(reader.hasNext());
+				
+				ResultEntry entry = reader.next();
+				Assert.assertEquals(population, entry.getPopulation());
+				Assert.assertEquals(properties, entry.getProperties());
+			}
+			
+			Assert.assertFalse(reader.hasNext());
+		}
+	}
+	
+	private static void truncate(File file, long length) throws IOException {
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.setLength(length);
+		}
+	}
+
+}
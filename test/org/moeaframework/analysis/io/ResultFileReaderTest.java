@@ -27,6 +27,7 @@ import org.junit.Test;
 import org.moeaframework.Assert;
 import org.moeaframework.TempFiles;
 import org.moeaframework.TestThresholds;
+import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.Population;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
@@ -376,6 +377,37 @@ public class ResultFileReaderTest {
 		}
 	}
 	
+	@Test
+	public void testRandomAccess() throws IOException {
+		try (ResultFileReader reader = new ResultFileReader(problem, TempFiles.createFile().withContent(MULTIPOUND))) {
+			Assert.assertEquals(2, reader.getNumberOfEntries());
+			Assert.assertEquals(population, reader.get(1).getPopulation());
+			Assert.assertEquals(population, reader.get(0).getPopulation());
+			
+			// iteration is not affected by random access
+			validateComplete(reader);
+		}
+	}
+	
+	@Test
+	public void testRandomAccessUnparseable() throws IOException {
+		try (ResultFileReader reader = new ResultFileReader(problem,
+				TempFiles.createFile().withContent(INCOMPLETE_UNPARSEABLE))) {
+			Assert.assertEquals(2, reader.getNumberOfEntries());
+			Assert.assertEquals(population, reader.get(0).getPopulation());
+			Assert.assertThrows(FrameworkException.class, () -> reader.get(1));
+			Assert.assertThrows(IndexOutOfBoundsException.class, () -> reader.get(2));
+		}
+	}
+	
+	@Test
+	public void testReaderCompleteWindowsLineEndings() throws IOException {
+		try (ResultFileReader reader = new ResultFileReader(problem,
+				TempFiles.createFile().withContent(COMPLETE.replace("\n", "\r\n")))) {
+			validateComplete(reader);
+		}
+	}
+	
 	@Test(expected = NoSuchElementException.class)
 	public void testNextAfterEndOfFile() throws IOException {
 		try (ResultFileReader reader = new ResultFileReader(problem, TempFiles.createFile().withContent(COMPLETE))) {
@@ -19,6 +19,8 @@ package org.moeaframework.analysis.io;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.util.Optional;
 
@@ -272,6 +274,146 @@ public class ResultFileWriterTest {
 		}
 	}
 	
+	@Test
+	public void testAppendRemovesInvalidEntries() throws IOException {
+		File file = TempFiles.createFile();
+
+		NondominatedPopulation population = new NondominatedPopulation();
+		population.add(solution1);
+		population.add(solution2);
+		
+		TypedProperties properties = new TypedProperties();
+		properties.setString("foo", "bar");
+
+		try (ResultFileWriter writer = ResultFileWriter.append(problem, file)) {
+			writer.append(new ResultEntry(population, properties));
+			writer.append(new ResultEntry(population, properties));
+		}
+		
+		long validLength = file.length();
+		
+		// an unparseable entry followed by an incomplete entry
+		Files.writeString(file.toPath(), "foo bar\n#\n0.5 0.5", StandardOpenOption.APPEND);
+
+		try (ResultFileWriter writer = ResultFileWriter.append(problem, file)) {
+			Assert.assertEquals(validLength, file.length());
+			Assert.assertEquals(2, writer.getNumberOfEntries());
+			writer.append(new ResultEntry(population, properties));
+			Assert.assertEquals(3, writer.getNumberOfEntries());
+		}
+		
+		try (ResultFileReader reader = ResultFileReader.open(problem, file)) {
+			for (int i = 0; i < 3; i++) {
+				Assert.assertTrue(reader.hasNext());
+				Assert.assertEquals(population, reader.next().getPopulation());
+			}
+			
+			Assert.assertFalse(reader.hasNext());
+		}
+	}
+	
+	@Test
+	public void testAppendMissingLineSeparator() throws IOException {
+		File file = TempFiles.createFile();
+
+		NondominatedPopulation population = new NondominatedPopulation();
+		population.add(solution1);
+		
+		try (ResultFileWriter writer = ResultFileWriter.append(problem, file)) {
+			writer.append(new ResultEntry(population));
+		}
+		
+		Files.writeString(file.toPath(), Files.readString(file.toPath()).stripTrailing());
+
+		try (ResultFileWriter writer = ResultFileWriter.append(problem, file)) {
+			Assert.assertEquals(1, writer.getNumberOfEntries());
+			writer.append(new ResultEntry(population));
+		}
+		
+		try (ResultFileReader reader = ResultFileReader.open(problem, file)) {
+			Assert.assertTrue(reader.hasNext());
+			reader.next();
+			Assert.assertTrue(reader.hasNext());
+			Assert.assertEquals(population, reader.next().getPopulation());
+			Assert.assertFalse(reader.hasNext());
+		}
+	}
+	
+	@Test
+	public void testAppendNoValidEntries() throws IOException {
+		File file = TempFiles.createFile();
+		
+		Files.writeString(file.toPath(), "foo bar\n#\n");
+
+		try (ResultFileWriter writer = ResultFileWriter.append(problem, file)) {
+			Assert.assertEquals(0, writer.getNumberOfEntries());
+		}
+		
+		try (ResultFileReader reader = ResultFileReader.open(problem, file)) {
+			Assert.assertFalse(reader.hasNext());
+		}
+	}
+	
+	@Test
+	public void testAppendDifferentHeader() throws IOException {
+		File file = TempFiles.createFile();
+
+		NondominatedPopulation population = new NondominatedPopulation();
+		population.add(solution1);
+		population.add(solution2);
+
+		try (ResultFileWriter writer = new ResultFileWriter(problem, file,
+				new ResultFileWriterSettings(Optional.of(false), Optional.of(false)))) {
+			writer.append(new ResultEntry(population));
+		}
+		
+		Assert.assertFalse(Files.readString(file.toPath()).contains("# Variables"));
+
+		try (ResultFileWriter writer = ResultFileWriter.append(problem, file)) {
+			Assert.assertEquals(1, writer.getNumberOfEntries());
+			writer.append(new ResultEntry(population));
+			Assert.assertEquals(2, writer.getNumberOfEntries());
+		}
+		
+		Assert.assertTrue(Files.readString(file.toPath()).contains("# Variables = 3"));
+		
+		try (ResultFileReader reader = ResultFileReader.open(problem, file)) {
+			Assert.assertTrue(reader.hasNext());
+			Assert.assertEquals(2, reader.next().getPopulation().size());
+			Assert.assertTrue(reader.hasNext());
+			Assert.assertEquals(population, reader.next().getPopulation());
+			Assert.assertFalse(reader.hasNext());
+		}
+	}
+	
+	@Test
+	public void testBatchedFlush() throws IOException {
+		File file = TempFiles.createFile();
+
+		NondominatedPopulation population = new NondominatedPopulation();
+		population.add(solution1);
+		population.add(solution2);
+
+		try (ResultFileWriter writer = new ResultFileWriter(problem, file,
+				new ResultFileWriterSettings(Optional.of(false), Optional.empty(), Optional.of(false)))) {
+			writer.append(new ResultEntry(population));
+			Assert.assertEquals(0, file.length());
+			
+			writer.flush();
+			Assert.assertNotEquals(0, file.length());
+			
+			writer.append(new ResultEntry(population));
+		}
+		
+		try (ResultFileReader reader = ResultFileReader.open(problem, file)) {
+			Assert.assertTrue(reader.hasNext());
+			Assert.assertEquals(population, reader.next().getPopulation());
+			Assert.assertTrue(reader.hasNext());
+			Assert.assertEquals(population, reader.next().getPopulation());
+			Assert.assertFalse(reader.hasNext());
+		}
+	}
+	
 	@Test
 	public void testOverwrite() throws IOException {
 		File file = TempFiles.createFile();
@@ -377,6 +519,7 @@ public class ResultFileWriterTest {
 		ResultFileWriterSettings settings = ResultFileWriterSettings.getDefault();
 		Assert.assertTrue(settings.isAppend());
 		Assert.assertTrue(settings.isIncludeVariables());
+		Assert.assertTrue(settings.isAutoFlush());
 		
 		settings = ResultFileWriterSettings.overwrite();
 		Assert.assertFalse(settings.isAppend());
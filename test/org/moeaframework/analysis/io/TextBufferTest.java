@@ -0,0 +1,120 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.Test;
+import org.moeaframework.Assert;
+import org.moeaframework.TempFiles;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.util.format.DoubleToDecimal;
+
+public class TextBufferTest {
+	
+	@Test
+	public void testLines() {
+		TextBuffer buffer = TextBuffer.wrap("foo\nbar\r\n\rbaz");
+		
+		long end = buffer.findLineEnd(0);
+		Assert.assertEquals("foo", buffer.getString(0, end));
+		
+		long start = buffer.skipLineSeparator(end);
+		end = buffer.findLineEnd(start);
+		Assert.assertEquals("bar", buffer.getString(start, end));
+		
+		start = buffer.skipLineSeparator(end);
+		end = buffer.findLineEnd(start);
+		Assert.assertEquals("", buffer.getString(start, end));
+		
+		start = buffer.skipLineSeparator(end);
+		end = buffer.findLineEnd(start);
+		Assert.assertTrue(buffer.startsWith(start, 'b'));
+		Assert.assertEquals("baz", buffer.getString(start, end));
+		Assert.assertEquals(buffer.length(), buffer.skipLineSeparator(end));
+	}
+	
+	@Test
+	public void testOpen() throws IOException {
+		File file = TempFiles.createFile();
+		Files.writeString(file.toPath(), "foo 1.5\nbar");
+		
+		TextBuffer buffer = TextBuffer.open(file);
+		Assert.assertTrue(file.delete());
+		
+		Assert.assertEquals(11, buffer.length());
+		Assert.assertEquals("foo 1.5", buffer.getString(0, buffer.findLineEnd(0)));
+		Assert.assertEquals(1.5, buffer.parseDouble(4, 7));
+	}
+	
+	@Test
+	public void testTokenize() {
+		TextBuffer buffer = TextBuffer.wrap(" \t1.0  foo\t-2 ");
+		long[] bounds = new long[4];
+		
+		Assert.assertEquals(3, buffer.tokenize(0, buffer.length(), bounds));
+		Assert.assertEquals("1.0", buffer.getString(bounds[0], bounds[1]));
+		Assert.assertEquals("foo", buffer.getString(bounds[2], bounds[3]));
+		
+		Assert.assertEquals(0, buffer.tokenize(0, 2, bounds));
+	}
+	
+	@Test
+	public void testParseDouble() {
+		String[] values = { "0", "-0", "1", "1.", ".5", "+7", "00012.50", "1e10", "1E-10", "-2.5e+3",
+				"123456789012345678901234", "0.000000000000000000000000001234", "1e-320", "4.9E-324",
+				"1.7976931348623157E308", "1e400", "-1e-400", "Infinity", "-Infinity", "NaN", "1d", "0x1p3",
+				"9007199254740993", "2.2250738585072011e-308" };
+		
+		for (String value : values) {
+			assertParseDouble(value);
+		}
+	}
+	
+	@Test
+	public void testParseDoubleRandom() {
+		for (int i = 0; i < 100000; i++) {
+			double value = Double.longBitsToDouble(PRNG.nextLong());
+			
+			if (!Double.isNaN(value)) {
+				assertParseDouble(Double.toString(value));
+				assertParseDouble(DoubleToDecimal.toString(value));
+			}
+			
+			assertParseDouble(Double.toString(PRNG.nextDouble()));
+		}
+	}
+	
+	@Test
+	public void testParseDoubleInvalid() {
+		for (String value : new String[] { "", "-", ".", "e5", "1e", "1.0foo", "--1" }) {
+			TextBuffer buffer = TextBuffer.wrap(value);
+			Assert.assertThrows(NumberFormatException.class, () -> buffer.parseDouble(0, buffer.length()));
+		}
+	}
+	
+	private void assertParseDouble(String value) {
+		TextBuffer buffer = TextBuffer.wrap(value);
+		
+		Assert.assertEquals(Double.doubleToRawLongBits(Double.parseDouble(value)),
+				Double.doubleToRawLongBits(buffer.parseDouble(0, buffer.length())));
+	}
+
+}
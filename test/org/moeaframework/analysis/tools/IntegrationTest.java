@@ -18,7 +18,9 @@
 package org.moeaframework.analysis.tools;
 
 import java.io.File;
+import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.List;
 
 import org.junit.After;
 import org.junit.Before;
@@ -27,7 +29,10 @@ import org.moeaframework.Assert;
 import org.moeaframework.Capture;
 import org.moeaframework.TempFiles;
 import org.moeaframework.TestResources;
+import org.moeaframework.analysis.io.ResultFileReader;
 import org.moeaframework.analysis.io.MetricFileWriter.Metric;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Problem;
 import org.moeaframework.core.spi.AlgorithmFactory;
 import org.moeaframework.core.spi.AlgorithmFactoryTestWrapper;
 import org.moeaframework.core.spi.ProblemFactory;
@@ -282,6 +287,85 @@ public class IntegrationTest {
 	 * Test to ensure the {@code close} method is called on problems, and the {@code terminate} method is called on
 	 * algorithms.
 	 */
+	@Test
+	public void testEvaluatorThreads() throws Exception {
+		File parameterDescriptionFile = TempFiles.createFile().withContent(PARAMETER_FILE);
+		File parameterFile = TempFiles.createFile();
+		
+		SampleGenerator.main(new String[] { 
+				"-n", "10", 
+				"-p", parameterDescriptionFile.getPath(),
+				"-m", "la",
+				"-o", parameterFile.getPath() });
+		
+		File partialParameterFile = TempFiles.createFile();
+		List<String> lines = Files.readAllLines(parameterFile.toPath());
+		Files.write(partialParameterFile.toPath(), lines.subList(0, 5));
+		
+		//results are identical regardless of the number of threads or if resumed
+		File resultFile1 = TempFiles.createFile();
+		File resultFile2 = TempFiles.createFile();
+		File resultFile3 = TempFiles.createFile();
+		
+		Evaluator.main(new String[] { 
+				"-p", parameterDescriptionFile.getPath(),
+				"-i", parameterFile.getPath(),
+				"-o", resultFile1.getPath(),
+				"-a", "NSGAII",
+				"-b", "DTLZ2_2",
+				"-s", "123",
+				"-t", "1" });
+		
+		Evaluator.main(new String[] { 
+				"-p", parameterDescriptionFile.getPath(),
+				"-i", parameterFile.getPath(),
+				"-o", resultFile2.getPath(),
+				"-a", "NSGAII",
+				"-b", "DTLZ2_2",
+				"-s", "123",
+				"-t", "4" });
+		
+		Evaluator.main(new String[] { 
+				"-p", parameterDescriptionFile.getPath(),
+				"-i", partialParameterFile.getPath(),
+				"-o", resultFile3.getPath(),
+				"-a", "NSGAII",
+				"-b", "DTLZ2_2",
+				"-s", "123",
+				"-t", "2" });
+		
+		Evaluator.main(new String[] { 
+				"-p", parameterDescriptionFile.getPath(),
+				"-i", parameterFile.getPath(),
+				"-o", resultFile3.getPath(),
+				"-a", "NSGAII",
+				"-b", "DTLZ2_2",
+				"-s", "123",
+				"-t", "3",
+				"-f" });
+		
+		Assert.assertEquals(30, algorithmFactory.getTerminateCount());
+		
+		try (Problem problem = ProblemFactory.getInstance().getProblem("DTLZ2_2");
+				ResultFileReader reader1 = ResultFileReader.open(problem, resultFile1);
+				ResultFileReader reader2 = ResultFileReader.open(problem, resultFile2);
+				ResultFileReader reader3 = ResultFileReader.open(problem, resultFile3)) {
+			for (int i = 0; i < 10; i++) {
+				Assert.assertTrue(reader1.hasNext());
+				Assert.assertTrue(reader2.hasNext());
+				Assert.assertTrue(reader3.hasNext());
+				
+				NondominatedPopulation expected = reader1.next().getPopulation();
+				Assert.assertEquals(expected, reader2.next().getPopulation());
+				Assert.assertEquals(expected, reader3.next().getPopulation());
+			}
+			
+			Assert.assertFalse(reader1.hasNext());
+			Assert.assertFalse(reader2.hasNext());
+			Assert.assertFalse(reader3.hasNext());
+		}
+	}
+
 	@Test
 	public void testClosedAndTerminated() throws Exception {
 		//create the sample file
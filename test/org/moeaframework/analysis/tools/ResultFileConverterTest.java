@@ -0,0 +1,94 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.tools;
+
+import java.io.File;
+
+import org.junit.Test;
+import org.moeaframework.Assert;
+import org.moeaframework.TempFiles;
+import org.moeaframework.analysis.io.BinaryResultFileReader;
+import org.moeaframework.analysis.io.ResultEntry;
+import org.moeaframework.analysis.io.ResultFileReader;
+import org.moeaframework.core.Problem;
+import org.moeaframework.problem.ProblemStub;
+
+public class ResultFileConverterTest {
+	
+	public static final String INPUT = """
+			# Problem = DTLZ2_2
+			# Variables = 0
+			# Objectives = 2
+			//NFE=100
+			0.0 1.0
+			1.0 0.0
+			#
+			//NFE=200
+			0.25 0.5
+			#
+			""";
+	
+	@Test
+	public void testRoundTrip() throws Exception {
+		testRoundTrip(false);
+	}
+	
+	@Test
+	public void testRoundTripCompressed() throws Exception {
+		testRoundTrip(true);
+	}
+	
+	private void testRoundTrip(boolean compress) throws Exception {
+		File input = TempFiles.createFile().withContent(INPUT);
+		File binary = TempFiles.createFile();
+		File output = TempFiles.createFile();
+		
+		ResultFileConverter.main(compress ?
+				new String[] { "-d", "2", "-i", input.getPath(), "-o", binary.getPath(), "-c" } :
+				new String[] { "-d", "2", "-i", input.getPath(), "-o", binary.getPath() });
+		
+		Assert.assertTrue(BinaryResultFileReader.isBinaryResultFile(binary));
+		
+		ResultFileConverter.main(new String[] { "-d", "2", "-i", binary.getPath(), "-o", output.getPath() });
+		
+		Assert.assertFalse(BinaryResultFileReader.isBinaryResultFile(output));
+		
+		try (Problem problem = new ProblemStub(2);
+				ResultFileReader expected = new ResultFileReader(problem, input);
+				BinaryResultFileReader binaryReader = new BinaryResultFileReader(problem, binary);
+				ResultFileReader actual = new ResultFileReader(problem, output)) {
+			Assert.assertEquals(2, binaryReader.getNumberOfEntries());
+			
+			while (expected.hasNext()) {
+				ResultEntry entry = expected.next();
+				
+				Assert.assertTrue(actual.hasNext());
+				Assert.assertTrue(binaryReader.hasNext());
+				
+				Assert.assertEquals(entry.getPopulation(), binaryReader.next().getPopulation());
+				
+				ResultEntry actualEntry = actual.next();
+				Assert.assertEquals(entry.getPopulation(), actualEntry.getPopulation());
+				Assert.assertEquals(entry.getProperties(), actualEntry.getProperties());
+			}
+			
+			Assert.assertFalse(actual.hasNext());
+		}
+	}
+
+}
@@ -20,6 +20,7 @@ package org.moeaframework.builder;
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.commons.io.FilenameUtils;
@@ -60,6 +61,12 @@ public class BuildProblemTest {
 		test("python");
 	}
 	
+	@Test
+	public void testPythonBinary() throws Exception {
+		Assume.assumePythonExists();
+		test("python", true, "--binary");
+	}
+	
 	@Test
 	public void testMatlabPartial() throws Exception {
 		Assume.assumeMatlabExists();
@@ -84,6 +91,21 @@ public class BuildProblemTest {
 		test("external");
 	}
 
+	@Test
+	public void testExternalBatch() throws Exception {
+		test("external-batch");
+	}
+
+	@Test
+	public void testExternalBinary() throws Exception {
+		test("external", true, "--binary");
+	}
+
+	@Test
+	public void testExternalBatchBinary() throws Exception {
+		test("external-batch", true, "--binary");
+	}
+
 	@Test(expected = Exception.class)
 	public void testDisallowExample() throws Exception {
 		File directory = TempFiles.createDirectory();
@@ -128,19 +150,21 @@ public class BuildProblemTest {
 		return test(language, true);
 	}
 
-	private File test(String language, boolean run) throws Exception {		
+	private File test(String language, boolean run, String... extraArgs) throws Exception {		
 		File directory = TempFiles.createDirectory();
 		File testDirectory = new File(directory, "Test");
-
-		BuildProblem.main(new String[] {
+		
+		List<String> args = new ArrayList<>(List.of(
 				"--problemName", "Test",
 				"--language", language,
 				"--numberOfVariables", "10",
 				"--numberOfObjectives", "2",
 				"--directory", directory.toString(),
 				"--classpath", System.getProperty("java.class.path") + File.pathSeparator + "Test.jar" +
-						File.pathSeparator + "."
-		});
+						File.pathSeparator + "."));
+		args.addAll(List.of(extraArgs));
+
+		BuildProblem.main(args.toArray(String[]::new));
 
 		Assume.assumeMakeExists();
 		Make.runMake(testDirectory);
@@ -0,0 +1,173 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+import org.moeaframework.Assert;
+import org.moeaframework.core.attribute.CrowdingDistance;
+import org.moeaframework.core.attribute.Fitness;
+import org.moeaframework.core.attribute.Rank;
+
+public class AttributeMapTest {
+	
+	@Test
+	public void testSlots() {
+		AttributeMap map = new AttributeMap();
+		Assert.assertTrue(map.isEmpty());
+		
+		map.setInt(Rank.ATTRIBUTE_NAME, 2);
+		map.setDouble(CrowdingDistance.ATTRIBUTE_NAME, 0.5);
+		map.setDouble(Fitness.ATTRIBUTE_NAME, 1.5);
+		
+		Assert.assertEquals(3, map.size());
+		Assert.assertEquals(2, map.getInt(Rank.ATTRIBUTE_NAME));
+		Assert.assertEquals(0.5, map.getDouble(CrowdingDistance.ATTRIBUTE_NAME), 0.0);
+		Assert.assertEquals(1.5, map.getDouble(Fitness.ATTRIBUTE_NAME), 0.0);
+		
+		// slots are visible through the map interface, even with a non-interned key
+		Assert.assertEquals(2, map.get(new String("rank")));
+		Assert.assertTrue(map.containsKey(new String("crowdingDistance")));
+		Assert.assertEquals(1.5, map.remove(new String("fitness")));
+		Assert.assertFalse(map.containsKey(Fitness.ATTRIBUTE_NAME));
+		Assert.assertEquals(2, map.size());
+	}
+	
+	@Test
+	public void testOtherAttributes() {
+		AttributeMap map = new AttributeMap();
+		
+		map.setInt("foo", 5);
+		map.setDouble("bar", 2.0);
+		map.put("baz", "value");
+		
+		Assert.assertEquals(3, map.size());
+		Assert.assertEquals(5, map.getInt("foo"));
+		Assert.assertEquals(2.0, map.getDouble("bar"), 0.0);
+		Assert.assertEquals(5, map.get("foo"));
+		Assert.assertEquals("value", map.get("baz"));
+	}
+	
+	@Test
+	public void testMismatchedType() {
+		AttributeMap map = new AttributeMap();
+		
+		map.setInt(Rank.ATTRIBUTE_NAME, 1);
+		Assert.assertEquals(1, map.put(Rank.ATTRIBUTE_NAME, "first"));
+		Assert.assertEquals("first", map.get(Rank.ATTRIBUTE_NAME));
+		Assert.assertEquals(1, map.size());
+		
+		map.setInt(Rank.ATTRIBUTE_NAME, 3);
+		Assert.assertEquals(3, map.get(Rank.ATTRIBUTE_NAME));
+		Assert.assertEquals(1, map.size());
+		
+		map.put(CrowdingDistance.ATTRIBUTE_NAME, null);
+		Assert.assertTrue(map.containsKey(CrowdingDistance.ATTRIBUTE_NAME));
+		Assert.assertNull(map.get(CrowdingDistance.ATTRIBUTE_NAME));
+		Assert.assertEquals(2, map.size());
+	}
+	
+	@Test(expected = NullPointerException.class)
+	public void testGetMissing() {
+		new AttributeMap().getInt(Rank.ATTRIBUTE_NAME);
+	}
+	
+	@Test
+	public void testMatchesHashMap() {
+		AttributeMap map = new AttributeMap();
+		Map<String, Serializable> expected = new HashMap<String, Serializable>();
+		
+		String[] keys = { Rank.ATTRIBUTE_NAME, CrowdingDistance.ATTRIBUTE_NAME, Fitness.ATTRIBUTE_NAME, "foo", "bar" };
+		
+		for (int i = 0; i < 1000; i++) {
+			String key = keys[PRNG.nextInt(keys.length)];
+			
+			switch (PRNG.nextInt(4)) {
+				case 0 -> Assert.assertEquals(expected.put(key, i), map.put(key, i));
+				case 1 -> Assert.assertEquals(expected.put(key, (double)i), map.put(key, (double)i));
+				case 2 -> Assert.assertEquals(expected.put(key, "value"), map.put(key, "value"));
+				default -> Assert.assertEquals(expected.remove(key), map.remove(key));
+			}
+			
+			Assert.assertEquals(expected.size(), map.size());
+			Assert.assertEquals(expected, map);
+			Assert.assertEquals(expected.hashCode(), map.hashCode());
+		}
+	}
+	
+	@Test
+	public void testIteratorRemove() {
+		AttributeMap map = new AttributeMap();
+		map.setInt(Rank.ATTRIBUTE_NAME, 1);
+		map.put(Fitness.ATTRIBUTE_NAME, "overflow");
+		map.put("foo", "bar");
+		
+		Iterator<Map.Entry<String, Serializable>> iterator = map.entrySet().iterator();
+		
+		while (iterator.hasNext()) {
+			iterator.next();
+			iterator.remove();
+		}
+		
+		Assert.assertTrue(map.isEmpty());
+		
+		// the fitness slot can be used again after removing the overflow value
+		map.setDouble(Fitness.ATTRIBUTE_NAME, 2.0);
+		Assert.assertEquals(2.0, map.getDouble(Fitness.ATTRIBUTE_NAME), 0.0);
+		Assert.assertEquals(1, map.size());
+	}
+	
+	@Test
+	public void testSerialization() {
+		AttributeMap map = new AttributeMap();
+		map.setInt(Rank.ATTRIBUTE_NAME, 1);
+		map.setDouble(Fitness.ATTRIBUTE_NAME, 2.0);
+		map.put("foo", "bar");
+		
+		AttributeMap copy = SerializationUtils.clone(map);
+		Assert.assertEquals(map, copy);
+		Assert.assertEquals(1, copy.getInt(Rank.ATTRIBUTE_NAME));
+	}
+	
+	@Test
+	public void testSolution() {
+		Solution solution = new Solution(0, 2);
+		
+		Rank.setAttribute(solution, 3);
+		CrowdingDistance.setAttribute(solution, 0.25);
+		
+		Assert.assertTrue(Rank.hasAttribute(solution));
+		Assert.assertEquals(3, solution.getAttribute(Rank.ATTRIBUTE_NAME));
+		Assert.assertEquals(0.25, solution.getAttribute(CrowdingDistance.ATTRIBUTE_NAME));
+		Assert.assertFalse(Fitness.hasAttribute(solution));
+		
+		Solution copy = solution.deepCopy();
+		Assert.assertEquals(3, Rank.getAttribute(copy));
+		Assert.assertEquals(0.25, CrowdingDistance.getAttribute(copy), 0.0);
+		
+		solution.clearAttributes();
+		Assert.assertFalse(Rank.hasAttribute(solution));
+		Assert.assertEquals(0, solution.copy().getAttributes().size());
+	}
+
+}
@@ -0,0 +1,108 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.moeaframework.Assert;
+import org.moeaframework.core.attribute.CrowdingDistance;
+import org.moeaframework.core.attribute.Rank;
+import org.moeaframework.core.comparator.ParetoObjectiveComparator;
+import org.moeaframework.mock.MockSolution;
+import org.moeaframework.util.PropertyScope;
+
+public class EfficientNondominatedSortingTest extends NondominatedSortingTest {
+
+	@Before
+	public void setUp() {
+		population = new Population();
+		sorting = new EfficientNondominatedSorting();
+	}
+
+	@Test
+	public void testMatchesNaiveTwoObjectives() {
+		testMatchesNaive(2, 500, false);
+	}
+
+	@Test
+	public void testMatchesNaiveThreeObjectives() {
+		testMatchesNaive(3, 500, false);
+	}
+
+	@Test
+	public void testMatchesNaiveManyObjectives() {
+		testMatchesNaive(6, 200, false);
+	}
+
+	@Test
+	public void testMatchesNaiveWithConstraints() {
+		testMatchesNaive(2, 200, true);
+		testMatchesNaive(3, 200, true);
+	}
+
+	@Test
+	public void testUnsupportedComparator() {
+		sorting = new EfficientNondominatedSorting(new ParetoObjectiveComparator() {});
+		testMatchesNaive(3, 100, false);
+	}
+
+	@Test
+	public void testSettings() {
+		try (PropertyScope scope = Settings.createScope().with(Settings.KEY_EFFICIENT_NONDOMINATED_SORTING, true)) {
+			NondominatedSortingPopulation population = new NondominatedSortingPopulation();
+			population.add(MockSolution.of().withObjectives(0.0, 1.0));
+			population.add(MockSolution.of().withObjectives(1.0, 1.0));
+			
+			Assert.assertEquals(0, Rank.getAttribute(population.get(0)));
+			Assert.assertEquals(1, Rank.getAttribute(population.get(1)));
+		}
+	}
+
+	private void testMatchesNaive(int numberOfObjectives, int size, boolean constrained) {
+		Population expected = new Population();
+		Population actual = new Population();
+		
+		for (int i = 0; i < size; i++) {
+			double[] objectives = new double[numberOfObjectives];
+			
+			for (int j = 0; j < numberOfObjectives; j++) {
+				// use a coarse grid to produce many ties and duplicates
+				objectives[j] = PRNG.nextInt(10) / 10.0;
+			}
+			
+			MockSolution solution = MockSolution.of().withObjectives(objectives);
+			
+			if (constrained) {
+				solution.withConstraints(PRNG.nextBoolean() ? 0.0 : PRNG.nextInt(3));
+			}
+			
+			expected.add(solution);
+			actual.add(solution.copy());
+		}
+		
+		new NondominatedSorting(sorting.getComparator()).evaluate(expected);
+		sorting.evaluate(actual);
+		
+		for (int i = 0; i < size; i++) {
+			Assert.assertEquals(Rank.getAttribute(expected.get(i)), Rank.getAttribute(actual.get(i)));
+			Assert.assertEquals(CrowdingDistance.getAttribute(expected.get(i)),
+					CrowdingDistance.getAttribute(actual.get(i)), 0.0);
+		}
+	}
+
+}
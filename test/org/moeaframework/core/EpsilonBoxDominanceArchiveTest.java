@@ -21,6 +21,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.moeaframework.Assert;
+import org.moeaframework.core.comparator.EpsilonBoxDominanceComparator;
 import org.moeaframework.core.spi.ProblemFactory;
 import org.moeaframework.mock.MockSolution;
 
@@ -181,5 +182,75 @@ public class EpsilonBoxDominanceArchiveTest {
 		Assert.assertSame(population.getComparator(), copy.getComparator());
 		Assert.assertEquals(population, copy, true);
 	}
+	
+	@Test
+	public void testRemoveAndClear() {
+		for (int i = 0; i <= 10; i++) {
+			archive.add(MockSolution.of().withObjectives(i, 10 - i));
+		}
+		
+		Assert.assertEquals(11, archive.size());
+		
+		archive.remove(5);
+		archive.remove(archive.get(0));
+		Assert.assertEquals(9, archive.size());
+		
+		// solutions previously dominated by the removed solutions can now be added
+		Assert.assertTrue(archive.add(MockSolution.of().withObjectives(0.0, 11.0)));
+		Assert.assertTrue(archive.add(MockSolution.of().withObjectives(5.0, 5.0)));
+		Assert.assertFalse(archive.add(MockSolution.of().withObjectives(5.25, 5.25)));
+		Assert.assertEquals(11, archive.size());
+		
+		archive.clear();
+		Assert.assertTrue(archive.add(MockSolution.of().withObjectives(20.0, 20.0)));
+		Assert.assertEquals(1, archive.size());
+	}
+	
+	@Test
+	public void testMatchesUnindexedArchive() {
+		for (int numberOfObjectives = 1; numberOfObjectives <= 4; numberOfObjectives++) {
+			testMatchesUnindexedArchive(numberOfObjectives, false);
+			testMatchesUnindexedArchive(numberOfObjectives, true);
+		}
+	}
+	
+	private void testMatchesUnindexedArchive(int numberOfObjectives, boolean constrained) {
+		Epsilons epsilons = Epsilons.of(0.05);
+		
+		// subclassing the comparator disables the index
+		EpsilonBoxDominanceArchive expected = new EpsilonBoxDominanceArchive(
+				new EpsilonBoxDominanceComparator(epsilons) {});
+		EpsilonBoxDominanceArchive actual = new EpsilonBoxDominanceArchive(epsilons);
+		
+		for (int i = 0; i < 2000; i++) {
+			Solution solution = new Solution(0, numberOfObjectives, constrained ? 1 : 0);
+			
+			for (int j = 0; j < numberOfObjectives; j++) {
+				// use a grid finer than epsilon to produce many solutions in the same box
+				solution.setObjective(j, PRNG.nextInt(100) / 200.0);
+			}
+			
+			if (constrained) {
+				solution.setConstraint(0, PRNG.nextInt(20) == 0 ? PRNG.nextInt(3) : 0.0);
+			}
+			
+			Assert.assertEquals(expected.add(solution), actual.add(solution));
+			
+			if (i % 200 == 0 && expected.size() > 1) {
+				Solution removed = expected.get(PRNG.nextInt(expected.size()));
+				expected.remove(removed);
+				actual.remove(removed);
+			}
+		}
+		
+		Assert.assertEquals(expected.getNumberOfImprovements(), actual.getNumberOfImprovements());
+		Assert.assertEquals(expected.getNumberOfDominatingImprovements(),
+				actual.getNumberOfDominatingImprovements());
+		Assert.assertEquals(expected.size(), actual.size());
+		
+		for (int i = 0; i < expected.size(); i++) {
+			Assert.assertSame(expected.get(i), actual.get(i));
+		}
+	}
 
 }
@@ -0,0 +1,120 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import org.junit.Test;
+import org.moeaframework.Assert;
+import org.moeaframework.core.NondominatedPopulation.DuplicateMode;
+import org.moeaframework.core.comparator.ObjectiveComparator;
+import org.moeaframework.core.comparator.ParetoObjectiveComparator;
+import org.moeaframework.core.variable.BinaryIntegerVariable;
+import org.moeaframework.mock.MockSolution;
+
+public class IndexedNondominatedPopulationTest extends NondominatedPopulationTest {
+
+	@Override
+	protected NondominatedPopulation createPopulation() {
+		return new IndexedNondominatedPopulation();
+	}
+
+	@Override
+	protected NondominatedPopulation createPopulation(DuplicateMode duplicateMode) {
+		return new IndexedNondominatedPopulation(duplicateMode);
+	}
+
+	@Test
+	public void testMatchesNondominatedPopulation() {
+		for (DuplicateMode duplicateMode : DuplicateMode.values()) {
+			for (int numberOfObjectives = 1; numberOfObjectives <= 5; numberOfObjectives++) {
+				testMatchesNondominatedPopulation(numberOfObjectives, duplicateMode, false);
+				testMatchesNondominatedPopulation(numberOfObjectives, duplicateMode, true);
+			}
+		}
+	}
+
+	@Test
+	public void testRemoveAndTruncate() {
+		IndexedNondominatedPopulation population = new IndexedNondominatedPopulation();
+		
+		for (int i = 0; i <= 100; i++) {
+			population.add(MockSolution.of().withObjectives(i, 100 - i));
+		}
+		
+		Assert.assertEquals(101, population.size());
+		
+		population.remove(50);
+		population.remove(population.get(0));
+		Assert.assertEquals(99, population.size());
+		
+		// solutions previously dominated by the removed solutions can now be added
+		Assert.assertTrue(population.add(MockSolution.of().withObjectives(0.0, 101.0)));
+		Assert.assertFalse(population.add(MockSolution.of().withObjectives(52.0, 49.0)));
+		
+		population.truncate(10, new ObjectiveComparator(0));
+		Assert.assertEquals(10, population.size());
+		
+		// adding a dominating solution must remove all remaining solutions
+		Assert.assertTrue(population.add(MockSolution.of().withObjectives(-1.0, -1.0)));
+		Assert.assertEquals(1, population.size());
+	}
+
+	@Test
+	public void testUnsupportedComparator() {
+		IndexedNondominatedPopulation population = new IndexedNondominatedPopulation(
+				new ParetoObjectiveComparator() {});
+		
+		Assert.assertTrue(population.add(MockSolution.of().withObjectives(0.0, 1.0)));
+		Assert.assertFalse(population.add(MockSolution.of().withObjectives(1.0, 1.0)));
+		Assert.assertTrue(population.add(MockSolution.of().withObjectives(1.0, 0.0)));
+	}
+
+	private void testMatchesNondominatedPopulation(int numberOfObjectives, DuplicateMode duplicateMode,
+			boolean constrained) {
+		NondominatedPopulation expected = new NondominatedPopulation(duplicateMode);
+		NondominatedPopulation actual = new IndexedNondominatedPopulation(duplicateMode);
+		
+		for (int i = 0; i < 1000; i++) {
+			Solution solution = new Solution(1, numberOfObjectives, constrained ? 1 : 0);
+			solution.setVariable(0, new BinaryIntegerVariable(PRNG.nextInt(5), 0, 4));
+			
+			for (int j = 0; j < numberOfObjectives; j++) {
+				// use a coarse grid to produce many ties and duplicates
+				solution.setObjective(j, PRNG.nextInt(20) / 20.0);
+			}
+			
+			if (constrained) {
+				solution.setConstraint(0, PRNG.nextInt(10) == 0 ? PRNG.nextInt(3) : 0.0);
+			}
+			
+			Assert.assertEquals(expected.add(solution), actual.add(solution));
+			
+			if (i % 100 == 0 && expected.size() > 1) {
+				Solution removed = expected.get(PRNG.nextInt(expected.size()));
+				expected.remove(removed);
+				actual.remove(removed);
+			}
+		}
+		
+		Assert.assertEquals(expected.size(), actual.size());
+		
+		for (int i = 0; i < expected.size(); i++) {
+			Assert.assertSame(expected.get(i), actual.get(i));
+		}
+	}
+
+}
@@ -27,10 +27,18 @@ import org.moeaframework.mock.MockBinaryProblem;
 import org.moeaframework.mock.MockSolution;
 
 public class NondominatedPopulationTest {
+	
+	protected NondominatedPopulation createPopulation() {
+		return new NondominatedPopulation();
+	}
+	
+	protected NondominatedPopulation createPopulation(DuplicateMode duplicateMode) {
+		return new NondominatedPopulation(duplicateMode);
+	}
 
 	@Test
 	public void testAddSimilar() {
-		NondominatedPopulation population = new NondominatedPopulation();
+		NondominatedPopulation population = createPopulation();
 
 		Solution solution1 = MockSolution.of().withObjectives(0.0, 0.0, Settings.EPS / 2.0);
 		Solution solution2 = MockSolution.of().withObjectives(0.0, Settings.EPS / 2.0, 0.0);
@@ -43,7 +51,7 @@ public class NondominatedPopulationTest {
 
 	@Test
 	public void testAdd() {
-		NondominatedPopulation population = new NondominatedPopulation();
+		NondominatedPopulation population = createPopulation();
 
 		Solution solution1 = MockSolution.of().withObjectives(1.0, 2.0, 3.0);
 		Solution solution2 = MockSolution.of().withObjectives(1.0, 3.0, 2.0);
@@ -69,7 +77,7 @@ public class NondominatedPopulationTest {
 	
 	@Test(expected = UnsupportedOperationException.class)
 	public void testReplace() {
-		NondominatedPopulation population = new NondominatedPopulation();
+		NondominatedPopulation population = createPopulation();
 
 		Solution solution1 = MockSolution.of().withObjectives(1.0, 2.0, 3.0);
 		Solution solution2 = MockSolution.of().withObjectives(1.0, 3.0, 2.0);
@@ -80,7 +88,7 @@ public class NondominatedPopulationTest {
 
 	@Test
 	public void testNoDuplicates() {
-		NondominatedPopulation population = new NondominatedPopulation(DuplicateMode.NO_DUPLICATE_OBJECTIVES);
+		NondominatedPopulation population = createPopulation(DuplicateMode.NO_DUPLICATE_OBJECTIVES);
 		
 		try (MockBinaryProblem problem = new MockBinaryProblem()) {
 			Solution solution1 = MockSolution.of(problem).withObjectives(0.5);
@@ -101,7 +109,7 @@ public class NondominatedPopulationTest {
 	
 	@Test
 	public void testAllowDuplicates() {
-		NondominatedPopulation population = new NondominatedPopulation(DuplicateMode.ALLOW_DUPLICATES);
+		NondominatedPopulation population = createPopulation(DuplicateMode.ALLOW_DUPLICATES);
 		
 		try (MockBinaryProblem problem = new MockBinaryProblem()) {
 			Solution solution1 = MockSolution.of(problem).withObjectives(0.5);
@@ -122,7 +130,7 @@ public class NondominatedPopulationTest {
 	
 	@Test
 	public void testAllowDuplicateObjectives() {
-		NondominatedPopulation population = new NondominatedPopulation(DuplicateMode.ALLOW_DUPLICATE_OBJECTIVES);
+		NondominatedPopulation population = createPopulation(DuplicateMode.ALLOW_DUPLICATE_OBJECTIVES);
 		
 		try (MockBinaryProblem problem = new MockBinaryProblem()) {
 			Solution solution1 = MockSolution.of(problem).withObjectives(0.5);
@@ -143,7 +151,7 @@ public class NondominatedPopulationTest {
 	
 	@Test
 	public void testCopy() {
-		NondominatedPopulation population = new NondominatedPopulation();
+		NondominatedPopulation population = createPopulation();
 		population.add(MockSolution.of().withObjectives(0.0, 1.0));
 		
 		NondominatedPopulation copy = population.copy();
@@ -0,0 +1,151 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.moeaframework.Assert;
+import org.moeaframework.TestThresholds;
+import org.moeaframework.core.comparator.ObjectiveComparator;
+import org.moeaframework.mock.MockSolution;
+
+public class ObjectiveMatrixTest {
+	
+	private Population population;
+	
+	@Before
+	public void setUp() {
+		population = new Population(List.of(
+				MockSolution.of().withObjectives(3.0, 2.0, 3.0).withConstraints(0.0),
+				MockSolution.of().withObjectives(1.0, 2.0, 2.0).withConstraints(1.0),
+				MockSolution.of().withObjectives(2.0, 2.0, 3.0).withConstraints(-1.0),
+				MockSolution.of().withObjectives(4.0, 3.0, 2.0).withConstraints(0.0)));
+	}
+	
+	@Test
+	public void testLayout() {
+		ObjectiveMatrix matrix = population.getObjectiveMatrix();
+		
+		Assert.assertEquals(4, matrix.size());
+		Assert.assertEquals(3, matrix.getNumberOfObjectives());
+		Assert.assertEquals(1, matrix.getNumberOfConstraints());
+		
+		Assert.assertArrayEquals(new double[] { 3.0, 1.0, 2.0, 4.0, 2.0, 2.0, 2.0, 3.0, 3.0, 2.0, 3.0, 2.0 },
+				matrix.getObjectives(), TestThresholds.HIGH_PRECISION);
+		Assert.assertArrayEquals(new double[] { 0.0, 1.0, -1.0, 0.0 }, matrix.getConstraints(),
+				TestThresholds.HIGH_PRECISION);
+		
+		for (int i = 0; i < population.size(); i++) {
+			Solution solution = population.get(i);
+			
+			for (int j = 0; j < solution.getNumberOfObjectives(); j++) {
+				Assert.assertEquals(solution.getObjective(j), matrix.getObjective(i, j));
+			}
+			
+			Assert.assertEquals(solution.getConstraint(0), matrix.getConstraint(i, 0));
+			Assert.assertEquals(solution.violatesConstraints(), matrix.violatesConstraints(i));
+			Assert.assertEquals(solution.getSumOfConstraintViolations(), matrix.getSumOfConstraintViolations(i));
+		}
+	}
+	
+	@Test
+	public void testReusedUntilModified() {
+		ObjectiveMatrix matrix = population.getObjectiveMatrix();
+		Assert.assertSame(matrix, population.getObjectiveMatrix());
+		
+		population.add(MockSolution.of().withObjectives(0.0, 0.0, 0.0).withConstraints(0.0));
+		Assert.assertNotSame(matrix, population.getObjectiveMatrix());
+		Assert.assertEquals(5, population.getObjectiveMatrix().size());
+		
+		matrix = population.getObjectiveMatrix();
+		population.remove(0);
+		Assert.assertNotSame(matrix, population.getObjectiveMatrix());
+		
+		matrix = population.getObjectiveMatrix();
+		population.remove(population.get(0));
+		Assert.assertNotSame(matrix, population.getObjectiveMatrix());
+		
+		matrix = population.getObjectiveMatrix();
+		population.replace(0, MockSolution.of().withObjectives(5.0, 5.0, 5.0).withConstraints(0.0));
+		Assert.assertNotSame(matrix, population.getObjectiveMatrix());
+		Assert.assertEquals(5.0, population.getObjectiveMatrix().getObjective(0, 0));
+		
+		matrix = population.getObjectiveMatrix();
+		population.sort(new ObjectiveComparator(0));
+		Assert.assertNotSame(matrix, population.getObjectiveMatrix());
+		Assert.assertEquals(0.0, population.getObjectiveMatrix().getObjective(0, 0));
+		
+		matrix = population.getObjectiveMatrix();
+		population.truncate(1, new ObjectiveComparator(0));
+		Assert.assertNotSame(matrix, population.getObjectiveMatrix());
+		Assert.assertEquals(1, population.getObjectiveMatrix().size());
+		
+		matrix = population.getObjectiveMatrix();
+		population.clear();
+		Assert.assertNotSame(matrix, population.getObjectiveMatrix());
+		Assert.assertEquals(0, population.getObjectiveMatrix().size());
+	}
+	
+	@Test
+	public void testBounds() {
+		ObjectiveMatrix matrix = population.getObjectiveMatrix();
+		
+		Assert.assertArrayEquals(new double[] { 1.0, 2.0, 2.0 }, matrix.getLowerBounds(),
+				TestThresholds.HIGH_PRECISION);
+		Assert.assertArrayEquals(new double[] { 4.0, 3.0, 3.0 }, matrix.getUpperBounds(),
+				TestThresholds.HIGH_PRECISION);
+	}
+	
+	@Test(expected = UnsupportedOperationException.class)
+	public void testBoundsOnEmptyPopulation() {
+		new Population().getObjectiveMatrix().getLowerBounds();
+	}
+	
+	@Test
+	public void testDistancesToNearestSolution() {
+		Population other = new Population(List.of(
+				MockSolution.of().withObjectives(0.0, 0.0, 0.0),
+				MockSolution.of().withObjectives(2.0, 2.0, 3.0)));
+		
+		double[] distances = population.getObjectiveMatrix().distancesToNearestSolution(other.getObjectiveMatrix());
+		
+		for (int i = 0; i < population.size(); i++) {
+			Assert.assertEquals(population.get(i).distanceToNearestSolution(other), distances[i],
+					TestThresholds.HIGH_PRECISION);
+		}
+	}
+	
+	@Test
+	public void testDistancesToEmptyPopulation() {
+		double[] distances = population.getObjectiveMatrix().distancesToNearestSolution(
+				new Population().getObjectiveMatrix());
+		
+		for (int i = 0; i < population.size(); i++) {
+			Assert.assertEquals(Double.POSITIVE_INFINITY, distances[i]);
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testDifferingNumberOfObjectives() {
+		population.add(MockSolution.of().withObjectives(0.0, 0.0).withConstraints(0.0));
+		population.getObjectiveMatrix();
+	}
+
+}
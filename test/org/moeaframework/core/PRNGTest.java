@@ -22,6 +22,11 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
 import org.junit.Test;
@@ -30,6 +35,7 @@ import org.moeaframework.Assert;
 import org.moeaframework.CIRunner;
 import org.moeaframework.Retryable;
 import org.moeaframework.TestThresholds;
+import org.moeaframework.parallel.util.ThreadLocalSplittableRandom;
 
 @RunWith(CIRunner.class)
 @Retryable
@@ -167,6 +173,51 @@ public class PRNGTest {
 		testGaussianDistribution(5.0, 2.0, statistics);
 	}
 
+	@Test
+	public void testWithSeed() throws Exception {
+		Callable<List<Integer>> task = PRNG.withSeed(12345, () -> {
+			List<Integer> samples = new ArrayList<Integer>();
+			
+			for (int i = 0; i < 100; i++) {
+				samples.add(PRNG.nextInt());
+			}
+			
+			return samples;
+		});
+		
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		
+		try {
+			Future<List<Integer>> future1 = executor.submit(task);
+			Future<List<Integer>> future2 = executor.submit(task);
+			
+			Assert.assertEquals(future1.get(), future2.get());
+			Assert.assertEquals(future1.get(), task.call());
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	@Test
+	public void testWithSeedRestoresStream() throws Exception {
+		Random originalRandom = PRNG.getRandom();
+		
+		try {
+			PRNG.setRandom(ThreadLocalSplittableRandom.getInstance());
+			
+			PRNG.setSeed(12345);
+			int expected = PRNG.nextInt();
+			
+			PRNG.setSeed(12345);
+			PRNG.withSeed(54321, () -> PRNG.nextInt()).call();
+			PRNG.withSeed(54321, () -> { PRNG.nextInt(); }).run();
+			
+			Assert.assertEquals(expected, PRNG.nextInt());
+		} finally {
+			PRNG.setRandom(originalRandom);
+		}
+	}
+
 	@Test
 	public void testShuffleList() {
 		int P = 7;
@@ -321,6 +321,27 @@ public class PopulationTest {
 		Assert.assertArrayEquals(new double[] { 4.0, 3.0, 3.0 }, upperBounds, TestThresholds.HIGH_PRECISION);
 	}
 	
+	@Test
+	public void testBoundsAfterModifyingSolutions() {
+		Population population = new Population();
+		population.add(MockSolution.of().withObjectives(0.0, 0.0));
+		population.add(MockSolution.of().withObjectives(-1.0, -1.0));
+		
+		Assert.assertArrayEquals(new double[] { -1.0, -1.0 }, population.getLowerBounds(),
+				TestThresholds.HIGH_PRECISION);
+		Assert.assertArrayEquals(new double[] { 0.0, 0.0 }, population.getUpperBounds(),
+				TestThresholds.HIGH_PRECISION);
+		
+		population.getObjectiveMatrix();
+		population.get(0).setObjective(0, -100.0);
+		population.get(1).setObjective(1, 100.0);
+		
+		Assert.assertArrayEquals(new double[] { -100.0, 0.0 }, population.getLowerBounds(),
+				TestThresholds.HIGH_PRECISION);
+		Assert.assertArrayEquals(new double[] { -1.0, 100.0 }, population.getUpperBounds(),
+				TestThresholds.HIGH_PRECISION);
+	}
+	
 	@Test
 	public void testCopy() {
 		Population copy = population.copy();
@@ -159,5 +159,46 @@ public class SettingsTest {
 		Assert.assertFalse(Settings.PROPERTIES.contains("foo"));
 		Assert.assertFalse(Settings.PROPERTIES.contains("number"));
 	}
+	
+	@Test
+	public void testParsedValuesObserveModifications() {
+		Assert.assertTrue(Settings.isProtectedFunctions());
+		Assert.assertEquals(2.0, Settings.getGDPower());
+		
+		try (PropertyScope scope = Settings.createScope().with(Settings.KEY_GP_PROTECTED_FUNCTIONS, false)) {
+			Assert.assertFalse(Settings.isProtectedFunctions());
+			
+			Settings.PROPERTIES.setDouble(Settings.KEY_GD_POWER, 3.0);
+			Assert.assertEquals(3.0, Settings.getGDPower());
+		}
+		
+		Assert.assertTrue(Settings.isProtectedFunctions());
+		Assert.assertEquals(2.0, Settings.getGDPower());
+	}
+	
+	@Test
+	public void testReloadPublishesChanges() {
+		Settings.PROPERTIES.setBoolean(Settings.KEY_GP_PROTECTED_FUNCTIONS, false);
+		Assert.assertFalse(Settings.isProtectedFunctions());
+		
+		Settings.reload();
+		
+		Assert.assertFalse(Settings.PROPERTIES.contains(Settings.KEY_GP_PROTECTED_FUNCTIONS));
+		Assert.assertTrue(Settings.isProtectedFunctions());
+	}
+	
+	@Test
+	public void testParsedValuesTrackAccess() {
+		Settings.PROPERTIES.setBoolean(Settings.KEY_GP_PROTECTED_FUNCTIONS, false);
+		Assert.assertFalse(Settings.isProtectedFunctions());
+		
+		// reading the cached value still marks the property as accessed
+		Settings.PROPERTIES.clearAccessedProperties();
+		Assert.assertFalse(Settings.isProtectedFunctions());
+		Assert.assertFalse(Settings.PROPERTIES.getUnaccessedProperties().contains(Settings.KEY_GP_PROTECTED_FUNCTIONS));
+		
+		Settings.reload();
+		Assert.assertTrue(Settings.PROPERTIES.getAccessedProperties().isEmpty());
+	}
 
 }
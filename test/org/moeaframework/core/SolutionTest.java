@@ -17,13 +17,24 @@
  */
 package org.moeaframework.core;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.lang3.SerializationUtils;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.moeaframework.Assert;
 import org.moeaframework.TestThresholds;
+import org.moeaframework.core.attribute.CrowdingDistance;
+import org.moeaframework.core.attribute.Rank;
+import org.moeaframework.core.variable.BinaryVariable;
 import org.moeaframework.core.variable.RealVariable;
 import org.moeaframework.mock.MockSolution;
 
@@ -31,6 +42,24 @@ import org.moeaframework.mock.MockSolution;
  * Due to the central role of this class, many obvious properties are tested to ensure complete correctness.
  */
 public class SolutionTest {
+	
+	/**
+	 * A solution serialized by version 4.5, with two variables, two objectives, one constraint and the attributes
+	 * {@code rank = 1}, {@code crowdingDistance = 0.5} and {@code foo = bar}.
+	 */
+	private static final String LEGACY_SOLUTION =
+			"rO0ABXNyAB9vcmcubW9lYWZyYW1ld29yay5jb3JlLlNvbHV0aW9u73MU9JJN8AECAARMAAphdHRyaWJ1dGVzdAAPTGphdmEvdXRp" +
+			"bC9NYXA7WwALY29uc3RyYWludHN0AAJbRFsACm9iamVjdGl2ZXNxAH4AAlsACXZhcmlhYmxlc3QAIltMb3JnL21vZWFmcmFtZXdv" +
+			"cmsvY29yZS9WYXJpYWJsZTt4cHNyABFqYXZhLnV0aWwuSGFzaE1hcAUH2sHDFmDRAwACRgAKbG9hZEZhY3RvckkACXRocmVzaG9s" +
+			"ZHhwP0AAAAAAAAx3CAAAABAAAAADdAADZm9vdAADYmFydAAEcmFua3NyABFqYXZhLmxhbmcuSW50ZWdlchLioKT3gYc4AgABSQAF" +
+			"dmFsdWV4cgAQamF2YS5sYW5nLk51bWJlcoaslR0LlOCLAgAAeHAAAAABdAAQY3Jvd2RpbmdEaXN0YW5jZXNyABBqYXZhLmxhbmcu" +
+			"RG91YmxlgLPCSilr+wQCAAFEAAV2YWx1ZXhxAH4ACz/gAAAAAAAAeHVyAAJbRD6mjBSrY1oeAgAAeHAAAAABAAAAAAAAAAB1cQB+" +
+			"ABAAAAACP+gAAAAAAAA/0AAAAAAAAHVyACJbTG9yZy5tb2VhZnJhbWV3b3JrLmNvcmUuVmFyaWFibGU7+T618ycUrTACAAB4cAAA" +
+			"AAJzcgAsb3JnLm1vZWFmcmFtZXdvcmsuY29yZS52YXJpYWJsZS5SZWFsVmFyaWFibGUrmhkfRiJ1UAIAA0QACmxvd2VyQm91bmRE" +
+			"AAp1cHBlckJvdW5kRAAFdmFsdWV4cAAAAAAAAAAAP/AAAAAAAAA/0AAAAAAAAHNyAC5vcmcubW9lYWZyYW1ld29yay5jb3JlLnZh" +
+			"cmlhYmxlLkJpbmFyeVZhcmlhYmxl9oh9aRanKM0CAAJJAAxudW1iZXJPZkJpdHNMAAZiaXRTZXR0ABJMamF2YS91dGlsL0JpdFNl" +
+			"dDt4cAAAAANzcgAQamF2YS51dGlsLkJpdFNldG79iH45NKshAwABWwAEYml0c3QAAltKeHB1cgACW0p4IAS1ErF1kwIAAHhwAAAA" +
+			"AQAAAAAAAAACeA==";
 
 	private Solution solution;
 
@@ -419,6 +448,64 @@ public class SolutionTest {
 				TestThresholds.HIGH_PRECISION);
 	}
 	
+	@Test
+	public void testSerialization() {
+		Solution solution = new Solution(4, 2, 1);
+		solution.setVariable(0, new RealVariable(0.5, 0.0, 1.0));
+		solution.setVariable(1, new RealVariable(0.25, 0.0, 1.0));
+		solution.setVariable(2, new RealVariable(-1.0, 0.0));
+		solution.setVariable(3, new BinaryVariable(5));
+		solution.setObjectives(new double[] { 1.0, 2.0 });
+		solution.setConstraint(0, 3.0);
+		solution.setIntAttribute(Rank.ATTRIBUTE_NAME, 2);
+		solution.setDoubleAttribute(CrowdingDistance.ATTRIBUTE_NAME, 0.5);
+		solution.setAttribute("foo", "bar");
+		
+		// a solution stored twice must be restored as a single instance
+		ArrayList<Solution> copies = SerializationUtils.clone(new ArrayList<Solution>(List.of(solution, solution)));
+		
+		Assert.assertSame(copies.get(0), copies.get(1));
+		Assert.assertEquals(Solution.class, copies.get(0).getClass());
+		Assert.assertEquals(solution, copies.get(0), true);
+		Assert.assertTrue(Double.isNaN(((RealVariable)copies.get(0).getVariable(2)).getValue()));
+	}
+	
+	@Test
+	public void testSerializationOfSubclass() {
+		Solution solution = new SubclassedSolution();
+		solution.setVariable(0, new RealVariable(0.5, 0.0, 1.0));
+		solution.setObjective(0, 1.0);
+		solution.setIntAttribute(Rank.ATTRIBUTE_NAME, 2);
+		solution.setAttribute("foo", "bar");
+		
+		Solution copy = SerializationUtils.clone(solution);
+		
+		Assert.assertEquals(SubclassedSolution.class, copy.getClass());
+		Assert.assertEquals(solution, copy, true);
+		Assert.assertEquals(2, copy.getIntAttribute(Rank.ATTRIBUTE_NAME));
+	}
+	
+	@Test
+	public void testDeserializeLegacyForm() throws IOException, ClassNotFoundException {
+		try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(
+				Base64.getDecoder().decode(LEGACY_SOLUTION)))) {
+			Solution solution = (Solution)stream.readObject();
+			
+			Assert.assertEquals(2, solution.getNumberOfVariables());
+			Assert.assertEquals(0.25, ((RealVariable)solution.getVariable(0)).getValue(),
+					TestThresholds.HIGH_PRECISION);
+			Assert.assertTrue(((BinaryVariable)solution.getVariable(1)).get(1));
+			Assert.assertArrayEquals(new double[] { 0.75, 0.25 }, solution.getObjectives(),
+					TestThresholds.HIGH_PRECISION);
+			Assert.assertArrayEquals(new double[] { 0.0 }, solution.getConstraints(), TestThresholds.HIGH_PRECISION);
+			Assert.assertEquals(1, solution.getIntAttribute(Rank.ATTRIBUTE_NAME));
+			Assert.assertEquals(0.5, solution.getDoubleAttribute(CrowdingDistance.ATTRIBUTE_NAME),
+					TestThresholds.HIGH_PRECISION);
+			Assert.assertEquals("bar", solution.getAttribute("foo"));
+			Assert.assertSize(3, solution.getAttributes().keySet());
+		}
+	}
+	
 	@Test(expected = IllegalArgumentException.class)
 	public void testDistanceToNearestSolutionThrowsIfLengthDiffers() {
 		NondominatedPopulation population = new NondominatedPopulation();
@@ -427,5 +514,15 @@ public class SolutionTest {
 		
 		MockSolution.of().withObjectives(0.0, 1.0, 0.5).distanceToNearestSolution(population);
 	}
+	
+	private static class SubclassedSolution extends Solution {
+
+		private static final long serialVersionUID = 5180217358390216553L;
+
+		public SubclassedSolution() {
+			super(1, 1);
+		}
+		
+	}
 
 }
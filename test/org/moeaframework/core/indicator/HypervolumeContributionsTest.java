@@ -0,0 +1,180 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.indicator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.moeaframework.Assert;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Settings;
+import org.moeaframework.core.Solution;
+import org.moeaframework.mock.MockSolution;
+
+public class HypervolumeContributionsTest {
+
+	@Test
+	public void testTwoObjectives() {
+		double[][] points = new double[][] { { 0.0, 0.5 }, { 0.25, 0.25 }, { 0.5, 0.0 } };
+		HypervolumeContributions contributions = new HypervolumeContributions(points, new double[] { 1.0, 1.0 });
+		
+		Assert.assertEquals(0.125, contributions.get(0), Settings.EPS);
+		Assert.assertEquals(0.0625, contributions.get(1), Settings.EPS);
+		Assert.assertEquals(0.125, contributions.get(2), Settings.EPS);
+		Assert.assertEquals(1, contributions.findMinimum());
+		
+		contributions.remove(1);
+		Assert.assertEquals(2, contributions.size());
+		Assert.assertTrue(contributions.isRemoved(1));
+		Assert.assertEquals(0.25, contributions.get(0), Settings.EPS);
+		Assert.assertEquals(0.25, contributions.get(2), Settings.EPS);
+	}
+
+	@Test
+	public void testDuplicatesAndDominated() {
+		double[][] points = new double[][] { { 0.0, 0.5 }, { 0.0, 0.5 }, { 0.5, 0.0 }, { 0.75, 0.75 }, { 2.0, 0.0 } };
+		HypervolumeContributions contributions = new HypervolumeContributions(points, new double[] { 1.0, 1.0 });
+		
+		Assert.assertEquals(0.0, contributions.get(0), Settings.EPS);
+		Assert.assertEquals(0.0, contributions.get(1), Settings.EPS);
+		Assert.assertEquals(0.0, contributions.get(3), Settings.EPS);
+		Assert.assertEquals(0.0, contributions.get(4), Settings.EPS);
+		
+		contributions.remove(1);
+		Assert.assertEquals(0.25, contributions.get(0), Settings.EPS);
+	}
+
+	@Test
+	public void testTwoObjectivesRemoveDuplicates() {
+		double[][] points = new double[][] { { 0.0, 0.5 }, { 0.25, 0.25 }, { 0.25, 0.25 }, { 0.5, 0.0 } };
+		HypervolumeContributions contributions = new HypervolumeContributions(points, new double[] { 1.0, 1.0 });
+		
+		Assert.assertEquals(0.0, contributions.get(1), Settings.EPS);
+		Assert.assertEquals(0.0, contributions.get(2), Settings.EPS);
+		
+		contributions.remove(1);
+		Assert.assertEquals(0.125, contributions.get(0), Settings.EPS);
+		Assert.assertEquals(0.0625, contributions.get(2), Settings.EPS);
+		Assert.assertEquals(0.125, contributions.get(3), Settings.EPS);
+		
+		contributions.remove(2);
+		Assert.assertEquals(0.25, contributions.get(0), Settings.EPS);
+		Assert.assertEquals(0.25, contributions.get(3), Settings.EPS);
+	}
+
+	@Test
+	public void testMatchesLeaveOneOut() {
+		for (int numberOfObjectives = 2; numberOfObjectives <= 5; numberOfObjectives++) {
+			for (int i = 0; i < 10; i++) {
+				testMatchesLeaveOneOut(numberOfObjectives, 20, i % 2 == 0);
+			}
+		}
+	}
+
+	@Test
+	public void testIncrementalRemoval() {
+		for (int numberOfObjectives = 2; numberOfObjectives <= 5; numberOfObjectives++) {
+			double[][] points = generate(numberOfObjectives, 30, false);
+			double[] referencePoint = new double[numberOfObjectives];
+			HypervolumeContributions contributions = new HypervolumeContributions(points, referencePoint);
+			
+			while (contributions.size() > 10) {
+				contributions.remove(PRNG.nextBoolean() ? contributions.findMinimum() :
+					PRNG.nextInt(points.length));
+			}
+			
+			List<double[]> remaining = new ArrayList<double[]>();
+			
+			for (int i = 0; i < points.length; i++) {
+				if (!contributions.isRemoved(i)) {
+					remaining.add(points[i]);
+				}
+			}
+			
+			HypervolumeContributions expected = new HypervolumeContributions(remaining.toArray(double[][]::new),
+					referencePoint);
+			
+			for (int i = 0, j = 0; i < points.length; i++) {
+				if (!contributions.isRemoved(i)) {
+					Assert.assertEquals(expected.get(j++), contributions.get(i), Settings.EPS);
+				}
+			}
+		}
+	}
+
+	private void testMatchesLeaveOneOut(int numberOfObjectives, int size, boolean grid) {
+		double[][] points = generate(numberOfObjectives, size, grid);
+		HypervolumeContributions contributions = new HypervolumeContributions(points,
+				new double[numberOfObjectives]);
+		double volume = calculateHypervolume(points, -1);
+		
+		for (int i = 0; i < size; i++) {
+			Assert.assertEquals(volume - calculateHypervolume(points, i), contributions.get(i), Settings.EPS);
+		}
+	}
+
+	/**
+	 * Generates points on the negative unit sphere, so the origin serves as the reference point.  If {@code grid} is
+	 * {@code true}, the points are rounded to produce ties and duplicates.
+	 */
+	private double[][] generate(int numberOfObjectives, int size, boolean grid) {
+		double[][] points = new double[size][numberOfObjectives];
+		
+		for (int i = 0; i < size; i++) {
+			double norm = 0.0;
+			
+			for (int j = 0; j < numberOfObjectives; j++) {
+				points[i][j] = PRNG.nextDouble();
+				norm += points[i][j] * points[i][j];
+			}
+			
+			for (int j = 0; j < numberOfObjectives; j++) {
+				points[i][j] = -points[i][j] / Math.sqrt(norm);
+				
+				if (grid) {
+					points[i][j] = Math.round(points[i][j] * 4.0) / 4.0 - 0.01;
+				}
+			}
+		}
+		
+		return points;
+	}
+
+	/**
+	 * Computes the hypervolume using {@link PISAHypervolume}, excluding the point at the given index.
+	 */
+	private double calculateHypervolume(double[][] points, int excluded) {
+		List<Solution> solutions = new ArrayList<Solution>();
+		
+		for (int i = 0; i < points.length; i++) {
+			if (i != excluded) {
+				double[] objectives = points[i].clone();
+				
+				for (int j = 0; j < objectives.length; j++) {
+					objectives[j] = -objectives[j];
+				}
+				
+				solutions.add(MockSolution.of().withObjectives(objectives));
+			}
+		}
+		
+		return PISAHypervolume.calculateHypervolume(solutions, solutions.size(), points[0].length);
+	}
+
+}
@@ -0,0 +1,90 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.indicator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.moeaframework.Assert;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Settings;
+import org.moeaframework.core.Solution;
+import org.moeaframework.mock.MockSolution;
+
+public class WFGHypervolumeKernelTest {
+
+	@Test
+	public void testEmpty() {
+		WFGHypervolumeKernel kernel = new WFGHypervolumeKernel(new double[] { 1.0, 1.0, 1.0 });
+		Assert.assertEquals(0.0, kernel.evaluate(new double[0], 0), 0.0);
+	}
+
+	@Test
+	public void testSinglePoint() {
+		WFGHypervolumeKernel kernel = new WFGHypervolumeKernel(new double[] { 1.0, 1.0, 1.0, 1.0 });
+		Assert.assertEquals(0.0625, kernel.evaluate(new double[] { 0.5, 0.5, 0.5, 0.5 }, 1), Settings.EPS);
+	}
+
+	@Test
+	public void testDoesNotModifyPoints() {
+		double[] points = new double[] { 0.5, 0.0, 0.5, 0.0, 0.5, 0.5, 0.5, 0.5, 0.0 };
+		double[] copy = points.clone();
+		
+		WFGHypervolumeKernel kernel = new WFGHypervolumeKernel(new double[] { 1.0, 1.0, 1.0 });
+		Assert.assertEquals(0.5, kernel.evaluate(points, 3), Settings.EPS);
+		Assert.assertArrayEquals(copy, points, 0.0);
+	}
+
+	@Test
+	public void testMatchesPISA() {
+		for (int numberOfObjectives = 2; numberOfObjectives <= 6; numberOfObjectives++) {
+			WFGHypervolumeKernel kernel = new WFGHypervolumeKernel(new double[numberOfObjectives]);
+			
+			// reuse the same kernel to exercise the scratch space with different sizes
+			for (int size : new int[] { 10, 40, 5 }) {
+				NondominatedPopulation population = new NondominatedPopulation();
+				
+				for (int i = 0; i < size; i++) {
+					double[] objectives = new double[numberOfObjectives];
+					
+					for (int j = 0; j < numberOfObjectives; j++) {
+						objectives[j] = -PRNG.nextDouble();
+					}
+					
+					population.add(MockSolution.of().withObjectives(objectives));
+				}
+				
+				double[] points = new double[population.size() * numberOfObjectives];
+				List<Solution> negated = new ArrayList<Solution>();
+				
+				for (int i = 0; i < population.size(); i++) {
+					double[] objectives = population.get(i).getObjectives();
+					System.arraycopy(objectives, 0, points, i * numberOfObjectives, numberOfObjectives);
+					negated.add(MockSolution.of().withObjectives(Arrays.stream(objectives).map(x -> -x).toArray()));
+				}
+				
+				Assert.assertEquals(PISAHypervolume.calculateHypervolume(negated, negated.size(), numberOfObjectives),
+						kernel.evaluate(points, population.size()), Settings.EPS);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,59 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.indicator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.moeaframework.Assert;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Settings;
+import org.moeaframework.mock.MockSolution;
+import org.moeaframework.problem.ProblemStub;
+
+public class WFGHypervolumeTest {
+
+	@Test
+	public void testConcurrentEvaluation() {
+		WFGHypervolume hypervolume = new WFGHypervolume(new ProblemStub(3), new double[] { 1.0, 1.0, 1.0 });
+		List<NondominatedPopulation> populations = new ArrayList<NondominatedPopulation>();
+		double[] expected = new double[50];
+		
+		for (int i = 0; i < expected.length; i++) {
+			NondominatedPopulation population = new NondominatedPopulation();
+			
+			for (int j = 0; j <= i; j++) {
+				population.add(MockSolution.of().withObjectives(PRNG.nextDouble(), PRNG.nextDouble(),
+						PRNG.nextDouble()));
+			}
+			
+			populations.add(population);
+			expected[i] = hypervolume.evaluate(population);
+		}
+		
+		double[] actual = IntStream.range(0, expected.length).parallel()
+				.mapToDouble(i -> hypervolume.evaluate(populations.get(i)))
+				.toArray();
+		
+		Assert.assertArrayEquals(expected, actual, Settings.EPS);
+	}
+
+}
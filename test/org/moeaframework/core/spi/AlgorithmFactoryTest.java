@@ -20,6 +20,9 @@ package org.moeaframework.core.spi;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 import org.moeaframework.Assert;
+import org.moeaframework.algorithm.RandomSearch;
+import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.Problem;
 import org.moeaframework.mock.MockRealProblem;
 import org.moeaframework.util.TypedProperties;
 
@@ -50,6 +53,31 @@ public class AlgorithmFactoryTest extends AbstractFactoryTest<AlgorithmProvider,
 				new MockRealProblem()));
 	}
 	
+	@Test
+	public void testProviderSupportingNameForSomeArguments() {
+		AlgorithmProvider partialProvider = new AlgorithmProvider() {
+
+			@Override
+			public Algorithm getAlgorithm(String name, TypedProperties properties, Problem problem) {
+				return properties.contains("partial") ? new RandomSearch(problem) : null;
+			}
+			
+		};
+		
+		AlgorithmFactory factory = new AlgorithmFactory();
+		factory.addProvider(partialProvider);
+		factory.addProvider(new TestAlgorithmProvider());
+		
+		Assert.assertFalse(factory.getAlgorithm("testAlgorithm",
+				new TypedProperties(),
+				new MockRealProblem()) instanceof RandomSearch);
+		
+		// the first provider still takes precedence once it supports the arguments
+		Assert.assertInstanceOf(RandomSearch.class, factory.getAlgorithm("testAlgorithm",
+				TypedProperties.of("partial", "true"),
+				new MockRealProblem()));
+	}
+	
 	@Test
 	public void testNoProvider() {
 		AlgorithmFactory factory = new AlgorithmFactory();
@@ -17,6 +17,8 @@
  */
 package org.moeaframework.core.spi;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.moeaframework.algorithm.extension.AlgorithmWrapper;
 import org.moeaframework.core.Algorithm;
 import org.moeaframework.core.Problem;
@@ -30,7 +32,7 @@ public class AlgorithmFactoryTestWrapper extends AlgorithmFactory {
 	/**
 	 * The number of times the {@code terminate} method has been invoked.
 	 */
-	private int terminateCount;
+	private final AtomicInteger terminateCount = new AtomicInteger();
 
 	@Override
 	public synchronized Algorithm getAlgorithm(String name, TypedProperties properties, Problem problem) {
@@ -41,7 +43,7 @@ public class AlgorithmFactoryTestWrapper extends AlgorithmFactory {
 			@Override
 			public void terminate() {
 				super.terminate();
-				terminateCount++;
+				terminateCount.incrementAndGet();
 			}
 			
 		};
@@ -53,7 +55,7 @@ public class AlgorithmFactoryTestWrapper extends AlgorithmFactory {
 	 * @return the number of times the {@code terminate} method has been invoked
 	 */
 	public int getTerminateCount() {
-		return terminateCount;
+		return terminateCount.get();
 	}
 	
 }
\ No newline at end of file
@@ -17,6 +17,9 @@
  */
 package org.moeaframework.core.spi;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 import org.moeaframework.Assert;
@@ -70,6 +73,55 @@ public class ProblemFactoryTest extends AbstractFactoryTest<ProblemProvider, Pro
 		Assert.assertNotNull(factory.getReferenceSet("testProblem"));
 	}
 	
+	@Test
+	public void testResolvedProviderCache() {
+		AtomicInteger count = new AtomicInteger();
+		
+		ProblemProvider unsupportedProvider = new ProblemProvider() {
+
+			@Override
+			public Problem getProblem(String name) {
+				count.incrementAndGet();
+				return null;
+			}
+
+			@Override
+			public NondominatedPopulation getReferenceSet(String name) {
+				return null;
+			}
+			
+		};
+		
+		ProblemFactory factory = new ProblemFactory();
+		factory.addProvider(unsupportedProvider);
+		factory.preload();
+		
+		Problem problem = factory.getProblem("DTLZ2_2");
+		Assert.assertEquals(1, count.get());
+		
+		// the provider resolving the name is tried first
+		Assert.assertNotSame(problem, factory.getProblem("DTLZ2_2"));
+		Assert.assertEquals(1, count.get());
+		
+		// adding a provider takes precedence over the service providers
+		factory.addProvider(new RegisteredProblemProvider() {{
+			register("DTLZ2_2", MockRealProblem::new, null);
+		}});
+		
+		Assert.assertInstanceOf(MockRealProblem.class, factory.getProblem("DTLZ2_2"));
+		Assert.assertEquals(2, count.get());
+	}
+	
+	@Test
+	public void testConcurrentLookups() {
+		ProblemFactory factory = new ProblemFactory();
+		
+		IntStream.range(0, 1000).parallel().forEach(i -> {
+			Assert.assertNotNull(factory.getProblem(i % 2 == 0 ? "DTLZ2_2" : "ZDT1"));
+			Assert.assertNotNull(factory.getReferenceSet("DTLZ2_2"));
+		});
+	}
+	
 	@Test
 	public void testNoProvider() {
 		ProblemFactory factory = new ProblemFactory();
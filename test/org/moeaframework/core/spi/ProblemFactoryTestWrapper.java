@@ -17,6 +17,8 @@
  */
 package org.moeaframework.core.spi;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
 import org.moeaframework.problem.AnalyticalProblem;
@@ -30,7 +32,7 @@ public class ProblemFactoryTestWrapper extends ProblemFactory {
 	/**
 	 * The number of times the {@code close} method has been invoked.
 	 */
-	private int closeCount;
+	private final AtomicInteger closeCount = new AtomicInteger();
 
 	@Override
 	public synchronized Problem getProblem(String name) {
@@ -42,7 +44,7 @@ public class ProblemFactoryTestWrapper extends ProblemFactory {
 				@Override
 				public void close() {
 					super.close();
-					closeCount++;
+					closeCount.incrementAndGet();
 				}
 				
 			};
@@ -52,7 +54,7 @@ public class ProblemFactoryTestWrapper extends ProblemFactory {
 				@Override
 				public void close() {
 					super.close();
-					closeCount++;
+					closeCount.incrementAndGet();
 				}
 				
 			};
@@ -65,7 +67,7 @@ public class ProblemFactoryTestWrapper extends ProblemFactory {
 	 * @return the number of times the {@code close} method has been invoked
 	 */
 	public int getCloseCount() {
-		return closeCount;
+		return closeCount.get();
 	}
 	
 	private class AnalyticalProblemWrapper extends ProblemWrapper implements AnalyticalProblem {
@@ -359,6 +359,18 @@ public class MockSolution extends Solution {
 		return super.setAttribute(key, value);
 	}
 
+	@Override
+	public void setIntAttribute(String key, int value) {
+		throwIfReadOnly();
+		super.setIntAttribute(key, value);
+	}
+	
+	@Override
+	public void setDoubleAttribute(String key, double value) {
+		throwIfReadOnly();
+		super.setDoubleAttribute(key, value);
+	}
+
 	@Override
 	public Object removeAttribute(String key) {
 		throwIfReadOnly();
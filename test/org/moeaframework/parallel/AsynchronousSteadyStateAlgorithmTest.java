@@ -0,0 +1,91 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.parallel;
+
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.moeaframework.Assert;
+import org.moeaframework.algorithm.AlgorithmException;
+import org.moeaframework.algorithm.EpsilonMOEA;
+import org.moeaframework.algorithm.NSGAII;
+import org.moeaframework.algorithm.SPEA2;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.SteadyStateEvolutionaryAlgorithm;
+import org.moeaframework.problem.DTLZ.DTLZ2;
+
+public class AsynchronousSteadyStateAlgorithmTest {
+	
+	@Test
+	public void testNSGAII() {
+		test(NSGAII::new);
+	}
+	
+	@Test
+	public void testEpsilonMOEA() {
+		test(EpsilonMOEA::new);
+	}
+	
+	@Test
+	public void testSPEA2() {
+		test(SPEA2::new);
+	}
+	
+	@Test(expected = AlgorithmException.class)
+	public void testRequiresDistributedProblem() {
+		AsynchronousSteadyStateAlgorithm algorithm = new AsynchronousSteadyStateAlgorithm(new NSGAII(new DTLZ2(2)), 2);
+		algorithm.step();
+		algorithm.step();
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidMaxInFlight() {
+		new AsynchronousSteadyStateAlgorithm(new NSGAII(new DTLZ2(2)), 0);
+	}
+	
+	private void test(Function<Problem, SteadyStateEvolutionaryAlgorithm> constructor) {
+		try (DistributedProblem problem = DistributedProblem.from(new DTLZ2(2), 4)) {
+			AsynchronousSteadyStateAlgorithm algorithm = new AsynchronousSteadyStateAlgorithm(
+					constructor.apply(problem), 4);
+			
+			Assert.assertEquals(0.0, algorithm.getUtilization(), 0.0);
+			
+			algorithm.step();
+			Assert.assertEquals(100, algorithm.getNumberOfEvaluations());
+			Assert.assertEquals(0, algorithm.getNumberInFlight());
+			
+			while (algorithm.getNumberOfEvaluations() < 1000) {
+				algorithm.step();
+				
+				Assert.assertGreaterThan(algorithm.getNumberInFlight(), 0);
+				Assert.assertLessThanOrEqual(algorithm.getNumberInFlight(), algorithm.getMaxInFlight() + 1);
+				Assert.assertGreaterThanOrEqual(algorithm.getNumberOfEvaluations() - 100,
+						algorithm.getNumberInFlight());
+			}
+			
+			double utilization = algorithm.getUtilization();
+			Assert.assertGreaterThan(utilization, 0.0);
+			Assert.assertLessThanOrEqual(utilization, 1.0);
+			
+			algorithm.terminate();
+			Assert.assertEquals(0, algorithm.getNumberInFlight());
+			Assert.assertFalse(algorithm.getResult().isEmpty());
+		}
+	}
+	
+}
@@ -0,0 +1,64 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.parallel.island.executor;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.Test;
+import org.moeaframework.Assert;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.mock.MockConstraintProblem;
+import org.moeaframework.mock.MockMultiTypeProblem;
+import org.moeaframework.mock.MockRealProblem;
+
+public class IslandConnectionTest {
+	
+	@Test
+	public void testRoundTrip() throws IOException {
+		testRoundTrip(new MockRealProblem(2));
+		testRoundTrip(new MockMultiTypeProblem(2));
+		testRoundTrip(new MockConstraintProblem());
+	}
+	
+	@Test
+	public void testMismatchedProblem() throws IOException {
+		byte[] block = IslandConnection.encode(List.of(new MockRealProblem(2).newSolution()));
+		
+		Assert.assertThrows(IOException.class, () -> IslandConnection.decode(block, new MockRealProblem(3)));
+		Assert.assertThrows(IOException.class, () -> IslandConnection.decode(block, new MockMultiTypeProblem(2)));
+	}
+	
+	private void testRoundTrip(Problem problem) throws IOException {
+		Solution expected = problem.newSolution();
+		
+		for (int i = 0; i < expected.getNumberOfVariables(); i++) {
+			expected.getVariable(i).randomize();
+		}
+		
+		problem.evaluate(expected);
+		
+		List<Solution> actual = IslandConnection.decode(IslandConnection.encode(List.of(expected, expected)), problem);
+		Assert.assertSize(2, actual);
+		Assert.assertNotSame(expected, actual.get(0));
+		Assert.assertEquals(expected, actual.get(0));
+		Assert.assertEquals(expected, actual.get(1));
+	}
+
+}
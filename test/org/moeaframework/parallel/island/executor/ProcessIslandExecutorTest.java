@@ -0,0 +1,113 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.parallel.island.executor;
+
+import java.io.IOException;
+
+import org.junit.Test;
+import org.moeaframework.Assert;
+import org.moeaframework.TestThresholds;
+import org.moeaframework.algorithm.NSGAII;
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.ChainedComparator;
+import org.moeaframework.core.comparator.CrowdingComparator;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+import org.moeaframework.core.selection.TournamentSelection;
+import org.moeaframework.mock.MockRealProblem;
+import org.moeaframework.parallel.island.Island;
+import org.moeaframework.parallel.island.IslandModel;
+import org.moeaframework.parallel.island.migration.SingleNeighborMigration;
+import org.moeaframework.parallel.island.topology.RingTopology;
+
+public class ProcessIslandExecutorTest {
+	
+	@Test
+	public void test() throws IOException {
+		try (ProcessIslandExecutor executor = new ProcessIslandExecutor(TestIslandModelFactory.class, 2)) {
+			Assert.assertEquals(2, executor.getNumberOfProcesses());
+			
+			NondominatedPopulation result = executor.run(20000);
+			Assert.assertFalse(result.isEmpty());
+			
+			// the decoded solutions must match the objectives computed by the problem
+			MockRealProblem problem = new MockRealProblem(2);
+			
+			for (Solution solution : result) {
+				Solution copy = solution.copy();
+				problem.evaluate(copy);
+				Assert.assertArrayEquals(copy.getObjectives(), solution.getObjectives(), TestThresholds.HIGH_PRECISION);
+			}
+		}
+	}
+	
+	@Test
+	public void testOneProcessPerIsland() throws IOException {
+		try (ProcessIslandExecutor executor = new ProcessIslandExecutor(TestIslandModelFactory.class)) {
+			Assert.assertEquals(3, executor.getNumberOfProcesses());
+			Assert.assertFalse(executor.run(6000).isEmpty());
+		}
+	}
+	
+	@Test
+	public void testWorkerFailure() throws IOException {
+		try (ProcessIslandExecutor executor = new ProcessIslandExecutor(FailingIslandModelFactory.class, 2)) {
+			Assert.assertThrows(FrameworkException.class, () -> executor.run(1000));
+		}
+	}
+	
+	public static class TestIslandModelFactory implements IslandModelFactory {
+
+		@Override
+		public IslandModel createIslandModel() {
+			IslandModel model = new IslandModel(500, new SingleNeighborMigration(1, new TournamentSelection(2, 
+					new ChainedComparator(new ParetoDominanceComparator(), new CrowdingComparator()))),
+					new RingTopology());
+			
+			for (int i = 0; i < 3; i++) {
+				NSGAII algorithm = new NSGAII(createProblem());
+				model.addIsland(new Island(algorithm, algorithm.getPopulation()));
+			}
+			
+			return model;
+		}
+		
+		protected MockRealProblem createProblem() {
+			return new MockRealProblem(2);
+		}
+		
+	}
+	
+	public static class FailingIslandModelFactory extends TestIslandModelFactory {
+		
+		@Override
+		protected MockRealProblem createProblem() {
+			return new MockRealProblem(2) {
+
+				@Override
+				public void evaluate(Solution solution) {
+					throw new IllegalStateException("evaluation failed");
+				}
+				
+			};
+		}
+		
+	}
+
+}
@@ -0,0 +1,169 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.parallel.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.moeaframework.Assert;
+import org.moeaframework.core.EpsilonBoxDominanceArchive;
+import org.moeaframework.core.Epsilons;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Solution;
+import org.moeaframework.mock.MockSolution;
+
+public class ConcurrentEpsilonBoxDominanceArchiveTest {
+	
+	@Test
+	public void test() {
+		ConcurrentEpsilonBoxDominanceArchive archive = new ConcurrentEpsilonBoxDominanceArchive(Epsilons.of(0.5));
+		Solution solution1 = MockSolution.of().withObjectives(0.0, 1.0);
+		Solution solution2 = MockSolution.of().withObjectives(1.0, 0.0);
+		Solution solution3 = MockSolution.of().withObjectives(0.0, 0.0);
+		
+		Assert.assertTrue(archive.isEmpty());
+		Assert.assertTrue(archive.add(solution1));
+		Assert.assertTrue(archive.add(solution2));
+		Assert.assertFalse(archive.add(MockSolution.of().withObjectives(1.0, 1.0)));
+		Assert.assertEquals(2, archive.size());
+		Assert.assertSame(solution2, archive.get(1));
+		Assert.assertEquals(1, archive.indexOf(solution2));
+		
+		Assert.assertTrue(archive.add(solution3));
+		Assert.assertSize(1, archive);
+		Assert.assertTrue(archive.contains(solution3));
+		Assert.assertEquals(3, archive.getNumberOfImprovements());
+		Assert.assertEquals(1, archive.getNumberOfDominatingImprovements());
+		
+		archive.clear();
+		Assert.assertTrue(archive.isEmpty());
+	}
+	
+	@Test
+	public void testSnapshot() {
+		ConcurrentEpsilonBoxDominanceArchive archive = new ConcurrentEpsilonBoxDominanceArchive(Epsilons.of(0.5));
+		Solution solution1 = MockSolution.of().withObjectives(0.0, 1.0);
+		Solution solution2 = MockSolution.of().withObjectives(1.0, 0.0);
+		
+		archive.add(solution1);
+		archive.add(solution2);
+		
+		List<Solution> snapshot = archive.snapshot();
+		Iterator<Solution> iterator = archive.iterator();
+		
+		// modifications are not visible to existing snapshots or iterators
+		Assert.assertTrue(archive.add(MockSolution.of().withObjectives(0.0, 0.0)));
+		Assert.assertEquals(List.of(solution1, solution2), snapshot);
+		Assert.assertThrows(UnsupportedOperationException.class, () -> snapshot.clear());
+		
+		Assert.assertSame(solution1, iterator.next());
+		Assert.assertSame(solution2, iterator.next());
+		Assert.assertFalse(iterator.hasNext());
+		Assert.assertSize(1, archive.snapshot());
+		
+		// removing through the iterator removes from the archive
+		iterator = archive.iterator();
+		iterator.next();
+		iterator.remove();
+		Assert.assertTrue(archive.isEmpty());
+		Assert.assertThrows(IllegalStateException.class, iterator::remove);
+	}
+	
+	@Test
+	public void testCopy() {
+		ConcurrentEpsilonBoxDominanceArchive archive = new ConcurrentEpsilonBoxDominanceArchive(Epsilons.of(0.5));
+		archive.add(MockSolution.of().withObjectives(0.0, 1.0));
+		
+		ConcurrentEpsilonBoxDominanceArchive copy = archive.copy();
+		
+		Assert.assertNotSame(archive, copy);
+		Assert.assertSame(archive.getComparator(), copy.getComparator());
+		Assert.assertEquals(archive, copy, true);
+	}
+	
+	@Test
+	public void testConcurrent() throws Exception {
+		final int threads = 4;
+		final int solutionsPerThread = 5000;
+		final Epsilons epsilons = Epsilons.of(0.01);
+		final ConcurrentEpsilonBoxDominanceArchive archive = new ConcurrentEpsilonBoxDominanceArchive(epsilons);
+		final AtomicInteger numberAdded = new AtomicInteger();
+		final List<Solution> solutions = new ArrayList<Solution>();
+		
+		// place each solution in the center of a distinct box, so every successful add is an improvement
+		for (int x = 0; x < 200; x++) {
+			for (int y = 0; y < 200; y++) {
+				solutions.add(MockSolution.of().withObjectives((x + 0.5) / 100.0, (y + 200 - x + 0.5) / 100.0));
+			}
+		}
+		
+		PRNG.shuffle(solutions);
+		solutions.subList(threads * solutionsPerThread, solutions.size()).clear();
+		
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			
+			for (int i = 0; i < threads; i++) {
+				final List<Solution> subset = solutions.subList(i * solutionsPerThread, (i + 1) * solutionsPerThread);
+				
+				futures.add(executor.submit(() -> {
+					for (Solution solution : subset) {
+						if (archive.add(solution)) {
+							numberAdded.incrementAndGet();
+						}
+						
+						// readers must always see a consistent, non-dominated snapshot
+						List<Solution> snapshot = archive.snapshot();
+						Assert.assertFalse(snapshot.isEmpty());
+					}
+				}));
+			}
+			
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		
+		// the final contents do not depend on the order solutions are added
+		EpsilonBoxDominanceArchive expected = new EpsilonBoxDominanceArchive(epsilons, solutions);
+		Set<Solution> actual = Collections.newSetFromMap(new IdentityHashMap<Solution, Boolean>());
+		actual.addAll(archive.snapshot());
+		
+		Assert.assertEquals(expected.size(), archive.size());
+		
+		for (Solution solution : expected) {
+			Assert.assertTrue(actual.contains(solution));
+		}
+		
+		Assert.assertEquals(numberAdded.get(), archive.getNumberOfImprovements());
+	}
+
+}
@@ -23,6 +23,7 @@ import java.util.NoSuchElementException;
 import org.junit.Test;
 import org.moeaframework.Assert;
 import org.moeaframework.core.Solution;
+import org.moeaframework.parallel.util.ImmigrationQueue.OverflowPolicy;
 import org.moeaframework.mock.MockSolution;
 
 public class ImmigrationQueueTest {
@@ -61,6 +62,58 @@ public class ImmigrationQueueTest {
 		Assert.assertNotSame(original, copies.get(1));
 		Assert.assertEquals(0, queue.size());
 		Assert.assertTrue(queue.isEmpty());
+		
+		Assert.assertEquals(4, queue.getNumberAdded());
+		Assert.assertEquals(4, queue.getNumberReceived());
+		Assert.assertEquals(0, queue.getNumberDropped());
+		Assert.assertTrue(queue.getMeanLatency() >= 0.0);
+	}
+	
+	@Test
+	public void testCopyOnReceive() {
+		ImmigrationQueue queue = new ImmigrationQueue();
+		Solution original = MockSolution.of().withObjectives(0.0, 1.0);
+		
+		queue.add(original);
+		original.setObjective(0, 0.5);
+		
+		// the copy is made when received, so it reflects changes made before then
+		Assert.assertEquals(0.5, queue.pop().getObjective(0));
+	}
+	
+	@Test
+	public void testDropNewest() {
+		ImmigrationQueue queue = new ImmigrationQueue(2, OverflowPolicy.DROP_NEWEST);
+		
+		for (int i = 0; i < 5; i++) {
+			queue.add(MockSolution.of().withObjectives(i));
+		}
+		
+		Assert.assertEquals(2, queue.getCapacity());
+		Assert.assertEquals(2, queue.size());
+		Assert.assertEquals(5, queue.getNumberAdded());
+		Assert.assertEquals(3, queue.getNumberDropped());
+		
+		List<Solution> solutions = queue.popAll();
+		Assert.assertEquals(0.0, solutions.get(0).getObjective(0));
+		Assert.assertEquals(1.0, solutions.get(1).getObjective(0));
+	}
+	
+	@Test
+	public void testDropOldest() {
+		ImmigrationQueue queue = new ImmigrationQueue(2, OverflowPolicy.DROP_OLDEST);
+		
+		for (int i = 0; i < 5; i++) {
+			queue.add(MockSolution.of().withObjectives(i));
+		}
+		
+		Assert.assertEquals(2, queue.size());
+		Assert.assertEquals(3, queue.getNumberDropped());
+		
+		List<Solution> solutions = queue.popAll();
+		Assert.assertEquals(3.0, solutions.get(0).getObjective(0));
+		Assert.assertEquals(4.0, solutions.get(1).getObjective(0));
+		Assert.assertEquals(2, queue.getNumberReceived());
 	}
 	
 }
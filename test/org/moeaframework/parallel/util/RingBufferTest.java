@@ -0,0 +1,125 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.parallel.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.Test;
+import org.moeaframework.Assert;
+
+public class RingBufferTest {
+	
+	@Test
+	public void test() {
+		RingBuffer<Integer> buffer = new RingBuffer<Integer>(3);
+		
+		Assert.assertEquals(3, buffer.getCapacity());
+		Assert.assertTrue(buffer.isEmpty());
+		Assert.assertNull(buffer.poll());
+		Assert.assertNull(buffer.peek());
+		
+		// wrap around the buffer several times
+		for (int i = 0; i < 10; i++) {
+			Assert.assertTrue(buffer.offer(i));
+			Assert.assertTrue(buffer.offer(i + 100));
+			Assert.assertEquals(2, buffer.size());
+			Assert.assertEquals(Integer.valueOf(i), buffer.peek());
+			Assert.assertEquals(Integer.valueOf(i), buffer.poll());
+			Assert.assertEquals(Integer.valueOf(i + 100), buffer.poll());
+			Assert.assertTrue(buffer.isEmpty());
+		}
+	}
+	
+	@Test
+	public void testFull() {
+		RingBuffer<Integer> buffer = new RingBuffer<Integer>(2);
+		
+		Assert.assertTrue(buffer.offer(1));
+		Assert.assertTrue(buffer.offer(2));
+		Assert.assertFalse(buffer.offer(3));
+		Assert.assertEquals(2, buffer.size());
+		Assert.assertEquals(List.of(1, 2), new ArrayList<Integer>(buffer));
+		
+		Assert.assertEquals(Integer.valueOf(1), buffer.poll());
+		Assert.assertTrue(buffer.offer(3));
+		Assert.assertEquals(List.of(2, 3), new ArrayList<Integer>(buffer));
+	}
+	
+	@Test
+	public void testNull() {
+		Assert.assertThrows(NullPointerException.class, () -> new RingBuffer<Integer>(1).offer(null));
+		Assert.assertThrows(IllegalArgumentException.class, () -> new RingBuffer<Integer>(0));
+	}
+	
+	@Test
+	public void testConcurrent() throws Exception {
+		final int producers = 4;
+		final int elementsPerProducer = 10000;
+		final RingBuffer<Integer> buffer = new RingBuffer<Integer>(16);
+		final AtomicIntegerArray received = new AtomicIntegerArray(producers * elementsPerProducer);
+		
+		ExecutorService executor = Executors.newFixedThreadPool(2 * producers);
+		
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			
+			for (int i = 0; i < producers; i++) {
+				final int offset = i * elementsPerProducer;
+				
+				futures.add(executor.submit(() -> {
+					for (int j = 0; j < elementsPerProducer; j++) {
+						while (!buffer.offer(offset + j)) {
+							Thread.yield();
+						}
+					}
+				}));
+				
+				futures.add(executor.submit(() -> {
+					for (int j = 0; j < elementsPerProducer; j++) {
+						Integer value = null;
+						
+						while ((value = buffer.poll()) == null) {
+							Thread.yield();
+						}
+						
+						received.incrementAndGet(value);
+					}
+				}));
+			}
+			
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		
+		// every element is received exactly once
+		for (int i = 0; i < received.length(); i++) {
+			Assert.assertEquals(1, received.get(i));
+		}
+		
+		Assert.assertTrue(buffer.isEmpty());
+	}
+
+}
@@ -21,6 +21,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.Test;
 import org.moeaframework.Assert;
@@ -34,16 +35,21 @@ public class ThreadLocalMersenneTwisterTest {
 		List<Integer> samples1 = Collections.synchronizedList(new ArrayList<Integer>());
 		List<Integer> samples2 = Collections.synchronizedList(new ArrayList<Integer>());
 		
+		Random originalRandom = PRNG.getRandom();
 		PRNG.setRandom(ThreadLocalMersenneTwister.getInstance());
 		
-		Thread thread1 = new SamplerThread(samples1);
-		Thread thread2 = new SamplerThread(samples2);
-		
-		thread1.start();
-		thread2.start();
-		
-		thread1.join();
-		thread2.join();
+		try {
+			Thread thread1 = new SamplerThread(samples1);
+			Thread thread2 = new SamplerThread(samples2);
+			
+			thread1.start();
+			thread2.start();
+			
+			thread1.join();
+			thread2.join();
+		} finally {
+			PRNG.setRandom(originalRandom);
+		}
 		
 		Assert.assertEquals(samples1, samples2);
 	}
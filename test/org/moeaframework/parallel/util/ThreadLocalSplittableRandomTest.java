@@ -0,0 +1,111 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.parallel.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.moeaframework.Assert;
+import org.moeaframework.core.PRNG;
+
+public class ThreadLocalSplittableRandomTest {
+	
+	private Random originalRandom;
+	
+	@Before
+	public void setUp() {
+		originalRandom = PRNG.getRandom();
+		PRNG.setRandom(ThreadLocalSplittableRandom.getInstance());
+	}
+	
+	@After
+	public void tearDown() {
+		PRNG.setRandom(originalRandom);
+	}
+	
+	@Test
+	public void testUniqueInstancePerThread() throws InterruptedException {
+		List<Integer> samples1 = Collections.synchronizedList(new ArrayList<Integer>());
+		List<Integer> samples2 = Collections.synchronizedList(new ArrayList<Integer>());
+		
+		Thread thread1 = new SamplerThread(samples1);
+		Thread thread2 = new SamplerThread(samples2);
+		
+		thread1.start();
+		thread2.start();
+		
+		thread1.join();
+		thread2.join();
+		
+		Assert.assertEquals(samples1, samples2);
+	}
+	
+	@Test
+	public void testBind() {
+		ThreadLocalSplittableRandom random = ThreadLocalSplittableRandom.getInstance();
+		
+		random.setSeed(12345);
+		int expected = random.nextInt();
+		
+		random.setSeed(12345);
+		SplittableRandom previous = random.bind(new SplittableRandom(54321));
+		Assert.assertEquals(new SplittableRandom(54321).nextInt(), random.nextInt());
+		
+		random.bind(previous);
+		Assert.assertEquals(expected, random.nextInt());
+	}
+	
+	@Test
+	public void testSplit() {
+		ThreadLocalSplittableRandom random = ThreadLocalSplittableRandom.getInstance();
+		
+		random.setSeed(12345);
+		long expected = random.split().nextLong();
+		
+		random.setSeed(12345);
+		Assert.assertEquals(expected, random.split().nextLong());
+	}
+	
+	private static class SamplerThread extends Thread {
+		
+		private final List<Integer> samples;
+		
+		public SamplerThread(List<Integer> samples) {
+			super();
+			this.samples = samples;
+		}
+		
+		@Override
+		public void run() {
+			PRNG.setSeed(12345);
+				
+			for (int i = 0; i < 100; i++) {
+				samples.add(PRNG.nextInt());
+				Thread.yield();
+			}
+		}
+		
+	}
+
+}
@@ -0,0 +1,269 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.problem;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.moeaframework.Assert;
+import org.moeaframework.TestThresholds;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.variable.EncodingUtils;
+import org.moeaframework.core.variable.RealVariable;
+import org.moeaframework.problem.ExternalProblem.Builder;
+
+/**
+ * Tests batch evaluation using stub processes listening on sockets.
+ */
+public class ExternalProblemPipeliningTest {
+	
+	@Test
+	public void testDefaultSendsOneRequestAtATime() throws Exception {
+		try (StubProcess process = new StubProcess(false, false, 1)) {
+			try (TestProblem problem = new TestProblem(new Builder().withSocket(process.getAddress(),
+					process.getPort()))) {
+				testBatch(problem, 20);
+			}
+			
+			process.assertSuccess(20);
+		}
+	}
+	
+	@Test
+	public void testPipelining() throws Exception {
+		try (StubProcess process = new StubProcess(true, false, 1)) {
+			try (TestProblem problem = new TestProblem(new Builder().withSocket(process.getAddress(),
+					process.getPort()).withPipelining())) {
+				testBatch(problem, 20);
+			}
+			
+			process.assertSuccess(20);
+		}
+	}
+	
+	@Test
+	public void testEvaluationIDsOutOfOrder() throws Exception {
+		try (StubProcess process = new StubProcess(true, true, 20)) {
+			try (TestProblem problem = new TestProblem(new Builder().withSocket(process.getAddress(),
+					process.getPort()).withEvaluationIDs())) {
+				testBatch(problem, 20);
+				testBatch(problem, 20);
+			}
+			
+			process.assertSuccess(40);
+		}
+	}
+	
+	@Test
+	public void testEvaluationIDsSplitAcrossWorkers() throws Exception {
+		try (StubProcess process1 = new StubProcess(true, true, 2);
+				StubProcess process2 = new StubProcess(true, true, 2)) {
+			try (TestProblem problem = new TestProblem(new Builder().withSockets(
+					new InetSocketAddress(process1.getAddress(), process1.getPort()),
+					new InetSocketAddress(process2.getAddress(), process2.getPort())).withEvaluationIDs())) {
+				testBatch(problem, 16);
+			}
+			
+			process1.assertSuccess();
+			process2.assertSuccess();
+			Assert.assertEquals(16, process1.getCount() + process2.getCount());
+		}
+	}
+	
+	private void testBatch(TestProblem problem, int size) {
+		List<Solution> solutions = new ArrayList<Solution>();
+		
+		for (int i = 0; i < size; i++) {
+			Solution solution = problem.newSolution();
+			EncodingUtils.setReal(solution.getVariable(0), i / (double)size);
+			solutions.add(solution);
+		}
+		
+		problem.evaluateAll(solutions);
+		
+		for (Solution solution : solutions) {
+			Assert.assertEquals(2.0 * EncodingUtils.getReal(solution.getVariable(0)), solution.getObjective(0),
+					TestThresholds.HIGH_PRECISION);
+		}
+	}
+	
+	private static class TestProblem extends ExternalProblem {
+		
+		public TestProblem(Builder builder) {
+			super(builder);
+		}
+
+		@Override
+		public String getName() {
+			return "TestProblem";
+		}
+
+		@Override
+		public int getNumberOfVariables() {
+			return 1;
+		}
+
+		@Override
+		public int getNumberOfObjectives() {
+			return 1;
+		}
+
+		@Override
+		public int getNumberOfConstraints() {
+			return 0;
+		}
+
+		@Override
+		public Solution newSolution() {
+			Solution solution = new Solution(1, 1);
+			solution.setVariable(0, new RealVariable(0.0, 1.0));
+			return solution;
+		}
+		
+	}
+	
+	/**
+	 * Stub of an external process that doubles the variable.  A legacy stub, which does not support pipelining,
+	 * replies to one line at a time and fails if another request arrives before it replies.  A stub supporting
+	 * evaluation IDs collects the given number of requests and replies to them in reverse order.
+	 */
+	private static class StubProcess implements Closeable {
+		
+		private final boolean pipelining;
+		
+		private final boolean evaluationIDs;
+		
+		private final int groupSize;
+		
+		private final ServerSocket serverSocket;
+		
+		private final Thread thread;
+		
+		private final AtomicInteger count;
+		
+		private volatile boolean closed;
+		
+		private volatile Throwable error;
+		
+		public StubProcess(boolean pipelining, boolean evaluationIDs, int groupSize) throws IOException {
+			super();
+			this.pipelining = pipelining;
+			this.evaluationIDs = evaluationIDs;
+			this.groupSize = groupSize;
+			
+			serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+			count = new AtomicInteger();
+			
+			thread = new Thread(this::serve);
+			thread.setDaemon(true);
+			thread.start();
+		}
+		
+		public InetAddress getAddress() {
+			return serverSocket.getInetAddress();
+		}
+		
+		public int getPort() {
+			return serverSocket.getLocalPort();
+		}
+		
+		public int getCount() {
+			return count.get();
+		}
+		
+		public void assertSuccess() throws InterruptedException {
+			thread.join(10000);
+			
+			if (error != null) {
+				throw new AssertionError("Caught exception in stub process", error);
+			}
+		}
+		
+		public void assertSuccess(int expectedCount) throws InterruptedException {
+			assertSuccess();
+			Assert.assertEquals(expectedCount, getCount());
+		}
+		
+		private void serve() {
+			try (Socket socket = serverSocket.accept();
+					BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+					PrintStream writer = new PrintStream(socket.getOutputStream())) {
+				List<String> pending = new ArrayList<String>();
+				String line = null;
+				
+				while ((line = reader.readLine()) != null) {
+					pending.add(line);
+					count.incrementAndGet();
+					
+					if (!pipelining) {
+						// give the client time to send another request, which a legacy process would not expect
+						Thread.sleep(1);
+						Assert.assertFalse("received request before replying", reader.ready());
+					}
+					
+					if (pending.size() == groupSize) {
+						for (int i = pending.size() - 1; i >= 0; i--) {
+							writer.println(reply(pending.get(i)));
+						}
+						
+						writer.flush();
+						pending.clear();
+					}
+				}
+			} catch (SocketException e) {
+				if (!closed) {
+					error = e;
+				}
+			} catch (Throwable e) {
+				error = e;
+			}
+		}
+		
+		private String reply(String request) {
+			String[] tokens = request.trim().split("\\s+");
+			
+			if (evaluationIDs) {
+				Assert.assertEquals(2, tokens.length);
+				return tokens[0] + " " + (2.0 * Double.parseDouble(tokens[1]));
+			} else {
+				Assert.assertEquals(1, tokens.length);
+				return Double.toString(2.0 * Double.parseDouble(tokens[0]));
+			}
+		}
+		
+		@Override
+		public void close() throws IOException {
+			closed = true;
+			serverSocket.close();
+		}
+		
+	}
+
+}
@@ -17,6 +17,7 @@
  */
 package org.moeaframework.problem;
 
+import java.net.InetSocketAddress;
 import java.util.function.Function;
 
 import org.junit.Test;
@@ -69,13 +70,36 @@ public class ExternalProblemTest {
 		Builder expected = new Builder()
 				.withCommand("foo", "bar")
 				.withSocket(ExternalProblem.DEFAULT_PORT)
-				.withDebugging();
+				.withDebugging()
+				.withEvaluationIDs()
+				.withPoolSize(2)
+				.withBinaryFormat();
 		
 		Builder copy = expected.copy();
 		
 		Assert.assertCopy(expected, copy);
 	}
 	
+	@Test
+	public void testPoolSharingSocketAddress() {
+		Builder builder = new Builder()
+				.withCommand("foo", "bar")
+				.withSocket(ExternalProblem.DEFAULT_PORT)
+				.withPoolSize(2);
+		
+		Assert.assertThrows(IllegalArgumentException.class, () -> builder.buildPool());
+	}
+	
+	@Test
+	public void testPoolWithAddressPerWorker() {
+		Builder builder = new Builder()
+				.withCommand("foo", "bar")
+				.withSockets(new InetSocketAddress(ExternalProblem.DEFAULT_PORT),
+						new InetSocketAddress(ExternalProblem.DEFAULT_PORT + 1));
+		
+		Assert.assertSize(2, builder.buildPool());
+	}
+	
 	private void test(final Function<String, String> callback) throws Exception {
 		try (MockExternalProblem problem = new MockExternalProblem(callback)) {
 			for (int i=0; i<100; i++) {
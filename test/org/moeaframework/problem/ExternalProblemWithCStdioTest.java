@@ -24,6 +24,7 @@ import java.io.InputStreamReader;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
 import java.net.Socket;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.Test;
@@ -41,6 +42,7 @@ import org.moeaframework.core.variable.Permutation;
 import org.moeaframework.core.variable.RealVariable;
 import org.moeaframework.core.variable.Subset;
 import org.moeaframework.mock.MockUnsupportedVariable;
+import org.moeaframework.parallel.DistributedProblem;
 import org.moeaframework.problem.ExternalProblem.Builder;
 
 public class ExternalProblemWithCStdioTest {
@@ -139,6 +141,69 @@ public class ExternalProblemWithCStdioTest {
 		}
 	}
 	
+	@Test
+	public void testEvaluateAll() {
+		try (TestExternalProblem problem = new TestExternalProblem(createBuilder().withPipelining())) {
+			Initialization initialization = new RandomInitialization(problem);
+			List<Solution> solutions = List.of(initialization.initialize(100));
+			
+			problem.evaluateAll(solutions);
+			
+			for (int i=0; i<solutions.size(); i++) {
+				Solution solution = solutions.get(i);
+				
+				Assert.assertArrayEquals(new double[] { i+1, 1e-10/(i+1) }, solution.getObjectives(), TestThresholds.HIGH_PRECISION);
+				Assert.assertArrayEquals(new double[] { 1e10*(i+1) }, solution.getConstraints(), TestThresholds.HIGH_PRECISION);
+			}
+		}
+	}
+	
+	@Test
+	public void testPool() {
+		Builder builder = new Builder()
+				.withCommand(getExecutable("test_stdio.exe").toString())
+				.withPoolSize(4);
+		
+		try (DistributedProblem problem = DistributedProblem.from(new TestExternalProblem(builder), 4)) {
+			Initialization initialization = new RandomInitialization(problem);
+			List<Solution> solutions = List.of(initialization.initialize(100));
+			
+			problem.evaluateAll(solutions);
+			validatePool(solutions);
+		}
+	}
+	
+	@Test
+	public void testEvaluateAllWithPool() {
+		Builder builder = new Builder()
+				.withCommand(getExecutable("test_stdio.exe").toString())
+				.withPoolSize(4);
+		
+		try (TestExternalProblem problem = new TestExternalProblem(builder)) {
+			Initialization initialization = new RandomInitialization(problem);
+			List<Solution> solutions = List.of(initialization.initialize(100));
+			
+			problem.evaluateAll(solutions);
+			validatePool(solutions);
+		}
+	}
+	
+	private void validatePool(List<Solution> solutions) {
+		int maxCount = 0;
+		
+		// each process counts the solutions it evaluates, so only check the responses are consistent
+		for (Solution solution : solutions) {
+			int count = (int)solution.getObjective(0);
+			
+			Assert.assertEquals(1e-10/count, solution.getObjective(1), TestThresholds.HIGH_PRECISION);
+			Assert.assertEquals(1e10*count, solution.getConstraint(0), TestThresholds.HIGH_PRECISION);
+			
+			maxCount = Math.max(maxCount, count);
+		}
+		
+		Assert.assertTrue("expected solutions to be split among the workers", maxCount < solutions.size());
+	}
+	
 	@Test
 	public void testMissingExecutable() {
 		Builder builder = new Builder().withCommand("test_not_exists.exe");
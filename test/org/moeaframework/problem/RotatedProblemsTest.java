@@ -17,6 +17,9 @@
  */
 package org.moeaframework.problem;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Test;
 import org.moeaframework.Assert;
 import org.moeaframework.TestThresholds;
@@ -115,6 +118,33 @@ public class RotatedProblemsTest {
 		Assert.assertNull(new RotatedProblems().getProblem("foo"));
 	}
 	
+	@Test
+	public void testEvaluateAll() {
+		Problem problem = ProblemFactory.getInstance().getProblem("ROT(45)_DTLZ2_2");
+		Initialization initialization = new RandomInitialization(problem);
+		List<Solution> solutions = new ArrayList<Solution>();
+		
+		for (Solution solution : initialization.initialize(TestThresholds.SAMPLES)) {
+			solutions.add(solution);
+		}
+		
+		List<Solution> expected = new ArrayList<Solution>();
+		
+		for (Solution solution : solutions) {
+			Solution copy = solution.copy();
+			problem.evaluate(copy);
+			expected.add(copy);
+		}
+		
+		problem.evaluateAll(solutions);
+		
+		for (int i = 0; i < solutions.size(); i++) {
+			Assert.assertEquals(expected.get(i), solutions.get(i));
+			Assert.assertArrayEquals(expected.get(i).getConstraints(), solutions.get(i).getConstraints(),
+					TestThresholds.HIGH_PRECISION);
+		}
+	}
+	
 	private void assertBoundsEquals(Problem problemA, Problem problemB) {
 		Assert.assertEquals(problemA.newSolution(), problemB.newSolution());
 	}
@@ -19,6 +19,8 @@ package org.moeaframework.problem;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 import org.moeaframework.Assert;
@@ -27,6 +29,7 @@ import org.moeaframework.TestThresholds;
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
+import org.moeaframework.mock.MockSolution;
 import org.moeaframework.problem.DTLZ.DTLZ2;
 
 @SuppressWarnings("resource")
@@ -57,5 +60,35 @@ public class ScaledProblemTest {
 		
 		Assert.assertArrayEquals(solution.getObjectives(), scaledSolution.getObjectives(), TestThresholds.HIGH_PRECISION);
 	}
+	
+	@Test
+	public void testEvaluateAll() {
+		AtomicInteger batches = new AtomicInteger();
+		
+		Problem problem = new DTLZ2(2) {
+			
+			@Override
+			public void evaluateAll(Iterable<? extends Solution> solutions) {
+				batches.incrementAndGet();
+				super.evaluateAll(solutions);
+			}
+			
+		};
+		
+		ScaledProblem scaledProblem = new ScaledProblem(problem, 2.0);
+		
+		Solution solution1 = MockSolution.of(problem).randomize();
+		Solution solution2 = MockSolution.of(problem).randomize();
+		Solution expected1 = solution1.copy();
+		Solution expected2 = solution2.copy();
+		
+		scaledProblem.evaluateAll(List.of(solution1, solution2));
+		scaledProblem.evaluate(expected1);
+		scaledProblem.evaluate(expected2);
+		
+		Assert.assertEquals(1, batches.get());
+		Assert.assertArrayEquals(expected1.getObjectives(), solution1.getObjectives(), TestThresholds.HIGH_PRECISION);
+		Assert.assertArrayEquals(expected2.getObjectives(), solution2.getObjectives(), TestThresholds.HIGH_PRECISION);
+	}
 
 }
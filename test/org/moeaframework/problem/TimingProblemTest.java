@@ -18,10 +18,14 @@
 package org.moeaframework.problem;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
 
 import org.junit.Test;
 import org.moeaframework.Assert;
 import org.moeaframework.TestThresholds;
+import org.moeaframework.core.Solution;
 import org.moeaframework.mock.MockRealProblem;
 import org.moeaframework.mock.MockSolution;
 
@@ -46,5 +50,23 @@ public class TimingProblemTest {
 		Assert.assertGreaterThan(problem.getNanoseconds(), 0L);
 		Assert.assertEquals(1, problem.getNFE());
 	}
+	
+	@Test
+	public void testEvaluateAllIteratesOnce() {
+		MockRealProblem innerProblem = new MockRealProblem(2);
+		TimingProblem problem = new TimingProblem(innerProblem);
+		List<Solution> solutions = new ArrayList<Solution>();
+		
+		for (int i = 0; i < 3; i++) {
+			solutions.add(MockSolution.of(problem).randomize());
+		}
+		
+		// a stream can only be iterated once
+		Stream<Solution> stream = solutions.stream();
+		problem.evaluateAll(stream::iterator);
+		
+		Assert.assertEquals(3, problem.getNFE());
+		Assert.assertEquals(3, innerProblem.getCallCount());
+	}
 
 }
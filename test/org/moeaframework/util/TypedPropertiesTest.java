@@ -277,6 +277,10 @@ public class TypedPropertiesTest {
 		properties.clearAccessedProperties();
 		Assert.assertTrue(properties.getAccessedProperties().isEmpty());
 		Assert.assertTrue(properties.getUnaccessedProperties().contains("foo"));
+		
+		properties.markAccessed("foo");
+		Assert.assertTrue(properties.getAccessedProperties().contains("foo"));
+		Assert.assertTrue(properties.getUnaccessedProperties().isEmpty());
 	}
 	
 	@Test
@@ -443,6 +447,37 @@ public class TypedPropertiesTest {
 		}
 	}
 
+	@Test
+	public void testVersion() {
+		long version = properties.getVersion();
+		
+		properties.setString("foo", "bar");
+		Assert.assertGreaterThan(properties.getVersion(), version);
+		
+		version = properties.getVersion();
+		properties.remove("foo");
+		Assert.assertGreaterThan(properties.getVersion(), version);
+		
+		version = properties.getVersion();
+		properties.keySet().remove("float_invalid_array");
+		Assert.assertGreaterThan(properties.getVersion(), version);
+		Assert.assertFalse(properties.contains("float_invalid_array"));
+		
+		version = properties.getVersion();
+		properties.getString("integer_invalid_array", null);
+		Assert.assertEquals(version, properties.getVersion());
+	}
+	
+	@Test
+	public void testThreadSafeInstance() {
+		TypedProperties properties = TypedProperties.newThreadSafeInstance();
+		properties.setString("foo", "bar");
+		Assert.assertEquals("bar", properties.getString("FOO"));
+		
+		properties.setString("foo", null);
+		Assert.assertFalse(properties.contains("foo"));
+	}
+	
 	private enum TestEnum {
 		FOO,
 		BAR
@@ -0,0 +1,87 @@
+/* Copyright 2009-2024 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.util.format;
+
+import org.junit.Test;
+import org.moeaframework.Assert;
+import org.moeaframework.core.PRNG;
+
+public class DoubleToDecimalTest {
+	
+	@Test
+	public void testSpecialValues() {
+		Assert.assertEquals("NaN", DoubleToDecimal.toString(Double.NaN));
+		Assert.assertEquals("Infinity", DoubleToDecimal.toString(Double.POSITIVE_INFINITY));
+		Assert.assertEquals("-Infinity", DoubleToDecimal.toString(Double.NEGATIVE_INFINITY));
+		Assert.assertEquals("0.0", DoubleToDecimal.toString(0.0));
+		Assert.assertEquals("-0.0", DoubleToDecimal.toString(-0.0));
+	}
+	
+	@Test
+	public void testFormat() {
+		Assert.assertEquals("1.0", DoubleToDecimal.toString(1.0));
+		Assert.assertEquals("-1.5", DoubleToDecimal.toString(-1.5));
+		Assert.assertEquals("0.1", DoubleToDecimal.toString(0.1));
+		Assert.assertEquals("0.001", DoubleToDecimal.toString(0.001));
+		Assert.assertEquals("1.0E-4", DoubleToDecimal.toString(0.0001));
+		Assert.assertEquals("1234567.0", DoubleToDecimal.toString(1234567.0));
+		Assert.assertEquals("1.0E7", DoubleToDecimal.toString(1e7));
+		Assert.assertEquals("0.3333333333333333", DoubleToDecimal.toString(1.0 / 3.0));
+		Assert.assertEquals("1.7976931348623157E308", DoubleToDecimal.toString(Double.MAX_VALUE));
+		Assert.assertEquals("2.2250738585072014E-308", DoubleToDecimal.toString(Double.MIN_NORMAL));
+		Assert.assertEquals("4.9E-324", DoubleToDecimal.toString(Double.MIN_VALUE));
+	}
+	
+	@Test
+	public void testShortest() {
+		Assert.assertEquals("1.0E23", DoubleToDecimal.toString(1e23));
+		Assert.assertEquals("2.0E23", DoubleToDecimal.toString(2e23));
+		Assert.assertEquals("9.9E-324", DoubleToDecimal.toString(1e-323));
+		Assert.assertEquals("2.82879384806159E17", DoubleToDecimal.toString(2.82879384806159E17));
+	}
+	
+	@Test
+	public void testAppendTo() {
+		StringBuilder sb = new StringBuilder("x = ");
+		DoubleToDecimal.appendTo(sb, 0.5).append(' ');
+		DoubleToDecimal.appendTo(sb, -2e-10);
+		Assert.assertEquals("x = 0.5 -2.0E-10", sb.toString());
+	}
+	
+	@Test
+	public void testRoundTrip() {
+		for (int i = 0; i < 1000000; i++) {
+			double value = switch (i % 3) {
+				case 0 -> Double.longBitsToDouble(PRNG.nextLong());
+				case 1 -> PRNG.nextDouble();
+				default -> Math.round(PRNG.nextDouble() * 1e6) / 1e3;
+			};
+			
+			if (Double.isNaN(value)) {
+				continue;
+			}
+			
+			String result = DoubleToDecimal.toString(value);
+			
+			Assert.assertEquals(Double.doubleToRawLongBits(value),
+					Double.doubleToRawLongBits(Double.parseDouble(result)));
+			Assert.assertTrue(result.length() <= Double.toString(value).length());
+		}
+	}
+
+}